@@ -5,7 +5,6 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
-import java.util.OptionalDouble;
 import java.util.Random;
 
 import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicyAR2;
@@ -31,6 +30,8 @@ import org.cloudbus.cloudsim.schedulers.vm.VmSchedulerSpaceShared;
 import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelFull;
 import org.cloudbus.cloudsim.vms.Vm;
 import org.cloudbus.cloudsim.vms.VmSimple;
+import org.cloudsimplus.traces.azure.AzureVmInstance;
+import org.cloudsimplus.traces.azure.AzureVmTraceReader;
 import org.cloudsimplus.util.Log;
 
 import ch.qos.logback.classic.Level;
@@ -178,57 +179,21 @@ public class AzureVmTraceExample {
         broker.setVmDestructionDelay(1);
         weights = new ArrayList<>(Collections.nCopies(500, -1));
         vmTypes = readVmTypes(vmTypesPath);
-        var vmInstances = readVmInstances(vmInstancesPath);
-
-        List<Vm> vmList = new ArrayList<>();
-        List<Cloudlet> cloudletList = new ArrayList<>();
-        int id = 0;
-        for (AzureVmInstance instance: vmInstances) {
-            if (instance.startTime < 0) {
-                continue;
-            }
-            if (instance.startTime > simulationTime) {
-                break;
-            }
-            var finishTime = simulationTime;
-            if (instance.endTime.isPresent() && instance.endTime.getAsDouble() < simulationTime) {
-                finishTime = instance.endTime.getAsDouble();
-            }
-
-            final var duration = finishTime - instance.startTime;
-            if((long)(duration) == 0) {
-                continue;
-            }
-            final var vmId = id++;
-            var vmType = vmTypes.get(instance.vmTypeId);
-            // final var vmPes = Math.max((int)(vmType.cpu * HOST_PES), 1);
-            // final var vmRam = Math.max((int)(vmType.memory * HOST_MEMORY * 1024), 1);
-            // final var vmBw = Math.max((int)(vmType.bw * HOST_BW * 1024), 1);
-            final var vmPes = Math.max((int)(vmType.cpu), 1);
-            final var vmRam = Math.max((int)(vmType.memory* 1024), 1);
-            final var vmBw = Math.max((int)(vmType.bw* 1024), 1);
-            final var vmSize = 1000;
-            final var vm = new VmSimple(vmId, PE_MIPS, vmPes);
-            vm.setRam(vmRam).setBw(vmBw).setSize(vmSize).enableUtilizationStats();
-            vm.setSubmissionDelay(instance.startTime);
-            vm.setStopTime(finishTime);
-            vm.setCloudletScheduler(new CloudletSchedulerSpaceShared());
-            vm.enableUtilizationStats();
-            vmList.add(vm);
-
-            final var cloudlet = createCloudlet(vmId, vm, vmPes, duration);
-            cloudlet.setExecStartTime(instance.startTime);
-            cloudletList.add(cloudlet);
-        }
-        System.out.println("Number of VMs is " + vmList.size());
+        final var traceReader = new AzureVmTraceReader(vmInstancesPath);
+        countVmTypeInstances(traceReader);
 
+        final var typeRandom = new Random(100);
+        final int[] createdVms = {0};
         long timeStart = System.currentTimeMillis();
 
-        broker.submitVmList(vmList);
-        broker.submitCloudletList(cloudletList);
+        traceReader.submitVms(
+            broker,
+            instance -> createVm(instance, typeRandom.nextInt(27), simulationTime, createdVms),
+            (instance, vm) -> createCloudlet(instance, vm, simulationTime));
         // simulation.addOnClockTickListener(Null -> printHostCpuUtilizationAndPowerConsumption(hosts));
         // simulation.addOnEventProcessingListener(Null -> printHostCpuUtilizationAndPowerConsumption(hosts));
         simulation.start();
+        System.out.println("Number of VMs is " + createdVms[0]);
 
         var timeFinish = System.currentTimeMillis();
         var timeElapsed = timeFinish - timeStart;
@@ -301,17 +266,50 @@ public class AzureVmTraceExample {
         return RackHosts;
     }
 
-    private Cloudlet createCloudlet(final int id, final Vm vm, final int vmPes, final double duration) {
+    /**
+     * Creates a VM for a trace instance, which is streamed to the broker
+     * when the simulation clock gets close to the instance start time.
+     * The VM type is randomly selected, as in {@link #countVmTypeInstances(AzureVmTraceReader)}.
+     */
+    private Vm createVm(final AzureVmInstance instance, final int vmTypeId, final double simulationTime, final int[] createdVms) {
+        if (instance.startTime() < 0 || instance.startTime() > simulationTime) {
+            return Vm.NULL;
+        }
+
+        final var duration = instance.duration(simulationTime);
+        if((long)(duration) == 0) {
+            return Vm.NULL;
+        }
+
+        final var vmId = createdVms[0]++;
+        var vmType = vmTypes.get(vmTypeId);
+        // final var vmPes = Math.max((int)(vmType.cpu * HOST_PES), 1);
+        // final var vmRam = Math.max((int)(vmType.memory * HOST_MEMORY * 1024), 1);
+        // final var vmBw = Math.max((int)(vmType.bw * HOST_BW * 1024), 1);
+        final var vmPes = Math.max((int)(vmType.cpu), 1);
+        final var vmRam = Math.max((int)(vmType.memory* 1024), 1);
+        final var vmBw = Math.max((int)(vmType.bw* 1024), 1);
+        final var vmSize = 1000;
+        final var vm = new VmSimple(vmId, PE_MIPS, vmPes);
+        vm.setRam(vmRam).setBw(vmBw).setSize(vmSize).enableUtilizationStats();
+        vm.setStopTime(instance.startTime() + duration);
+        vm.setCloudletScheduler(new CloudletSchedulerSpaceShared());
+        vm.enableUtilizationStats();
+        return vm;
+    }
+
+    private Cloudlet createCloudlet(final AzureVmInstance instance, final Vm vm, final double simulationTime) {
         final long fileSize = 1;
         final long outputSize = 1;
-        final long length = (long) (duration * PE_MIPS); // in number of Million Instructions (MI)
+        final long length = (long) (instance.duration(simulationTime) * PE_MIPS); // in number of Million Instructions (MI)
         final var utilizationModel = new UtilizationModelFull();
 
-        return new CloudletSimple(id, length, vmPes)
+        final var cloudlet = new CloudletSimple(vm.getId(), length, vm.getNumberOfPes())
             .setFileSize(fileSize)
             .setOutputSize(outputSize)
-            .setUtilizationModel(utilizationModel)
-            .setVm(vm);
+            .setUtilizationModel(utilizationModel);
+        cloudlet.setExecStartTime(instance.startTime());
+        return cloudlet;
     }
 
     private void printHostCpuUtilizationAndPowerConsumption(final List<Host> hosts) {
@@ -364,24 +362,6 @@ public class AzureVmTraceExample {
         }
     }
 
-    private static class AzureVmInstance {
-        int vmId;
-        int vmTypeId;
-        double startTime;
-        OptionalDouble endTime;
-
-        public AzureVmInstance(String[] values) {
-            this.vmId = Integer.parseInt(values[0]);
-            this.vmTypeId = Integer.parseInt(values[1]);
-            this.startTime = Double.parseDouble(values[2]) * 86400;
-            if (!values[3].equals("none") && !values[3].equals("")) {
-                this.endTime = OptionalDouble.of(Double.parseDouble(values[3]) * 86400) ;
-            } else {
-                this.endTime = OptionalDouble.empty();
-            }
-        }
-    }
-
     private ArrayList<AzureVmType> readVmTypes(String vmTypesPath) throws Exception {
         ArrayList<AzureVmType> records = new ArrayList<>(Collections.nCopies(500, null));
         try (BufferedReader br = new BufferedReader(new FileReader(vmTypesPath))) {
@@ -411,29 +391,16 @@ public class AzureVmTraceExample {
         return records;
     }
 
-    private ArrayList<AzureVmInstance> readVmInstances(String vmInstancesPath) throws Exception {
-        ArrayList<AzureVmInstance> records = new ArrayList<>();
-        var rand = new Random(100);
-        try (BufferedReader br = new BufferedReader(new FileReader(vmInstancesPath))) {
-            String line;
-            var line_num = 0;
-            while ((line = br.readLine()) != null) {
-                if (line_num++ == 0) {
-                    continue;
-                }
-                line += ", none";
-                String[] values = line.split(COMMA_DELIMITER);
-                var id = Integer.parseInt(values[0])*1;
-                var typeid = Integer.parseInt(values[1])%91;
-                for(int i = 0; i < 1; i++) {
-                    values[0] = Integer.toString(id+i);
-                    values[1] = Integer.toString(rand.nextInt(27));
-                    AzureVmInstance instance = new AzureVmInstance(values);
-                    records.add(instance);
-                    weights.set(instance.vmTypeId, weights.get(instance.vmTypeId)+1);
-                }
-            }
-        }
-        return records;
+    /**
+     * Counts the number of trace instances of each VM type, to define the {@link #weights}.
+     * The VM type of each instance is randomly selected, using the same seed
+     * used when VMs are created.
+     */
+    private void countVmTypeInstances(final AzureVmTraceReader traceReader) {
+        final var rand = new Random(100);
+        traceReader.forEach(instance -> {
+            final int vmTypeId = rand.nextInt(27);
+            weights.set(vmTypeId, weights.get(vmTypeId)+1);
+        });
     }
 }
@@ -11,10 +11,13 @@ import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicy;
 import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicyAbstract;
 import org.cloudbus.cloudsim.datacenters.Datacenter;
 import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostSuitability;
 import org.cloudbus.cloudsim.selectionpolicies.VmSelectionPolicy;
 import org.cloudbus.cloudsim.util.TimeUtil;
 import org.cloudbus.cloudsim.vms.Vm;
 import org.cloudbus.cloudsim.vms.VmSimple;
+import org.cloudsimplus.listeners.EventListener;
+import org.cloudsimplus.listeners.HostUpdatesVmsProcessingEventInfo;
 
 import java.util.*;
 import java.util.function.BiFunction;
@@ -22,6 +25,7 @@ import java.util.function.Function;
 import java.util.function.Predicate;
 
 import static java.util.Comparator.comparingDouble;
+import static java.util.Comparator.comparingLong;
 import static java.util.stream.Collectors.*;
 
 /**
@@ -44,6 +48,11 @@ import static java.util.stream.Collectors.*;
  * </ul>
  * </p>
  *
+ * <p>The sets of overloaded and underloaded Hosts are maintained incrementally:
+ * just the Hosts processed or changed since the last check are classified again.
+ * VMs temporarily moved to compute a new placement are tracked,
+ * so that just those moves are undone after the computation.</p>
+ *
  * @author Anton Beloglazov
  * @author Manoel Campos da Silva Filho
  * @since CloudSim Toolkit 3.0
@@ -58,9 +67,34 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
     private VmSelectionPolicy vmSelectionPolicy;
 
     /**
-     * A map between a VM and the host where it is placed.
+     * The VMs temporarily destroyed from overloaded Hosts while computing a new VM placement,
+     * mapped to such Hosts, where they have to be restored after the computation.
+     */
+    private final Map<Vm, Host> tempDestroyedVms;
+
+    /**
+     * The VMs temporarily created into target Hosts while computing a new VM placement
+     * for VMs from overloaded Hosts, mapped to such Hosts, where they have to be destroyed after the computation.
      */
-    private final Map<Vm, Host> savedAllocation;
+    private final Map<Vm, Host> tempCreatedVms;
+
+    /** The Hosts whose processing is being tracked to update the {@link #overloadedHosts} and {@link #underloadedHosts}. */
+    private final Set<Host> trackedHosts;
+
+    /** The Hosts processed or changed since they were last classified as overloaded or underloaded. */
+    private final Set<Host> changedHosts;
+
+    /** The load of each tracked Host when it was last classified as overloaded or underloaded. */
+    private final Map<Host, HostLoad> classifiedLoads;
+
+    /** The Hosts that were overloaded when last classified. */
+    private final Set<Host> overloadedHosts;
+
+    /** The Hosts that were underloaded when last classified. */
+    private final Set<Host> underloadedHosts;
+
+    /** A listener that notifies the policy when a Host is processed. */
+    private final EventListener<HostUpdatesVmsProcessingEventInfo> hostProcessingListener;
 
     /** @see #areHostsUnderloaded() */
     private boolean hostsUnderloaded;
@@ -117,19 +151,31 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
     {
         super(findHostForVmFunction);
         this.underUtilizationThreshold = DEF_UNDERLOAD_THRESHOLD;
-        this.savedAllocation = new HashMap<>();
+        this.tempDestroyedVms = new LinkedHashMap<>();
+        this.tempCreatedVms = new LinkedHashMap<>();
+        this.trackedHosts = new HashSet<>();
+        this.changedHosts = new HashSet<>();
+        this.classifiedLoads = new HashMap<>();
+        this.overloadedHosts = new HashSet<>();
+        this.underloadedHosts = new HashSet<>();
+        this.hostProcessingListener = info -> onHostProcessed(info.getHost(), info.getTime());
         setVmSelectionPolicy(vmSelectionPolicy);
     }
 
     @Override
     public Map<Vm, Host> getOptimizedAllocationMap(final List<? extends Vm> vmList) {
         //@TODO See https://github.com/manoelcampos/cloudsim-plus/issues/94
+        classifyChangedHosts();
         final Set<Host> overloadedHosts = getOverloadedHosts();
         this.hostsOverloaded = !overloadedHosts.isEmpty();
         printOverUtilizedHosts(overloadedHosts);
 
         final Map<Vm, Host> migrationMap = getMigrationMapFromOverloadedHosts(overloadedHosts);
-        updateMigrationMapFromUnderloadedHosts(overloadedHosts, migrationMap);
+        try {
+            updateMigrationMapFromUnderloadedHosts(overloadedHosts, migrationMap);
+        } finally {
+            restoreAllocation();
+        }
 
         if (hostsOverloaded && migrationMap.isEmpty()) {
             hostSearchRetry();
@@ -169,10 +215,10 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
         final Set<Host> overloadedHosts,
         final Map<Vm, Host> migrationMap)
     {
-        final List<Host> switchedOffHosts = getSwitchedOffHosts();
-
+        /* Switched off and failed hosts aren't ignored explicitly,
+         * since they are never selected as underloaded ones. */
         // overloaded hosts + hosts that are selected to migrate VMs from overloaded hosts
-        final Set<Host> ignoredSourceHosts = getIgnoredHosts(overloadedHosts, switchedOffHosts);
+        final Set<Host> ignoredSourceHosts = new HashSet<>(overloadedHosts);
 
         /*
         During the computation of the new placement for VMs,
@@ -187,7 +233,7 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
         ignoredSourceHosts.addAll(migrationMap.values());
 
         // overloaded + underloaded hosts
-        final Set<Host> ignoredTargetHosts = getIgnoredHosts(overloadedHosts, switchedOffHosts);
+        final Set<Host> ignoredTargetHosts = new HashSet<>(overloadedHosts);
 
         final int numberOfHosts = getHostList().size();
 
@@ -228,13 +274,6 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
         }
     }
 
-    private Set<Host> getIgnoredHosts(final Set<Host> overloadedHosts, final List<Host> switchedOffHosts) {
-        final var ignoredHostsSet = new HashSet<Host>();
-        ignoredHostsSet.addAll(overloadedHosts);
-        ignoredHostsSet.addAll(switchedOffHosts);
-        return ignoredHostsSet;
-    }
-
     private String getVmIds(final List<? extends Vm> vmList) {
         return vmList.stream().map(vm -> String.valueOf(vm.getId())).collect(joining(", "));
     }
@@ -277,24 +316,27 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
     }
 
     /**
-     * Checks if a host will be over utilized after placing of a candidate VM.
+     * Checks if a host has enough resources for a candidate VM
+     * and will not be over utilized after placing it.
+     * The VM is not in fact placed into the Host, which is not changed,
+     * so that different Hosts can be checked in parallel.
      *
      * @param host the host to verify
      * @param vm the candidate vm
-     * @return true, if the host will be over utilized after VM placement;
+     * @return true, if the host is suitable and will not be over utilized after VM placement;
      *         false otherwise
      */
     private boolean isNotHostOverloadedAfterAllocation(final Host host, final Vm vm) {
+        /* A copy of the VM is checked, which requests its full capacity
+         * and whose NIC may be changed by the Host, without changing the actual VM. */
         final var tempVm = new VmSimple(vm);
-
-        if (!host.createTemporaryVm(tempVm).fully()) {
+        tempVm.setNicId(vm.getNicId());
+        if (!host.isSuitableForVm(tempVm)) {
             return false;
         }
 
-        final double usagePercent = getHostCpuPercentRequested(host);
-        final boolean notOverloadedAfterAllocation = !isHostOverloaded(host, usagePercent);
-        host.destroyTemporaryVm(tempVm);
-        return notOverloadedAfterAllocation;
+        final double usagePercent = (getHostTotalRequestedMips(host) + tempVm.getTotalCpuMipsRequested()) / host.getTotalMipsCapacity();
+        return !isHostOverloaded(host, usagePercent);
     }
 
     /**
@@ -362,7 +404,6 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
         final var newPredicate =
             predicate
                 .and(host -> !host.equals(vm.getHost()))
-                .and(host -> host.isSuitableForVm(vm))
                 .and(host -> isNotHostOverloadedAfterAllocation(host, vm));
 
         return findHostForVmInternal(vm, newPredicate);
@@ -372,16 +413,51 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
      * Applies additional filters to the Hosts Stream and performs the actual Host selection.
      * It can be overridden by sub-classes to change the way to select the Host for a given VM.
      *
+     * <p>If {@link #isParallelHostSearchEnabled() parallel search is enabled},
+     * candidate Hosts are filtered and scored in parallel.
+     * Since Hosts with the same power consumption are selected by their ids,
+     * the selected Host is the same as in a sequential search.</p>
+     *
      * @param vm the VM to find a Host to be placed into
      * @param predicate a {@link Predicate} to filter suitable Hosts
      * @return an {@link Optional} containing a suitable Host to place the VM or an empty {@link Optional} if not found
      * @see #findHostForVm(Vm, Predicate)
      */
     protected Optional<Host> findHostForVmInternal(final Vm vm, final Predicate<Host> predicate){
-        final Comparator<Host> hostPowerConsumptionComparator =
-            comparingDouble(host -> getPowerDifferenceAfterAllocation(host, vm));
+        final var hostStream = isParallelHostSearchEnabled() ? getHostList().stream().parallel() : getHostList().stream();
+        return hostStream
+            .filter(predicate)
+            .map(host -> new HostScore(host, getPowerDifferenceAfterAllocation(host, vm)))
+            .min(comparingDouble(HostScore::score).thenComparingLong(score -> score.host().getId()))
+            .map(HostScore::host);
+    }
+
+    /**
+     * The score of a candidate Host to place a VM, computed just once for each Host.
+     * @param host the candidate Host
+     * @param score the Host power consumption difference after the VM placement
+     */
+    private record HostScore(Host host, double score) { }
+
+    /**
+     * The values a Host was classified as overloaded or underloaded from:
+     * its CPU utilization and requested percentages and its VMs.
+     */
+    private record HostLoad(double cpuUtilization, double cpuRequested, List<Vm> vms) {
+        private HostLoad(final Host host) {
+            this(host.getCpuPercentUtilization(), getHostCpuPercentRequested(host), new ArrayList<>(host.getVmList()));
+        }
 
-        return getHostList().stream().filter(predicate).min(hostPowerConsumptionComparator);
+        /**
+         * Checks if this load is still the current one for a Host.
+         * @param host the Host this load was got from
+         * @return true if the Host CPU utilization, requested percentage and VMs didn't change, false otherwise
+         */
+        private boolean isCurrent(final Host host) {
+            return cpuUtilization == host.getCpuPercentUtilization() &&
+                   cpuRequested == getHostCpuPercentRequested(host) &&
+                   vms.equals(host.getVmList());
+        }
     }
 
     /**
@@ -406,12 +482,12 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
      * TODO See issue in {@link #getVmsToMigrateFromOverloadedHost(Host)}
      */
     private Map<Vm, Host> getMigrationMapFromOverloadedHosts(final Set<Host> overloadedHosts) {
+        // The map is mutable since it's updated with VMs migrated from underloaded Hosts
         if(overloadedHosts.isEmpty()) {
-            return  Collections.emptyMap();
+            return new LinkedHashMap<>();
         }
 
-        saveAllocation();
-        final Map<Vm, Host> migrationMap = new HashMap<>();
+        final Map<Vm, Host> migrationMap = new LinkedHashMap<>();
         try {
             final var vmsToMigrateList = getVmsToMigrateFromOverloadedHosts(overloadedHosts);
             sortByCpuUtilization(vmsToMigrateList, getDatacenter().getSimulation().clock());
@@ -420,7 +496,9 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
             final VmAllocationPolicy targetVmAllocationPolicy = targetMigrationDc.getVmAllocationPolicy();
             for (final Vm vm : vmsToMigrateList) {
                 targetVmAllocationPolicy.findHostForVm(vm).ifPresent(targetHost -> {
-                    addVmToMigrationMap(migrationMap, vm, targetHost);
+                    if (addVmToMigrationMap(migrationMap, vm, targetHost)) {
+                        tempCreatedVms.put(vm, targetHost);
+                    }
                     appendVmMigrationMsgToStringBuilder(builder, vm, targetHost);
                 });
             }
@@ -457,7 +535,7 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
         final List<? extends Vm> vmsToMigrate,
         final Set<? extends Host> excludedHosts)
     {
-        final var migrationMap = new HashMap<Vm, Host>();
+        final var migrationMap = new LinkedHashMap<Vm, Host>();
         sortByCpuUtilization(vmsToMigrate, getDatacenter().getSimulation().clock());
         for (final Vm vm : vmsToMigrate) {
             //try to find a target Host to place a VM from an underloaded Host that is not underloaded too
@@ -466,9 +544,16 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
                 LOGGER.warn(
                     "{}: VmAllocationPolicy: A new Host, which isn't also underloaded or won't be overloaded, couldn't be found to migrate {}. Migration of VMs from the underloaded {} cancelled.",
                     getDatacenter().getSimulation().clockStr(), vm, vm.getHost());
-                return new HashMap<>();
+                return new LinkedHashMap<>();
+            }
+            /* Temporarily destroys the VM into the underloaded Host too,
+             * so that the VM is created back into it when the allocation is restored. */
+            final Host sourceHost = vm.getHost();
+            sourceHost.destroyTemporaryVm(vm);
+            tempDestroyedVms.put(vm, sourceHost);
+            if (addVmToMigrationMap(migrationMap, vm, optional.get())) {
+                tempCreatedVms.put(vm, optional.get());
             }
-            addVmToMigrationMap(migrationMap, vm, optional.get());
         }
 
         return migrationMap;
@@ -485,7 +570,11 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
         vmList.sort(comparator.reversed());
     }
 
-    private <T extends Host> void addVmToMigrationMap(final Map<Vm, T> migrationMap, final Vm vm, final T targetHost) {
+    /**
+     * Adds a VM to the migration map, temporarily creating it into the target Host.
+     * @return true if the VM was temporarily created into the target Host, false otherwise
+     */
+    private <T extends Host> boolean addVmToMigrationMap(final Map<Vm, T> migrationMap, final Vm vm, final T targetHost) {
         /*
         Temporarily creates the VM into the target Host so that
         when the next VM is got to be migrated, if the same Host
@@ -493,8 +582,10 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
         used by the previous VM will be considered when
         assessing the suitability of such a Host for the next VM.
          */
-        targetHost.createTemporaryVm(vm);
+        final boolean created = targetHost.createTemporaryVm(vm).fully();
         migrationMap.put(vm, targetHost);
+        changedHosts.add(targetHost);
+        return created;
     }
 
     /**
@@ -530,6 +621,7 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
             /*Temporarily destroys the selected VM into the overloaded Host so that
             the loop gets VMs from such a Host until it is not overloaded anymore.*/
             host.destroyTemporaryVm(vm);
+            tempDestroyedVms.put(vm, host);
             if (!isHostOverloaded(host)) {
                 break;
             }
@@ -563,6 +655,111 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
         return !host.isActive() || host.isFailed();
     }
 
+    /**
+     * Classifies the Hosts processed or changed since the last check
+     * as overloaded and/or underloaded, updating the sets of such Hosts.
+     * Hosts added to or removed from the policy Host list are tracked or untracked first.
+     */
+    private void classifyChangedHosts() {
+        final List<Host> hostList = getHostList();
+        if (trackedHosts.size() != hostList.size() || !trackedHosts.containsAll(hostList)) {
+            trackHosts(hostList);
+        }
+
+        for (final Host host : changedHosts) {
+            if (trackedHosts.contains(host)) {
+                updateMembership(overloadedHosts, host, isHostOverloaded(host));
+                updateMembership(underloadedHosts, host, isHostUnderloaded(host));
+                classifiedLoads.put(host, new HostLoad(host));
+            }
+        }
+
+        changedHosts.clear();
+    }
+
+    /**
+     * Starts tracking the processing of Hosts added to the policy Host list
+     * and stops tracking the ones removed from it.
+     * @param hostList the current policy Host list
+     */
+    private void trackHosts(final List<Host> hostList) {
+        final var hostSet = new HashSet<>(hostList);
+        final Iterator<Host> iterator = trackedHosts.iterator();
+        while (iterator.hasNext()) {
+            final Host host = iterator.next();
+            if (!hostSet.contains(host)) {
+                host.removeOnUpdateProcessingListener(hostProcessingListener);
+                overloadedHosts.remove(host);
+                underloadedHosts.remove(host);
+                classifiedLoads.remove(host);
+                iterator.remove();
+            }
+        }
+
+        for (final Host host : hostList) {
+            if (trackedHosts.add(host)) {
+                host.addOnUpdateProcessingListener(hostProcessingListener);
+                changedHosts.add(host);
+            }
+        }
+    }
+
+    /**
+     * Notifies the policy that a Host from its list was processed.
+     * Since every Host is processed whenever the Datacenter is,
+     * the Host is just marked to be classified again as overloaded or underloaded on the next check
+     * if its CPU utilization or VMs changed since it was last classified.
+     * Sub-classes may override it to collect Host utilization samples, but must call this method.
+     *
+     * @param host the processed Host
+     * @param time the simulation time the Host was processed
+     * @see #markHostChanged(Host)
+     */
+    protected void onHostProcessed(final Host host, final double time) {
+        final HostLoad load = classifiedLoads.get(host);
+        if (load == null || !load.isCurrent(host)) {
+            changedHosts.add(host);
+        }
+    }
+
+    /**
+     * Marks a Host to be classified again as overloaded or underloaded on the next check,
+     * even if its CPU utilization and VMs didn't change
+     * (for instance, because its over utilization threshold depends on new utilization samples).
+     * @param host the Host to mark
+     */
+    protected final void markHostChanged(final Host host) {
+        changedHosts.add(host);
+    }
+
+    private static void updateMembership(final Set<Host> hostSet, final Host host, final boolean member) {
+        if (member) {
+            hostSet.add(host);
+        } else {
+            hostSet.remove(host);
+        }
+    }
+
+    /**
+     * Indicates that the over or under utilization threshold changed,
+     * so that all Hosts are classified again as overloaded or underloaded on the next check.
+     */
+    protected void invalidateHostsLoad() {
+        changedHosts.addAll(trackedHosts);
+    }
+
+    @Override
+    public HostSuitability allocateHostForVm(final Vm vm, final Host host) {
+        changedHosts.add(host);
+        return super.allocateHostForVm(vm, host);
+    }
+
+    @Override
+    public void deallocateHostForVm(final Vm vm) {
+        changedHosts.add(vm.getHost());
+        super.deallocateHostForVm(vm);
+    }
+
     /**
      * Gets the List of overloaded hosts.
      * If a Host is overloaded but it has VMs migrating out,
@@ -573,10 +770,11 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
      * @return the over utilized hosts
      */
     private Set<Host> getOverloadedHosts() {
-        return this.getHostList().stream()
-            .filter(this::isHostOverloaded)
+        // Hosts are sorted so that the VMs selected to migrate don't depend on the Set order
+        return overloadedHosts.stream()
             .filter(host -> host.getVmsMigratingOut().isEmpty())
-            .collect(toSet());
+            .sorted(comparingLong(Host::getId))
+            .collect(toCollection(LinkedHashSet::new));
     }
 
     /**
@@ -593,17 +791,20 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
      * @return the most under utilized host or {@link Host#NULL} if no Host is found
      */
     private Host getUnderloadedHost(final Set<? extends Host> excludedHosts) {
-        return this.getHostList().stream()
+        /* Hosts receiving temporary VMs are just excluded or checked again,
+         * since they can only become less underloaded. */
+        return underloadedHosts.stream()
             .filter(host -> !excludedHosts.contains(host))
             .filter(Host::isActive)
+            .filter(host -> !host.isFailed())
             .filter(this::isHostUnderloaded)
             .filter(host -> host.getVmsMigratingIn().isEmpty())
             .filter(this::notAllVmsAreMigratingOut)
-            .min(comparingDouble(Host::getCpuPercentUtilization))
+            .min(comparingDouble(Host::getCpuPercentUtilization).thenComparingLong(Host::getId))
             .orElse(Host.NULL);
     }
 
-    private double getHostCpuPercentRequested(final Host host) {
+    private static double getHostCpuPercentRequested(final Host host) {
         return getHostTotalRequestedMips(host) / host.getTotalMipsCapacity();
     }
 
@@ -612,7 +813,7 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
      * @param host
      * @return
      */
-    private double getHostTotalRequestedMips(final Host host) {
+    private static double getHostTotalRequestedMips(final Host host) {
         return host.getVmList().stream()
             .mapToDouble(Vm::getTotalCpuMipsRequested)
             .sum();
@@ -631,48 +832,30 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
     }
 
     /**
-     * Saves the current map between a VM and the host where it is placed.
-     *
-     * @see #savedAllocation
-     */
-    private void saveAllocation() {
-        savedAllocation.clear();
-        for (final Host host : getHostList()) {
-            for (final Vm vm : host.getVmList()) {
-                /* TODO: this VM loop has a quadratic wost-case complexity (when
-                    all Vms already in the VM list are migrating into this Host).
-                *  Instead of looping over the vmsMigratingIn list for every VM,
-                *  we could add a Host migratingIn attribute to the Vm.
-                * Then, for every VM on the Host, we check this VM attribute
-                * to see if the VM is migrating into the Host. */
-                if (!host.getVmsMigratingIn().contains(vm)) {
-                    savedAllocation.put(vm, host);
-                }
-            }
-        }
-    }
-
-    /**
-     * Restore VM allocation from the allocation history.
-     *  TODO: The allocation map only needs to be restored because
+     * Restores the VM allocation, undoing just the temporary VM creations and destructions
+     * performed to compute a new VM placement.
+     *  TODO: The allocation only needs to be restored because
      *  VMs are destroyed in order to assess a new VM placement.
      *  After fixing this issue, there will be no need to restore VM mapping.
      *  https://github.com/manoelcampos/cloudsim-plus/issues/94
      *
-     * @see #savedAllocation
+     * @see #tempCreatedVms
+     * @see #tempDestroyedVms
      */
     private void restoreAllocation() {
-        for (final Host host : getHostList()) {
-            host.destroyAllVms();
-            host.reallocateMigratingInVms();
-        }
-
-        for (final Vm vm : savedAllocation.keySet()) {
-            final Host host = savedAllocation.get(vm);
+        tempCreatedVms.forEach((vm, host) -> host.destroyTemporaryVm(vm));
+        for (final Map.Entry<Vm, Host> entry : tempDestroyedVms.entrySet()) {
+            final Vm vm = entry.getKey();
+            final Host host = entry.getValue();
             if (host.createTemporaryVm(vm).fully())
                 vm.setCreated(true);
             else LOGGER.error("VmAllocationPolicy: Couldn't restore {} on {}", vm, host);
         }
+
+        changedHosts.addAll(tempCreatedVms.values());
+        changedHosts.addAll(tempDestroyedVms.values());
+        tempCreatedVms.clear();
+        tempDestroyedVms.clear();
     }
 
     /**
@@ -767,6 +950,7 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
         }
 
         this.underUtilizationThreshold = underUtilizationThreshold;
+        invalidateHostsLoad();
     }
 
     @Override
@@ -12,12 +12,14 @@ import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.selectionpolicies.VmSelectionPolicy;
 import org.cloudbus.cloudsim.vms.Vm;
 
+import java.util.Comparator;
 import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
 import static java.util.Comparator.comparingDouble;
+import static java.util.Comparator.reverseOrder;
 
 /**
  * A {@link VmAllocationPolicy} that uses a Static CPU utilization Threshold (THR) to
@@ -71,6 +73,8 @@ public class VmAllocationPolicyMigrationBestFitStaticThreshold extends VmAllocat
 
     /**
      * Gets the Host having the least available MIPS capacity (max used MIPS).
+     * Among Hosts with the same used MIPS, the one with the lowest id is selected,
+     * even if Hosts are {@link #isParallelHostSearchEnabled() searched in parallel}.
      *
      * <p>This method is ignoring the additional filtering performed by the super class.
      * This way, Host selection is performed ignoring energy consumption.
@@ -86,6 +90,8 @@ public class VmAllocationPolicyMigrationBestFitStaticThreshold extends VmAllocat
     protected Optional<Host> findHostForVmInternal(final Vm vm, final Predicate<Host> predicate) {
         /*It's ignoring the super class intentionally to avoid the additional filtering performed there
         * and to apply a different method to select the Host to place the VM.*/
-        return getHostList().stream().filter(predicate).max(comparingDouble(Host::getCpuMipsUtilization));
+        final var hostStream = isParallelHostSearchEnabled() ? getHostList().stream().parallel() : getHostList().stream();
+        final Comparator<Host> comparator = comparingDouble(Host::getCpuMipsUtilization).thenComparing(Host::getId, reverseOrder());
+        return hostStream.filter(predicate).max(comparator);
     }
 }
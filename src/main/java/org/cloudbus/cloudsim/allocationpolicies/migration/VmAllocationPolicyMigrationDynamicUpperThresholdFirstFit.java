@@ -2,23 +2,53 @@ package org.cloudbus.cloudsim.allocationpolicies.migration;
 
 import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.selectionpolicies.VmSelectionPolicy;
+import org.cloudbus.cloudsim.util.SlidingWindowOrderStatistics;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * An abstract class that is the base for implementation of VM allocation policies which use
  * a dynamic over utilization threshold.
  *
+ * <p>The CPU utilization of each Host is sampled every time the Host is processed
+ * and the last samples are kept in a {@link #getUtilizationWindow(Host) sliding window},
+ * which incrementally computes the order statistics used by sub-classes to compute the threshold.</p>
+ *
  * @author Manoel Campos da Silva Filho
  */
 public abstract class VmAllocationPolicyMigrationDynamicUpperThresholdFirstFit extends VmAllocationPolicyMigrationAbstract
     implements VmAllocationPolicyMigrationDynamicUpperThreshold {
 
+    /** The default number of Host CPU utilization samples kept to compute the over utilization threshold. */
+    public static final int DEF_UTILIZATION_WINDOW_SIZE = 30;
+
+    /**
+     * The minimum number of Host CPU utilization samples required to compute the over utilization threshold.
+     * While a Host has fewer samples, the {@link #getFallbackVmAllocationPolicy() fallback policy} is used.
+     */
+    public static final int MIN_UTILIZATION_SAMPLES = 12;
+
     /**
      * @see #getSafetyParameter()
      */
     private double safetyParameter;
 
+    /**
+     * The utilization window of each Host, which is concurrent
+     * since Host thresholds may be computed while Hosts are searched in parallel.
+     * @see #getUtilizationWindow(Host)
+     */
+    private final Map<Host, SlidingWindowOrderStatistics> utilizationWindows;
+
+    /** The last time each Host was sampled. */
+    private final Map<Host, Double> lastSampleTimes;
+
+    /** @see #getUtilizationWindowSize() */
+    private int utilizationWindowSize;
+
     /**
      * @see #getFallbackVmAllocationPolicy()
      */
@@ -49,6 +79,9 @@ public abstract class VmAllocationPolicyMigrationDynamicUpperThresholdFirstFit e
         final VmAllocationPolicyMigration fallbackVmAllocationPolicy)
     {
         super(vmSelectionPolicy);
+        this.utilizationWindows = new ConcurrentHashMap<>();
+        this.lastSampleTimes = new HashMap<>();
+        this.utilizationWindowSize = DEF_UTILIZATION_WINDOW_SIZE;
         setSafetyParameter(safetyParameter);
         setFallbackVmAllocationPolicy(fallbackVmAllocationPolicy);
     }
@@ -87,6 +120,77 @@ public abstract class VmAllocationPolicyMigrationDynamicUpperThresholdFirstFit e
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * It also {@link #addUtilizationSample(Host, double, boolean) adds} the current Host CPU utilization as a sample,
+     * replacing the last sample if the Host was already processed at the same time.
+     * Since a new sample may change the Host over utilization threshold,
+     * the Host is classified again as overloaded or underloaded on the next check.
+     */
+    @Override
+    protected void onHostProcessed(final Host host, final double time) {
+        super.onHostProcessed(host, time);
+        final Double lastTime = lastSampleTimes.put(host, time);
+        final boolean sameTime = lastTime != null && lastTime == time;
+        addUtilizationSample(host, host.getCpuPercentUtilization(), sameTime);
+        if (!sameTime) {
+            markHostChanged(host);
+        }
+    }
+
+    /**
+     * Adds a CPU utilization sample into the Host {@link #getUtilizationWindow(Host) window}.
+     * Sub-classes that compute the over utilization threshold from different data
+     * may override it to keep just the data they need.
+     *
+     * @param host the Host the sample was collected from
+     * @param utilization the Host CPU utilization (in scale from 0 to 1)
+     * @param replaceLast true to replace the last sample, since the Host was already sampled at the current time;
+     *                    false to add a new sample
+     */
+    protected void addUtilizationSample(final Host host, final double utilization, final boolean replaceLast) {
+        final var window = getUtilizationWindow(host);
+        if (replaceLast && window.size() > 0) {
+            window.replaceLast(utilization);
+        } else {
+            window.add(utilization);
+        }
+    }
+
+    /**
+     * Gets the sliding window with the last CPU utilization samples of a Host,
+     * collected each time the Host is processed.
+     * @param host the Host to get the window
+     * @return the Host utilization window (which is empty if the Host wasn't processed yet)
+     */
+    protected SlidingWindowOrderStatistics getUtilizationWindow(final Host host) {
+        return utilizationWindows.computeIfAbsent(host, key -> new SlidingWindowOrderStatistics(utilizationWindowSize));
+    }
+
+    /**
+     * Gets the maximum number of Host CPU utilization samples kept to compute the over utilization threshold.
+     * @return
+     */
+    public int getUtilizationWindowSize() {
+        return utilizationWindowSize;
+    }
+
+    /**
+     * Sets the maximum number of Host CPU utilization samples kept to compute the over utilization threshold.
+     * Samples already collected are discarded.
+     * @param utilizationWindowSize the window size to set
+     */
+    public void setUtilizationWindowSize(final int utilizationWindowSize) {
+        if (utilizationWindowSize < MIN_UTILIZATION_SAMPLES) {
+            throw new IllegalArgumentException("Utilization window size must be at least " + MIN_UTILIZATION_SAMPLES);
+        }
+
+        this.utilizationWindowSize = utilizationWindowSize;
+        utilizationWindows.clear();
+        lastSampleTimes.clear();
+        invalidateHostsLoad();
+    }
+
     /**
      * Sets the safety parameter.
      *
@@ -0,0 +1,80 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.allocationpolicies.migration;
+
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.selectionpolicies.VmSelectionPolicy;
+
+/**
+ * A VM allocation policy that uses the <a href="https://en.wikipedia.org/wiki/Interquartile_range">Inter-quartile Range (IQR)</a>
+ * of the last Host CPU utilization samples to compute a dynamic over utilization threshold.
+ *
+ * @since CloudSim Plus 7.3.0
+ */
+public class VmAllocationPolicyMigrationInterQuartileRange extends VmAllocationPolicyMigrationDynamicUpperThresholdFirstFit {
+    /**
+     * Creates a VmAllocationPolicyMigrationInterQuartileRange
+     * with a {@link #getSafetyParameter() safety parameter} equals to 0
+     * and no {@link #getFallbackVmAllocationPolicy() fallback policy}.
+     *
+     * @param vmSelectionPolicy the policy that defines how VMs are selected for migration
+     */
+    public VmAllocationPolicyMigrationInterQuartileRange(final VmSelectionPolicy vmSelectionPolicy) {
+        super(vmSelectionPolicy);
+    }
+
+    /**
+     * Creates a VmAllocationPolicyMigrationInterQuartileRange.
+     *
+     * @param vmSelectionPolicy          the policy that defines how VMs are selected for migration
+     * @param safetyParameter            the safety parameter
+     * @param fallbackVmAllocationPolicy the fallback VM allocation policy to be used when
+     * the over utilization host detection doesn't have data to be computed
+     */
+    public VmAllocationPolicyMigrationInterQuartileRange(
+        final VmSelectionPolicy vmSelectionPolicy,
+        final double safetyParameter,
+        final VmAllocationPolicyMigration fallbackVmAllocationPolicy)
+    {
+        super(vmSelectionPolicy, safetyParameter, fallbackVmAllocationPolicy);
+    }
+
+    /**
+     * Computes the Inter-quartile Range (IQR) of the Host CPU utilization samples in the
+     * {@link #getUtilizationWindow(Host) utilization window}.
+     *
+     * @param host the host to get the current utilization
+     * @return {@inheritDoc}
+     * @throws IllegalStateException when the Host has fewer than {@link #MIN_UTILIZATION_SAMPLES} samples
+     */
+    @Override
+    public double computeHostUtilizationMeasure(final Host host) throws IllegalStateException {
+        final var window = getUtilizationWindow(host);
+        if (window.size() < MIN_UTILIZATION_SAMPLES) {
+            throw new IllegalStateException("There is not enough Host history to compute the Inter-quartile Range (IQR).");
+        }
+
+        return window.iqr();
+    }
+}
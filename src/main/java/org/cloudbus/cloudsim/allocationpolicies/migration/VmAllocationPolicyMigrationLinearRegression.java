@@ -0,0 +1,155 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.allocationpolicies.migration;
+
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.selectionpolicies.VmSelectionPolicy;
+import org.cloudbus.cloudsim.util.SlidingWindowRegression;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A VM allocation policy that fits a linear regression for the last Host CPU utilization samples
+ * to predict the Host utilization. A Host is overloaded when the predicted utilization,
+ * multiplied by the {@link #getSafetyParameter() safety parameter}, reaches 100%.
+ * The utilization is predicted by adding the trend of the regression to the current Host utilization,
+ * so that the prediction follows VMs placed into or removed from the Host.
+ *
+ * <p>The regression is computed from running sums of the samples in a
+ * {@link SlidingWindowRegression}, which are updated as each sample is collected.</p>
+ *
+ * @since CloudSim Plus 7.3.0
+ */
+public class VmAllocationPolicyMigrationLinearRegression extends VmAllocationPolicyMigrationDynamicUpperThresholdFirstFit {
+    /** The regression for the last CPU utilization samples of each Host. */
+    private final Map<Host, SlidingWindowRegression> regressions;
+
+    /**
+     * Creates a VmAllocationPolicyMigrationLinearRegression
+     * with a {@link #getSafetyParameter() safety parameter} equals to 0
+     * and no {@link #getFallbackVmAllocationPolicy() fallback policy}.
+     *
+     * @param vmSelectionPolicy the policy that defines how VMs are selected for migration
+     */
+    public VmAllocationPolicyMigrationLinearRegression(final VmSelectionPolicy vmSelectionPolicy) {
+        this(vmSelectionPolicy, 0, VmAllocationPolicyMigration.NULL);
+    }
+
+    /**
+     * Creates a VmAllocationPolicyMigrationLinearRegression.
+     *
+     * @param vmSelectionPolicy          the policy that defines how VMs are selected for migration
+     * @param safetyParameter            the safety parameter
+     * @param fallbackVmAllocationPolicy the fallback VM allocation policy to be used when
+     * the over utilization host detection doesn't have data to be computed
+     */
+    public VmAllocationPolicyMigrationLinearRegression(
+        final VmSelectionPolicy vmSelectionPolicy,
+        final double safetyParameter,
+        final VmAllocationPolicyMigration fallbackVmAllocationPolicy)
+    {
+        super(vmSelectionPolicy, safetyParameter, fallbackVmAllocationPolicy);
+        this.regressions = new HashMap<>();
+    }
+
+    /**
+     * Adds a CPU utilization sample into the Host regression.
+     * The utilization window from the super class isn't used,
+     * since the prediction just needs the regression sums.
+     *
+     * @param host {@inheritDoc}
+     * @param utilization {@inheritDoc}
+     * @param replaceLast {@inheritDoc}
+     */
+    @Override
+    protected void addUtilizationSample(final Host host, final double utilization, final boolean replaceLast) {
+        final var regression = regressions.computeIfAbsent(host, key -> new SlidingWindowRegression(getUtilizationWindowSize()));
+        if (replaceLast && regression.size() > 0) {
+            regression.replaceLast(utilization);
+        } else {
+            regression.add(utilization);
+        }
+    }
+
+    @Override
+    public void setUtilizationWindowSize(final int utilizationWindowSize) {
+        super.setUtilizationWindowSize(utilizationWindowSize);
+        regressions.clear();
+    }
+
+    /**
+     * Predicts the Host CPU utilization for the next sample,
+     * adding the slope of a linear regression of the samples in the utilization window
+     * to the current utilization.
+     *
+     * @param host the host to get the current utilization
+     * @return the predicted CPU utilization (in scale from 0 to 1)
+     * @throws IllegalStateException when the Host has fewer than {@link #MIN_UTILIZATION_SAMPLES} samples
+     */
+    @Override
+    public double computeHostUtilizationMeasure(final Host host) throws IllegalStateException {
+        final var regression = regressions.get(host);
+        if (regression == null || regression.size() < MIN_UTILIZATION_SAMPLES) {
+            throw new IllegalStateException("There is not enough Host history to compute the linear regression.");
+        }
+
+        return host.getCpuPercentUtilization() + regression.getSlope();
+    }
+
+    /**
+     * Gets the Host CPU utilization threshold that the predicted utilization has to reach
+     * for the Host to be overloaded, which is defined by the {@link #getSafetyParameter() safety parameter}.
+     *
+     * @param host {@inheritDoc}
+     * @return {@inheritDoc} or {@link Double#MAX_VALUE} if the utilization cannot be predicted
+     * (for instance, because the Host doesn't have enough history to use)
+     */
+    @Override
+    public double getOverUtilizationThreshold(final Host host) {
+        final var regression = regressions.get(host);
+        if (regression == null || regression.size() < MIN_UTILIZATION_SAMPLES) {
+            return Double.MAX_VALUE;
+        }
+
+        return getSafetyParameter() > 0 ? 1 / getSafetyParameter() : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Checks if a host is over utilized based on the CPU utilization predicted by
+     * {@link #computeHostUtilizationMeasure(Host)}.
+     *
+     * @param host {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public boolean isHostOverloaded(final Host host) {
+        final double threshold = getOverUtilizationThreshold(host);
+        if (threshold == Double.MAX_VALUE) {
+            return getFallbackVmAllocationPolicy().isHostOverloaded(host);
+        }
+
+        return computeHostUtilizationMeasure(host) >= threshold;
+    }
+}
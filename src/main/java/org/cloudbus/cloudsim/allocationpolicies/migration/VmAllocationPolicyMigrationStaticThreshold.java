@@ -97,6 +97,7 @@ public class VmAllocationPolicyMigrationStaticThreshold extends VmAllocationPoli
         }
 
         this.overUtilizationThreshold = overUtilizationThreshold;
+        invalidateHostsLoad();
     }
 
     /**
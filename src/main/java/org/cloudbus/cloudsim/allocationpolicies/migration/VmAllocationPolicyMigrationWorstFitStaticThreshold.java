@@ -58,6 +58,8 @@ public class VmAllocationPolicyMigrationWorstFitStaticThreshold extends VmAlloca
 
     /**
      * Gets the Host having the most available MIPS capacity (min used MIPS).
+     * Among Hosts with the same used MIPS, the one with the lowest id is selected,
+     * even if Hosts are {@link #isParallelHostSearchEnabled() searched in parallel}.
      *
      * <p>This method is ignoring the additional filtering performed by the super class.
      * This way, Host selection is performed ignoring energy consumption.
@@ -73,6 +75,7 @@ public class VmAllocationPolicyMigrationWorstFitStaticThreshold extends VmAlloca
     protected Optional<Host> findHostForVmInternal(final Vm vm, final Predicate<Host> predicate) {
         /*It's ignoring the super class to intentionally avoid the additional filtering performed there
         * and to apply a different method to select the Host to place the VM.*/
-        return getHostList().stream().filter(predicate).min(comparingDouble(Host::getCpuMipsUtilization));
+        final var hostStream = isParallelHostSearchEnabled() ? getHostList().stream().parallel() : getHostList().stream();
+        return hostStream.filter(predicate).min(comparingDouble(Host::getCpuMipsUtilization).thenComparingLong(Host::getId));
     }
 }
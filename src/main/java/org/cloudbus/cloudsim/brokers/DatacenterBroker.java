@@ -14,6 +14,7 @@ import org.cloudbus.cloudsim.vms.VmGroup;
 import org.cloudsimplus.listeners.DatacenterBrokerEventInfo;
 import org.cloudsimplus.listeners.EventInfo;
 import org.cloudsimplus.listeners.EventListener;
+import org.cloudsimplus.sinks.FinishedEntitySink;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -87,6 +88,48 @@ public interface DatacenterBroker extends SimEntity {
      */
     <T extends Cloudlet> List<T> getCloudletFinishedList();
 
+    /**
+     * Gets the sink that receives the summary of each Cloudlet that finishes
+     * and each VM that is destroyed.
+     * @return the sink or {@link FinishedEntitySink#NULL} if none was set
+     */
+    FinishedEntitySink getFinishedEntitySink();
+
+    /**
+     * Sets a sink to receive the summary of each Cloudlet that finishes
+     * and each VM that is destroyed, enabling such data to be streamed out of the simulation.
+     * The sink must be closed by the caller after the simulation finishes.
+     *
+     * @param sink the sink to set
+     * @return this broker
+     * @see #setRetainFinishedEntities(boolean)
+     */
+    DatacenterBroker setFinishedEntitySink(FinishedEntitySink sink);
+
+    /**
+     * Checks if finished Cloudlets and destroyed VMs are kept in
+     * lists such as the {@link #getCloudletFinishedList()} and {@link org.cloudbus.cloudsim.hosts.Host#getVmCreatedList()}.
+     * @return true if finished entities are retained (the default), false otherwise
+     */
+    boolean isRetainFinishedEntities();
+
+    /**
+     * Defines if finished Cloudlets and destroyed VMs must be kept in the lists
+     * of the broker, of the VMs {@link org.cloudbus.cloudsim.schedulers.cloudlet.CloudletScheduler}s
+     * and of the Hosts where the VMs were placed.
+     * Destroyed VMs are also periodically removed from the broker's {@link #getVmCreatedList()},
+     * though they are still counted by {@link #getVmsNumber()}.
+     *
+     * <p>Disabling retention bounds memory usage of long trace-driven simulations
+     * by the number of running entities. In such a case, data about finished entities
+     * is just available at the {@link #setFinishedEntitySink(FinishedEntitySink) sink}
+     * and lists such as the {@link #getCloudletFinishedList()} will be empty.</p>
+     *
+     * @param retain true to retain finished entities (the default), false otherwise
+     * @return this broker
+     */
+    DatacenterBroker setRetainFinishedEntities(boolean retain);
+
     /**
      * Gets a VM from the waiting list.
      * @param index the index of the VM to get
@@ -25,6 +25,8 @@ import org.cloudsimplus.autoscaling.VerticalVmScaling;
 import org.cloudsimplus.listeners.DatacenterBrokerEventInfo;
 import org.cloudsimplus.listeners.EventInfo;
 import org.cloudsimplus.listeners.EventListener;
+import org.cloudsimplus.sinks.CloudletSummary;
+import org.cloudsimplus.sinks.FinishedEntitySink;
 import org.cloudsimplus.traces.google.GoogleTaskEventsTraceReader;
 
 import java.util.ArrayList;
@@ -103,6 +105,25 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
     /** @see #getCloudletCreatedList() () */
     private final List<Cloudlet> cloudletsCreatedList;
 
+    /** @see #getFinishedEntitySink() */
+    private FinishedEntitySink finishedEntitySink;
+
+    /** @see #isRetainFinishedEntities() */
+    private boolean retainFinishedEntities;
+
+    /**
+     * The number of finished Cloudlets which weren't removed yet from the
+     * submitted and created lists, when {@link #isRetainFinishedEntities() finished entities are not retained}.
+     */
+    private int finishedCloudletsToPurge;
+
+    /**
+     * The number of destroyed VMs removed from the {@link #vmCreatedList}
+     * when {@link #isRetainFinishedEntities() finished entities are not retained},
+     * which are still counted by {@link #getVmsNumber()}.
+     */
+    private int purgedVmsNumber;
+
     /**
      * Checks if the last time checked, there were waiting cloudlets or not.
      */
@@ -172,6 +193,8 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
         this.cloudletsFinishedList = new ArrayList<>();
         this.cloudletsCreatedList = new ArrayList<>();
         this.cloudletSubmittedList = new ArrayList<>();
+        this.finishedEntitySink = FinishedEntitySink.NULL;
+        this.retainFinishedEntities = true;
         setDatacenterList(new ArrayList<>());
 
         setDatacenterMapper(this::defaultDatacenterMapper);
@@ -764,7 +787,7 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
 
     @Override
     public int getVmsNumber() {
-        return vmCreatedList.size() + vmWaitingList.size() + vmFailedList.size();
+        return vmCreatedList.size() + purgedVmsNumber + vmWaitingList.size() + vmFailedList.size();
     }
 
     /**
@@ -803,7 +826,12 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
      */
     private boolean processCloudletReturn(final SimEvent evt) {
         final var cloudlet = (Cloudlet) evt.getData();
-        cloudletsFinishedList.add(cloudlet);
+        finishedEntitySink.cloudletFinished(CloudletSummary.of(cloudlet));
+        if(retainFinishedEntities) {
+            cloudletsFinishedList.add(cloudlet);
+        } else {
+            purgeFinishedCloudlets();
+        }
         ((VmSimple) cloudlet.getVm()).addExpectedFreePesNumber(cloudlet.getNumberOfPes());
         final String lifeTime = cloudlet.getLifeTime() == -1 ? "" : " (after defined lifetime expired)";
         LOGGER.info(
@@ -819,6 +847,27 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
         return true;
     }
 
+    /**
+     * Removes finished Cloudlets from the submitted and created lists
+     * (and destroyed VMs from the created list)
+     * when {@link #isRetainFinishedEntities() finished entities are not retained}.
+     * To avoid scanning such lists for every finished Cloudlet,
+     * they are purged just after the number of finished Cloudlets reaches half the list size,
+     * making the removal cost amortized constant.
+     */
+    private void purgeFinishedCloudlets() {
+        if(++finishedCloudletsToPurge < Math.max(cloudletSubmittedList.size() / 2, 64)) {
+            return;
+        }
+
+        cloudletSubmittedList.removeIf(Cloudlet::isFinished);
+        cloudletsCreatedList.removeIf(Cloudlet::isFinished);
+        final int vms = vmCreatedList.size();
+        vmCreatedList.removeIf(vm -> !vm.isCreated() && vm.getStopTime() >= 0);
+        purgedVmsNumber += vms - vmCreatedList.size();
+        finishedCloudletsToPurge = 0;
+    }
+
     /**
      * Request the destruction of VMs after all running cloudlets have finished and returned to the broker.
      * If there is no waiting Cloudlet, request all VMs to be destroyed.
@@ -1135,6 +1184,28 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
         return (List<T>) new ArrayList<>(cloudletsFinishedList);
     }
 
+    @Override
+    public FinishedEntitySink getFinishedEntitySink() {
+        return finishedEntitySink;
+    }
+
+    @Override
+    public DatacenterBroker setFinishedEntitySink(final FinishedEntitySink sink) {
+        this.finishedEntitySink = requireNonNull(sink);
+        return this;
+    }
+
+    @Override
+    public boolean isRetainFinishedEntities() {
+        return retainFinishedEntities;
+    }
+
+    @Override
+    public DatacenterBroker setRetainFinishedEntities(final boolean retain) {
+        this.retainFinishedEntities = retain;
+        return this;
+    }
+
     /**
      * Gets a Vm at a given index from the {@link #getVmExecList() list of created VMs}.
      *
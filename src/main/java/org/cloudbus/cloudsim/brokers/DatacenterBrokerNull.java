@@ -31,6 +31,7 @@ import org.cloudbus.cloudsim.vms.Vm;
 import org.cloudsimplus.listeners.DatacenterBrokerEventInfo;
 import org.cloudsimplus.listeners.EventInfo;
 import org.cloudsimplus.listeners.EventListener;
+import org.cloudsimplus.sinks.FinishedEntitySink;
 
 import java.util.Collections;
 import java.util.Comparator;
@@ -56,6 +57,10 @@ final class DatacenterBrokerNull implements DatacenterBroker, SimEntityNullBase
     @Override public <T extends Cloudlet> List<T> getCloudletFinishedList() {
         return Collections.emptyList();
     }
+    @Override public FinishedEntitySink getFinishedEntitySink() { return FinishedEntitySink.NULL; }
+    @Override public DatacenterBroker setFinishedEntitySink(FinishedEntitySink sink) { return this; }
+    @Override public boolean isRetainFinishedEntities() { return true; }
+    @Override public DatacenterBroker setRetainFinishedEntities(boolean retain) { return this; }
     @Override public Vm getWaitingVm(int index) {
         return Vm.NULL;
     }
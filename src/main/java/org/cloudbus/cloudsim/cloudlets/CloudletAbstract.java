@@ -301,7 +301,12 @@ public abstract class CloudletAbstract extends CustomerEntityAbstract implements
             throw new IllegalArgumentException("Cloudlet number of PEs has to be greater than zero.");
         }
 
+        final long previousPes = this.numberOfPes;
         this.numberOfPes = numberOfPes;
+        if(vm != null && previousPes != numberOfPes) {
+            vm.getCloudletScheduler().cloudletPesChanged(this);
+        }
+
         return this;
     }
 
@@ -311,6 +311,12 @@ public enum CloudSimTag implements Comparable<CloudSimTag> {
      */
     NETWORK_EVENT_HOST,
 
+    /**
+     * Denotes the update of flows transferred by a {@link org.cloudbus.cloudsim.network.FlowNetwork},
+     * when flows start or finish.
+     */
+    NETWORK_FLOW_UPDATE,
+
     /**
      * Denotes failure events such as hosts or VMs failures.
     */
@@ -321,6 +327,11 @@ public enum CloudSimTag implements Comparable<CloudSimTag> {
      */
     HOST_FAILURE,
 
+    /**
+     * Denotes a request to repair the PEs failed for a host.
+     */
+    HOST_REPAIR,
+
     /**
      * Denotes a request to a Datacenter to add a Host or list of Hosts to a Datacenter.
      * The {@link SimEvent#getData()} must be a Host to be added
@@ -349,6 +360,12 @@ public enum CloudSimTag implements Comparable<CloudSimTag> {
      */
     POWER_MEASUREMENT,
 
+    /**
+     * Denotes the periodic sampling of metrics to be exported
+     * by a {@link org.cloudsimplus.metrics.MetricsExporter}.
+     */
+    METRICS_SAMPLE,
+
     /**
      * Denotes a tag for starting up a {@link Host} inside a {@link Datacenter}.
      * When such a {@link SimEvent} is sent, the {@link SimEvent#getData()}
@@ -14,6 +14,7 @@ import org.cloudbus.cloudsim.datacenters.Datacenter;
 import org.cloudbus.cloudsim.datacenters.DatacenterSimple;
 import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.hosts.network.NetworkHost;
+import org.cloudbus.cloudsim.network.FlowNetwork;
 import org.cloudbus.cloudsim.network.switches.EdgeSwitch;
 import org.cloudbus.cloudsim.network.switches.Switch;
 
@@ -49,6 +50,9 @@ public class NetworkDatacenter extends DatacenterSimple {
     /** @see #getSwitchMap() */
     private final List<Switch> switchMap;
 
+    /** @see #getFlowNetwork() */
+    private FlowNetwork flowNetwork;
+
     /**
      * Creates a NetworkDatacenter with the given parameters.
      *
@@ -113,6 +117,32 @@ public class NetworkDatacenter extends DatacenterSimple {
         return Collections.unmodifiableList(switchMap);
     }
 
+    /**
+     * Gets the flow-level model of the Datacenter network, used to transfer packets between Hosts
+     * instead of sending them through the {@link Switch}es.
+     * @return the flow network or null if packets are sent through the switches (default)
+     */
+    public FlowNetwork getFlowNetwork() {
+        return flowNetwork;
+    }
+
+    /**
+     * Sets the flow-level model of the Datacenter network, used to transfer packets between Hosts
+     * instead of sending them through the {@link Switch}es.
+     * The switches are still required to define the network topology.
+     *
+     * @param flowNetwork the flow network to set or null to send packets through the switches
+     * @return
+     */
+    public NetworkDatacenter setFlowNetwork(final FlowNetwork flowNetwork) {
+        if (flowNetwork != null && flowNetwork.getDatacenter() != this) {
+            throw new IllegalArgumentException("The FlowNetwork was created for another Datacenter.");
+        }
+
+        this.flowNetwork = flowNetwork;
+        return this;
+    }
+
     @Override
     public List<NetworkHost> getHostList() {
         return super.getHostList();
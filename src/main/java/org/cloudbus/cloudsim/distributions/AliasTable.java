@@ -0,0 +1,169 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.distributions;
+
+/**
+ * A table to randomly select an index with probability proportional to a given weight,
+ * in constant time, using the Walker's alias method (as described by Vose).
+ * The table is built in linear time and each selection
+ * takes a single uniform random number, whatever the number of weights.
+ *
+ * <p>It's useful to select, for instance, which one among thousands of Hosts
+ * a failure from a merged arrival process belongs to.</p>
+ *
+ * @since CloudSim Plus 7.3.0
+ * @see <a href="https://doi.org/10.1109/32.92917">Vose, M. D. A linear algorithm for generating random numbers with a given distribution</a>
+ */
+public final class AliasTable {
+    /** The probability to select the index of each column, instead of its alias. */
+    private final double[] probabilities;
+
+    /** The index to select when the index of a column is not selected. */
+    private final int[] aliases;
+
+    private final double totalWeight;
+
+    /**
+     * Creates an alias table for a given array of weights.
+     * @param weights the non-negative weight of each index, which must have a positive sum
+     */
+    public AliasTable(final double[] weights) {
+        if (weights.length == 0) {
+            throw new IllegalArgumentException("At least one weight must be given.");
+        }
+
+        double sum = 0;
+        for (final double weight : weights) {
+            if (weight < 0 || !Double.isFinite(weight)) {
+                throw new IllegalArgumentException("Weights must be non-negative finite numbers.");
+            }
+            sum += weight;
+        }
+
+        if (sum <= 0) {
+            throw new IllegalArgumentException("The sum of weights must be greater than 0.");
+        }
+
+        final int size = weights.length;
+        this.totalWeight = sum;
+        this.probabilities = new double[size];
+        this.aliases = new int[size];
+
+        /* Columns are filled up to the average weight,
+        * by taking the surplus from columns above it. */
+        final double[] scaled = new double[size];
+        final int[] small = new int[size];
+        final int[] large = new int[size];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < size; i++) {
+            scaled[i] = weights[i] * size / sum;
+            if (scaled[i] < 1) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+
+        while (smallCount > 0 && largeCount > 0) {
+            final int less = small[--smallCount];
+            final int more = large[--largeCount];
+            probabilities[less] = scaled[less];
+            aliases[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1;
+            if (scaled[more] < 1) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+
+        /* Remaining columns are full, apart from rounding errors. */
+        while (largeCount > 0) {
+            final int index = large[--largeCount];
+            probabilities[index] = 1;
+            aliases[index] = index;
+        }
+
+        while (smallCount > 0) {
+            final int index = small[--smallCount];
+            probabilities[index] = 1;
+            aliases[index] = index;
+        }
+    }
+
+    /**
+     * Selects an index with probability proportional to its weight.
+     * @param uniform a uniform random number in the interval [0, 1)
+     * @return the selected index
+     */
+    public int select(final double uniform) {
+        final double column = uniform * probabilities.length;
+        final int index = Math.min((int) column, probabilities.length - 1);
+        return column - index < probabilities[index] ? index : aliases[index];
+    }
+
+    /**
+     * Selects an index with probability proportional to its weight.
+     * @param random a generator of uniform random numbers in the interval [0, 1), such as a {@link UniformDistr}
+     * @return the selected index
+     */
+    public int select(final StatisticalDistribution random) {
+        return select(random.sample());
+    }
+
+    /**
+     * Gets the probability to select a given index,
+     * which is computed in linear time from the table.
+     * @param index the index to get the probability
+     * @return the probability (in scale from 0 to 1)
+     */
+    public double getProbability(final int index) {
+        final double columnProbability = 1.0 / probabilities.length;
+        double probability = probabilities[index] * columnProbability;
+        for (int i = 0; i < aliases.length; i++) {
+            if (aliases[i] == index && i != index) {
+                probability += (1 - probabilities[i]) * columnProbability;
+            }
+        }
+
+        return probability;
+    }
+
+    /**
+     * Gets the number of indexes in the table.
+     * @return
+     */
+    public int size() {
+        return probabilities.length;
+    }
+
+    /**
+     * Gets the sum of the weights given to build the table.
+     * @return
+     */
+    public double getTotalWeight() {
+        return totalWeight;
+    }
+}
@@ -646,6 +646,19 @@ public interface Host extends Machine, Comparable<Host>, PowerAware<PowerModelHo
      */
     void enableUtilizationStats();
 
+    /**
+     * Gets the bandwidth utilization percentage statistics (between [0 and 1])
+     * of the pool of DPUs (the {@link #getBwProvisioner() BW provisioners}) of the Host,
+     * which is computed as the total allocated bandwidth from all DPUs
+     * divided by the total capacity of them.
+     * <p><b>WARNING:</b> You need to enable the data collection and computation of statistics
+     * by calling {@link #enableUtilizationStats()}.</p>
+     *
+     * @return
+     * @see #getBwPercentUtilization()
+     */
+    HostResourceStats getBwUtilizationStats();
+
     /**
      * Gets the current total utilization of CPU in MIPS,
      * considering the usage of all its PEs.
@@ -661,6 +674,15 @@ public interface Host extends Machine, Comparable<Host>, PowerAware<PowerModelHo
      */
     long getBwUtilization();
 
+    /**
+     * Gets the current bandwidth utilization percentage of the pool of DPUs
+     * (the {@link #getBwProvisioner() BW provisioners}) of the Host,
+     * which is the total allocated bandwidth from all DPUs divided by the total capacity of them.
+     *
+     * @return the percentage (between [0 and 1]) of the DPU pool bandwidth allocated
+     */
+    double getBwPercentUtilization();
+
     /**
      * Gets the current utilization of memory (in Megabytes).
      *
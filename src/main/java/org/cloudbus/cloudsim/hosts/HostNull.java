@@ -203,9 +203,11 @@ final class HostNull implements Host {
     @Override public double getCpuPercentRequested() { return 0; }
     @Override public double getCpuMipsUtilization() { return 0.0; }
     @Override public long getBwUtilization() { return 0; }
+    @Override public double getBwPercentUtilization() { return 0; }
     @Override public long getRamUtilization() { return 0; }
     @Override public HostResourceStats getCpuUtilizationStats() { return new HostResourceStats(this, host -> 0.0); }
     @Override public void enableUtilizationStats() {/**/}
+    @Override public HostResourceStats getBwUtilizationStats() { return new HostResourceStats(this, host -> 0.0); }
     @Override public PowerModelHost getPowerModel() { return PowerModelHost.NULL; }
     @Override public void setPowerModel(PowerModelHost powerModel) {/**/}
     @Override public void enableStateHistory() {/**/}
@@ -10,8 +10,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import static java.util.Objects.requireNonNull;
 import java.util.Set;
 import java.util.function.Predicate;
@@ -48,6 +49,7 @@ import org.cloudbus.cloudsim.vms.VmStateHistoryEntry;
 import org.cloudsimplus.listeners.EventListener;
 import org.cloudsimplus.listeners.HostEventInfo;
 import org.cloudsimplus.listeners.HostUpdatesVmsProcessingEventInfo;
+import org.cloudsimplus.sinks.VmSummary;
 
 /**
  * A Host class that implements the most basic features of a Physical Machine
@@ -68,8 +70,11 @@ public class HostSimple implements Host {
 
     protected HostResourceStats cpuUtilizationStats;
 
+    /** @see #getBwUtilizationStats() */
+    protected HostResourceStats bwUtilizationStats;
+
     /** @see #getStateHistory() */
-    private final List<HostStateHistoryEntry> stateHistory;
+    private final HostStateHistory stateHistory;
     private boolean activateOnDatacenterStartup;
 
     /**@see #getPowerModel() */
@@ -138,6 +143,19 @@ public class HostSimple implements Host {
     /** @see #getPeList() */
     private List<Pe> peList;
 
+    /**
+     * The working PEs, in no particular order, so that
+     * some of them can be got without iterating over the entire {@link #peList}.
+     * A PE that fails is swapped with the last one and then removed.
+     * @see #getWorkingPeList(int)
+     */
+    private final List<Pe> workingPes = new ArrayList<>();
+
+    /**
+     * The index of each PE inside the {@link #workingPes} list.
+     */
+    private final Map<Pe, Integer> workingPesIndexes = new IdentityHashMap<>();
+
     /** @see #getVmsMigratingIn() */
     private final Set<Vm> vmsMigratingIn;
 
@@ -330,6 +348,7 @@ public class HostSimple implements Host {
         this.onStartupListeners = new ArrayList<>();
         this.onShutdownListeners = new ArrayList<>();
         this.cpuUtilizationStats = HostResourceStats.NULL;
+        this.bwUtilizationStats = HostResourceStats.NULL;
 
         this.resources = new ArrayList<>();
         this.vmCreatedList = new ArrayList<>();
@@ -337,7 +356,7 @@ public class HostSimple implements Host {
         this.vmsMigratingIn = new HashSet<>();
         this.vmsMigratingOut = new HashSet<>();
         this.powerModel = PowerModelHost.NULL;
-        this.stateHistory = new LinkedList<>();
+        this.stateHistory = new HostStateHistory();
         this.activateOnDatacenterStartup = activate;
     }
 
@@ -409,6 +428,8 @@ public class HostSimple implements Host {
 
         notifyOnUpdateProcessingListeners(currentTime);
         cpuUtilizationStats.add(currentTime);
+        bwUtilizationStats.add(currentTime);
+        powerModel.updateEnergyConsumption(currentTime);
         addStateHistory(currentTime);
         if (!vmList.isEmpty()) {
             lastBusyTime = currentTime;
@@ -419,6 +440,8 @@ public class HostSimple implements Host {
 
     protected double updateVmProcessing(final Vm vm, final double currentTime, final double nextSimulationDelay) {
         final double delay = vm.updateProcessing(currentTime, vmScheduler.getAllocatedMips(vm));
+        bwProvisioner.get(vm.getNicId()).updateDemand(vm, vm.getCurrentRequestedBw());
+
         return delay > 0 ? Math.min(delay, nextSimulationDelay) : nextSimulationDelay;
     }
 
@@ -649,6 +672,7 @@ public class HostSimple implements Host {
         }
 
         this.active = activate;
+        powerModel.updateEnergyConsumption(getSimulation().clock());
         ((DatacenterSimple) datacenter).updateActiveHostsNumber(this);
         activationChangeInProgress = false;
         notifyStartupOrShutdown(activate, wasActive);
@@ -701,6 +725,12 @@ public class HostSimple implements Host {
         destroyVmInternal(vm);
         vm.setStopTime(getSimulation().clock());
         vm.notifyOnHostDeallocationListeners(this);
+
+        final var broker = vm.getBroker();
+        broker.getFinishedEntitySink().vmDestroyed(VmSummary.of(vm, this));
+        if(!broker.isRetainFinishedEntities()) {
+            vmCreatedList.remove(vm);
+        }
     }
 
     @Override
@@ -1014,6 +1044,9 @@ public class HostSimple implements Host {
             pe.setStatus(Pe.Status.FREE);
         }
 
+        workingPes.clear();
+        workingPesIndexes.clear();
+        peList.forEach(this::addWorkingPe);
         failedPesNumber = 0;
         busyPesNumber = 0;
         freePesNumber = peList.size();
@@ -1077,10 +1110,34 @@ public class HostSimple implements Host {
         if(pe.getStatus() != newStatus) {
             updatePeStatusCount(pe.getStatus(), false);
             updatePeStatusCount(newStatus, true);
+            if(newStatus == Pe.Status.FAILED) {
+                removeWorkingPe(pe);
+            } else if(pe.isFailed()) {
+                addWorkingPe(pe);
+            }
+
             pe.setStatus(newStatus);
         }
     }
 
+    private void addWorkingPe(final Pe pe) {
+        workingPesIndexes.put(pe, workingPes.size());
+        workingPes.add(pe);
+    }
+
+    private void removeWorkingPe(final Pe pe) {
+        final Integer index = workingPesIndexes.remove(pe);
+        if(index == null) {
+            return;
+        }
+
+        final Pe last = workingPes.remove(workingPes.size() - 1);
+        if(last != pe) {
+            workingPes.set(index, last);
+            workingPesIndexes.put(last, index);
+        }
+    }
+
     /**
      * Update the number of PEs for a given status.
      * You must call the method before the Pe status change and after it
@@ -1322,6 +1379,17 @@ public class HostSimple implements Host {
         return getFilteredPeList(Pe::isWorking);
     }
 
+    /**
+     * Gets up to a given number of working PEs, without iterating over the entire PE list.
+     * Unlike {@link #getWorkingPeList()}, the PEs aren't returned in the order of the PE list.
+     * @param maxPesNumber the maximum number of working PEs to get
+     * @return a new list with the working PEs got
+     */
+    public List<Pe> getWorkingPeList(final int maxPesNumber) {
+        final int size = workingPes.size();
+        return new ArrayList<>(workingPes.subList(size - Math.min(Math.max(maxPesNumber, 0), size), size));
+    }
+
     @Override
     public List<Pe> getBusyPeList() {
         return getFilteredPeList(Pe::isBusy);
@@ -1375,11 +1443,22 @@ public class HostSimple implements Host {
         return bwProvisioner.stream().mapToLong(ResourceProvisioner::getTotalAllocatedResource).sum();
     }
 
+    @Override
+    public double getBwPercentUtilization() {
+        final long capacity = bwProvisioner.stream().mapToLong(ResourceProvisioner::getCapacity).sum();
+        return capacity > 0 ? getBwUtilization() / (double) capacity : 0;
+    }
+
     @Override
     public HostResourceStats getCpuUtilizationStats() {
         return cpuUtilizationStats;
     }
 
+    @Override
+    public HostResourceStats getBwUtilizationStats() {
+        return bwUtilizationStats;
+    }
+
     @Override
     public void enableUtilizationStats() {
         if (cpuUtilizationStats != null && cpuUtilizationStats != HostResourceStats.NULL) {
@@ -1387,6 +1466,7 @@ public class HostSimple implements Host {
         }
 
         this.cpuUtilizationStats = new HostResourceStats(this, Host::getCpuPercentUtilization);
+        this.bwUtilizationStats = new HostResourceStats(this, Host::getBwPercentUtilization);
         if(vmList.isEmpty()){
             final String host = this.getId() > -1 ? this.toString() : "Host";
             LOGGER.info("Automatically enabling computation of utilization statistics for VMs on {} could not be performed because it doesn't have VMs yet. You need to enable it for each VM created.", host);
@@ -1484,38 +1564,18 @@ public class HostSimple implements Host {
             hostTotalRequestedMips += totalRequestedMips;
         }
 
-        addStateHistoryEntry(currentTime, getCpuMipsUtilization(), hostTotalRequestedMips, active);
+        stateHistory.addEntry(currentTime, getCpuMipsUtilization(), hostTotalRequestedMips, active);
     }
 
     /**
-     * Adds a host state history entry.
-     *
-     * @param time the time
-     * @param allocatedMips the allocated mips
-     * @param requestedMips the requested mips
-     * @param isActive the is active
+     * {@inheritDoc}
+     * The returned {@link HostStateHistory} can be used to bound the memory used by the history,
+     * defining a sampling interval and a retention time.
+     * @return {@inheritDoc}
      */
-    private void addStateHistoryEntry(
-        final double time,
-        final double allocatedMips,
-        final double requestedMips,
-        final boolean isActive)
-    {
-        final var newState = new HostStateHistoryEntry(time, allocatedMips, requestedMips, isActive);
-        if (!stateHistory.isEmpty()) {
-            final HostStateHistoryEntry previousState = stateHistory.get(stateHistory.size() - 1);
-            if (previousState.time() == time) {
-                stateHistory.set(stateHistory.size() - 1, newState);
-                return;
-            }
-        }
-
-        stateHistory.add(newState);
-    }
-
     @Override
-    public List<HostStateHistoryEntry> getStateHistory() {
-        return Collections.unmodifiableList(stateHistory);
+    public HostStateHistory getStateHistory() {
+        return stateHistory;
     }
 
     @Override
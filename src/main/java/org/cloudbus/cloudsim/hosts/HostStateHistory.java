@@ -0,0 +1,267 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.hosts;
+
+import java.util.AbstractList;
+import java.util.Objects;
+
+/**
+ * A compact, <b>read-only</b> List of {@link HostStateHistoryEntry} for a {@link Host},
+ * which stores the history in primitive arrays used as a ring buffer,
+ * instead of one object for each entry.
+ * Entries are just created when they are requested
+ * (such as by a {@link org.cloudsimplus.builders.tables.HostHistoryTableBuilder}).
+ *
+ * <p>The memory used by long simulations can be further bounded by:</p>
+ * <ul>
+ *     <li>a {@link #setSamplingInterval(double) sampling interval}, so that
+ *     at most one entry is kept for each interval
+ *     (the first Host state inside the interval);</li>
+ *     <li>a {@link #setRetentionTime(double) retention time}, so that
+ *     entries older than that (relative to the last entry) are discarded.</li>
+ * </ul>
+ *
+ * @since CloudSim Plus 7.3.0
+ * @see Host#getStateHistory()
+ */
+public class HostStateHistory extends AbstractList<HostStateHistoryEntry> {
+    private static final int DEF_CAPACITY = 16;
+
+    private double[] times;
+    private double[] allocatedMips;
+    private double[] requestedMips;
+    private boolean[] active;
+
+    /** The index of the oldest entry inside the arrays. */
+    private int head;
+    private int size;
+
+    /** @see #getSamplingInterval() */
+    private double samplingInterval;
+
+    /** @see #getRetentionTime() */
+    private double retentionTime;
+
+    /**
+     * Creates an empty history, which keeps all entries.
+     */
+    public HostStateHistory() {
+        this.times = new double[DEF_CAPACITY];
+        this.allocatedMips = new double[DEF_CAPACITY];
+        this.requestedMips = new double[DEF_CAPACITY];
+        this.active = new boolean[DEF_CAPACITY];
+        this.retentionTime = Double.MAX_VALUE;
+    }
+
+    /**
+     * Adds the Host state at a given time.
+     * If the last entry has the same time, it's replaced.
+     * If a {@link #getSamplingInterval() sampling interval} is set and the last entry
+     * is inside the same interval, the state is ignored
+     * (so the first state inside each interval is kept).
+     * It's called just by the {@link Host} when its processing is updated,
+     * since the history is read-only for other classes.
+     *
+     * @param time the time the state is related to
+     * @param allocatedMips the total MIPS allocated from all PEs of the Host, to running VMs
+     * @param requestedMips the total MIPS requested by running VMs to all PEs of the Host
+     * @param active if the Host is active
+     * @return true if the state was stored, false if it was ignored
+     */
+    boolean addEntry(final double time, final double allocatedMips, final double requestedMips, final boolean active) {
+        if (size > 0) {
+            final double lastTime = times[index(size - 1)];
+            if (lastTime == time) {
+                set(index(size - 1), time, allocatedMips, requestedMips, active);
+                return true;
+            }
+
+            if (samplingInterval > 0 && Math.floor(time / samplingInterval) == Math.floor(lastTime / samplingInterval)) {
+                return false;
+            }
+        }
+
+        if (size == times.length) {
+            resize(size * 2);
+        }
+
+        set(index(size++), time, allocatedMips, requestedMips, active);
+        removeExpiredEntries(time);
+        return true;
+    }
+
+    private void set(final int i, final double time, final double allocatedMips, final double requestedMips, final boolean active) {
+        this.times[i] = time;
+        this.allocatedMips[i] = allocatedMips;
+        this.requestedMips[i] = requestedMips;
+        this.active[i] = active;
+    }
+
+    private void removeExpiredEntries(final double time) {
+        while (size > 1 && time - times[head] > retentionTime) {
+            head = (head + 1) % times.length;
+            size--;
+        }
+    }
+
+    /** Copies entries to new arrays, where the oldest entry is at index 0. */
+    private void resize(final int capacity) {
+        final var newTimes = new double[capacity];
+        final var newAllocatedMips = new double[capacity];
+        final var newRequestedMips = new double[capacity];
+        final var newActive = new boolean[capacity];
+        for (int i = 0; i < size; i++) {
+            final int j = index(i);
+            newTimes[i] = times[j];
+            newAllocatedMips[i] = allocatedMips[j];
+            newRequestedMips[i] = requestedMips[j];
+            newActive[i] = active[j];
+        }
+
+        times = newTimes;
+        allocatedMips = newAllocatedMips;
+        requestedMips = newRequestedMips;
+        active = newActive;
+        head = 0;
+    }
+
+    /**
+     * Gets the index inside the arrays for the i-th entry in the history.
+     */
+    private int index(final int i) {
+        return (head + i) % times.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The entry is created on each call, from the stored data.
+     * @param index {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public HostStateHistoryEntry get(final int index) {
+        Objects.checkIndex(index, size);
+        final int i = index(index);
+        return new HostStateHistoryEntry(times[i], allocatedMips[i], requestedMips[i], active[i]);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the time of an entry, without creating a {@link HostStateHistoryEntry}.
+     * @param index the index of the entry
+     * @return the time of the entry
+     */
+    public double getTime(final int index) {
+        Objects.checkIndex(index, size);
+        return times[index(index)];
+    }
+
+    /**
+     * Gets the MIPS allocated to VMs in an entry, without creating a {@link HostStateHistoryEntry}.
+     * @param index the index of the entry
+     * @return the allocated MIPS
+     */
+    public double getAllocatedMips(final int index) {
+        Objects.checkIndex(index, size);
+        return allocatedMips[index(index)];
+    }
+
+    /**
+     * Gets the MIPS requested by VMs in an entry, without creating a {@link HostStateHistoryEntry}.
+     * @param index the index of the entry
+     * @return the requested MIPS
+     */
+    public double getRequestedMips(final int index) {
+        Objects.checkIndex(index, size);
+        return requestedMips[index(index)];
+    }
+
+    /**
+     * Checks if the Host was active in an entry, without creating a {@link HostStateHistoryEntry}.
+     * @param index the index of the entry
+     * @return true if the Host was active, false otherwise
+     */
+    public boolean isActive(final int index) {
+        Objects.checkIndex(index, size);
+        return active[index(index)];
+    }
+
+    /**
+     * Gets the interval (in seconds) in which at most one entry is kept,
+     * or 0 if an entry is kept for every Host processing update (default).
+     * @return
+     */
+    public double getSamplingInterval() {
+        return samplingInterval;
+    }
+
+    /**
+     * Sets the interval (in seconds) in which at most one entry is kept.
+     * The first state of the Host inside each interval is the one stored
+     * and later states inside the same interval are ignored.
+     * This way, the time of every entry is the actual time of a Host processing update.
+     * @param samplingInterval the interval to set, or 0 to keep an entry for every Host processing update
+     * @return this history
+     */
+    public HostStateHistory setSamplingInterval(final double samplingInterval) {
+        if (samplingInterval < 0) {
+            throw new IllegalArgumentException("samplingInterval cannot be negative.");
+        }
+
+        this.samplingInterval = samplingInterval;
+        return this;
+    }
+
+    /**
+     * Gets the maximum time (in seconds) an entry is kept, relative to the time of the last entry
+     * (default is {@link Double#MAX_VALUE}, which keeps all entries).
+     * @return
+     */
+    public double getRetentionTime() {
+        return retentionTime;
+    }
+
+    /**
+     * Sets the maximum time (in seconds) an entry is kept, relative to the time of the last entry.
+     * Older entries are discarded as new ones are added.
+     * @param retentionTime the retention time to set
+     * @return this history
+     */
+    public HostStateHistory setRetentionTime(final double retentionTime) {
+        if (retentionTime <= 0) {
+            throw new IllegalArgumentException("retentionTime must be a positive number.");
+        }
+
+        this.retentionTime = retentionTime;
+        if (size > 0) {
+            removeExpiredEntries(times[index(size - 1)]);
+        }
+
+        return this;
+    }
+}
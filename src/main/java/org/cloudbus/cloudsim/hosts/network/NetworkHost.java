@@ -8,8 +8,10 @@
 package org.cloudbus.cloudsim.hosts.network;
 
 import org.cloudbus.cloudsim.core.CloudSimTag;
+import org.cloudbus.cloudsim.datacenters.network.NetworkDatacenter;
 import org.cloudbus.cloudsim.hosts.HostSimple;
 import org.cloudbus.cloudsim.hosts.HostSuitability;
+import org.cloudbus.cloudsim.network.FlowNetwork;
 import org.cloudbus.cloudsim.network.HostPacket;
 import org.cloudbus.cloudsim.network.VmPacket;
 import org.cloudbus.cloudsim.network.switches.EdgeSwitch;
@@ -178,8 +180,28 @@ public class NetworkHost extends HostSimple {
 
     /**
      * Sends packets from the local packets buffer to VMs outside this host.
+     * If the Datacenter has a {@link FlowNetwork}, packets are transferred as flows,
+     * instead of being sent through the switches.
      */
     private void sendPacketsToExternalVms() {
+        if (pktsToSendForExternalVms.isEmpty()) {
+            return;
+        }
+
+        if (edgeSwitch == null) {
+            throw new IllegalStateException("%s isn't connected to an edge switch, so it cannot send packets to VMs in other Hosts.".formatted(this));
+        }
+
+        if (getDatacenter() instanceof NetworkDatacenter dc && dc.getFlowNetwork() != null) {
+            for (final HostPacket pkt : pktsToSendForExternalVms) {
+                totalDataTransferBytes += pkt.getSize();
+                dc.getFlowNetwork().addFlow(pkt);
+            }
+
+            pktsToSendForExternalVms.clear();
+            return;
+        }
+
         for (final HostPacket pkt : pktsToSendForExternalVms) {
             final double delay = edgeSwitch.downlinkTransferDelay(pkt, pktsToSendForExternalVms.size());
             totalDataTransferBytes += pkt.getSize();
@@ -8,14 +8,18 @@
 
 package org.cloudbus.cloudsim.network;
 
+import org.cloudbus.cloudsim.network.PackedMatrix.Precision;
 import org.cloudbus.cloudsim.network.topologies.TopologicalGraph;
-import org.cloudbus.cloudsim.network.topologies.TopologicalLink;
-import org.cloudbus.cloudsim.util.Util;
 
 /**
  * Represents matrix containing the delay (in seconds) between every pair or nodes
  * inside a network topology. It stores every distance between connected nodes.
  *
+ * <p>Delays are stored in a {@link PackedMatrix}, which keeps just half of the matrix
+ * for undirected topologies and may store delays as floats and off-heap.
+ * They are computed from one node at a time using {@link DijkstraShortestPaths},
+ * so that no other matrix is needed.</p>
+ *
  * @author Thomas Hohnstein
  * @since CloudSim Toolkit 1.0
  */
@@ -28,7 +32,7 @@ public class DelayMatrix {
     /**
 	 * Matrix holding delay between any pair of nodes (in seconds).
 	 */
-    private double[][] mDelayMatrix;
+    private PackedMatrix mDelayMatrix;
 
 	/**
 	 * Number of nodes in the distance-aware-topology.
@@ -39,7 +43,7 @@ public class DelayMatrix {
      * Creates an empty matrix with no columns or rows.
      */
 	public DelayMatrix() {
-        mDelayMatrix = new double[0][0];
+        mDelayMatrix = new PackedMatrix(0, true);
 	}
 
 	/**
@@ -49,8 +53,22 @@ public class DelayMatrix {
 	 * @param directed indicates if a directed matrix should be computed (true) or not (false)
 	 */
 	public DelayMatrix(final TopologicalGraph graph, final boolean directed) {
-		createDelayMatrix(graph, directed);
-		calculateShortestPath();
+		this(graph, directed, Precision.DOUBLE, false);
+	}
+
+	/**
+	 * Creates a Delay Matrix for a given network topology graph,
+	 * defining how delays are stored.
+	 *
+	 * @param graph the network topological graph
+	 * @param directed indicates if a directed matrix should be computed (true) or not (false)
+	 * @param precision the format in which delays are stored
+	 * @param offHeap true to store delays outside the heap, for very large topologies; false otherwise
+	 */
+	public DelayMatrix(final TopologicalGraph graph, final boolean directed, final Precision precision, final boolean offHeap) {
+		mTotalNodeNum = graph.getNumberOfNodes();
+		mDelayMatrix = new PackedMatrix(mTotalNodeNum, !directed, precision, offHeap);
+		calculateShortestPath(graph, directed);
 	}
 
 	/**
@@ -61,41 +79,39 @@ public class DelayMatrix {
 	 * @return the delay between the given two nodes
 	 */
 	public double getDelay(final int srcID, final int destID) {
-		if (srcID > mTotalNodeNum || destID > mTotalNodeNum) {
+		if (srcID >= mTotalNodeNum || destID >= mTotalNodeNum || srcID < 0 || destID < 0) {
 			throw new ArrayIndexOutOfBoundsException("srcID or destID is higher than highest stored node-ID!");
 		}
 
-		return mDelayMatrix[srcID][destID];
+		return mDelayMatrix.get(srcID, destID);
 	}
 
 	/**
-	 * Creates all internal necessary network-distance structures from the given graph.
-         * For similarity, we assume all communication-distances are symmetrical,
-         * thus leading to an undirected network.
+     * Calculates connection-delays between every pair or nodes
+	 * and the shortest path between them.
+	 * For undirected topologies, communication-distances are symmetrical,
+	 * thus just the delays to nodes with lower IDs are computed for each node.
 	 *
 	 * @param graph the network topological graph
 	 * @param directed indicates if an directed matrix should be computed (true) or not (false)
 	 */
-	private void createDelayMatrix(final TopologicalGraph graph, final boolean directed) {
-		mTotalNodeNum = graph.getNumberOfNodes();
-		mDelayMatrix = Util.newSquareMatrix(mTotalNodeNum, DELAY_NOT_SET);
-
-        for (final TopologicalLink edge : graph.getLinksList()) {
-			mDelayMatrix[edge.getSrcNodeID()][edge.getDestNodeID()] = edge.getLinkDelay();
-			if (!directed) {
-				// according to symmetry to all communication-paths
-				mDelayMatrix[edge.getDestNodeID()][edge.getSrcNodeID()] = edge.getLinkDelay();
+	private void calculateShortestPath(final TopologicalGraph graph, final boolean directed) {
+		/* Delays from each source are just computed once, so there is no need to cache them. */
+		final var shortestPaths = new DijkstraShortestPaths(graph, directed).setMaxCachedSources(1);
+		for (int src = 0; src < mTotalNodeNum; ++src) {
+			final int cols = directed ? mTotalNodeNum : src + 1;
+			for (int dest = 0; dest < cols; ++dest) {
+				mDelayMatrix.set(src, dest, shortestPaths.getDelay(src, dest));
 			}
 		}
 	}
 
 	/**
-     * Calculates connection-delays between every pair or nodes
-	 * and the shortest path between them.
+	 * Gets the number of bytes used to store the delays.
+	 * @return
 	 */
-	private void calculateShortestPath() {
-		final var floyd = new FloydWarshall(mTotalNodeNum);
-		mDelayMatrix = floyd.computeShortestPaths(mDelayMatrix);
+	public long getBytes() {
+		return mDelayMatrix.getBytes();
 	}
 
 	@Override
@@ -111,9 +127,12 @@ public class DelayMatrix {
 			builder.append(System.lineSeparator()).append(row);
 
 			for (int col = 0; col < mTotalNodeNum; ++col) {
-				if (mDelayMatrix[row][col] == DELAY_NOT_SET)
+				final double delay = mDelayMatrix.get(row, col);
+				if (delay == DELAY_NOT_SET) {
 					builder.append("\t-");
-				else builder.append('\t').append(mDelayMatrix[row][col]);
+				} else {
+					builder.append('\t').append(delay);
+				}
 			}
 		}
 
@@ -0,0 +1,482 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.network;
+
+import org.cloudbus.cloudsim.network.topologies.TopologicalGraph;
+import org.cloudbus.cloudsim.network.topologies.TopologicalLink;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Computes the delay (in seconds) of the shortest path between pairs of nodes
+ * of a sparse network topology, using the
+ * <a href="https://en.wikipedia.org/wiki/Dijkstra%27s_algorithm">Dijkstra algorithm</a>.
+ * It's an alternative to the {@link FloydWarshall} algorithm, which computes the delay between all pairs of nodes
+ * in O(n³) time and O(n²) memory, and has to be fully recomputed when a link changes.
+ *
+ * <p>Links are stored as adjacency lists and the delays from a source node to all other ones
+ * are computed just when the delay from that source is requested for the first time.
+ * The delays of at most {@link #getMaxCachedSources()} sources are kept,
+ * evicting the least recently used ones.
+ * When a link is {@link #addLink(int, int, double) added}, the delays already computed
+ * are incrementally repaired, by propagating just the shortened paths.
+ * When links are {@link #removeLinks(int, int) removed}, only the sources whose shortest paths
+ * used any of such links are evicted.</p>
+ *
+ * <p>As in the {@link DelayMatrix}, the delay from a node to itself is 0
+ * and the delay between disconnected nodes is {@link Double#MAX_VALUE}.
+ * This class is not thread-safe.</p>
+ *
+ * @since CloudSim Plus 7.3.0
+ */
+public class DijkstraShortestPaths {
+    /**
+     * The delay between nodes that are not connected.
+     */
+    public static final double DELAY_NOT_SET = Double.MAX_VALUE;
+
+    /**
+     * The default maximum number of sources whose delays to all nodes are kept.
+     */
+    public static final int DEF_MAX_CACHED_SOURCES = 256;
+
+    private static final int DEF_DEGREE = 4;
+
+    private final boolean directed;
+
+    /** The number of nodes, whose IDs go from 0 to this number - 1. */
+    private int nodes;
+
+    /** The destination node of each link leaving each node. */
+    private int[][] targets;
+
+    /** The delay of each link leaving each node. */
+    private double[][] delays;
+
+    /** The number of links leaving each node. */
+    private int[] degrees;
+
+    /** @see #getMaxCachedSources() */
+    private int maxCachedSources;
+
+    /**
+     * The delays from a source node to all nodes, where each key is the source ID.
+     * Entries are kept in access order, so that the least recently used one is evicted first.
+     */
+    private final LinkedHashMap<Integer, double[]> cache;
+
+    /* Binary heap (indexed by node) reused by every Dijkstra run. */
+    private int[] heap;
+    private int[] heapPositions;
+    private int heapSize;
+
+    /**
+     * Creates an empty graph.
+     * @param directed true if links go just from their source to destination nodes;
+     *                 false if links are bidirectional
+     */
+    public DijkstraShortestPaths(final boolean directed) {
+        this.directed = directed;
+        this.targets = new int[0][];
+        this.delays = new double[0][];
+        this.degrees = new int[0];
+        this.heap = new int[0];
+        this.heapPositions = new int[0];
+        this.maxCachedSources = DEF_MAX_CACHED_SOURCES;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Integer, double[]> eldest) {
+                return size() > maxCachedSources;
+            }
+        };
+    }
+
+    /**
+     * Creates a graph from a network topology.
+     * @param graph the network topological graph
+     * @param directed true if links go just from their source to destination nodes;
+     *                 false if links are bidirectional
+     */
+    public DijkstraShortestPaths(final TopologicalGraph graph, final boolean directed) {
+        this(directed);
+        ensureNodes(graph.getNumberOfNodes());
+        for (final TopologicalLink link : graph.getLinksList()) {
+            addLink(link.getSrcNodeID(), link.getDestNodeID(), link.getLinkDelay());
+        }
+    }
+
+    /**
+     * Adds a link between two nodes, repairing the delays already computed.
+     * Nodes that don't exist yet are created.
+     *
+     * @param srcID the ID of the link source node
+     * @param destID the ID of the link destination node
+     * @param delay the link delay (in seconds)
+     */
+    public void addLink(final int srcID, final int destID, final double delay) {
+        if (srcID < 0 || destID < 0) {
+            throw new IllegalArgumentException("Node IDs cannot be negative.");
+        }
+
+        if (delay < 0 || Double.isNaN(delay)) {
+            throw new IllegalArgumentException("Link delay must be a non-negative number.");
+        }
+
+        ensureNodes(Math.max(srcID, destID) + 1);
+        addAdjacency(srcID, destID, delay);
+        if (!directed) {
+            addAdjacency(destID, srcID, delay);
+        }
+
+        for (final double[] distances : cache.values()) {
+            repair(distances, srcID, destID, delay);
+        }
+    }
+
+    /**
+     * Removes all links from a source to a destination node
+     * (and also in the opposite direction if the graph is not directed),
+     * evicting the delays computed from sources whose shortest paths used any removed link.
+     *
+     * @param srcID the ID of the link source node
+     * @param destID the ID of the link destination node
+     * @return true if any link was removed, false otherwise
+     */
+    public boolean removeLinks(final int srcID, final int destID) {
+        if (!isValidNode(srcID) || !isValidNode(destID)) {
+            return false;
+        }
+
+        final double minDelay = removeAdjacencies(srcID, destID);
+        final double reverseMinDelay = directed ? DELAY_NOT_SET : removeAdjacencies(destID, srcID);
+        if (minDelay == DELAY_NOT_SET && reverseMinDelay == DELAY_NOT_SET) {
+            return false;
+        }
+
+        final Iterator<double[]> iterator = cache.values().iterator();
+        while (iterator.hasNext()) {
+            final double[] distances = iterator.next();
+            if (isTight(distances, srcID, destID, minDelay) || isTight(distances, destID, srcID, reverseMinDelay)) {
+                iterator.remove();
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks if a link may be part of the shortest paths from a source.
+     * @param distances the delays from the source to all nodes
+     * @param srcID the ID of the link source node
+     * @param destID the ID of the link destination node
+     * @param delay the link delay
+     * @return true if the delay to the destination node is the one through that link
+     */
+    private static boolean isTight(final double[] distances, final int srcID, final int destID, final double delay) {
+        return delay != DELAY_NOT_SET && distances[srcID] != DELAY_NOT_SET && distances[srcID] + delay == distances[destID];
+    }
+
+    /**
+     * Gets the delay of the shortest path between two nodes,
+     * computing the delays from the source node if they aren't cached.
+     *
+     * @param srcID the ID of the source node
+     * @param destID the ID of the destination node
+     * @return the delay between the given nodes (in seconds), or {@link #DELAY_NOT_SET}
+     *         if they aren't connected
+     * @throws IndexOutOfBoundsException when a node doesn't exist
+     */
+    public double getDelay(final int srcID, final int destID) {
+        if (!isValidNode(srcID) || !isValidNode(destID)) {
+            throw new IndexOutOfBoundsException(
+                "Node %d or %d doesn't exist in a graph with %d nodes.".formatted(srcID, destID, nodes));
+        }
+
+        if (srcID == destID) {
+            return 0;
+        }
+
+        if (!directed) {
+            /* Since paths are symmetric, delays already computed from the destination are used. */
+            final double[] reverse = cache.get(destID);
+            if (reverse != null && !cache.containsKey(srcID)) {
+                return reverse[srcID];
+            }
+        }
+
+        return getDistances(srcID)[destID];
+    }
+
+    private double[] getDistances(final int srcID) {
+        final double[] cached = cache.get(srcID);
+        if (cached != null) {
+            return cached;
+        }
+
+        final double[] distances = new double[nodes];
+        Arrays.fill(distances, DELAY_NOT_SET);
+        distances[srcID] = 0;
+        push(srcID, distances);
+        propagate(distances);
+        cache.put(srcID, distances);
+        return distances;
+    }
+
+    /**
+     * Repairs the delays from a source after a link is added,
+     * propagating just the paths that got shorter through it.
+     */
+    private void repair(final double[] distances, final int srcID, final int destID, final double delay) {
+        relax(distances, srcID, destID, delay);
+        if (!directed) {
+            relax(distances, destID, srcID, delay);
+        }
+
+        propagate(distances);
+    }
+
+    /**
+     * Runs the Dijkstra algorithm from the nodes currently in the heap,
+     * until there are no more delays to be reduced.
+     */
+    private void propagate(final double[] distances) {
+        while (heapSize > 0) {
+            final int node = pop(distances);
+            final int[] nodeTargets = targets[node];
+            final double[] nodeDelays = delays[node];
+            for (int i = 0; i < degrees[node]; i++) {
+                relax(distances, node, nodeTargets[i], nodeDelays[i]);
+            }
+        }
+    }
+
+    private void relax(final double[] distances, final int srcID, final int destID, final double delay) {
+        if (distances[srcID] == DELAY_NOT_SET) {
+            return;
+        }
+
+        final double distance = distances[srcID] + delay;
+        if (distance < distances[destID]) {
+            distances[destID] = distance;
+            push(destID, distances);
+        }
+    }
+
+    /**
+     * Inserts a node into the heap, or moves it up if it's already there and its delay was reduced.
+     */
+    private void push(final int node, final double[] distances) {
+        int index = heapPositions[node];
+        if (index < 0) {
+            index = heapSize++;
+        }
+
+        while (index > 0) {
+            final int parent = (index - 1) >>> 1;
+            if (distances[heap[parent]] <= distances[node]) {
+                break;
+            }
+
+            heap[index] = heap[parent];
+            heapPositions[heap[index]] = index;
+            index = parent;
+        }
+
+        heap[index] = node;
+        heapPositions[node] = index;
+    }
+
+    /**
+     * Removes the node with the lowest delay from the heap.
+     */
+    private int pop(final double[] distances) {
+        final int first = heap[0];
+        heapPositions[first] = -1;
+        final int last = heap[--heapSize];
+        if (heapSize == 0) {
+            return first;
+        }
+
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= heapSize) {
+                break;
+            }
+
+            if (child + 1 < heapSize && distances[heap[child + 1]] < distances[heap[child]]) {
+                child++;
+            }
+
+            if (distances[last] <= distances[heap[child]]) {
+                break;
+            }
+
+            heap[index] = heap[child];
+            heapPositions[heap[index]] = index;
+            index = child;
+        }
+
+        heap[index] = last;
+        heapPositions[last] = index;
+        return first;
+    }
+
+    private void addAdjacency(final int srcID, final int destID, final double delay) {
+        final int degree = degrees[srcID];
+        if (degree == targets[srcID].length) {
+            final int capacity = Math.max(DEF_DEGREE, degree * 2);
+            targets[srcID] = Arrays.copyOf(targets[srcID], capacity);
+            delays[srcID] = Arrays.copyOf(delays[srcID], capacity);
+        }
+
+        targets[srcID][degree] = destID;
+        delays[srcID][degree] = delay;
+        degrees[srcID]++;
+    }
+
+    /**
+     * Removes all links from a source to a destination node.
+     * @return the lowest delay of the removed links or {@link #DELAY_NOT_SET} if there was no such a link
+     */
+    private double removeAdjacencies(final int srcID, final int destID) {
+        double minDelay = DELAY_NOT_SET;
+        final int[] nodeTargets = targets[srcID];
+        final double[] nodeDelays = delays[srcID];
+        for (int i = degrees[srcID] - 1; i >= 0; i--) {
+            if (nodeTargets[i] != destID) {
+                continue;
+            }
+
+            minDelay = Math.min(minDelay, nodeDelays[i]);
+            final int last = --degrees[srcID];
+            nodeTargets[i] = nodeTargets[last];
+            nodeDelays[i] = nodeDelays[last];
+        }
+
+        return minDelay;
+    }
+
+    /**
+     * Creates nodes until the graph has a given number of nodes.
+     * Delays already computed are extended with the new nodes, which are not connected yet.
+     */
+    private void ensureNodes(final int count) {
+        if (count <= nodes) {
+            return;
+        }
+
+        if (count > targets.length) {
+            final int capacity = Math.max(count, targets.length + (targets.length >> 1));
+            final int previous = targets.length;
+            targets = Arrays.copyOf(targets, capacity);
+            delays = Arrays.copyOf(delays, capacity);
+            degrees = Arrays.copyOf(degrees, capacity);
+            heap = Arrays.copyOf(heap, capacity);
+            heapPositions = Arrays.copyOf(heapPositions, capacity);
+            for (int i = previous; i < capacity; i++) {
+                targets[i] = new int[0];
+                delays[i] = new double[0];
+                heapPositions[i] = -1;
+            }
+        }
+
+        for (final Map.Entry<Integer, double[]> entry : cache.entrySet()) {
+            final double[] distances = Arrays.copyOf(entry.getValue(), count);
+            Arrays.fill(distances, nodes, count, DELAY_NOT_SET);
+            entry.setValue(distances);
+        }
+
+        nodes = count;
+    }
+
+    private boolean isValidNode(final int nodeID) {
+        return nodeID >= 0 && nodeID < nodes;
+    }
+
+    /**
+     * Gets the number of nodes in the graph.
+     * @return
+     */
+    public int getNumberOfNodes() {
+        return nodes;
+    }
+
+    /**
+     * Checks if links go just from their source to destination nodes or are bidirectional.
+     * @return true if the graph is directed, false otherwise
+     */
+    public boolean isDirected() {
+        return directed;
+    }
+
+    /**
+     * Gets the number of sources whose delays to all nodes are currently cached.
+     * @return
+     */
+    public int getCachedSources() {
+        return cache.size();
+    }
+
+    /**
+     * Gets the maximum number of sources whose delays to all nodes are kept
+     * (default is {@link #DEF_MAX_CACHED_SOURCES}).
+     * Each source takes 8 bytes for each node in the graph.
+     * @return
+     */
+    public int getMaxCachedSources() {
+        return maxCachedSources;
+    }
+
+    /**
+     * Sets the maximum number of sources whose delays to all nodes are kept,
+     * evicting the least recently used ones if there are more sources cached.
+     * @param maxCachedSources the maximum number of cached sources to set
+     * @return
+     */
+    public DijkstraShortestPaths setMaxCachedSources(final int maxCachedSources) {
+        if (maxCachedSources <= 0) {
+            throw new IllegalArgumentException("Maximum number of cached sources must be greater than 0.");
+        }
+
+        this.maxCachedSources = maxCachedSources;
+        final Iterator<Integer> iterator = cache.keySet().iterator();
+        for (int excess = cache.size() - maxCachedSources; excess > 0; excess--) {
+            iterator.next();
+            iterator.remove();
+        }
+
+        return this;
+    }
+
+    /**
+     * Removes all the computed delays, which will be computed again when requested.
+     */
+    public void clearCache() {
+        cache.clear();
+    }
+}
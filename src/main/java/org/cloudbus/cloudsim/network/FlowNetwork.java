@@ -0,0 +1,442 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.network;
+
+import org.cloudbus.cloudsim.core.CloudSimEntity;
+import org.cloudbus.cloudsim.core.CloudSimTag;
+import org.cloudbus.cloudsim.core.Simulation;
+import org.cloudbus.cloudsim.core.events.SimEvent;
+import org.cloudbus.cloudsim.datacenters.network.NetworkDatacenter;
+import org.cloudbus.cloudsim.hosts.network.NetworkHost;
+import org.cloudbus.cloudsim.network.switches.Switch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.cloudbus.cloudsim.util.BytesConversion.bytesToMegaBits;
+
+/**
+ * A flow-level model of the network inside a {@link NetworkDatacenter},
+ * used as an alternative to the per-packet simulation across
+ * {@link org.cloudbus.cloudsim.network.switches.EdgeSwitch},
+ * {@link org.cloudbus.cloudsim.network.switches.AggregateSwitch}
+ * and {@link org.cloudbus.cloudsim.network.switches.RootSwitch}es.
+ * When it's {@link NetworkDatacenter#setFlowNetwork(FlowNetwork) set} to a Datacenter,
+ * each {@link HostPacket} sent to another Host is transferred as a flow
+ * along the path of links between the Hosts, instead of generating events at every switch.
+ *
+ * <p>Flows sharing a link get its bandwidth with
+ * <a href="https://en.wikipedia.org/wiki/Max-min_fairness">max-min fairness</a>,
+ * computed by progressive filling. Events just happen when flows start or finish,
+ * which are the only times flow rates change.
+ * Flows starting at the same time are added at once.
+ * A packet is delivered to the destination Host when its flow finishes
+ * plus the switching delay of every traversed switch.</p>
+ *
+ * <p>Whenever flows start or finish, the rates of all active flows are computed again,
+ * not just of the ones sharing links with the changed flows.
+ * That takes O(L<sup>2</sup> + F&times;P) time, where L is the number of links used by the flows,
+ * F the number of active flows and P the path length (at most 6 links).
+ * Since a Datacenter has a link for each Host and switch, that is fine for
+ * thousands of Hosts, but it may dominate the simulation time for very large Datacenters
+ * with many short flows.</p>
+ *
+ * <p>Links are defined by the switches the Hosts are connected to,
+ * assuming each switch is connected to a single uplink switch (as in the per-packet simulation):
+ * <ul>
+ *   <li>a Host is connected to its Edge Switch by a link with the Edge Switch downlink bandwidth in each direction;</li>
+ *   <li>an Edge Switch is connected to its Aggregate Switch by a link with the Edge Switch uplink bandwidth in each direction;</li>
+ *   <li>an Aggregate Switch is connected to the Root Switch by a link with the Aggregate Switch uplink bandwidth in each direction.</li>
+ * </ul>
+ * </p>
+ *
+ * @since CloudSim Plus 7.3.0
+ */
+public class FlowNetwork extends CloudSimEntity {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FlowNetwork.class.getSimpleName());
+
+    /**
+     * The fraction of the flow size under which the remaining size is considered zero,
+     * due to rounding errors. Since such errors grow with the flow size, the tolerance is relative to it.
+     */
+    private static final double COMPLETION_TOLERANCE = 1e-9;
+
+    /**
+     * A transfer of a packet along a path of links.
+     */
+    private static final class Flow {
+        private final HostPacket packet;
+        private final int[] path;
+        private final double latency;
+        private final double finishedMegabits;
+        private double remainingMegabits;
+        private double rate;
+
+        private Flow(final HostPacket packet, final int[] path, final double latency) {
+            this.packet = packet;
+            this.path = path;
+            this.latency = latency;
+            this.remainingMegabits = bytesToMegaBits(packet.getSize());
+            this.finishedMegabits = remainingMegabits * COMPLETION_TOLERANCE;
+        }
+
+        /**
+         * Checks if the flow transferred all its data, up to the {@link #COMPLETION_TOLERANCE}.
+         */
+        private boolean isFinished() {
+            return remainingMegabits <= finishedMegabits;
+        }
+    }
+
+    private final NetworkDatacenter datacenter;
+
+    /** The capacity (in Megabits/s) of each link, where the index is the link ID. */
+    private double[] capacities;
+
+    /** The number of created links. */
+    private int links;
+
+    /** The ID of the link going up from each Host or Switch. */
+    private final Map<Object, Integer> uplinks;
+
+    /** The ID of the link going down to each Host or Switch. */
+    private final Map<Object, Integer> downlinks;
+
+    private final List<Flow> flows;
+
+    /** Flows added since the last update, which will start on the next one. */
+    private final List<Flow> newFlows;
+
+    /** The last time flows progress was computed. */
+    private double lastUpdateTime;
+
+    /** The time of the earliest update event scheduled and not processed yet. */
+    private double nextUpdateTime;
+
+    /** @see #getFinishedFlows() */
+    private long finishedFlows;
+
+    /** @see #getRateComputations() */
+    private long rateComputations;
+
+    /**
+     * Creates a flow-level network for a Datacenter.
+     * It must be {@link NetworkDatacenter#setFlowNetwork(FlowNetwork) set} to the Datacenter to be used.
+     *
+     * @param simulation the CloudSim instance that represents the simulation the Entity belongs
+     * @param datacenter the Datacenter whose network will be simulated
+     */
+    public FlowNetwork(final Simulation simulation, final NetworkDatacenter datacenter) {
+        super(simulation);
+        this.datacenter = Objects.requireNonNull(datacenter);
+        this.capacities = new double[16];
+        this.uplinks = new HashMap<>();
+        this.downlinks = new HashMap<>();
+        this.flows = new ArrayList<>();
+        this.newFlows = new ArrayList<>();
+        this.nextUpdateTime = Double.MAX_VALUE;
+    }
+
+    @Override
+    protected void startInternal() {/**/}
+
+    @Override
+    public void processEvent(final SimEvent evt) {
+        switch (evt.getTag()) {
+            case NETWORK_FLOW_UPDATE -> updateFlows();
+            case NETWORK_EVENT_HOST -> deliverPacket((HostPacket) evt.getData());
+            default -> LOGGER.trace("{}: {}: Unknown event {} received.", getSimulation().clockStr(), this, evt.getTag());
+        }
+    }
+
+    /**
+     * Starts transferring a packet from its source Host to the Host of the destination VM.
+     * The flow starts at the current simulation time, together with all flows added at that time.
+     *
+     * @param packet the packet to transfer
+     */
+    public void addFlow(final HostPacket packet) {
+        final NetworkHost srcHost = packet.getSource();
+        final NetworkHost destHost = (NetworkHost) packet.getVmPacket().getDestination().getHost();
+        packet.setDestination(destHost);
+        newFlows.add(newFlow(packet, srcHost, destHost));
+        final double now = getSimulation().clock();
+        if (nextUpdateTime > now) {
+            nextUpdateTime = now;
+            schedule(this, 0, CloudSimTag.NETWORK_FLOW_UPDATE);
+        }
+    }
+
+    /**
+     * Creates a flow along the path between two Hosts, going up to the first switch
+     * they are both connected to, and then down to the destination Host.
+     */
+    private Flow newFlow(final HostPacket packet, final NetworkHost srcHost, final NetworkHost destHost) {
+        final int[] path = new int[6];
+        int size = 0;
+        Switch srcSwitch = edgeSwitch(srcHost);
+        Switch destSwitch = edgeSwitch(destHost);
+        path[size++] = uplink(srcHost, srcSwitch.getDownlinkBandwidth());
+        double latency = srcSwitch.getSwitchingDelay();
+        final var downPath = new ArrayList<Integer>(3);
+        downPath.add(downlink(destHost, destSwitch.getDownlinkBandwidth()));
+        while (srcSwitch != destSwitch) {
+            path[size++] = uplink(srcSwitch, srcSwitch.getUplinkBandwidth());
+            downPath.add(downlink(destSwitch, destSwitch.getUplinkBandwidth()));
+            latency += destSwitch.getSwitchingDelay();
+            srcSwitch = uplinkSwitch(srcSwitch);
+            destSwitch = uplinkSwitch(destSwitch);
+            latency += srcSwitch.getSwitchingDelay();
+        }
+
+        for (int i = downPath.size() - 1; i >= 0; i--) {
+            path[size++] = downPath.get(i);
+        }
+
+        return new Flow(packet, Arrays.copyOf(path, size), latency);
+    }
+
+    private static Switch edgeSwitch(final NetworkHost host) {
+        if (host.getEdgeSwitch() == null) {
+            throw new IllegalStateException("%s isn't connected to an edge switch, so packets cannot be sent from/to it.".formatted(host));
+        }
+
+        return host.getEdgeSwitch();
+    }
+
+    private static Switch uplinkSwitch(final Switch swt) {
+        if (swt.getUplinkSwitches().isEmpty()) {
+            throw new IllegalStateException("%s isn't connected to an uplink switch, so packets cannot go through it.".formatted(swt));
+        }
+
+        /* ASSUMPTION: Each switch is connected to one uplink switch, as in the per-packet simulation. */
+        return swt.getUplinkSwitches().get(0);
+    }
+
+    private int uplink(final Object node, final double capacity) {
+        return uplinks.computeIfAbsent(node, key -> newLink(capacity));
+    }
+
+    private int downlink(final Object node, final double capacity) {
+        return downlinks.computeIfAbsent(node, key -> newLink(capacity));
+    }
+
+    private int newLink(final double capacity) {
+        if (links == capacities.length) {
+            capacities = Arrays.copyOf(capacities, links * 2);
+        }
+
+        capacities[links] = capacity;
+        return links++;
+    }
+
+    /**
+     * Computes the progress of flows up to the current time, finishes the completed ones,
+     * starts the new ones and, if the flows changed, computes their rates again.
+     * Then schedules an update for when the next flow finishes.
+     */
+    private void updateFlows() {
+        final double now = getSimulation().clock();
+        if (nextUpdateTime <= now) {
+            nextUpdateTime = Double.MAX_VALUE;
+        }
+
+        final double elapsed = now - lastUpdateTime;
+        lastUpdateTime = now;
+        boolean changed = !newFlows.isEmpty();
+        int kept = 0;
+        for (final Flow flow : flows) {
+            flow.remainingMegabits -= flow.rate * elapsed;
+            if (!flow.isFinished()) {
+                flows.set(kept++, flow);
+                continue;
+            }
+
+            changed = true;
+            finishedFlows++;
+            schedule(this, flow.latency, CloudSimTag.NETWORK_EVENT_HOST, flow.packet);
+        }
+
+        flows.subList(kept, flows.size()).clear();
+        flows.addAll(newFlows);
+        newFlows.clear();
+        if (changed) {
+            computeRates();
+        }
+
+        scheduleNextFinish(now);
+    }
+
+    private void computeRates() {
+        rateComputations++;
+        final int[][] paths = new int[flows.size()][];
+        for (int i = 0; i < paths.length; i++) {
+            paths[i] = flows.get(i).path;
+        }
+
+        final double[] rates = maxMinFairRates(paths, capacities, links);
+        for (int i = 0; i < rates.length; i++) {
+            flows.get(i).rate = rates[i];
+        }
+    }
+
+    private void scheduleNextFinish(final double now) {
+        double delay = Double.MAX_VALUE;
+        for (final Flow flow : flows) {
+            if (flow.rate > 0) {
+                delay = Math.min(delay, flow.remainingMegabits / flow.rate);
+            }
+        }
+
+        if (delay == Double.MAX_VALUE || now + delay >= nextUpdateTime) {
+            return;
+        }
+
+        nextUpdateTime = now + delay;
+        schedule(this, delay, CloudSimTag.NETWORK_FLOW_UPDATE);
+    }
+
+    /**
+     * Delivers a packet to the Host where the destination VM currently is
+     * and requests the Datacenter to process it.
+     */
+    private void deliverPacket(final HostPacket packet) {
+        final var host = (NetworkHost) packet.getVmPacket().getDestination().getHost();
+        packet.setDestination(host);
+        packet.setReceiveTime(getSimulation().clock());
+        host.addReceivedNetworkPacket(packet);
+        datacenter.schedule(datacenter, getSimulation().getMinTimeBetweenEvents(), CloudSimTag.VM_UPDATE_CLOUDLET_PROCESSING);
+    }
+
+    /**
+     * Computes the max-min fair rate of flows by progressive filling:
+     * the rate of all flows is increased equally until some link is saturated;
+     * the flows using that link are then frozen and the remaining ones keep increasing,
+     * until all flows are frozen.
+     * Instead of increasing rates in small steps, the link that saturates first
+     * (the one with the lowest remaining capacity per unfrozen flow) is found at each iteration.
+     * Since each iteration scans all links and saturates at least one of them,
+     * it takes O(links<sup>2</sup>) time, besides the O(flows &times; path length)
+     * time to index the flows by link.
+     *
+     * @param paths the IDs of the links used by each flow
+     * @param capacities the capacity of each link
+     * @param links the number of links
+     * @return the rate of each flow
+     */
+    static double[] maxMinFairRates(final int[][] paths, final double[] capacities, final int links) {
+        final double[] remaining = Arrays.copyOf(capacities, links);
+        final int[] unfrozen = new int[links];
+        for (final int[] path : paths) {
+            for (final int link : path) {
+                unfrozen[link]++;
+            }
+        }
+
+        /* The flows using each link, stored contiguously by link. */
+        final int[] start = new int[links + 1];
+        for (int link = 0; link < links; link++) {
+            start[link + 1] = start[link] + unfrozen[link];
+        }
+
+        final int[] linkFlows = new int[start[links]];
+        final int[] next = Arrays.copyOf(start, links);
+        for (int flow = 0; flow < paths.length; flow++) {
+            for (final int link : paths[flow]) {
+                linkFlows[next[link]++] = flow;
+            }
+        }
+
+        final double[] rates = new double[paths.length];
+        final boolean[] frozen = new boolean[paths.length];
+        while (true) {
+            int bottleneck = -1;
+            double share = Double.MAX_VALUE;
+            for (int link = 0; link < links; link++) {
+                if (unfrozen[link] > 0 && remaining[link] / unfrozen[link] < share) {
+                    share = remaining[link] / unfrozen[link];
+                    bottleneck = link;
+                }
+            }
+
+            if (bottleneck < 0) {
+                return rates;
+            }
+
+            share = Math.max(share, 0);
+            for (int i = start[bottleneck]; i < start[bottleneck + 1]; i++) {
+                final int flow = linkFlows[i];
+                if (frozen[flow]) {
+                    continue;
+                }
+
+                frozen[flow] = true;
+                rates[flow] = share;
+                for (final int link : paths[flow]) {
+                    remaining[link] -= share;
+                    unfrozen[link]--;
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the Datacenter whose network is simulated.
+     * @return
+     */
+    public NetworkDatacenter getDatacenter() {
+        return datacenter;
+    }
+
+    /**
+     * Gets the number of flows being transferred, including the ones starting at the current time.
+     * @return
+     */
+    public int getActiveFlows() {
+        return flows.size() + newFlows.size();
+    }
+
+    /**
+     * Gets the number of flows that finished transferring.
+     * @return
+     */
+    public long getFinishedFlows() {
+        return finishedFlows;
+    }
+
+    /**
+     * Gets the number of times the rates of flows were computed,
+     * which happens only when flows start or finish.
+     * @return
+     */
+    public long getRateComputations() {
+        return rateComputations;
+    }
+}
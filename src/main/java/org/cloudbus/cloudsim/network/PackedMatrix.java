@@ -0,0 +1,314 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.network;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+
+/**
+ * A compact square matrix of values between pairs of network nodes, such as delays or bandwidths.
+ * Values are stored in a few large buffers, instead of one array for each row,
+ * which may be either in the heap or off-heap (for very large topologies).
+ * Positions are computed as long indexes, split into fixed-size chunks,
+ * so that a matrix isn't limited by the 2 GB size of a single buffer.
+ *
+ * <p>For a symmetric matrix, where the value from node i to j is the same as from j to i
+ * (such as in undirected topologies), just the lower triangle (including the diagonal) is stored,
+ * taking about half the memory of a full matrix.
+ * Values may also be stored as floats, taking half the memory again.</p>
+ *
+ * @since CloudSim Plus 7.3.0
+ * @see DelayMatrix
+ */
+public final class PackedMatrix {
+    /**
+     * The formats in which matrix values can be stored.
+     */
+    public enum Precision {
+        /** Stores values as 8-byte doubles, keeping them exactly as set. */
+        DOUBLE(Double.BYTES),
+
+        /**
+         * Stores values as 4-byte floats, which have about 7 significant digits.
+         * Values out of the float range are read as {@link Double#MAX_VALUE} (or its negative),
+         * such as the value used to indicate that a delay is not set.
+         */
+        FLOAT(Float.BYTES);
+
+        private final int bytes;
+
+        Precision(final int bytes) {
+            this.bytes = bytes;
+        }
+
+        /**
+         * Gets the number of bytes used to store each value.
+         * @return the value size in bytes
+         */
+        public int getBytes() {
+            return bytes;
+        }
+    }
+
+    /**
+     * The default number of bits of an index used to address a value inside a chunk,
+     * so that each chunk stores 2^26 values (512 MB of doubles).
+     */
+    private static final int DEF_CHUNK_BITS = 26;
+
+    private final int size;
+    private final boolean symmetric;
+    private final Precision precision;
+    private final boolean offHeap;
+    private final long entries;
+
+    /** @see #DEF_CHUNK_BITS */
+    private final int chunkBits;
+    private final long chunkMask;
+
+    /* Just the chunks for the matrix precision are set. */
+    private final DoubleBuffer[] doubles;
+    private final FloatBuffer[] floats;
+
+    /**
+     * Creates a matrix storing values as doubles in the heap, where all values are 0.
+     *
+     * @param size the number of rows and columns
+     * @param symmetric true if the value from node i to j is always the same as from j to i, false otherwise
+     */
+    public PackedMatrix(final int size, final boolean symmetric) {
+        this(size, symmetric, Precision.DOUBLE, false);
+    }
+
+    /**
+     * Creates a matrix where all values are 0.
+     *
+     * @param size the number of rows and columns
+     * @param symmetric true if the value from node i to j is always the same as from j to i, false otherwise
+     * @param precision the format in which values are stored
+     * @param offHeap true to store values in a direct buffer, outside the heap, false otherwise
+     * @throws IllegalArgumentException when the size is negative
+     */
+    public PackedMatrix(final int size, final boolean symmetric, final Precision precision, final boolean offHeap) {
+        this(size, symmetric, precision, offHeap, DEF_CHUNK_BITS);
+    }
+
+    /**
+     * Creates a matrix where all values are 0, defining the size of each chunk of values.
+     *
+     * @param size the number of rows and columns
+     * @param symmetric true if the value from node i to j is always the same as from j to i, false otherwise
+     * @param precision the format in which values are stored
+     * @param offHeap true to store values in a direct buffer, outside the heap, false otherwise
+     * @param chunkBits the number of bits of an index used to address a value inside a chunk
+     */
+    PackedMatrix(final int size, final boolean symmetric, final Precision precision, final boolean offHeap, final int chunkBits) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Matrix size cannot be negative.");
+        }
+
+        this.size = size;
+        this.symmetric = symmetric;
+        this.precision = precision;
+        this.offHeap = offHeap;
+        this.entries = symmetric ? (long) size * (size + 1) / 2 : (long) size * size;
+        this.chunkBits = chunkBits;
+        this.chunkMask = (1L << chunkBits) - 1;
+
+        final int chunks = (int) ((entries + chunkMask) >>> chunkBits);
+        if (precision == Precision.DOUBLE) {
+            this.doubles = new DoubleBuffer[chunks];
+            this.floats = null;
+        } else {
+            this.doubles = null;
+            this.floats = new FloatBuffer[chunks];
+        }
+
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            /* Just the last chunk may be smaller, so that small matrices don't allocate a whole chunk. */
+            final int capacity = (int) Math.min(entries - ((long) chunk << chunkBits), 1L << chunkBits);
+            if (doubles != null) {
+                doubles[chunk] = offHeap ? newDirectBuffer(capacity, precision).asDoubleBuffer() : DoubleBuffer.allocate(capacity);
+            } else {
+                floats[chunk] = offHeap ? newDirectBuffer(capacity, precision).asFloatBuffer() : FloatBuffer.allocate(capacity);
+            }
+        }
+    }
+
+    private static ByteBuffer newDirectBuffer(final int entries, final Precision precision) {
+        return ByteBuffer.allocateDirect(entries * precision.getBytes()).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Creates a matrix with the same format as this one, but with a different size,
+     * copying the values of the rows and columns existing in both matrices.
+     * @param newSize the number of rows and columns of the new matrix
+     * @return the new matrix
+     */
+    public PackedMatrix copyOf(final int newSize) {
+        final var matrix = new PackedMatrix(newSize, symmetric, precision, offHeap, chunkBits);
+        final int rows = Math.min(size, newSize);
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < (symmetric ? row + 1 : rows); col++) {
+                matrix.set(row, col, get(row, col));
+            }
+        }
+
+        return matrix;
+    }
+
+    /**
+     * Gets a value from the matrix.
+     * @param row the row index (the source node ID)
+     * @param col the column index (the destination node ID)
+     * @return the value at the given position
+     * @throws IndexOutOfBoundsException when the row or column is not valid
+     */
+    public double get(final int row, final int col) {
+        final long index = index(row, col);
+        final int chunk = (int) (index >>> chunkBits);
+        final int offset = (int) (index & chunkMask);
+        if (doubles != null) {
+            return doubles[chunk].get(offset);
+        }
+
+        final float value = floats[chunk].get(offset);
+        return Float.isInfinite(value) ? Math.copySign(Double.MAX_VALUE, value) : value;
+    }
+
+    /**
+     * Sets a value in the matrix.
+     * For a symmetric matrix, that also sets the value at the transposed position.
+     *
+     * @param row the row index (the source node ID)
+     * @param col the column index (the destination node ID)
+     * @param value the value to set
+     * @throws IndexOutOfBoundsException when the row or column is not valid
+     */
+    public void set(final int row, final int col, final double value) {
+        final long index = index(row, col);
+        final int chunk = (int) (index >>> chunkBits);
+        final int offset = (int) (index & chunkMask);
+        if (doubles != null) {
+            doubles[chunk].put(offset, value);
+        } else {
+            floats[chunk].put(offset, (float) value);
+        }
+    }
+
+    /**
+     * Sets all values in the matrix.
+     * @param value the value to set
+     */
+    public void fill(final double value) {
+        if (doubles != null) {
+            for (final var chunk : doubles) {
+                for (int i = 0; i < chunk.capacity(); i++) {
+                    chunk.put(i, value);
+                }
+            }
+        } else {
+            for (final var chunk : floats) {
+                for (int i = 0; i < chunk.capacity(); i++) {
+                    chunk.put(i, (float) value);
+                }
+            }
+        }
+    }
+
+    private long index(final int row, final int col) {
+        if (row < 0 || col < 0 || row >= size || col >= size) {
+            throw new IndexOutOfBoundsException(
+                "Position [%d][%d] is out of a matrix with %d rows and columns.".formatted(row, col, size));
+        }
+
+        if (!symmetric) {
+            return (long) row * size + col;
+        }
+
+        /* The lower triangle is stored row by row, so that row i starts after the i*(i+1)/2 values of previous rows. */
+        return row >= col ? (long) row * (row + 1) / 2 + col : (long) col * (col + 1) / 2 + row;
+    }
+
+    /**
+     * Creates a full two-dimensional array with the values of this matrix.
+     * @param rows the number of rows and columns of the array,
+     *             which may be lower than the matrix size to get just the first rows and columns
+     * @return a new array with the values of the matrix
+     */
+    public double[][] toArray(final int rows) {
+        final int length = Math.min(rows, size);
+        final double[][] array = new double[length][length];
+        for (int row = 0; row < length; row++) {
+            for (int col = 0; col < length; col++) {
+                array[row][col] = get(row, col);
+            }
+        }
+
+        return array;
+    }
+
+    /**
+     * Gets the number of rows and columns.
+     * @return
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if just the lower triangle of the matrix is stored,
+     * since the value from node i to j is always the same as from j to i.
+     * @return true if the matrix is symmetric, false otherwise
+     */
+    public boolean isSymmetric() {
+        return symmetric;
+    }
+
+    /**
+     * Gets the format in which values are stored.
+     * @return
+     */
+    public Precision getPrecision() {
+        return precision;
+    }
+
+    /**
+     * Checks if values are stored outside the heap.
+     * @return true if values are stored off-heap, false otherwise
+     */
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+
+    /**
+     * Gets the number of bytes used to store the matrix values.
+     * @return
+     */
+    public long getBytes() {
+        return entries * precision.getBytes();
+    }
+}
@@ -8,15 +8,14 @@
 package org.cloudbus.cloudsim.network.topologies;
 
 import org.cloudbus.cloudsim.core.SimEntity;
-import org.cloudbus.cloudsim.network.DelayMatrix;
+import org.cloudbus.cloudsim.network.DijkstraShortestPaths;
+import org.cloudbus.cloudsim.network.PackedMatrix;
 import org.cloudbus.cloudsim.network.topologies.readers.TopologyReaderBrite;
 import org.cloudbus.cloudsim.util.ResourceLoader;
-import org.cloudbus.cloudsim.util.Util;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.InputStreamReader;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -52,13 +51,11 @@ public final class BriteNetworkTopology implements NetworkTopology {
 
     private boolean networkEnabled;
 
-    /**
-     * A matrix containing the delay (in seconds) between every pair of nodes in the network.
-     */
-    private DelayMatrix delayMatrix;
+    /** @see #getShortestPaths() */
+    private DijkstraShortestPaths shortestPaths;
 
     /** @see #getBwMatrix() */
-    private double[][] bwMatrix;
+    private PackedMatrix bwMatrix;
 
     /** @see #getTopologicalGraph() */
     private TopologicalGraph graph;
@@ -87,9 +84,9 @@ public final class BriteNetworkTopology implements NetworkTopology {
      */
     public BriteNetworkTopology() {
         entitiesMap = new HashMap<>();
-        bwMatrix = new double[0][0];
+        bwMatrix = new PackedMatrix(0, true);
         graph = new TopologicalGraph();
-        delayMatrix = new DelayMatrix();
+        shortestPaths = new DijkstraShortestPaths(false);
     }
 
     /**
@@ -125,11 +122,13 @@ public final class BriteNetworkTopology implements NetworkTopology {
     }
 
     /**
-     * Generates the matrices used internally to set latency and bandwidth
+     * Generates the structures used internally to set latency and bandwidth
      * between elements.
+     * The delay between nodes is computed on demand, just for the
+     * nodes that exchange messages.
      */
     private void generateMatrices() {
-        delayMatrix = new DelayMatrix(getTopologicalGraph(), false);
+        shortestPaths = new DijkstraShortestPaths(getTopologicalGraph(), false);
         bwMatrix = createBwMatrix(getTopologicalGraph(), false);
         networkEnabled = true;
     }
@@ -140,17 +139,14 @@ public final class BriteNetworkTopology implements NetworkTopology {
      *
      * @param graph topological graph describing the topology
      * @param directed true if the graph is directed; false otherwise
-     * @return the bandwidth graph
+     * @return the bandwidth graph, which just stores half of the matrix if the graph is undirected
      */
-    private double[][] createBwMatrix(final TopologicalGraph graph, final boolean directed) {
+    private PackedMatrix createBwMatrix(final TopologicalGraph graph, final boolean directed) {
         final int nodes = graph.getNumberOfNodes();
-        final double[][] matrix = Util.newSquareMatrix(nodes);
+        final var matrix = new PackedMatrix(nodes, !directed);
 
         for (final TopologicalLink edge : graph.getLinksList()) {
-            matrix[edge.getSrcNodeID()][edge.getDestNodeID()] = edge.getLinkBw();
-            if (!directed) {
-                matrix[edge.getDestNodeID()][edge.getSrcNodeID()] = edge.getLinkBw();
-            }
+            matrix.set(edge.getSrcNodeID(), edge.getDestNodeID(), edge.getLinkBw());
         }
 
         return matrix;
@@ -169,13 +165,50 @@ public final class BriteNetworkTopology implements NetworkTopology {
         addNodeMapping(src);
         addNodeMapping(dest);
 
-        graph.addLink(new TopologicalLink(entitiesMap.get(src), entitiesMap.get(dest), latency, bandwidth));
-        generateMatrices();
+        final int srcId = entitiesMap.get(src);
+        final int destId = entitiesMap.get(dest);
+        graph.addLink(new TopologicalLink(srcId, destId, latency, bandwidth));
+        shortestPaths.addLink(srcId, destId, latency);
+        setBw(srcId, destId, bandwidth);
+        networkEnabled = true;
     }
 
+    /**
+     * Removes the links between two {@link SimEntity}s.
+     * Since the network is undirected, links from the destination to the source entity are removed as well.
+     * @param src {@link SimEntity} that represents the link's source node
+     * @param dest {@link SimEntity} that represents the link's destination node
+     */
     @Override
     public void removeLink(final SimEntity src, final SimEntity dest) {
-        throw new UnsupportedOperationException("Removing links is not yet supported on BriteNetworkTopologies");
+        final Integer srcId = entitiesMap.get(src);
+        final Integer destId = entitiesMap.get(dest);
+        if (srcId == null || destId == null) {
+            return;
+        }
+
+        final boolean removed = graph.removeLinks(srcId, destId) | graph.removeLinks(destId, srcId);
+        if (!removed) {
+            return;
+        }
+
+        shortestPaths.removeLinks(srcId, destId);
+        setBw(srcId, destId, 0);
+    }
+
+    /**
+     * Sets the bandwidth between two nodes in both directions,
+     * growing the bandwidth matrix if some node isn't there yet.
+     * The matrix grows by more than the required size,
+     * so that it's not copied every time a node is added.
+     */
+    private void setBw(final int srcId, final int destId, final double bandwidth) {
+        final int nodes = Math.max(srcId, destId) + 1;
+        if (nodes > bwMatrix.size()) {
+            bwMatrix = bwMatrix.copyOf(Math.max(nodes, bwMatrix.size() + (bwMatrix.size() >> 1)));
+        }
+
+        bwMatrix.set(srcId, destId, bandwidth);
     }
 
     /**
@@ -233,8 +266,8 @@ public final class BriteNetworkTopology implements NetworkTopology {
         }
 
         try {
-            return delayMatrix.getDelay(entitiesMap.getOrDefault(src, -1), entitiesMap.getOrDefault(dest, -1));
-        } catch (ArrayIndexOutOfBoundsException e) {
+            return shortestPaths.getDelay(entitiesMap.getOrDefault(src, -1), entitiesMap.getOrDefault(dest, -1));
+        } catch (IndexOutOfBoundsException e) {
             return 0.0;
         }
     }
@@ -258,11 +291,40 @@ public final class BriteNetworkTopology implements NetworkTopology {
         return graph;
     }
 
+    /**
+     * Gets the engine that computes the delay (in seconds) of the shortest path
+     * between nodes in the network, which allows setting how many
+     * {@link DijkstraShortestPaths#setMaxCachedSources(int) sources are cached}.
+     * @return
+     */
+    public DijkstraShortestPaths getShortestPaths() {
+        return shortestPaths;
+    }
+
     /**
      * Gets a <b>copy</b> of the matrix containing the bandwidth (in Megabits/s)
      * between every pair of {@link SimEntity}s in the network.
+     * Since the bandwidth is stored in a compact way, the matrix is created
+     * on each call. Use {@link #getBw(SimEntity, SimEntity)} to get the bandwidth between two entities.
      */
     public double[][] getBwMatrix() {
-        return Arrays.copyOf(bwMatrix, bwMatrix.length);
+        return bwMatrix.toArray(graph.getNumberOfNodes());
+    }
+
+    /**
+     * Gets the bandwidth (in Megabits/s) of the link between two {@link SimEntity}s.
+     *
+     * @param src {@link SimEntity} that represents the link's source node
+     * @param dest {@link SimEntity} that represents the link's destination node
+     * @return the link bandwidth or 0 if there is no link between the entities
+     */
+    public double getBw(final SimEntity src, final SimEntity dest) {
+        final Integer srcId = entitiesMap.get(src);
+        final Integer destId = entitiesMap.get(dest);
+        if (srcId == null || destId == null || srcId >= bwMatrix.size() || destId >= bwMatrix.size()) {
+            return 0;
+        }
+
+        return bwMatrix.get(srcId, destId);
     }
 }
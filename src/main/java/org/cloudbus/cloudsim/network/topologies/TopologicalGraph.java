@@ -55,6 +55,17 @@ public class TopologicalGraph {
         linksList.add(Objects.requireNonNull(edge));
     }
 
+    /**
+     * Removes all links from a source to a destination node.
+     *
+     * @param srcNodeID the ID of the links source node
+     * @param destNodeID the ID of the links destination node
+     * @return true if any link was removed, false otherwise
+     */
+    public boolean removeLinks(final int srcNodeID, final int destNodeID) {
+        return linksList.removeIf(link -> link.getSrcNodeID() == srcNodeID && link.getDestNodeID() == destNodeID);
+    }
+
     /**
      * Adds a Topological Node to this graph.
      *
@@ -5,7 +5,7 @@ import org.cloudbus.cloudsim.core.Simulation;
 import org.cloudbus.cloudsim.core.events.SimEvent;
 import org.cloudbus.cloudsim.power.models.PowerModel;
 
-import java.util.LinkedList;
+import java.util.AbstractList;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Supplier;
@@ -16,6 +16,12 @@ import static org.cloudbus.cloudsim.core.CloudSimTag.POWER_MEASUREMENT;
  * Periodically measures the current power usage of one or more {@link PowerAware} entities,
  * according to a defined {@link #getMeasurementInterval() interval}, storing the results.
  *
+ * <p>Since sampling power at intervals trades accuracy for memory and processing,
+ * the exact energy consumed by the entities is also available from {@link #getEnergyConsumption()},
+ * which doesn't depend on measurements, since each {@link PowerModel} integrates its energy
+ * whenever its power usage changes. Measurements can then be kept just for
+ * plotting power over time, bounding their number by {@link #setMaxMeasurements(int)}.</p>
+ *
  * @see #getPowerMeasurements()
  * @since CloudSim Plus 6.0.0
  */
@@ -27,7 +33,66 @@ public class PowerMeter extends CloudSimEntity {
     private double measurementInterval = 1;
 
     /** @see #getPowerMeasurements() () */
-    private final List<PowerMeasurement> powerMeasurements = new LinkedList<>();
+    private final MeasurementRing powerMeasurements = new MeasurementRing();
+
+    /**
+     * A List of measurements stored in a circular array, which keeps
+     * just the last {@link #capacity} added measurements, discarding the oldest ones.
+     */
+    private static final class MeasurementRing extends AbstractList<PowerMeasurement> {
+        private PowerMeasurement[] items = new PowerMeasurement[16];
+        private int capacity = Integer.MAX_VALUE;
+
+        /** The index of the oldest measurement inside the {@link #items} array. */
+        private int head;
+        private int size;
+
+        @Override
+        public boolean add(final PowerMeasurement measurement) {
+            if (size == capacity) {
+                items[head] = measurement;
+                head = (head + 1) % items.length;
+                return true;
+            }
+
+            if (size == items.length) {
+                resize((int) Math.min((long) capacity, Math.max(16L, 2L * items.length)));
+            }
+
+            items[(head + size++) % items.length] = measurement;
+            return true;
+        }
+
+        @Override
+        public PowerMeasurement get(final int index) {
+            Objects.checkIndex(index, size);
+            return items[(head + index) % items.length];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        private void setCapacity(final int capacity) {
+            final int removed = Math.max(size - capacity, 0);
+            head = (head + removed) % items.length;
+            size -= removed;
+            this.capacity = capacity;
+            resize(Math.min(capacity, Math.max(size, 16)));
+        }
+
+        /** Copies the measurements to a new array, where the oldest one is at index 0. */
+        private void resize(final int length) {
+            final var newItems = new PowerMeasurement[length];
+            for (int i = 0; i < size; i++) {
+                newItems[i] = items[(head + i) % items.length];
+            }
+
+            items = newItems;
+            head = 0;
+        }
+    }
 
     /**
      * Initializes a {@link PowerMeter} to periodically measure power consumption of a single {@link PowerAware} entity.
@@ -118,6 +183,7 @@ public class PowerMeter extends CloudSimEntity {
     /**
      * Gets the list of all measurements collected up to now.
      * Each entry is a measurement collected in the defined {@link #measurementInterval}.
+     * Just the last {@link #getMaxMeasurements()} measurements are kept.
      * If you provided a list of entities on the class constructor,
      * a entry is the combined measurement for those entities.
      * @return
@@ -126,6 +192,60 @@ public class PowerMeter extends CloudSimEntity {
         return powerMeasurements;
     }
 
+    /**
+     * Gets the maximum number of measurements kept in the {@link #getPowerMeasurements() measurements list}
+     * (default is {@link Integer#MAX_VALUE}).
+     * @return
+     */
+    public int getMaxMeasurements() {
+        return powerMeasurements.capacity;
+    }
+
+    /**
+     * Sets the maximum number of measurements kept in the {@link #getPowerMeasurements() measurements list}.
+     * When the limit is reached, the oldest measurements are discarded,
+     * bounding the memory used by long simulations.
+     * @param maxMeasurements the maximum number of measurements to keep
+     * @return
+     */
+    public PowerMeter setMaxMeasurements(final int maxMeasurements) {
+        if(maxMeasurements <= 0){
+            throw new IllegalArgumentException("maxMeasurements must be a positive number.");
+        }
+
+        powerMeasurements.setCapacity(maxMeasurements);
+        return this;
+    }
+
+    /**
+     * Gets the exact total energy (in Watt-seconds, i.e., Joules) consumed by the measured entities,
+     * from the simulation start up to the current simulation time.
+     * It doesn't depend on the {@link #getMeasurementInterval() measurement interval}.
+     * @return the consumed energy in Joules
+     * @see PowerModel#getEnergyConsumption()
+     * @since CloudSim Plus 7.3.0
+     */
+    public double getEnergyConsumption() {
+        return getEnergyConsumption(powerAwareEntitiesSupplier.get());
+    }
+
+    /**
+     * Gets the exact total energy (in Watt-seconds, i.e., Joules) consumed by a group of entities,
+     * such as the Hosts in a rack or the Datacenters in a region,
+     * from the simulation start up to the current simulation time.
+     * @param powerAwareEntities the entities to get their combined energy consumption
+     * @return the consumed energy in Joules
+     * @since CloudSim Plus 7.3.0
+     */
+    public static double getEnergyConsumption(final List<? extends PowerAware<? extends PowerModel>> powerAwareEntities) {
+        double energy = 0;
+        for (final var entity : powerAwareEntities) {
+            energy += entity.getPowerModel().getEnergyConsumption();
+        }
+
+        return energy;
+    }
+
     /**
      * Gets the time interval to collect power measurements.
      * @return
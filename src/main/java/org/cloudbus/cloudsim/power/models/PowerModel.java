@@ -27,5 +27,20 @@ public interface PowerModel {
     default double getPower() {
         return getPowerMeasurement().getTotalPower();
     }
+
+    /**
+     * Gets the total energy consumed by the entity (in Watt-seconds, i.e., Joules)
+     * from the simulation start up to the current simulation time.
+     * Energy is integrated exactly, each time the power usage changes,
+     * instead of being estimated from periodic power samples.
+     * <p>By default, it returns 0 for models that don't integrate their energy consumption.
+     * The energy for such models can be estimated from the measurements
+     * of a {@link org.cloudbus.cloudsim.power.PowerMeter}.</p>
+     * @return the consumed energy in Joules
+     * @since CloudSim Plus 7.3.0
+     */
+    default double getEnergyConsumption() {
+        return 0;
+    }
 }
 
@@ -32,4 +32,14 @@ public abstract class PowerModelDatacenter implements PowerModel {
     public final void setDatacenter(final Datacenter datacenter) {
         this.datacenter = Objects.requireNonNull(datacenter);
     }
+
+    /**
+     * {@inheritDoc}
+     * It's the sum of the energy consumed by all Hosts in the Datacenter.
+     * @return {@inheritDoc}
+     */
+    @Override
+    public double getEnergyConsumption() {
+        return getDatacenter().getHostList().stream().mapToDouble(host -> host.getPowerModel().getEnergyConsumption()).sum();
+    }
 }
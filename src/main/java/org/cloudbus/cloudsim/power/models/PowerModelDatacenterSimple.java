@@ -35,6 +35,11 @@ public class PowerModelDatacenterSimple extends PowerModelDatacenter {
         return measurement.multiply(powerUsageEffectiveness);
     }
 
+    @Override
+    public double getEnergyConsumption() {
+        return super.getEnergyConsumption() * powerUsageEffectiveness;
+    }
+
     /**
      * Gets the Power Usage Effectiveness (PUE) for this Power Model,
      * defining how effective power usage is.
@@ -54,6 +54,18 @@ public abstract class PowerModelHost implements PowerModel {
     /** @see #getTotalStartups() */
     private int totalStartups;
 
+    /**
+     * The energy (in Joules) consumed up to the {@link #lastEnergyUpdateTime}.
+     * @see #getEnergyConsumption()
+     */
+    private double energyConsumption;
+
+    /** The last time the {@link #energyConsumption} was updated. */
+    private double lastEnergyUpdateTime;
+
+    /** The total power (in Watts) the Host was consuming at the {@link #lastEnergyUpdateTime}. */
+    private double lastTotalPower;
+
     /**
      * Checks if a power value (in Watts) is valid.
      * @param power the value to validate
@@ -182,6 +194,7 @@ public abstract class PowerModelHost implements PowerModel {
      * If the Host is powered on/off multiple times, that power consumed is summed up.
      */
     public void addStartupTotals() {
+        energyConsumption += startupPower * startupDelay;
         totalStartupPower += startupPower;
         totalStartupTime += startupDelay;
         totalStartups++;
@@ -200,6 +213,7 @@ public abstract class PowerModelHost implements PowerModel {
      * If the Host is powered on/off multiple times, that power consumed is summed up.
      */
     public void addShutDownTotals() {
+        energyConsumption += shutDownPower * shutDownDelay;
         totalShutDownPower += shutDownPower;
         totalShutDownTime += shutDownDelay;
     }
@@ -229,4 +243,40 @@ public abstract class PowerModelHost implements PowerModel {
     public double getTotalShutDownTime() {
         return totalShutDownTime;
     }
+
+    /**
+     * Integrates the energy consumed since the last update, considering the power
+     * the Host was consuming at that time, then takes the current power usage
+     * for the next update.
+     * It must be called each time the Host power usage may change,
+     * such as when its processing is updated or it's powered on/off,
+     * so that energy is computed exactly, in constant time and memory.
+     *
+     * @param time the current simulation time
+     * @see #getEnergyConsumption()
+     * @since CloudSim Plus 7.3.0
+     */
+    public void updateEnergyConsumption(final double time) {
+        if (time > lastEnergyUpdateTime) {
+            energyConsumption += lastTotalPower * (time - lastEnergyUpdateTime);
+            lastEnergyUpdateTime = time;
+        }
+
+        lastTotalPower = getPower();
+    }
+
+    /**
+     * {@inheritDoc}
+     * It includes the energy consumed for starting up and shutting down the Host
+     * (the startup/shutdown power times the startup/shutdown delay),
+     * which is accounted when the power state changes.
+     * @return {@inheritDoc}
+     * @see #updateEnergyConsumption(double)
+     */
+    @Override
+    public double getEnergyConsumption() {
+        final var simulation = host == null ? null : host.getSimulation();
+        final double time = simulation == null ? lastEnergyUpdateTime : simulation.clock();
+        return energyConsumption + lastTotalPower * Math.max(time - lastEnergyUpdateTime, 0);
+    }
 }
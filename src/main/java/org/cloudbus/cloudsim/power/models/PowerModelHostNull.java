@@ -12,4 +12,8 @@ class PowerModelHostNull extends PowerModelHost {
     @Override public PowerMeasurement getPowerMeasurement() { return new PowerMeasurement(); }
     @Override public double getPower(double utilizationFraction) throws IllegalArgumentException { return 0; }
     @Override public Host getHost() { return Host.NULL; }
+    @Override public void addStartupTotals() {/**/}
+    @Override public void addShutDownTotals() {/**/}
+    @Override public void updateEnergyConsumption(double time) {/**/}
+    @Override public double getEnergyConsumption() { return 0; }
 }
@@ -109,6 +109,22 @@ public interface ResourceProvisioner {
      */
     long deallocateResourceForVm(Vm vm);
 
+    /**
+     * Updates the amount of the resource a VM is currently demanding,
+     * which is called by the Host every time the VM processing is updated.
+     * It enables provisioners (such as the {@link ResourceProvisionerFairShare})
+     * to share the resource according to the actual VM demand, instead of just the allocated amount.
+     * By default, it does nothing, since the allocation doesn't depend on the demand.
+     *
+     * @param vm the VM to update the demand
+     * @param demand the amount of the resource the VM is demanding
+     * @return true if the demand changed, false otherwise or if the provisioner doesn't track demands
+     * @since CloudSim Plus 7.3.0
+     */
+    default boolean updateDemand(final Vm vm, final long demand) {
+        return false;
+    }
+
     /**
      * Checks if it is possible to change the current allocated resource for a given VM
      * to a new amount, depending on the available physical resource remaining.
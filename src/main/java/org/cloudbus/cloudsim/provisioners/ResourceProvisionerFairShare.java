@@ -0,0 +1,360 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.provisioners;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.resources.Resource;
+import org.cloudbus.cloudsim.resources.ResourceManageable;
+import org.cloudbus.cloudsim.vms.Vm;
+
+/**
+ * A {@link ResourceProvisioner} that shares a resource (usually a DPU/NIC bandwidth,
+ * which may be shared among the Hosts of a rack through {@link #setRelatedHost(java.util.List)})
+ * among VMs according to their time-varying demand, instead of statically reserving
+ * the entire VM capacity.
+ *
+ * <p>VMs are admitted while the sum of their capacities (their reservations) doesn't exceed
+ * the physical capacity multiplied by the {@link #getOversubscription() oversubscription} factor.
+ * The resource is then split in a max-min fair way, by progressive filling:
+ * VMs demanding less than a fair share get their entire demand and the remaining
+ * capacity is equally shared among the other VMs, which are throttled.
+ * The allocated amount of the physical resource is the sum of the VMs' throttled allocations.</p>
+ *
+ * <p>Demands are updated by the {@link Host} as VMs are processed
+ * (see {@link #updateDemand(Vm, long)}) and fair shares are just computed again
+ * when some demand, VM or capacity changes and allocations are requested.</p>
+ *
+ * @since CloudSim Plus 7.3.0
+ */
+public class ResourceProvisionerFairShare extends ResourceProvisionerAbstract {
+    /**
+     * The reservation, demand and allocation of a VM.
+     */
+    private static final class Share {
+        private long reservation;
+        private long demand;
+        private long allocation;
+    }
+
+    private final Map<Vm, Share> shares;
+
+    /** @see #getOversubscription() */
+    private double oversubscription;
+
+    private long totalReservation;
+
+    /** Indicates if some demand changed since fair shares were last computed. */
+    private boolean changed;
+
+    /** @see #getComputations() */
+    private long computations;
+
+    /**
+     * Creates a ResourceProvisionerFairShare without oversubscription,
+     * which the {@link ResourceManageable} it will manage have to be set further.
+     *
+     * @see ResourceProvisioner#setResources(ResourceManageable, Function)
+     */
+    public ResourceProvisionerFairShare() {
+        this(1);
+    }
+
+    /**
+     * Creates a ResourceProvisionerFairShare with a given oversubscription factor,
+     * which the {@link ResourceManageable} it will manage have to be set further.
+     *
+     * @param oversubscription the factor by which the sum of VMs reservations may exceed the physical capacity
+     * @see ResourceProvisioner#setResources(ResourceManageable, Function)
+     */
+    public ResourceProvisionerFairShare(final double oversubscription) {
+        super(ResourceManageable.NULL, vm -> ResourceManageable.NULL);
+        this.shares = new HashMap<>();
+        setOversubscription(oversubscription);
+    }
+
+    /**
+     * Creates a ResourceProvisionerFairShare for a given {@link ResourceManageable}, without oversubscription.
+     *
+     * @param resource the resource to be managed by the provisioner
+     * @param vmResourceFunction a {@link Function} that receives a {@link Vm} and returns
+     *                           the virtual resource corresponding to the {@link #getPmResource() PM resource}
+     */
+    protected ResourceProvisionerFairShare(final ResourceManageable resource, final Function<Vm, ResourceManageable> vmResourceFunction) {
+        super(resource, vmResourceFunction);
+        this.shares = new HashMap<>();
+        this.oversubscription = 1;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The given amount is the VM reservation, which also limits its demand.
+     * A VM which is not using the resource yet demands its entire reservation,
+     * until its demand is {@link #updateDemand(Vm, long) updated}.
+     */
+    @Override
+    public boolean allocateResourceForVm(final Vm vm, final long newTotalVmResourceCapacity) {
+        Objects.requireNonNull(vm);
+        if (!isSuitableForVm(vm, newTotalVmResourceCapacity)) {
+            return false;
+        }
+
+        final var share = shares.computeIfAbsent(vm, key -> new Share());
+        final boolean added = share.reservation == 0 && share.demand == 0;
+        totalReservation += newTotalVmResourceCapacity - share.reservation;
+        share.reservation = newTotalVmResourceCapacity;
+        share.demand = added ? newTotalVmResourceCapacity : Math.min(share.demand, newTotalVmResourceCapacity);
+        getVmResourceFunction().apply(vm).setCapacity(newTotalVmResourceCapacity);
+        changed = true;
+        return true;
+    }
+
+    @Override
+    public long deallocateResourceForVm(final Vm vm) {
+        final var vmResource = getVmResourceFunction().apply(vm);
+        if (!shares.containsKey(vm)) {
+            return vmResource.deallocateAllResources();
+        }
+
+        solveIfChanged();
+        final var share = shares.remove(vm);
+        totalReservation -= share.reservation;
+        getPmResource().deallocateResource(share.allocation);
+        vmResource.deallocateAllResources();
+        changed = true;
+        return share.allocation;
+    }
+
+    /**
+     * Updates the amount of the resource a VM is demanding,
+     * which is limited by the VM reservation.
+     * Fair shares are just computed again if the demand changed.
+     *
+     * @param vm the VM to update the demand
+     * @param demand the amount of the resource the VM is demanding
+     * @return true if the demand changed, false otherwise or if the VM has no resource allocated from this provisioner
+     */
+    @Override
+    public boolean updateDemand(final Vm vm, final long demand) {
+        final var share = shares.get(vm);
+        if (share == null) {
+            return false;
+        }
+
+        final long newDemand = Math.max(0, Math.min(demand, share.reservation));
+        if (newDemand == share.demand) {
+            return false;
+        }
+
+        share.demand = newDemand;
+        changed = true;
+        return true;
+    }
+
+    /**
+     * Gets the amount of the resource a VM is demanding.
+     * @param vm the VM to get the demand
+     * @return the VM demand or 0 if the VM has no resource allocated from this provisioner
+     */
+    public long getDemand(final Vm vm) {
+        final var share = shares.get(vm);
+        return share == null ? 0 : share.demand;
+    }
+
+    /**
+     * Gets the sum of the amount of the resource demanded by all VMs.
+     * @return
+     */
+    public long getTotalDemand() {
+        return shares.values().stream().mapToLong(share -> share.demand).sum();
+    }
+
+    /**
+     * Gets the sum of the reservations of all VMs,
+     * which may exceed the capacity up to the {@link #getOversubscription() oversubscription} factor.
+     * @return
+     */
+    public long getTotalReservation() {
+        return totalReservation;
+    }
+
+    /**
+     * Checks if a VM is getting less of the resource than it's demanding.
+     * @param vm the VM to check
+     * @return true if the VM is throttled, false otherwise
+     */
+    public boolean isThrottled(final Vm vm) {
+        final var share = shares.get(vm);
+        if (share == null) {
+            return false;
+        }
+
+        solveIfChanged();
+        return share.allocation < share.demand;
+    }
+
+    /**
+     * {@inheritDoc}
+     * That is the fair share of the VM demand, which may be throttled.
+     */
+    @Override
+    public long getAllocatedResourceForVm(final Vm vm) {
+        final var share = shares.get(vm);
+        if (share == null) {
+            return 0;
+        }
+
+        solveIfChanged();
+        return share.allocation;
+    }
+
+    @Override
+    public long getTotalAllocatedResource() {
+        solveIfChanged();
+        return super.getTotalAllocatedResource();
+    }
+
+    @Override
+    public long getAvailableResource() {
+        solveIfChanged();
+        return super.getAvailableResource();
+    }
+
+    @Override
+    public boolean isSuitableForVm(final Vm vm, final long newVmTotalAllocatedResource) {
+        final var share = shares.get(vm);
+        final long currentReservation = share == null ? 0 : share.reservation;
+        return totalReservation - currentReservation + newVmTotalAllocatedResource <= getCapacity() * oversubscription;
+    }
+
+    @Override
+    public boolean isSuitableForVm(final Vm vm, final Resource resource) {
+        return isSuitableForVm(vm, resource.getCapacity());
+    }
+
+    /**
+     * Computes the fair shares if some demand changed since they were last computed,
+     * updating the allocated amount of the physical and virtual resources.
+     */
+    private void solveIfChanged() {
+        if (!changed) {
+            return;
+        }
+
+        changed = false;
+        computations++;
+        final var shareList = shares.values().toArray(new Share[0]);
+        final long[] demands = new long[shareList.length];
+        for (int i = 0; i < shareList.length; i++) {
+            demands[i] = shareList[i].demand;
+        }
+
+        final long[] allocations = maxMinFairShares(demands, getCapacity());
+        long total = 0;
+        for (int i = 0; i < shareList.length; i++) {
+            shareList[i].allocation = allocations[i];
+            total += allocations[i];
+        }
+
+        getPmResource().setAllocatedResource(total);
+        shares.forEach((vm, share) -> getVmResourceFunction().apply(vm).setAllocatedResource(share.allocation));
+    }
+
+    /**
+     * Computes max-min fair shares of a capacity by progressive filling:
+     * the demands are sorted to find the water level where the capacity is exhausted.
+     * Demands below such a level are entirely met, while the other ones get the level.
+     * The remainder of the integer division of the capacity is given one unit at a time,
+     * so that the entire capacity is used when the total demand exceeds it.
+     *
+     * @param demands the demand of each consumer
+     * @param capacity the capacity to share
+     * @return the allocation of each consumer, in the order of the demands
+     */
+    static long[] maxMinFairShares(final long[] demands, final long capacity) {
+        final long[] sorted = demands.clone();
+        Arrays.sort(sorted);
+
+        long remaining = capacity;
+        long level = Long.MAX_VALUE;
+        long extra = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            final int unsatisfied = sorted.length - i;
+            if (sorted[i] > remaining / unsatisfied) {
+                level = remaining / unsatisfied;
+                extra = remaining % unsatisfied;
+                break;
+            }
+
+            remaining -= sorted[i];
+        }
+
+        final long[] allocations = new long[demands.length];
+        for (int i = 0; i < demands.length; i++) {
+            allocations[i] = Math.min(demands[i], level);
+            if (demands[i] > level && extra > 0) {
+                allocations[i]++;
+                extra--;
+            }
+        }
+
+        return allocations;
+    }
+
+    /**
+     * Gets the factor by which the sum of VMs reservations may exceed the physical capacity.
+     * @return
+     */
+    public double getOversubscription() {
+        return oversubscription;
+    }
+
+    /**
+     * Sets the factor by which the sum of VMs reservations may exceed the physical capacity.
+     * It only affects VMs admitted from now on.
+     * @param oversubscription the factor to set, which must be at least 1 (no oversubscription)
+     * @return
+     */
+    public ResourceProvisionerFairShare setOversubscription(final double oversubscription) {
+        if (oversubscription < 1) {
+            throw new IllegalArgumentException("Oversubscription must be at least 1.");
+        }
+
+        this.oversubscription = oversubscription;
+        return this;
+    }
+
+    /**
+     * Gets the number of times fair shares were computed.
+     * @return
+     */
+    public long getComputations() {
+        return computations;
+    }
+}
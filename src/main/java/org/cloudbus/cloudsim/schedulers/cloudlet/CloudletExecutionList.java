@@ -0,0 +1,591 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.schedulers.cloudlet;
+
+import org.cloudbus.cloudsim.cloudlets.CloudletExecution;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A list of {@link CloudletExecution}s indexed by the Cloudlet id,
+ * used by {@link CloudletSchedulerAbstract} to store Cloudlets in each execution state.
+ *
+ * <p>Searching, adding and removing a Cloudlet are O(1) operations,
+ * so that moving a Cloudlet between the exec, waiting, paused, finished and failed lists
+ * doesn't require a linear scan. By default, the iteration order is the order Cloudlets were added,
+ * as in an {@link ArrayList}.</p>
+ *
+ * <p>Since {@link CloudletExecution#equals(Object)} relies just on the Cloudlet id,
+ * the list doesn't store duplicates:
+ * adding a Cloudlet whose id is already in the list replaces the existing entry, keeping its position.
+ * Random access by index is served from an array snapshot that is
+ * built on the first access after the list changes.
+ * The snapshot is kept when a Cloudlet is removed by its index or appended to an insertion-ordered list,
+ * so that loops removing Cloudlets by index cost as much as in an {@link ArrayList}.
+ * Inserting or setting a Cloudlet at a given index rebuilds the list in O(n)
+ * and isn't supported by sorted lists.</p>
+ *
+ * <p>The list can alternatively be kept permanently sorted by a {@link Comparator}
+ * (such as the run queue of the {@link CloudletSchedulerCompletelyFair}),
+ * which makes adding, removing and getting the first Cloudlet O(log n).
+ * In such a case, the comparator must define a total order (no two distinct Cloudlets can be equal)
+ * and attributes used by it must not change while a Cloudlet is in the list.
+ * To update such attributes, the Cloudlet must be removed, changed and then added back.</p>
+ *
+ * <p>The list can also be {@link #indexByPes() indexed by the number of PEs} Cloudlets require,
+ * so that {@link #findFirst(long, Predicate)} finds the first Cloudlet fitting into
+ * a number of free PEs by visiting just the Cloudlets that fit,
+ * instead of scanning the whole list. Each Cloudlet is kept in the group of the number of PEs it had when indexed,
+ * so that if that number changes while the Cloudlet is in the list,
+ * {@link #updateNumberOfPes(long)} must be called to move it to the right group.</p>
+ *
+ * @since CloudSim Plus 7.3.0
+ */
+final class CloudletExecutionList extends AbstractList<CloudletExecution> implements RandomAccess {
+    private final LinkedHashMap<Long, CloudletExecution> map;
+
+    /**
+     * A tree storing Cloudlets sorted by a given {@link Comparator},
+     * or null if the list is kept in insertion order.
+     */
+    private TreeSet<CloudletExecution> sortedSet;
+
+    /**
+     * A snapshot of the list elements to enable random access by index,
+     * or null if the list has changed since the snapshot was taken.
+     */
+    private CloudletExecution[] indexSnapshot;
+
+    /** The number of elements in the {@link #indexSnapshot}, which may have spare capacity. */
+    private int snapshotSize;
+
+    /**
+     * Cloudlets grouped by their number of PEs, each group in the list order,
+     * or null if the list {@link #isIndexedByPes() isn't indexed by PEs}.
+     */
+    private TreeMap<Long, TreeSet<CloudletExecution>> pesIndex;
+
+    /**
+     * The number of PEs each Cloudlet had when added to the {@link #pesIndex},
+     * which is the key of the group storing it, even if the Cloudlet number of PEs has changed since then.
+     */
+    private Map<Long, Long> indexedPes;
+
+    /**
+     * The insertion sequence of each Cloudlet, used to order Cloudlets in the {@link #pesIndex}
+     * when the list isn't {@link #isSorted() sorted}.
+     */
+    private Map<Long, Long> sequences;
+
+    private long nextSequence;
+
+    /**
+     * Creates a list kept in insertion order.
+     */
+    CloudletExecutionList() {
+        this.map = new LinkedHashMap<>();
+    }
+
+    /**
+     * Creates a list kept permanently sorted by a given comparator.
+     * @param comparator the {@link Comparator} defining a total order for Cloudlets in the list
+     */
+    CloudletExecutionList(final Comparator<CloudletExecution> comparator) {
+        this();
+        this.sortedSet = new TreeSet<>(requireNonNull(comparator));
+    }
+
+    /**
+     * Indexes Cloudlets by their number of PEs, enabling {@link #findFirst(long, Predicate)}
+     * to skip the ones that don't fit.
+     * @return this list
+     */
+    CloudletExecutionList indexByPes() {
+        if(!isIndexedByPes()) {
+            pesIndex = new TreeMap<>();
+            indexedPes = new HashMap<>();
+            sequences = isSorted() ? null : new HashMap<>();
+            reindex();
+        }
+
+        return this;
+    }
+
+    /**
+     * Checks if the list is {@link #indexByPes() indexed by the number of PEs}.
+     * @return
+     */
+    public boolean isIndexedByPes() {
+        return pesIndex != null;
+    }
+
+    /**
+     * Finds the first Cloudlet in the list requiring at most a given number of PEs and
+     * matching a given predicate. If the list is {@link #indexByPes() indexed by the number of PEs},
+     * Cloudlets requiring more PEs aren't visited.
+     *
+     * @param maxPes the maximum number of PEs the Cloudlet can require
+     * @param filter the predicate the Cloudlet must match, which is evaluated in the list order
+     *               for Cloudlets with the same number of PEs
+     * @return an {@link Optional} containing the found Cloudlet or an empty one otherwise
+     */
+    public Optional<CloudletExecution> findFirst(final long maxPes, final Predicate<? super CloudletExecution> filter) {
+        if(!isIndexedByPes()) {
+            return values().stream().filter(cle -> cle.getNumberOfPes() <= maxPes && filter.test(cle)).findFirst();
+        }
+
+        final var order = order();
+        CloudletExecution first = null;
+        for (final var group : pesIndex.headMap(maxPes, true).values()) {
+            for (final var cle : group) {
+                if(first != null && order.compare(cle, first) > 0) {
+                    break;
+                }
+
+                if(filter.test(cle)) {
+                    first = cle;
+                    break;
+                }
+            }
+        }
+
+        return Optional.ofNullable(first);
+    }
+
+    /**
+     * Gets the comparator defining the list order, used to order Cloudlets in the {@link #pesIndex}.
+     */
+    private Comparator<? super CloudletExecution> order() {
+        return isSorted() ? sortedSet.comparator() : Comparator.comparingLong(cle -> sequences.get(cle.getCloudletId()));
+    }
+
+    private void indexAdd(final CloudletExecution cle) {
+        if(!isIndexedByPes()) {
+            return;
+        }
+
+        if(!isSorted()) {
+            sequences.putIfAbsent(cle.getCloudletId(), nextSequence++);
+        }
+
+        final long pes = cle.getNumberOfPes();
+        indexedPes.put(cle.getCloudletId(), pes);
+        pesIndex.computeIfAbsent(pes, key -> new TreeSet<>(order())).add(cle);
+    }
+
+    private void indexRemove(final CloudletExecution cle) {
+        if(!isIndexedByPes()) {
+            return;
+        }
+
+        final Long pes = indexedPes.remove(cle.getCloudletId());
+        final var group = pes == null ? null : pesIndex.get(pes);
+        if(group != null) {
+            group.remove(cle);
+            if(group.isEmpty()) {
+                pesIndex.remove(pes);
+            }
+        }
+
+        if(!isSorted()) {
+            sequences.remove(cle.getCloudletId());
+        }
+    }
+
+    /**
+     * Replaces a Cloudlet in the {@link #pesIndex} by another one with the same id,
+     * which keeps the position of the replaced one in an insertion-ordered list.
+     */
+    private void indexReplace(final CloudletExecution previous, final CloudletExecution cle) {
+        if(!isIndexedByPes()) {
+            return;
+        }
+
+        if(isSorted()) {
+            indexRemove(previous);
+            indexAdd(cle);
+            return;
+        }
+
+        final long sequence = sequences.get(previous.getCloudletId());
+        indexRemove(previous);
+        sequences.put(cle.getCloudletId(), sequence);
+        indexAdd(cle);
+    }
+
+    /**
+     * Moves a Cloudlet to the group of the {@link #pesIndex} matching its current number of PEs,
+     * keeping its position in the list. It must be called when the number of PEs of a Cloudlet in the list changes,
+     * if the list is {@link #indexByPes() indexed by the number of PEs}.
+     * @param cloudletId the id of the Cloudlet whose number of PEs has changed
+     */
+    void updateNumberOfPes(final long cloudletId) {
+        final var cle = map.get(cloudletId);
+        if(cle == null || !isIndexedByPes() || indexedPes.get(cloudletId) == cle.getNumberOfPes()) {
+            return;
+        }
+
+        indexReplace(cle, cle);
+    }
+
+    /**
+     * Rebuilds the {@link #pesIndex} after the list order changes.
+     */
+    private void reindex() {
+        if(!isIndexedByPes()) {
+            return;
+        }
+
+        pesIndex.clear();
+        indexedPes.clear();
+        if(!isSorted()) {
+            sequences.clear();
+        }
+
+        values().forEach(this::indexAdd);
+    }
+
+    /**
+     * Checks if the list is kept permanently sorted by a {@link Comparator}.
+     * @return true if the list is sorted, false if it's in insertion order
+     */
+    public boolean isSorted() {
+        return sortedSet != null;
+    }
+
+    /**
+     * Gets the first Cloudlet in the list.
+     * @return an {@link Optional} containing the first Cloudlet or an empty one if the list is empty
+     */
+    public Optional<CloudletExecution> first() {
+        if(map.isEmpty()) {
+            return Optional.empty();
+        }
+
+        return Optional.of(isSorted() ? sortedSet.first() : map.values().iterator().next());
+    }
+
+    /**
+     * Finds a Cloudlet in the list by its id.
+     * @param cloudletId the id of the Cloudlet to find
+     * @return an {@link Optional} containing the found Cloudlet or an empty one otherwise
+     */
+    public Optional<CloudletExecution> findById(final long cloudletId) {
+        return Optional.ofNullable(map.get(cloudletId));
+    }
+
+    /**
+     * Removes a Cloudlet from the list by its id.
+     * @param cloudletId the id of the Cloudlet to remove
+     * @return the removed Cloudlet or {@link CloudletExecution#NULL} if not found
+     */
+    public CloudletExecution removeById(final long cloudletId) {
+        final var cle = removeFromBackingStructures(cloudletId);
+        if(cle != CloudletExecution.NULL) {
+            changed();
+        }
+
+        return cle;
+    }
+
+    private CloudletExecution removeFromBackingStructures(final long cloudletId) {
+        final var cle = map.remove(cloudletId);
+        if(cle == null) {
+            return CloudletExecution.NULL;
+        }
+
+        if(isSorted()) {
+            sortedSet.remove(cle);
+        }
+
+        indexRemove(cle);
+        return cle;
+    }
+
+    @Override
+    public boolean add(final CloudletExecution cle) {
+        final var previous = map.put(requireNonNull(cle).getCloudletId(), cle);
+        if(previous == null) {
+            indexAdd(cle);
+        } else {
+            indexReplace(previous, cle);
+        }
+
+        if(isSorted()) {
+            if(previous != null) {
+                sortedSet.remove(previous);
+            }
+
+            sortedSet.add(cle);
+            changed();
+            return true;
+        }
+
+        if(previous != null || indexSnapshot == null) {
+            changed();
+            return true;
+        }
+
+        // Appends to the snapshot, since the Cloudlet is the last one in insertion order
+        if(snapshotSize == indexSnapshot.length) {
+            indexSnapshot = Arrays.copyOf(indexSnapshot, Math.max(8, snapshotSize * 2));
+        }
+
+        indexSnapshot[snapshotSize++] = cle;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Since Cloudlets are stored by id, it rebuilds the list in O(n).
+     * If a Cloudlet with the same id is already in the list, it's moved to the given index.
+     *
+     * @throws UnsupportedOperationException if the list {@link #isSorted() is sorted}
+     */
+    @Override
+    public void add(final int index, final CloudletExecution cle) {
+        requireNonNull(cle);
+        checkNotSorted();
+        Objects.checkIndex(index, size() + 1);
+        final var elements = new ArrayList<>(map.values());
+        elements.add(index, cle);
+        rebuild(elements, index);
+    }
+
+    /**
+     * {@inheritDoc}
+     * If the given Cloudlet has the same id of the replaced one, it's an O(1) operation,
+     * otherwise the list is rebuilt in O(n).
+     * If a Cloudlet with the same id is in another position, that one is removed.
+     *
+     * @throws UnsupportedOperationException if the list {@link #isSorted() is sorted}
+     */
+    @Override
+    public CloudletExecution set(final int index, final CloudletExecution cle) {
+        requireNonNull(cle);
+        checkNotSorted();
+        final var previous = get(index);
+        if(previous.getCloudletId() == cle.getCloudletId()) {
+            map.put(cle.getCloudletId(), cle);
+            indexReplace(previous, cle);
+            indexSnapshot[index] = cle;
+            return previous;
+        }
+
+        final var elements = new ArrayList<>(map.values());
+        elements.set(index, cle);
+        rebuild(elements, index);
+        return previous;
+    }
+
+    private void checkNotSorted() {
+        if(isSorted()) {
+            throw new UnsupportedOperationException("A sorted list doesn't support inserting Cloudlets at a given index.");
+        }
+    }
+
+    /**
+     * Rebuilds the map from a given list of elements, keeping the element at a given index
+     * and dropping any other one with the same Cloudlet id.
+     */
+    private void rebuild(final List<CloudletExecution> elements, final int index) {
+        final long cloudletId = elements.get(index).getCloudletId();
+        map.clear();
+        for (int i = 0; i < elements.size(); i++) {
+            final var element = elements.get(i);
+            if(i == index || element.getCloudletId() != cloudletId) {
+                map.put(element.getCloudletId(), element);
+            }
+        }
+
+        reindex();
+        changed();
+    }
+
+    @Override
+    public CloudletExecution get(final int index) {
+        if(indexSnapshot == null) {
+            indexSnapshot = values().toArray(new CloudletExecution[0]);
+            snapshotSize = indexSnapshot.length;
+        }
+
+        Objects.checkIndex(index, snapshotSize);
+        return indexSnapshot[index];
+    }
+
+    /**
+     * {@inheritDoc}
+     * The index snapshot is updated instead of being rebuilt,
+     * since the remaining Cloudlets keep their relative order.
+     */
+    @Override
+    public CloudletExecution remove(final int index) {
+        final var cle = get(index);
+        removeFromBackingStructures(cle.getCloudletId());
+        System.arraycopy(indexSnapshot, index + 1, indexSnapshot, index, snapshotSize - index - 1);
+        indexSnapshot[--snapshotSize] = null;
+        modCount++;
+        return cle;
+    }
+
+    @Override
+    public boolean remove(final Object obj) {
+        return obj instanceof CloudletExecution cle && removeById(cle.getCloudletId()) != CloudletExecution.NULL;
+    }
+
+    @Override
+    public boolean contains(final Object obj) {
+        return obj instanceof CloudletExecution cle && map.containsKey(cle.getCloudletId());
+    }
+
+    @Override
+    public boolean removeIf(final Predicate<? super CloudletExecution> filter) {
+        requireNonNull(filter);
+        boolean removed = false;
+        // The filter is evaluated once per Cloudlet, even if it's stored in the map and the sorted set
+        for (final var iterator = values().iterator(); iterator.hasNext(); ) {
+            final var cle = iterator.next();
+            if(filter.test(cle)) {
+                indexRemove(cle);
+                iterator.remove();
+                if(isSorted()) {
+                    map.remove(cle.getCloudletId());
+                }
+
+                removed = true;
+            }
+        }
+
+        if(removed) {
+            changed();
+        }
+
+        return removed;
+    }
+
+    /**
+     * {@inheritDoc}
+     * If the list {@link #isSorted() is kept sorted}, the given comparator
+     * replaces the one currently used, being applied to Cloudlets added afterwards.
+     * @param comparator {@inheritDoc}
+     */
+    @Override
+    public void sort(final Comparator<? super CloudletExecution> comparator) {
+        if(isSorted()) {
+            final var newSortedSet = new TreeSet<CloudletExecution>(requireNonNull(comparator));
+            newSortedSet.addAll(sortedSet);
+            sortedSet = newSortedSet;
+            reindex();
+            changed();
+            return;
+        }
+
+        final var sorted = map.values().toArray(new CloudletExecution[0]);
+        Arrays.sort(sorted, comparator);
+        map.clear();
+        for (final var cle : sorted) {
+            map.put(cle.getCloudletId(), cle);
+        }
+
+        reindex();
+        changed();
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    @Override
+    public void clear() {
+        map.clear();
+        if(isSorted()) {
+            sortedSet.clear();
+        }
+
+        reindex();
+        changed();
+    }
+
+    @Override
+    public Iterator<CloudletExecution> iterator() {
+        final var iterator = values().iterator();
+        return new Iterator<>() {
+            private CloudletExecution last;
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public CloudletExecution next() {
+                last = iterator.next();
+                return last;
+            }
+
+            @Override
+            public void remove() {
+                indexRemove(last);
+                iterator.remove();
+                if(isSorted()) {
+                    map.remove(last.getCloudletId());
+                }
+
+                changed();
+            }
+        };
+    }
+
+    @Override
+    public Spliterator<CloudletExecution> spliterator() {
+        return values().spliterator();
+    }
+
+    /**
+     * Gets the collection that defines the iteration order of the list.
+     * @return the sorted set or the map values, depending on if the list {@link #isSorted() is sorted}
+     */
+    private Collection<CloudletExecution> values() {
+        return isSorted() ? sortedSet : map.values();
+    }
+
+    /**
+     * Invalidates the index snapshot after the list is changed.
+     */
+    private void changed() {
+        indexSnapshot = null;
+        snapshotSize = 0;
+        modCount++;
+    }
+}
@@ -297,6 +297,13 @@ public interface CloudletScheduler extends Serializable {
      */
 	void addCloudletToReturnedList(Cloudlet cloudlet);
 
+    /**
+     * Notifies the scheduler that the {@link Cloudlet#getNumberOfPes() number of PEs} of a Cloudlet has changed,
+     * so that it can be found when looking for a waiting Cloudlet fitting into the free PEs.
+     * @param cloudlet the Cloudlet whose number of PEs has changed
+     */
+    void cloudletPesChanged(Cloudlet cloudlet);
+
     /**
      * Clears the internal state of the scheduler
      */
@@ -7,6 +7,7 @@
  */
 package org.cloudbus.cloudsim.schedulers.cloudlet;
 
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
 import org.cloudbus.cloudsim.cloudlets.Cloudlet;
 import org.cloudbus.cloudsim.cloudlets.Cloudlet.Status;
 import org.cloudbus.cloudsim.cloudlets.CloudletExecution;
@@ -53,13 +54,13 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
     private static final long serialVersionUID = -2314361120790372742L;
 
     /** @see #getCloudletPausedList() */
-    private final List<CloudletExecution> cloudletPausedList;
+    private final CloudletExecutionList cloudletPausedList;
 
     /** @see #getCloudletFinishedList() */
-    private final List<CloudletExecution> cloudletFinishedList;
+    private final CloudletExecutionList cloudletFinishedList;
 
     /** @see #getCloudletFailedList() */
-    private final List<CloudletExecution> cloudletFailedList;
+    private final CloudletExecutionList cloudletFailedList;
 
     /** @see #getTaskScheduler() */
     private CloudletTaskScheduler taskScheduler;
@@ -71,7 +72,7 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
     private MipsShare currentMipsShare;
 
     /** @see #getCloudletExecList() */
-    private final List<CloudletExecution> cloudletExecList;
+    private final CloudletExecutionList cloudletExecList;
 
     /** @see #enableCloudletSubmittedList() */
     private boolean enableCloudletSubmittedList;
@@ -82,7 +83,7 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
     /**
      * @see #getCloudletWaitingList()
      */
-    private final List<CloudletExecution> cloudletWaitingList;
+    private final CloudletExecutionList cloudletWaitingList;
 
     /** @see #getVm() */
     private Vm vm;
@@ -97,14 +98,31 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
      * Creates a CloudletScheduler.
      */
     protected CloudletSchedulerAbstract() {
+        this(new CloudletExecutionList().indexByPes());
+    }
+
+    /**
+     * Creates a CloudletScheduler whose {@link #getCloudletWaitingList() waiting list}
+     * is kept permanently sorted by a given {@link Comparator}.
+     *
+     * @param waitingListComparator a {@link Comparator} defining a total order for waiting Cloudlets.
+     *                              Attributes used by the comparator must not change while a Cloudlet
+     *                              is in the waiting list.
+     * @see #removeCloudletFromWaitingList(CloudletExecution)
+     */
+    protected CloudletSchedulerAbstract(final Comparator<CloudletExecution> waitingListComparator) {
+        this(new CloudletExecutionList(waitingListComparator).indexByPes());
+    }
+
+    private CloudletSchedulerAbstract(final CloudletExecutionList cloudletWaitingList) {
         setPreviousTime(0.0);
         vm = Vm.NULL;
         cloudletSubmittedList = new ArrayList<>();
-        cloudletExecList = new ArrayList<>();
-        cloudletPausedList = new ArrayList<>();
-        cloudletFinishedList = new ArrayList<>();
-        cloudletFailedList = new ArrayList<>();
-        cloudletWaitingList = new ArrayList<>();
+        cloudletExecList = new CloudletExecutionList();
+        cloudletPausedList = new CloudletExecutionList();
+        cloudletFinishedList = new CloudletExecutionList();
+        cloudletFailedList = new CloudletExecutionList();
+        this.cloudletWaitingList = cloudletWaitingList;
         cloudletReturnedList = new HashSet<>();
         currentMipsShare = new MipsShare();
         taskScheduler = CloudletTaskScheduler.NULL;
@@ -234,6 +252,19 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
         cloudletWaitingList.add(cle);
     }
 
+    /**
+     * Removes a Cloudlet from the waiting list.
+     * It's used to update attributes of a Cloudlet that define its order
+     * in a sorted waiting list, by removing it, changing the attributes and
+     * {@link #addCloudletToWaitingList(CloudletExecution) adding it back}.
+     *
+     * @param cle the Cloudlet to remove
+     * @return true if the Cloudlet was in the waiting list, false otherwise
+     */
+    protected boolean removeCloudletFromWaitingList(final CloudletExecution cle) {
+        return cloudletWaitingList.remove(cle);
+    }
+
     /**
      * Gets the list of paused cloudlets.
      *
@@ -331,21 +362,19 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
      * Cloudlet was found or not
      */
     protected Optional<CloudletExecution> findCloudletInAllLists(final double cloudletId) {
-        final var cloudletExecInfoListStream = Stream.of(
-            cloudletExecList, cloudletPausedList, cloudletWaitingList,
-            cloudletFinishedList, cloudletFailedList
-        );
-
-        //Gets all elements in each list and makes them a single full list,
-        //returning the first Cloudlet with the given id
-        return cloudletExecInfoListStream
-            .flatMap(List::stream)
-            .filter(cle -> cle.getCloudletId() == cloudletId)
+        //Searches the id in each list, returning the first Cloudlet found
+        return Stream.of(
+                cloudletExecList, cloudletPausedList, cloudletWaitingList,
+                cloudletFinishedList, cloudletFailedList)
+            .map(list -> list.findById((long) cloudletId))
+            .flatMap(Optional::stream)
             .findFirst();
     }
 
     /**
      * Search for a Cloudlet into a given list.
+     * If the list is one of the internal lists of this scheduler,
+     * the Cloudlet is searched by its id in constant time.
      *
      * @param cloudlet the Cloudlet to search for
      * @param list       the list to search the Cloudlet into
@@ -353,6 +382,10 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
      * Cloudlet was found or not
      */
     protected Optional<CloudletExecution> findCloudletInList(final Cloudlet cloudlet, final List<CloudletExecution> list) {
+        if(list instanceof CloudletExecutionList cloudletList) {
+            return cloudletList.findById(cloudlet.getId());
+        }
+
         return list.stream()
             .filter(cle -> cle.getCloudletId() == cloudlet.getId())
             .findFirst();
@@ -366,7 +399,19 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
     protected void cloudletFinish(final CloudletExecution cle) {
         cle.setStatus(Status.SUCCESS);
         cle.finalizeCloudlet();
-        cloudletFinishedList.add(cle);
+        if(isRetainFinishedCloudlets(cle.getCloudlet())) {
+            cloudletFinishedList.add(cle);
+        }
+    }
+
+    /**
+     * Checks if finished Cloudlets must be kept in the scheduler lists,
+     * according to the {@link DatacenterBroker#isRetainFinishedEntities()} of the Cloudlet broker.
+     * @param cloudlet the finished Cloudlet
+     * @return true if the Cloudlet must be retained, false otherwise
+     */
+    private boolean isRetainFinishedCloudlets(final Cloudlet cloudlet) {
+        return cloudlet.getBroker().isRetainFinishedEntities();
     }
 
     @Override
@@ -1042,11 +1087,23 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
      * Optional otherwise
      */
     protected Optional<CloudletExecution> findSuitableWaitingCloudlet() {
-        return cloudletWaitingList
-                .stream()
-                .filter(cle -> cle.getCloudlet().getStatus() != Status.FROZEN)
-                .filter(this::canExecuteCloudlet)
-                .findFirst();
+        return findSuitableWaitingCloudlet(Long.MAX_VALUE);
+    }
+
+    /**
+     * Try to find the first Cloudlet in the waiting list that requires at most a given number of PEs
+     * and can be executed. Since the waiting list is indexed by the number of PEs,
+     * Cloudlets requiring more PEs aren't visited.
+     * Schedulers that just execute Cloudlets if there are enough free PEs
+     * can use it to find the next Cloudlet without scanning the whole waiting list.
+     *
+     * @param maxPes the maximum number of PEs the Cloudlet can require
+     * @return an {@link Optional} containing the found Cloudlet or an empty
+     * Optional otherwise
+     * @see #canExecuteCloudletInternal(CloudletExecution)
+     */
+    protected Optional<CloudletExecution> findSuitableWaitingCloudlet(final long maxPes) {
+        return cloudletWaitingList.findFirst(maxPes, this::canExecuteCloudlet);
     }
 
     /**
@@ -1306,7 +1363,14 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
 
     @Override
     public void addCloudletToReturnedList(final Cloudlet cloudlet) {
-        this.cloudletReturnedList.add(cloudlet);
+        if(isRetainFinishedCloudlets(cloudlet)) {
+            this.cloudletReturnedList.add(cloudlet);
+        }
+    }
+
+    @Override
+    public void cloudletPesChanged(final Cloudlet cloudlet) {
+        cloudletWaitingList.updateNumberOfPes(cloudlet.getId());
     }
 
     @Override
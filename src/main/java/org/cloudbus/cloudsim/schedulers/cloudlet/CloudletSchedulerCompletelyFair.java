@@ -28,7 +28,6 @@ import org.cloudbus.cloudsim.cloudlets.CloudletExecution;
 import org.cloudbus.cloudsim.datacenters.Datacenter;
 import org.cloudbus.cloudsim.resources.Pe;
 import org.cloudbus.cloudsim.schedulers.MipsShare;
-import org.cloudbus.cloudsim.util.MathUtil;
 
 import java.io.Serial;
 import java.util.List;
@@ -66,6 +65,14 @@ import static java.util.stream.Collectors.toList;
  *     room for other process to run.
  *     The CFS scheduler uses a dynamic defined time-slice.
  *     </li>
+ *     <li>Keeps the run-queue sorted increasingly by the Cloudlets virtual runtime (vruntime or VRT)
+ *     into a Red-Black tree (a {@link java.util.TreeSet}), as in real implementations of CFS,
+ *     placing the Cloudlets that have run the least at the beginning of the queue.
+ *     Since different Cloudlets may have the same virtual runtime, ties are broken by priority and then
+ *     by Cloudlet id, making each Cloudlet unique in the tree.
+ *     This way, enqueueing a preempted Cloudlet and picking the next one to run
+ *     take O(log n) time, instead of sorting the whole run-queue at every time-slice.
+ *     </li>
  * </ul>
  *
  * And it currently <b>DOES NOT</b> implement the following features:
@@ -88,14 +95,6 @@ import static java.util.stream.Collectors.toList;
  *     (application execution is simulated just computing the amount of instructions
  *     that can be run), it doesn't matter which PEs are "running" the application.
  *     </li>
- *	   <li>It doesn't use a Red-Black tree (such as the TreeSet), as in real implementations of CFS,
- *	   to sort waiting Cloudlets (run-queue list) increasingly, based on their virtual runtime (vruntime or VRT)
- *	   (placing the Cloudlets that have run the least at the top of the tree).
- *	   Furthermore, the use of such a data structure added some complexity to the implementation.
- *	   Since different Cloudlets may have the same virtual runtime, this introduced some issues when adding or
- *	   removing elements in a structure such as the TreeSet, that requires
- *	   each value (the virtual runtime in this case) used to sort the Set to be unique.
- *	   </li>
  * </ul>
  * </p>
  *
@@ -140,6 +139,13 @@ public final class CloudletSchedulerCompletelyFair extends CloudletSchedulerTime
 	 */
 	private int latency = 3;
 
+    /**
+     * Creates a CFS CloudletScheduler.
+     */
+    public CloudletSchedulerCompletelyFair() {
+        super(CloudletSchedulerCompletelyFair::waitingCloudletsComparator);
+    }
+
     /**
      * A comparator used to increasingly sort Cloudlets into the waiting list
      * based on their virtual runtime (vruntime or VRT). By this way, the Cloudlets in the beginning
@@ -147,21 +153,23 @@ public final class CloudletSchedulerCompletelyFair extends CloudletSchedulerTime
      * prioritized when getting Cloudlets from this list to add to the execution
      * list.
      *
+     * <p>Cloudlets with the same virtual runtime are sorted by priority and then by id,
+     * so that the comparator only returns zero for the same Cloudlet,
+     * as required by the Red-Black tree storing the waiting list.</p>
+     *
      * @param c1 first Cloudlet to compare
      * @param c2 second Cloudlet to compare
      * @return a negative value if c1 is lower than c2, zero if they are equals,
      * a positive value if c1 is greater than c2
      */
-    private int waitingCloudletsComparator(final CloudletExecution c1, final CloudletExecution c2){
-        final double vRuntimeDiff = c1.getVirtualRuntime() - c2.getVirtualRuntime();
-        if (vRuntimeDiff != 0) {
-            return MathUtil.doubleToInt(vRuntimeDiff);
+    private static int waitingCloudletsComparator(final CloudletExecution c1, final CloudletExecution c2){
+        final int vRuntimeComparison = Double.compare(c1.getVirtualRuntime(), c2.getVirtualRuntime());
+        if (vRuntimeComparison != 0) {
+            return vRuntimeComparison;
         }
 
-        final long priorityDiff = c1.getCloudlet().getPriority() - c2.getCloudlet().getPriority();
-        final long idDiff = c1.getCloudletId() - c2.getCloudletId();
-        //Since the computed value is long but the comparator return must be int, rounds the value to the closest int
-        return Math.round(priorityDiff == 0 ? idDiff : priorityDiff);
+        final int priorityComparison = Integer.compare(c1.getCloudlet().getPriority(), c2.getCloudlet().getPriority());
+        return priorityComparison == 0 ? Long.compare(c1.getCloudletId(), c2.getCloudletId()) : priorityComparison;
     }
 
     /**
@@ -241,16 +249,17 @@ public final class CloudletSchedulerCompletelyFair extends CloudletSchedulerTime
 
     /**
      * {@inheritDoc}
-     * The cloudlet waiting list (runqueue) is sorted according to the virtual runtime (vruntime or VRT),
+     * The cloudlet waiting list (runqueue) is kept sorted according to the virtual runtime (vruntime or VRT),
      * which indicates the amount of time the Cloudlet has run.
      * This runtime increases as the Cloudlet executes.
+     * Just Cloudlets requiring at most the number of free PEs are visited,
+     * so the runqueue isn't scanned at all if there is no free PE.
      *
      * @return {@inheritDoc}
      */
     @Override
     protected Optional<CloudletExecution> findSuitableWaitingCloudlet() {
-        sortCloudletWaitingList(this::waitingCloudletsComparator);
-        return super.findSuitableWaitingCloudlet();
+        return findSuitableWaitingCloudlet(getVm().getProcessor().getAvailableResource());
     }
 
 	/**
@@ -497,9 +506,15 @@ public final class CloudletSchedulerCompletelyFair extends CloudletSchedulerTime
         and next Cloudlets on the beginning of this list are moved
         to the execution list, the virtual runtime of these preempted Cloudlets
         is reset so that they can compete with other waiting Cloudlets to use
-        the processor again.*/
+        the processor again.
+        Since the waiting list is sorted by the virtual runtime, Cloudlets still waiting
+        are removed and added back to be repositioned.*/
         for(final CloudletExecution c: preemptedCloudlets) {
+            final boolean waiting = removeCloudletFromWaitingList(c);
             c.setVirtualRuntime(computeCloudletInitialVirtualRuntime(c));
+            if(waiting) {
+                addCloudletToWaitingList(c);
+            }
         }
 
         return nextCloudletFinishTime;
@@ -12,6 +12,7 @@ import org.cloudbus.cloudsim.cloudlets.CloudletExecution;
 import org.cloudbus.cloudsim.resources.Pe;
 
 import java.io.Serial;
+import java.util.Optional;
 
 /**
  * Implements a policy of scheduling performed by a
@@ -93,4 +94,15 @@ public class CloudletSchedulerSpaceShared extends CloudletSchedulerAbstract {
     protected boolean canExecuteCloudletInternal(final CloudletExecution cle) {
         return isThereEnoughFreePesForCloudlet(cle);
     }
+
+    /**
+     * {@inheritDoc}
+     * Just Cloudlets requiring at most the number of free PEs are visited.
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    protected Optional<CloudletExecution> findSuitableWaitingCloudlet() {
+        return findSuitableWaitingCloudlet(getVm().getProcessor().getAvailableResource());
+    }
 }
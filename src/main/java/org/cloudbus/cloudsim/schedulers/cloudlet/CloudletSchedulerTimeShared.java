@@ -11,6 +11,7 @@ import org.cloudbus.cloudsim.cloudlets.CloudletExecution;
 import org.cloudbus.cloudsim.schedulers.vm.VmScheduler;
 
 import java.io.Serial;
+import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -77,6 +78,22 @@ public class CloudletSchedulerTimeShared extends CloudletSchedulerAbstract {
     @Serial
     private static final long serialVersionUID = 2115862129708036038L;
 
+    /**
+     * Creates a time-shared CloudletScheduler.
+     */
+    public CloudletSchedulerTimeShared() {
+        super();
+    }
+
+    /**
+     * Creates a time-shared CloudletScheduler whose waiting list
+     * is kept permanently sorted by a given {@link Comparator}.
+     * @param waitingListComparator a {@link Comparator} defining a total order for waiting Cloudlets
+     */
+    protected CloudletSchedulerTimeShared(final Comparator<CloudletExecution> waitingListComparator) {
+        super(waitingListComparator);
+    }
+
     /**
      * {@inheritDoc}
      *
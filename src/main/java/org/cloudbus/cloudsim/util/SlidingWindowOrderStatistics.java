@@ -0,0 +1,403 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.util;
+
+import java.util.SplittableRandom;
+
+/**
+ * Keeps the last values added into a fixed-size sliding window
+ * and computes order statistics for them, such as the {@link #median() median},
+ * {@link #iqr() Inter-quartile Range (IQR)} and {@link #mad() Median Absolute Deviation (MAD)},
+ * without sorting the window every time.
+ *
+ * <p>Values are stored in a ring buffer and indexed by a balanced search tree (a treap)
+ * whose nodes keep their subtree sizes.
+ * This way, adding a value (which evicts the oldest one when the window is full)
+ * and getting the k-th smallest value take O(log w) expected time, for a window size w.
+ * The MAD takes O(log² w), since it's selected from the deviations around the median
+ * without computing all of them. No object is allocated after the window is created.</p>
+ *
+ * <p>The results are the same ones computed by {@link MathUtil#median(double...)},
+ * {@link MathUtil#iqr(double...)} and {@link MathUtil#mad(double...)} for the values in the window.</p>
+ *
+ * @since CloudSim Plus 7.3.0
+ * @see SlidingWindowRegression
+ */
+public class SlidingWindowOrderStatistics {
+    private static final int NIL = -1;
+
+    /** The values in the window, which are also the keys of the tree nodes (a node index is a buffer index). */
+    private final double[] values;
+    private final int[] left;
+    private final int[] right;
+    private final int[] sizes;
+    private final int[] priorities;
+    private final SplittableRandom random;
+
+    private int root;
+
+    /** The index of the oldest value in the buffer. */
+    private int start;
+
+    /** @see #size() */
+    private int size;
+
+    /**
+     * Creates a sliding window for a given number of values.
+     * @param windowSize the maximum number of values to keep
+     */
+    public SlidingWindowOrderStatistics(final int windowSize) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("Window size must be greater than 0.");
+        }
+
+        this.values = new double[windowSize];
+        this.left = new int[windowSize];
+        this.right = new int[windowSize];
+        this.sizes = new int[windowSize];
+        this.priorities = new int[windowSize];
+        this.random = new SplittableRandom(windowSize);
+        this.root = NIL;
+    }
+
+    /**
+     * Adds a value into the window, evicting the oldest one if the window is full.
+     * @param value the value to add
+     */
+    public void add(final double value) {
+        validate(value);
+        if (size == values.length) {
+            root = remove(root, start);
+            start = (start + 1) % values.length;
+            size--;
+        }
+
+        insert((start + size) % values.length, value);
+        size++;
+    }
+
+    /**
+     * Replaces the last added value, such as when a new value for the same time is collected.
+     * @param value the new value
+     * @throws IllegalStateException when the window is empty
+     */
+    public void replaceLast(final double value) {
+        validate(value);
+        if (size == 0) {
+            throw new IllegalStateException("There is no value to replace.");
+        }
+
+        final int node = (start + size - 1) % values.length;
+        root = remove(root, node);
+        insert(node, value);
+    }
+
+    private static void validate(final double value) {
+        if (Double.isNaN(value)) {
+            throw new IllegalArgumentException("Value cannot be NaN.");
+        }
+    }
+
+    private void insert(final int node, final double value) {
+        values[node] = value;
+        left[node] = NIL;
+        right[node] = NIL;
+        sizes[node] = 1;
+        priorities[node] = random.nextInt();
+        root = insert(root, node);
+    }
+
+    /**
+     * Nodes are ordered by value and then by index, so that equal values can be found
+     * when they have to be removed.
+     */
+    private boolean less(final int node1, final int node2) {
+        return values[node1] < values[node2] || (values[node1] == values[node2] && node1 < node2);
+    }
+
+    private int insert(int tree, final int node) {
+        if (tree == NIL) {
+            return node;
+        }
+
+        if (less(node, tree)) {
+            left[tree] = insert(left[tree], node);
+            if (priorities[left[tree]] > priorities[tree]) {
+                tree = rotateRight(tree);
+            }
+        } else {
+            right[tree] = insert(right[tree], node);
+            if (priorities[right[tree]] > priorities[tree]) {
+                tree = rotateLeft(tree);
+            }
+        }
+
+        update(tree);
+        return tree;
+    }
+
+    private int remove(final int tree, final int node) {
+        if (tree == node) {
+            return merge(left[tree], right[tree]);
+        }
+
+        if (less(node, tree)) {
+            left[tree] = remove(left[tree], node);
+        } else {
+            right[tree] = remove(right[tree], node);
+        }
+
+        update(tree);
+        return tree;
+    }
+
+    private int merge(final int tree1, final int tree2) {
+        if (tree1 == NIL) {
+            return tree2;
+        }
+
+        if (tree2 == NIL) {
+            return tree1;
+        }
+
+        if (priorities[tree1] > priorities[tree2]) {
+            right[tree1] = merge(right[tree1], tree2);
+            update(tree1);
+            return tree1;
+        }
+
+        left[tree2] = merge(tree1, left[tree2]);
+        update(tree2);
+        return tree2;
+    }
+
+    private int rotateRight(final int tree) {
+        final int newRoot = left[tree];
+        left[tree] = right[newRoot];
+        right[newRoot] = tree;
+        update(tree);
+        update(newRoot);
+        return newRoot;
+    }
+
+    private int rotateLeft(final int tree) {
+        final int newRoot = right[tree];
+        right[tree] = left[newRoot];
+        left[newRoot] = tree;
+        update(tree);
+        update(newRoot);
+        return newRoot;
+    }
+
+    private void update(final int node) {
+        sizes[node] = 1 + size(left[node]) + size(right[node]);
+    }
+
+    private int size(final int node) {
+        return node == NIL ? 0 : sizes[node];
+    }
+
+    /**
+     * Gets the k-th smallest value in the window.
+     * @param k the 0-based rank of the value to get
+     * @return the value at that rank
+     * @throws IndexOutOfBoundsException when k is not between 0 and {@link #size()} - 1
+     */
+    public double select(int k) {
+        if (k < 0 || k >= size) {
+            throw new IndexOutOfBoundsException("Rank %d out of bounds for window with %d values".formatted(k, size));
+        }
+
+        int node = root;
+        while (true) {
+            final int leftSize = size(left[node]);
+            if (k < leftSize) {
+                node = left[node];
+            } else if (k == leftSize) {
+                return values[node];
+            } else {
+                k -= leftSize + 1;
+                node = right[node];
+            }
+        }
+    }
+
+    /**
+     * Counts the values in the window that are lower than a given one.
+     * @param value the value to compare
+     * @return the number of values lower than the given one
+     */
+    public int countLower(final double value) {
+        int count = 0;
+        int node = root;
+        while (node != NIL) {
+            if (values[node] < value) {
+                count += size(left[node]) + 1;
+                node = right[node];
+            } else {
+                node = left[node];
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Gets a percentile of the values in the window, estimated in the same way as
+     * {@link org.apache.commons.math3.stat.descriptive.rank.Percentile}.
+     * @param percentile the percentile to get (between 0 and 100, exclusive for 0)
+     * @return the percentile or {@link Double#NaN} if the window is empty
+     */
+    public double percentile(final double percentile) {
+        if (percentile <= 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be greater than 0 and at most 100.");
+        }
+
+        return estimatePercentile(percentile, size, this::select);
+    }
+
+    /**
+     * A function that gets the k-th smallest value from a sequence.
+     */
+    @FunctionalInterface
+    private interface RankedValues {
+        double get(int k);
+    }
+
+    private static double estimatePercentile(final double percentile, final int count, final RankedValues rankedValues) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+
+        final double pos = percentile * (count + 1) / 100;
+        final double floor = Math.floor(pos);
+        if (pos < 1) {
+            return rankedValues.get(0);
+        }
+
+        if (pos >= count) {
+            return rankedValues.get(count - 1);
+        }
+
+        final double lower = rankedValues.get((int) floor - 1);
+        final double upper = rankedValues.get((int) floor);
+        return lower + (pos - floor) * (upper - lower);
+    }
+
+    /**
+     * Gets the median of the values in the window.
+     * @return the median or {@link Double#NaN} if the window is empty
+     */
+    public double median() {
+        return percentile(50);
+    }
+
+    /**
+     * Gets the <a href="https://en.wikipedia.org/wiki/Interquartile_range">Inter-quartile Range (IQR)</a>
+     * of the values in the window.
+     * @return the IQR or 0 if the window is empty
+     */
+    public double iqr() {
+        if (size == 0) {
+            return 0;
+        }
+
+        final int quartile1 = Math.max((int) Math.round(0.25 * (size + 1)) - 1, 0);
+        final int quartile3 = Math.min((int) Math.round(0.75 * (size + 1)) - 1, size - 1);
+        return select(quartile3) - select(quartile1);
+    }
+
+    /**
+     * Gets the <a href="https://en.wikipedia.org/wiki/Median_absolute_deviation">Median Absolute Deviation (MAD)</a>
+     * of the values in the window.
+     *
+     * <p>The absolute deviations of the values lower than the median are sorted
+     * in the reverse order of such values, while the deviations of the other values
+     * are sorted in the order of such values.
+     * This way, the k-th smallest deviation is selected from these two sorted sequences
+     * by a binary search.</p>
+     *
+     * @return the MAD or 0 if the window is empty
+     */
+    public double mad() {
+        if (size == 0) {
+            return 0;
+        }
+
+        final double median = median();
+        final int lowerCount = countLower(median);
+        final RankedValues lowerDeviations = k -> median - select(lowerCount - 1 - k);
+        final RankedValues upperDeviations = k -> select(lowerCount + k) - median;
+        return estimatePercentile(50, size, k -> selectFromSorted(lowerDeviations, lowerCount, upperDeviations, size - lowerCount, k));
+    }
+
+    /**
+     * Gets the k-th smallest value from the union of two sorted sequences.
+     */
+    private static double selectFromSorted(
+        final RankedValues first, final int firstCount,
+        final RankedValues second, final int secondCount, final int k)
+    {
+        // The number of values taken from the first sequence
+        int low = Math.max(0, k + 1 - secondCount);
+        int high = Math.min(firstCount, k + 1);
+        while (low < high) {
+            final int taken = (low + high) >>> 1;
+            if (second.get(k - taken) > first.get(taken)) {
+                low = taken + 1;
+            } else {
+                high = taken;
+            }
+        }
+
+        final int secondTaken = k + 1 - low;
+        final double firstMax = low > 0 ? first.get(low - 1) : Double.NEGATIVE_INFINITY;
+        final double secondMax = secondTaken > 0 ? second.get(secondTaken - 1) : Double.NEGATIVE_INFINITY;
+        return Math.max(firstMax, secondMax);
+    }
+
+    /**
+     * Gets the number of values in the window.
+     * @return
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the maximum number of values to keep.
+     * @return
+     */
+    public int getWindowSize() {
+        return values.length;
+    }
+
+    /**
+     * Checks if the window has its maximum number of values.
+     * @return
+     */
+    public boolean isFull() {
+        return size == values.length;
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.util;
+
+/**
+ * Keeps the last values added into a fixed-size sliding window
+ * and fits a simple linear regression for them, where the independent variable
+ * is the position of each value in the window (0 for the oldest one).
+ *
+ * <p>The regression is computed from running sums, which are updated in O(1)
+ * as values are added or evicted, instead of fitting the regression again
+ * for all values in the window.
+ * The sums are recomputed from the window at every {@link #getWindowSize() window size} added values,
+ * to avoid accumulating floating-point errors.</p>
+ *
+ * @since CloudSim Plus 7.3.0
+ * @see SlidingWindowOrderStatistics
+ * @see Regression
+ */
+public class SlidingWindowRegression {
+    private final double[] values;
+
+    /** The index of the oldest value in the buffer. */
+    private int start;
+
+    /** @see #size() */
+    private int size;
+
+    /** The sum of the values in the window. */
+    private double sumY;
+
+    /** The sum of each value multiplied by its position in the window. */
+    private double sumXY;
+
+    /** The number of values added since the sums were last recomputed. */
+    private int addedValues;
+
+    /**
+     * Creates a sliding window for a given number of values.
+     * @param windowSize the maximum number of values to keep
+     */
+    public SlidingWindowRegression(final int windowSize) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("Window size must be greater than 0.");
+        }
+
+        this.values = new double[windowSize];
+    }
+
+    /**
+     * Adds a value into the window, evicting the oldest one if the window is full.
+     * @param value the value to add
+     */
+    public void add(final double value) {
+        if (Double.isNaN(value)) {
+            throw new IllegalArgumentException("Value cannot be NaN.");
+        }
+
+        if (size == values.length) {
+            // The oldest value is at position 0, so it doesn't contribute to sumXY
+            sumY -= values[start];
+            start = (start + 1) % values.length;
+            size--;
+
+            // The position of every remaining value decreases by 1
+            sumXY -= sumY;
+        }
+
+        values[(start + size) % values.length] = value;
+        sumY += value;
+        sumXY += size * value;
+        size++;
+
+        if (++addedValues == values.length) {
+            recomputeSums();
+        }
+    }
+
+    /**
+     * Replaces the last added value, such as when a new value for the same time is collected.
+     * @param value the new value
+     * @throws IllegalStateException when the window is empty
+     */
+    public void replaceLast(final double value) {
+        if (Double.isNaN(value)) {
+            throw new IllegalArgumentException("Value cannot be NaN.");
+        }
+
+        if (size == 0) {
+            throw new IllegalStateException("There is no value to replace.");
+        }
+
+        final int index = (start + size - 1) % values.length;
+        final double delta = value - values[index];
+        values[index] = value;
+        sumY += delta;
+        sumXY += (size - 1) * delta;
+    }
+
+    private void recomputeSums() {
+        addedValues = 0;
+        sumY = 0;
+        sumXY = 0;
+        for (int i = 0; i < size; i++) {
+            final double value = values[(start + i) % values.length];
+            sumY += value;
+            sumXY += i * value;
+        }
+    }
+
+    /**
+     * Gets the slope of the regression line.
+     * @return the slope or {@link Double#NaN} if there are less than 2 values
+     */
+    public double getSlope() {
+        if (size < 2) {
+            return Double.NaN;
+        }
+
+        // Sums of positions (0 to n-1) and their squares
+        final double n = size;
+        final double sumX = n * (n - 1) / 2;
+        final double sumXX = (n - 1) * n * (2 * n - 1) / 6;
+        return (n * sumXY - sumX * sumY) / (n * sumXX - sumX * sumX);
+    }
+
+    /**
+     * Gets the intercept of the regression line, that is the value estimated for the oldest position.
+     * @return the intercept or {@link Double#NaN} if there are less than 2 values
+     */
+    public double getIntercept() {
+        final double n = size;
+        return (sumY - getSlope() * n * (n - 1) / 2) / n;
+    }
+
+    /**
+     * Predicts a value for a given position in the window.
+     * @param position the position to predict a value for, where 0 is the position of the oldest value
+     *                 and {@link #size()} is the position of the next value to be added
+     * @return the predicted value or {@link Double#NaN} if there are less than 2 values
+     */
+    public double predict(final double position) {
+        return getIntercept() + getSlope() * position;
+    }
+
+    /**
+     * Gets the number of values in the window.
+     * @return
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the maximum number of values to keep.
+     * @return
+     */
+    public int getWindowSize() {
+        return values.length;
+    }
+}
@@ -7,17 +7,23 @@
  */
 package org.cloudbus.cloudsim.util;
 
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
 import org.cloudbus.cloudsim.cloudlets.Cloudlet;
 import org.cloudbus.cloudsim.cloudlets.CloudletSimple;
+import org.cloudbus.cloudsim.core.CloudSimTag;
+import org.cloudbus.cloudsim.core.events.CloudSimEvent;
 import org.cloudbus.cloudsim.utilizationmodels.UtilizationModel;
 import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelFull;
+import org.cloudsimplus.traces.TraceReaderBase;
 
 import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+import java.util.function.IntPredicate;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Reads resource traces and creates a list of ({@link Cloudlet Cloudlets}) (jobs).
@@ -52,61 +58,104 @@ import java.util.function.Predicate;
  * If a log contains a request for total CPU time, it is divided by the number of requested processors.
  * </li>
  *
- * <li>User who submitted the job (index 11)</li>
  * <li>Group of the user who submitted the job (index 12)</li>
  * </ul>
  * </p>
  *
+ * <p>Cloudlets can be either all created at once by {@link #generateWorkload()}
+ * or lazily created while the trace is read, by {@link #stream()} or {@link #submitCloudlets(DatacenterBroker, int)}.
+ * The latter ones avoid keeping the entire workload in memory for large traces,
+ * such as the ones from the Parallel Workloads Archive.
+ * Jobs can be filtered by {@link #setSubmitTimeRange(long, long) submit time},
+ * {@link #setUserFilter(IntPredicate) user} and {@link #setMaxPes(int) number of PEs}
+ * while the trace is parsed, before creating Cloudlets for them.</p>
+ *
  * @see #getInstance(String, int)
  * @see #generateWorkload()
+ * @see #stream()
  *
  * @author Anthony Sulistio
  * @author Marcos Dias de Assuncao
  * @author Manoel Campos da Silva Filho
  */
-public final class SwfWorkloadFileReader extends TraceReaderAbstract {
-
-    /**
-     * Field index of job number.
-     * Jub number values start from 1.
-     */
-    private static final int JOB_NUM_INDEX = 0;
-
-    /**
-     * Field index of submit time of a job (in seconds).
-     */
-    private static final int SUBMIT_TIME_INDEX = 1;
+public final class SwfWorkloadFileReader extends TraceReaderBase {
 
     /**
-     * Field index of execution time of a job (in seconds).
-     * The wall clock time the job was running (end time minus start time).
+     * The fields of a SWF trace line used to create Cloudlets,
+     * where the ordinal of each value is the index of the field in the line.
      */
-    private static final int RUN_TIME_INDEX = 3;
-
-    /**
-     * Field index of number of processors needed for a job.
-     * In most cases this is also the number of processors the job uses;
-     * if the job does not use all of them, we typically don't know about it.
-     */
-    private static final int NUM_PROC_INDEX = 4;
-
-    /**
-     * Field index of required number of processors.
-     */
-    private static final int REQ_NUM_PROC_INDEX = 7;
+    private enum FieldIndex {
+        /**
+         * Job number.
+         * Jub number values start from 1.
+         */
+        JOB_NUMBER,
+
+        /**
+         * Submit time of a job (in seconds).
+         */
+        SUBMIT_TIME,
+
+        /**
+         * Wait time of a job (in seconds).
+         */
+        WAIT_TIME,
+
+        /**
+         * Execution time of a job (in seconds).
+         * The wall clock time the job was running (end time minus start time).
+         */
+        RUN_TIME,
+
+        /**
+         * Number of processors needed for a job.
+         * In most cases this is also the number of processors the job uses;
+         * if the job does not use all of them, we typically don't know about it.
+         */
+        NUM_PROC,
+
+        /**
+         * Average CPU time used by a job.
+         */
+        AVG_CPU_TIME,
+
+        /**
+         * Used memory of a job.
+         */
+        USED_MEMORY,
+
+        /**
+         * Required number of processors.
+         */
+        REQ_NUM_PROC,
+
+        /**
+         * Required running time.
+         */
+        REQ_TIME,
+
+        /**
+         * Required memory.
+         */
+        REQ_MEMORY,
+
+        /**
+         * Job status.
+         */
+        STATUS,
+
+        /**
+         * User who submitted the job.
+         * User ids are natural numbers, between one and the number of different users.
+         */
+        USER_ID
+    }
 
     /**
      * Max number of fields in the trace reader.
      */
     private static final int FIELD_COUNT = 18;
 
-    /**
-     * If the field index of the job number ({@link #JOB_NUM_INDEX}) is equals to this
-     * constant, it means the number of the job doesn't have to be gotten from
-     * the trace reader, but has to be generated by this workload generator class.
-     */
-    private static final int IRRELEVANT = -1;
-
     /**
      * @see #getMips()
      */
@@ -122,6 +171,24 @@ public final class SwfWorkloadFileReader extends TraceReaderAbstract {
      */
     private Predicate<Cloudlet> predicate;
 
+    /** @see #setSubmitTimeRange(long, long) */
+    private long minSubmitTime;
+
+    /** @see #setSubmitTimeRange(long, long) */
+    private long maxSubmitTime;
+
+    /** @see #setUserFilter(IntPredicate) */
+    private IntPredicate userFilter;
+
+    /** @see #setMaxPes(int) */
+    private int maxPes;
+
+    /** Indicates if the trace file was already read to create Cloudlets (or is being read). */
+    private boolean read;
+
+    /** Indicates if the trace file was entirely read by {@link #generateWorkload()}. */
+    private boolean workloadGenerated;
+
     /**
      * Gets a {@link SwfWorkloadFileReader} instance from a workload file
      * inside the <b>application's resource directory</b>.
@@ -186,22 +253,183 @@ public final class SwfWorkloadFileReader extends TraceReaderAbstract {
         That is, there isn't an actual condition to create a Cloudlet.
         */
         this.predicate = cloudlet -> true;
+        this.userFilter = userId -> true;
+        this.maxSubmitTime = Long.MAX_VALUE;
+        this.maxPes = Integer.MAX_VALUE;
     }
 
     /**
      * Generates a list of jobs ({@link Cloudlet Cloudlets}) to be executed,
      * if it wasn't generated yet.
      *
-     * @return a generated Cloudlet list
+     * @return a generated Cloudlet list (which is the same list for later calls)
+     * @throws IllegalStateException when the trace file was already read by other method
      */
     public List<Cloudlet> generateWorkload() {
-        if (cloudlets.isEmpty()) {
+        if (!workloadGenerated) {
+            startReading();
             readFile(this::createCloudletFromTraceLine);
+            workloadGenerated = true;
         }
 
         return cloudlets;
     }
 
+    /**
+     * Gets a lazy {@link Stream} of jobs ({@link Cloudlet Cloudlets}),
+     * which reads the trace file just as Cloudlets are consumed from the stream.
+     * That way, just the Cloudlets being processed are kept in memory,
+     * instead of all the Cloudlets in the trace.
+     * The stream can be consumed just once and must be closed if it's not entirely consumed,
+     * to close the trace file.
+     *
+     * @return a stream that creates Cloudlets while it's consumed
+     * @throws IllegalStateException when the trace file was already read
+     * @see #submitCloudlets(DatacenterBroker, int)
+     */
+    public Stream<Cloudlet> stream() {
+        startReading();
+        final var spliterator = Spliterators.spliteratorUnknownSize(
+            new CloudletIterator(newParsedLineIterator()), Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(this::closeInputStream);
+    }
+
+    /**
+     * Lazily creates jobs ({@link Cloudlet Cloudlets}) from the trace file and submits them to a broker
+     * as the simulation clock advances, reading just a limited number of Cloudlets ahead of the clock.
+     * When a batch of Cloudlets is submitted, the next batch is read just when the simulation
+     * reaches the submit time of the last Cloudlet in the batch.
+     * The submission delay of each Cloudlet is set to make it arrive at its submit time inside the trace
+     * (or immediately, for jobs submitted before the current time).
+     *
+     * @param broker the broker to submit Cloudlets to
+     * @param maxReadAheadCloudlets the maximum number of Cloudlets created ahead of the simulation clock
+     *                              (the size of each batch)
+     * @throws IllegalStateException when the trace file was already read
+     * @see #stream()
+     */
+    public void submitCloudlets(final DatacenterBroker broker, final int maxReadAheadCloudlets) {
+        Objects.requireNonNull(broker);
+        if (maxReadAheadCloudlets <= 0) {
+            throw new IllegalArgumentException("The maximum number of Cloudlets to read ahead must be greater than 0.");
+        }
+
+        final var stream = stream();
+        submitNextCloudlets(broker, stream, stream.iterator(), maxReadAheadCloudlets);
+    }
+
+    /**
+     * Submits the next batch of Cloudlets from the trace file and schedules the submission of the next batch.
+     * The submission event is sent to the broker with a Runnable that is executed when the event is processed.
+     * That makes the next batch to be read exactly when the clock reaches the last submitted Cloudlet,
+     * instead of just when some other event happens to advance the clock.
+     */
+    private void submitNextCloudlets(
+        final DatacenterBroker broker, final Stream<Cloudlet> stream,
+        final Iterator<Cloudlet> iterator, final int maxReadAheadCloudlets)
+    {
+        final var simulation = broker.getSimulation();
+        final double time = simulation.clock();
+        final var batch = new ArrayList<Cloudlet>(Math.min(maxReadAheadCloudlets, 1024));
+        double lastSubmitTime = time;
+        while (batch.size() < maxReadAheadCloudlets && iterator.hasNext()) {
+            final var cloudlet = iterator.next();
+            lastSubmitTime = cloudlet.getSubmissionDelay();
+            cloudlet.setSubmissionDelay(Math.max(lastSubmitTime - time, 0));
+            batch.add(cloudlet);
+        }
+
+        broker.submitCloudletList(batch);
+        if (!iterator.hasNext()) {
+            stream.close();
+            return;
+        }
+
+        final Runnable nextCloudletsSubmission = () -> submitNextCloudlets(broker, stream, iterator, maxReadAheadCloudlets);
+        final var evt = new CloudSimEvent(
+            Math.max(lastSubmitTime - time, 0), broker, CloudSimTag.CLOUDLET_UPDATE_ATTRIBUTES, nextCloudletsSubmission);
+        if (simulation.isRunning()) {
+            broker.schedule(evt);
+        } else {
+            simulation.addOnSimulationStartListener(info -> broker.schedule(evt));
+        }
+    }
+
+    private void startReading() {
+        if (read) {
+            throw new IllegalStateException("The trace file was already read.");
+        }
+
+        read = true;
+    }
+
+    private void closeInputStream() {
+        try {
+            getInputStream().close();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Iterates over the Cloudlets created from the trace file, reading the file on demand.
+     */
+    private final class CloudletIterator implements Iterator<Cloudlet> {
+        private final Iterator<String[]> lineIterator;
+
+        /** The next Cloudlet or null if it was not created yet or there are no more Cloudlets. */
+        private Cloudlet next;
+
+        /** Indicates if there are no more lines to read. */
+        private boolean finished;
+
+        private CloudletIterator(final Iterator<String[]> lineIterator) {
+            this.lineIterator = lineIterator;
+            setLastLineNumber(0);
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && !finished) {
+                if (getLastLineNumber() >= getMaxLinesToRead() || !lineIterator.hasNext()) {
+                    finished = true;
+                    break;
+                }
+
+                final String[] parsedLineArray = lineIterator.next();
+                if (parsedLineArray.length < FIELD_COUNT) {
+                    continue;
+                }
+
+                setLastParsedLineArray(parsedLineArray);
+                /* Since jobs in SWF files are sorted by submit time,
+                 * no other job is expected inside the time range. */
+                if (getFieldLongValue(FieldIndex.SUBMIT_TIME) > maxSubmitTime) {
+                    finished = true;
+                    break;
+                }
+
+                next = createCloudletFromLastParsedLine();
+                if (next != null) {
+                    setLastLineNumber(getLastLineNumber() + 1);
+                }
+            }
+
+            return next != null;
+        }
+
+        @Override
+        public Cloudlet next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            final Cloudlet cloudlet = next;
+            next = null;
+            return cloudlet;
+        }
+    }
+
     /**
      * Defines a {@link Predicate} which indicates when a {@link Cloudlet}
      * must be created from a trace line read from the workload file.
@@ -229,30 +457,40 @@ public final class SwfWorkloadFileReader extends TraceReaderAbstract {
             return false;
         }
 
-        final int id = JOB_NUM_INDEX <= IRRELEVANT ? cloudlets.size() + 1 : Integer.parseInt(parsedLineArray[JOB_NUM_INDEX].trim());
+        setLastParsedLineArray(parsedLineArray);
+        final Cloudlet cloudlet = createCloudletFromLastParsedLine();
+        return cloudlet != null && cloudlets.add(cloudlet);
+    }
 
-        /* according to the SWF manual, runtime of 0 is possible due
-         to rounding down. E.g. runtime is 0.4 seconds -> runtime = 0*/
-        final int runTime = Math.max(Integer.parseInt(parsedLineArray[RUN_TIME_INDEX].trim()), 1);
+    /**
+     * Creates a cloudlet from the last parsed trace line, if the job is accepted by the filters.
+     * Filters based on trace fields are checked before creating the Cloudlet.
+     *
+     * @return the created Cloudlet or null if the job was filtered out
+     */
+    private Cloudlet createCloudletFromLastParsedLine() {
+        final long submitTime = getFieldLongValue(FieldIndex.SUBMIT_TIME);
+        if (submitTime < minSubmitTime || submitTime > maxSubmitTime || !userFilter.test(getFieldIntValue(FieldIndex.USER_ID))) {
+            return null;
+        }
 
         /* if the required num of allocated processors field is ignored
         or zero, then use the actual field*/
-        final int maxNumProc = Math.max(
-                                    Integer.parseInt(parsedLineArray[REQ_NUM_PROC_INDEX].trim()),
-                                    Integer.parseInt(parsedLineArray[NUM_PROC_INDEX].trim())
-                               );
+        final int maxNumProc = Math.max(getFieldIntValue(FieldIndex.REQ_NUM_PROC), getFieldIntValue(FieldIndex.NUM_PROC));
         final int numProc = Math.max(maxNumProc, 1);
+        if (numProc > maxPes) {
+            return null;
+        }
 
-        final Cloudlet cloudlet = createCloudlet(id, runTime, numProc);
-        final long submitTime = Long.parseLong(parsedLineArray[SUBMIT_TIME_INDEX].trim());
-        cloudlet.setSubmissionDelay(submitTime);
+        final int id = getFieldIntValue(FieldIndex.JOB_NUMBER);
 
-        if(predicate.test(cloudlet)){
-            cloudlets.add(cloudlet);
-            return true;
-        }
+        /* according to the SWF manual, runtime of 0 is possible due
+         to rounding down. E.g. runtime is 0.4 seconds -> runtime = 0*/
+        final int runTime = Math.max(getFieldIntValue(FieldIndex.RUN_TIME), 1);
 
-        return false;
+        final Cloudlet cloudlet = createCloudlet(id, runTime, numProc);
+        cloudlet.setSubmissionDelay(submitTime);
+        return predicate.test(cloudlet) ? cloudlet : null;
     }
 
     /**
@@ -305,4 +543,63 @@ public final class SwfWorkloadFileReader extends TraceReaderAbstract {
         this.mips = mips;
         return this;
     }
+
+    /**
+     * Sets the range of submit times (in seconds) of the jobs to create Cloudlets for
+     * (by default, all jobs are accepted).
+     * When the trace is {@link #stream() streamed}, it stops being read
+     * as soon as a job submitted after the range is found,
+     * since jobs inside SWF files are sorted by submit time.
+     *
+     * @param minSubmitTime the minimum submit time (inclusive)
+     * @param maxSubmitTime the maximum submit time (inclusive)
+     * @return
+     */
+    public SwfWorkloadFileReader setSubmitTimeRange(final long minSubmitTime, final long maxSubmitTime) {
+        if (minSubmitTime > maxSubmitTime) {
+            throw new IllegalArgumentException("The minimum submit time cannot be greater than the maximum one.");
+        }
+
+        this.minSubmitTime = minSubmitTime;
+        this.maxSubmitTime = maxSubmitTime;
+        return this;
+    }
+
+    /**
+     * Sets a {@link IntPredicate} that receives the id of the user who submitted a job
+     * and indicates if a Cloudlet must be created for it
+     * (by default, jobs from all users are accepted).
+     *
+     * @param userFilter the predicate to test user ids
+     * @return
+     */
+    public SwfWorkloadFileReader setUserFilter(final IntPredicate userFilter) {
+        this.userFilter = Objects.requireNonNull(userFilter);
+        return this;
+    }
+
+    /**
+     * Gets the maximum number of PEs of jobs to create Cloudlets for.
+     * @return
+     * @see #setMaxPes(int)
+     */
+    public int getMaxPes() {
+        return maxPes;
+    }
+
+    /**
+     * Sets the maximum number of PEs of jobs to create Cloudlets for.
+     * Jobs requiring more PEs are ignored (by default, jobs requiring any number of PEs are accepted).
+     *
+     * @param maxPes the maximum number of PEs to set
+     * @return
+     */
+    public SwfWorkloadFileReader setMaxPes(final int maxPes) {
+        if (maxPes <= 0) {
+            throw new IllegalArgumentException("Max number of PEs must be greater than 0.");
+        }
+
+        this.maxPes = maxPes;
+        return this;
+    }
 }
@@ -0,0 +1,161 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.util;
+
+import java.util.regex.Pattern;
+
+/**
+ * Splits trace lines into fields according to a {@link TraceReader#getFieldDelimiterRegex() field delimiter regex},
+ * producing the same fields as {@code line.trim().split(fieldDelimiterRegex, -1)}.
+ *
+ * <p>The regex is analysed just once. The default whitespace regex {@code \s+}
+ * and regexes matching a single literal character (such as {@code ,} {@code ;} or {@code \t})
+ * are handled by scanning the line characters, without using a regex or any intermediary collection.
+ * The number of fields is counted first, so that just the resulting array and field Strings are created.
+ * Other regexes are handled by a precompiled {@link Pattern}.</p>
+ *
+ * <p>Instances are immutable and can be shared among threads.</p>
+ *
+ * @since CloudSim Plus 7.3.0
+ */
+final class TraceLineTokenizer {
+    private static final String WHITESPACE_REGEX = "\\s+";
+    private static final String REGEX_META_CHARS = ".$|()[]{}^?*+\\";
+
+    /** Indicates the tokenizer splits lines at runs of whitespace. */
+    private static final char WHITESPACE = 0;
+
+    /** The literal delimiter character or {@link #WHITESPACE}. */
+    private final char delimiter;
+
+    /** The Pattern used for regexes which are not handled by scanning the line, or null otherwise. */
+    private final Pattern pattern;
+
+    TraceLineTokenizer(final String fieldDelimiterRegex) {
+        final int literal = literalChar(fieldDelimiterRegex);
+        if (WHITESPACE_REGEX.equals(fieldDelimiterRegex)) {
+            delimiter = WHITESPACE;
+            pattern = null;
+        } else if (literal > 0) {
+            delimiter = (char) literal;
+            pattern = null;
+        } else {
+            delimiter = WHITESPACE;
+            pattern = Pattern.compile(fieldDelimiterRegex);
+        }
+    }
+
+    /**
+     * Gets the single character a regex matches, if it's just a literal character.
+     * @param regex the regex to check
+     * @return the matched character or -1 if the regex is not a single literal character
+     */
+    private static int literalChar(final String regex) {
+        if (regex.length() == 1 && REGEX_META_CHARS.indexOf(regex.charAt(0)) < 0) {
+            return regex.charAt(0);
+        }
+
+        if (regex.length() == 2 && regex.charAt(0) == '\\') {
+            final char escaped = regex.charAt(1);
+            if (escaped == 't') {
+                return '\t';
+            }
+
+            return Character.isLetterOrDigit(escaped) ? -1 : escaped;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Splits a line into fields.
+     * @param line the line to split
+     * @return the fields of the line, including empty ones
+     */
+    String[] split(final String line) {
+        final String trimmed = line.trim();
+        if (pattern != null) {
+            return pattern.split(trimmed, -1);
+        }
+
+        return delimiter == WHITESPACE ? splitAtWhitespace(trimmed) : splitAtDelimiter(trimmed);
+    }
+
+    private String[] splitAtDelimiter(final String line) {
+        int count = 1;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == delimiter) {
+                count++;
+            }
+        }
+
+        final var fields = new String[count];
+        int start = 0;
+        for (int field = 0; field < count - 1; field++) {
+            final int end = line.indexOf(delimiter, start);
+            fields[field] = line.substring(start, end);
+            start = end + 1;
+        }
+
+        fields[count - 1] = line.substring(start);
+        return fields;
+    }
+
+    /**
+     * Splits a trimmed line at runs of whitespace, as matched by {@code \s+}.
+     * Since the line is trimmed, it doesn't start or end with whitespace.
+     */
+    private static String[] splitAtWhitespace(final String line) {
+        int count = 1;
+        for (int i = 0; i < line.length(); i++) {
+            if (isWhitespace(line.charAt(i)) && !isWhitespace(line.charAt(i + 1))) {
+                count++;
+            }
+        }
+
+        final var fields = new String[count];
+        int start = 0;
+        for (int field = 0; field < count; field++) {
+            int end = start;
+            while (end < line.length() && !isWhitespace(line.charAt(end))) {
+                end++;
+            }
+
+            fields[field] = line.substring(start, end);
+            start = end;
+            while (start < line.length() && isWhitespace(line.charAt(start))) {
+                start++;
+            }
+        }
+
+        return fields;
+    }
+
+    /**
+     * Checks if a char is matched by the regex {@code \s}.
+     */
+    private static boolean isWhitespace(final char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+}
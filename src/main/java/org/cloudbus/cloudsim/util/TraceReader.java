@@ -68,6 +68,23 @@ public interface TraceReader {
      */
     TraceReader setMaxLinesToRead(int maxLinesToRead);
 
+    /**
+     * Gets the number of threads used to parse the trace file.
+     * @return the parallelism, which is 1 by default
+     * @see #setParallelism(int)
+     */
+    int getParallelism();
+
+    /**
+     * Sets the number of threads used to parse the trace file.
+     * Even when using multiple threads, lines are processed in the order they appear in the file.
+     * Using multiple threads is worth it just for large trace files.
+     *
+     * @param parallelism the number of threads to set, or 1 to parse the file in the calling thread
+     * @return
+     */
+    TraceReader setParallelism(int parallelism);
+
     /**
      * Gets the path of the trace file.
      * @return
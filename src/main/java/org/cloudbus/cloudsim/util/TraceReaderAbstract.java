@@ -1,9 +1,20 @@
 package org.cloudbus.cloudsim.util;
 
 import java.io.*;
+import java.nio.charset.Charset;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.ZipInputStream;
@@ -19,6 +30,7 @@ import static java.util.Objects.requireNonNull;
  *       <b>ASCII text, zip, gz.</b>
  *   </li>
  *   <li>If you need to load multiple trace files, create multiple instances of this class.</li>
+ *   <li>Large traces can be {@link #setParallelism(int) parsed in parallel}.</li>
  *   <li>If size of the trace reader is huge or contains lots of traces, please
  *       increase the JVM heap size accordingly by using <b>java -Xmx</b> option
  *       when running the simulation. For instance, you can use <b>java -Xmx200M</b>
@@ -32,11 +44,24 @@ import static java.util.Objects.requireNonNull;
  */
 public abstract class TraceReaderAbstract implements TraceReader {
     private final String filePath;
-    private final InputStream inputStream;
+    /** The stream to read the file, or null if it's just opened when {@link #getInputStream() requested}. */
+    private InputStream inputStream;
+
+    /**
+     * The size (in bytes) of the chunks of lines a trace is split into,
+     * to be parsed in parallel.
+     */
+    private static final int CHUNK_SIZE = 1 << 20;
 
     /** @see #getFieldDelimiterRegex() */
     private String fieldDelimiterRegex;
 
+    /** Splits lines according to the {@link #fieldDelimiterRegex}. */
+    private TraceLineTokenizer tokenizer;
+
+    /** @see #getParallelism() */
+    private int parallelism;
+
     /**
      * @see #getMaxLinesToRead()
      */
@@ -71,12 +96,25 @@ public abstract class TraceReaderAbstract implements TraceReader {
             throw new IllegalArgumentException("Invalid trace file name.");
         }
 
-        this.fieldDelimiterRegex = "\\s+";
+        this.setFieldDelimiterRegex("\\s+");
         this.setMaxLinesToRead(Integer.MAX_VALUE);
+        this.parallelism = 1;
         this.inputStream = inputStream;
         this.filePath = filePath;
     }
 
+    /**
+     * Creates a reader for a trace file that isn't read through an {@link InputStream}
+     * (such as a file that is memory-mapped).
+     * The file is just opened if {@link #getInputStream()} is called.
+     *
+     * @param filePath the trace file path
+     * @throws IllegalArgumentException when the trace file path is null or empty
+     */
+    protected TraceReaderAbstract(final Path filePath) {
+        this(requireNonNull(filePath).toString(), null);
+    }
+
     @Override
     public TraceReader setCommentString(final String... commentString) {
         if (requireNonNull(commentString).length == 0) {
@@ -104,10 +142,37 @@ public abstract class TraceReaderAbstract implements TraceReader {
 
     @Override
     public final TraceReader setFieldDelimiterRegex(String fieldDelimiterRegex) {
+        this.tokenizer = new TraceLineTokenizer(fieldDelimiterRegex);
         this.fieldDelimiterRegex = fieldDelimiterRegex;
         return this;
     }
 
+    @Override
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>When the parallelism is greater than 1, the trace (after decompression)
+     * is read in chunks of whole lines, which are decoded and {@link #parseTraceLine(String) parsed}
+     * by worker threads, while the next chunks are read.
+     * Parsed lines are processed by the calling thread in the order they appear in the file.
+     * Therefore, subclasses overriding {@link #parseTraceLine(String)} must make it thread-safe.</p>
+     * @param parallelism {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public final TraceReader setParallelism(final int parallelism) {
+        if(parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be greater than 0.");
+        }
+
+        this.parallelism = parallelism;
+        return this;
+    }
+
     @Override
     public int getMaxLinesToRead() {
         return maxLinesToRead;
@@ -128,7 +193,27 @@ public abstract class TraceReaderAbstract implements TraceReader {
         return filePath;
     }
 
+    /**
+     * Gets a description of the settings used to parse trace lines,
+     * which changes whenever such settings change.
+     * It's stored in cache files created from the trace,
+     * so that such files are not used when the trace is parsed differently.
+     * Subclasses having other settings that change how the trace is parsed should include them.
+     * @return the parse configuration description
+     */
+    protected String getParseConfiguration() {
+        return "fieldDelimiterRegex=" + fieldDelimiterRegex + ";commentString=" + Arrays.toString(commentString);
+    }
+
     protected InputStream getInputStream() {
+        if(inputStream == null) {
+            try {
+                inputStream = Files.newInputStream(Path.of(filePath));
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
         return inputStream;
     }
 
@@ -138,11 +223,17 @@ public abstract class TraceReaderAbstract implements TraceReader {
         }
 
         //Splits the string, ensuring that empty fields won't be discarded
-        return line.trim().split(fieldDelimiterRegex, -1);
+        return tokenizer.split(line);
     }
 
     private boolean isComment(final String line) {
-        return Arrays.stream(commentString).anyMatch(line::startsWith);
+        for (final String comment : commentString) {
+            if (line.startsWith(comment)) {
+                return true;
+            }
+        }
+
+        return false;
     }
 
     /**
@@ -224,6 +315,10 @@ public abstract class TraceReaderAbstract implements TraceReader {
     private void readFile(final InputStream inputStream, final Function<String[], Boolean> processParsedLineFunction) throws IOException {
         requireNonNull(inputStream);
         requireNonNull(processParsedLineFunction);
+        if(parallelism > 1) {
+            readFileInParallel(inputStream, processParsedLineFunction);
+            return;
+        }
 
         //The reader is safely closed by the caller
         final BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream));
@@ -237,6 +332,257 @@ public abstract class TraceReaderAbstract implements TraceReader {
         }
     }
 
+    /**
+     * Creates an {@link Iterator} that reads and parses lines from the file indicated by the {@link #getFilePath()}
+     * on demand, in any supported format, skipping comment lines.
+     * That enables subclasses to pull lines as they are needed (such as when the simulation clock advances),
+     * instead of reading the whole file at once as in {@link #readFile(Function)}.
+     *
+     * <p>Lines are read and parsed in the calling thread, regardless of the {@link #getParallelism() parallelism}.
+     * Since the iterator doesn't know which lines are actually processed,
+     * the caller is responsible for checking the {@link #getMaxLinesToRead() max number of lines to read}
+     * and updating the {@link #getLastLineNumber() last line number}.</p>
+     *
+     * @return a new Iterator over the parsed lines
+     * @throws UncheckedIOException if the there was any error reading the file
+     */
+    protected Iterator<String[]> newParsedLineIterator() {
+        try {
+            final InputStream stream;
+            if (getFilePath().endsWith(".gz")) {
+                stream = new GZIPInputStream(getInputStream());
+            } else if (getFilePath().endsWith(".zip")) {
+                final var zipInputStream = new ZipInputStream(requireNonNull(getInputStream()));
+                zipInputStream.getNextEntry();
+                return new ParsedLineIterator(zipInputStream, zipInputStream);
+            } else {
+                stream = getInputStream();
+            }
+
+            return new ParsedLineIterator(requireNonNull(stream), null);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Iterates over the parsed lines of a trace file, reading the file on demand.
+     */
+    private final class ParsedLineIterator implements Iterator<String[]> {
+        private BufferedReader reader;
+
+        /** The zip stream whose entries are read in sequence, or null if not reading a zip file. */
+        private final ZipInputStream zipInputStream;
+
+        /** The next parsed line or null if it was not read yet or the end of the file was reached. */
+        private String[] next;
+
+        private ParsedLineIterator(final InputStream inputStream, final ZipInputStream zipInputStream) {
+            this.reader = new BufferedReader(new InputStreamReader(inputStream));
+            this.zipInputStream = zipInputStream;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (next == null) {
+                    final String line = reader.readLine();
+                    if (line == null) {
+                        if (zipInputStream == null || zipInputStream.getNextEntry() == null) {
+                            return false;
+                        }
+
+                        reader = new BufferedReader(new InputStreamReader(zipInputStream));
+                        continue;
+                    }
+
+                    final String[] parsedTraceLine = parseTraceLine(line);
+                    if (parsedTraceLine.length > 0) {
+                        next = parsedTraceLine;
+                    }
+                }
+
+                return true;
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public String[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            final String[] parsedTraceLine = next;
+            next = null;
+            return parsedTraceLine;
+        }
+    }
+
+    /**
+     * Reads traces from an {@link InputStream} in chunks of whole lines,
+     * which are parsed by worker threads and then processed in order by the calling thread.
+     * Just a few chunks are kept in memory at a time.
+     *
+     * @param inputStream a {@link InputStream} to read the file
+     * @param processParsedLineFunction a {@link Function} that receives each parsed line as an array
+     *                          and performs an operation over it, returning true if the operation was executed
+     * @throws IOException if the there was any error reading the file
+     */
+    private void readFileInParallel(final InputStream inputStream, final Function<String[], Boolean> processParsedLineFunction) throws IOException {
+        final ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            final var thread = new Thread(runnable, "trace-parser");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        final var chunkReader = new LineChunkReader(inputStream);
+        final var pendingChunks = new ArrayDeque<Future<List<String[]>>>();
+        lastLineNumber = 0;
+        try {
+            while (lastLineNumber < maxLinesToRead) {
+                byte[] chunk;
+                while (pendingChunks.size() <= parallelism && (chunk = chunkReader.next()) != null) {
+                    final byte[] bytes = chunk;
+                    pendingChunks.add(executor.submit(() -> parseChunk(bytes)));
+                }
+
+                if (pendingChunks.isEmpty()) {
+                    return;
+                }
+
+                for (final String[] parsedTraceLine : getParsedChunk(pendingChunks.poll())) {
+                    if (lastLineNumber >= maxLinesToRead) {
+                        return;
+                    }
+
+                    if (processParsedLineFunction.apply(parsedTraceLine)) {
+                        lastLineNumber++;
+                    }
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<String[]> getParsedChunk(final Future<List<String[]>> future) throws IOException {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while parsing the trace file");
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Decodes a chunk of whole lines and parses each one,
+     * splitting lines as {@link BufferedReader#readLine()} does.
+     * @param chunk the bytes of the lines
+     * @return the list of parsed lines, excluding comments
+     */
+    private List<String[]> parseChunk(final byte[] chunk) {
+        final var text = new String(chunk, Charset.defaultCharset());
+        final var parsedLines = new ArrayList<String[]>();
+        final int length = text.length();
+        int start = 0;
+        int newLine = -1, carriageReturn = -1;
+        while (start < length) {
+            if (newLine < start) {
+                newLine = indexOf(text, '\n', start);
+            }
+
+            if (carriageReturn < start) {
+                carriageReturn = indexOf(text, '\r', start);
+            }
+
+            final int end = Math.min(newLine, carriageReturn);
+            final String[] parsedTraceLine = parseTraceLine(text.substring(start, end));
+            if (parsedTraceLine.length > 0) {
+                parsedLines.add(parsedTraceLine);
+            }
+
+            start = end == carriageReturn && end + 1 == newLine ? end + 2 : end + 1;
+        }
+
+        return parsedLines;
+    }
+
+    /**
+     * Gets the index of a char in a String, or the String length if it's not found.
+     */
+    private static int indexOf(final String text, final char c, final int fromIndex) {
+        final int index = text.indexOf(c, fromIndex);
+        return index < 0 ? text.length() : index;
+    }
+
+    /**
+     * Reads an {@link InputStream} in chunks of about {@link #CHUNK_SIZE} bytes,
+     * each one ending at a line end (except the last one, if the stream doesn't end with a new line).
+     * The chunk is just enlarged when a line doesn't fit into it.
+     */
+    private static final class LineChunkReader {
+        private final InputStream inputStream;
+        private byte[] buffer = new byte[CHUNK_SIZE];
+
+        /** The number of bytes read into the buffer which were not returned yet. */
+        private int length;
+
+        private LineChunkReader(final InputStream inputStream) {
+            this.inputStream = inputStream;
+        }
+
+        /**
+         * Reads the next chunk of lines.
+         * @return the chunk of lines or null if the end of the stream was reached
+         */
+        private byte[] next() throws IOException {
+            int read;
+            while ((read = inputStream.read(buffer, length, buffer.length - length)) >= 0) {
+                length += read;
+                if (length == buffer.length) {
+                    final int lastNewLine = lastNewLine();
+                    if (lastNewLine >= 0) {
+                        return cut(lastNewLine + 1);
+                    }
+
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+            }
+
+            return length == 0 ? null : cut(length);
+        }
+
+        private int lastNewLine() {
+            for (int i = length - 1; i >= 0; i--) {
+                if (buffer[i] == '\n') {
+                    return i;
+                }
+            }
+
+            return -1;
+        }
+
+        /**
+         * Removes the first bytes from the buffer.
+         * @param size the number of bytes to remove
+         * @return the removed bytes
+         */
+        private byte[] cut(final int size) {
+            final byte[] chunk = Arrays.copyOf(buffer, size);
+            System.arraycopy(buffer, size, buffer, 0, length - size);
+            length -= size;
+            return chunk;
+        }
+    }
+
     /**
      * Reads the next line of the workload file.
      *
@@ -258,4 +604,13 @@ public abstract class TraceReaderAbstract implements TraceReader {
     public int getLastLineNumber() {
         return lastLineNumber;
     }
+
+    /**
+     * Sets the number of the last line processed,
+     * for subclasses reading lines from another source than the trace file.
+     * @param lastLineNumber the number of the last line processed
+     */
+    protected void setLastLineNumber(final int lastLineNumber) {
+        this.lastLineNumber = lastLineNumber;
+    }
 }
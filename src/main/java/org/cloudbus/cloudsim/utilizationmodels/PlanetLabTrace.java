@@ -0,0 +1,216 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.utilizationmodels;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.ShortBuffer;
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+
+/**
+ * A read-only view of the resource utilization samples (in scale from 0 to 1)
+ * read from a <a href="https://www.planet-lab.org">PlanetLab</a> trace file,
+ * which can be shared by any number of {@link UtilizationModelPlanetLab} instances.
+ * The samples may be stored in a compact {@link Precision} to reduce memory footprint,
+ * either in the heap or in a memory-mapped file.
+ * Getting a sample doesn't allocate any object and views can be read concurrently.
+ *
+ * @since CloudSim Plus 7.3.0
+ * @see PlanetLabTraceStore
+ */
+public final class PlanetLabTrace {
+    /**
+     * The formats in which utilization samples can be stored.
+     */
+    public enum Precision {
+        /** Stores samples as 8-byte doubles, keeping the values exactly as read from the trace file. */
+        DOUBLE(Double.BYTES),
+
+        /** Stores samples as 4-byte floats, which have about 7 significant digits. */
+        FLOAT(Float.BYTES),
+
+        /**
+         * Stores samples as 2-byte unsigned fixed-point values with 4 decimal places,
+         * which exactly represents PlanetLab utilization percentages (integer values from 0 to 100).
+         * Since that just represents values from 0 to {@link #MAX_FIXED_POINT_VALUE},
+         * traces having any value outside this range are stored as {@link #FLOAT}.
+         */
+        FIXED_POINT(Short.BYTES);
+
+        private final int bytes;
+
+        Precision(final int bytes) {
+            this.bytes = bytes;
+        }
+
+        /**
+         * Gets the number of bytes used to store each sample.
+         * @return the sample size in bytes
+         */
+        public int getBytes() {
+            return bytes;
+        }
+    }
+
+    /** The number of fixed-point units in a utilization of 1 (100%). */
+    private static final double FIXED_POINT_SCALE = 10_000;
+
+    /** The maximum utilization that can be stored as {@link Precision#FIXED_POINT}. */
+    public static final double MAX_FIXED_POINT_VALUE = 0xFFFF / FIXED_POINT_SCALE;
+
+    /** The byte order used to store samples in files. */
+    static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private final Precision precision;
+    private final int size;
+
+    /* Just the buffer for the trace precision is set. */
+    private final DoubleBuffer doubles;
+    private final FloatBuffer floats;
+    private final ShortBuffer shorts;
+
+    private PlanetLabTrace(final Precision precision, final int size, final DoubleBuffer doubles, final FloatBuffer floats, final ShortBuffer shorts) {
+        this.precision = precision;
+        this.size = size;
+        this.doubles = doubles;
+        this.floats = floats;
+        this.shorts = shorts;
+    }
+
+    /**
+     * Creates a view of an array of utilization samples, which isn't copied.
+     * @param utilization the utilization samples
+     * @return the trace view
+     */
+    static PlanetLabTrace of(final double[] utilization) {
+        Objects.requireNonNull(utilization, "Utilization array cannot be null.");
+        return new PlanetLabTrace(Precision.DOUBLE, utilization.length, DoubleBuffer.wrap(utilization), null, null);
+    }
+
+    /**
+     * Creates a view of utilization samples stored in a buffer (such as a memory-mapped one)
+     * in the {@link #BYTE_ORDER}.
+     * @param buffer the buffer containing the samples
+     * @param precision the format in which samples are stored
+     * @return the trace view
+     */
+    static PlanetLabTrace of(final ByteBuffer buffer, final Precision precision) {
+        final var ordered = buffer.order(BYTE_ORDER);
+        final int size = buffer.capacity() / precision.getBytes();
+        return switch (precision) {
+            case DOUBLE -> new PlanetLabTrace(precision, size, ordered.asDoubleBuffer().asReadOnlyBuffer(), null, null);
+            case FLOAT -> new PlanetLabTrace(precision, size, null, ordered.asFloatBuffer().asReadOnlyBuffer(), null);
+            case FIXED_POINT -> new PlanetLabTrace(precision, size, null, null, ordered.asShortBuffer().asReadOnlyBuffer());
+        };
+    }
+
+    /**
+     * Gets the precision that can actually be used to store some utilization samples,
+     * which may be lower than the requested one.
+     * @param utilization the utilization samples
+     * @param precision the requested precision
+     * @return the requested precision or {@link Precision#FLOAT} if
+     *         the samples cannot be stored as {@link Precision#FIXED_POINT}
+     */
+    static Precision supportedPrecision(final double[] utilization, final Precision precision) {
+        if (precision != Precision.FIXED_POINT) {
+            return precision;
+        }
+
+        for (final double value : utilization) {
+            if (value < 0 || value > MAX_FIXED_POINT_VALUE) {
+                return Precision.FLOAT;
+            }
+        }
+
+        return precision;
+    }
+
+    /**
+     * Writes utilization samples into a buffer in a given precision.
+     * @param utilization the utilization samples
+     * @param precision a precision {@link #supportedPrecision(double[], Precision) supported} by the samples
+     * @return a buffer containing the samples, in the {@link #BYTE_ORDER}, ready to be read
+     */
+    static ByteBuffer encode(final double[] utilization, final Precision precision) {
+        final var buffer = ByteBuffer.allocate(utilization.length * precision.getBytes()).order(BYTE_ORDER);
+        for (final double value : utilization) {
+            switch (precision) {
+                case DOUBLE -> buffer.putDouble(value);
+                case FLOAT -> buffer.putFloat((float) value);
+                case FIXED_POINT -> buffer.putShort((short) Math.round(value * FIXED_POINT_SCALE));
+            }
+        }
+
+        return buffer.flip();
+    }
+
+    /**
+     * Gets a utilization sample.
+     * @param index the index of the sample
+     * @return the utilization (in scale from 0 to 1)
+     * @throws IndexOutOfBoundsException when the index is not valid
+     */
+    public double get(final int index) {
+        return switch (precision) {
+            case DOUBLE -> doubles.get(index);
+            case FLOAT -> floats.get(index);
+            case FIXED_POINT -> Short.toUnsignedInt(shorts.get(index)) / FIXED_POINT_SCALE;
+        };
+    }
+
+    /**
+     * Gets the number of utilization samples.
+     * @return
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the format in which samples are stored.
+     * @return
+     */
+    public Precision getPrecision() {
+        return precision;
+    }
+
+    /**
+     * Creates a copy of this trace with each sample mapped by a given Function,
+     * which is stored as {@link Precision#DOUBLE} in the heap and isn't shared.
+     * @param mapper the Function to map each sample
+     * @return the mapped trace
+     */
+    PlanetLabTrace map(final UnaryOperator<Double> mapper) {
+        final double[] utilization = new double[size];
+        for (int i = 0; i < size; i++) {
+            utilization[i] = mapper.apply(get(i));
+        }
+
+        return of(utilization);
+    }
+}
@@ -0,0 +1,357 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.utilizationmodels;
+
+import org.cloudbus.cloudsim.util.MathUtil;
+import org.cloudbus.cloudsim.util.ResourceLoader;
+import org.cloudbus.cloudsim.utilizationmodels.PlanetLabTrace.Precision;
+import org.cloudsimplus.traces.ColumnarTrace;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A process-wide store of <a href="https://www.planet-lab.org">PlanetLab</a> traces,
+ * which parses each trace file just once and shares its samples as read-only {@link PlanetLabTrace} views
+ * among all {@link UtilizationModelPlanetLab} instances using the same file,
+ * including the ones from simulations running in parallel
+ * (such as the ones started by an {@link org.cloudsimplus.testbeds.ExperimentRunner}).
+ *
+ * <p>Samples can be stored in a compact {@link #setPrecision(Precision) precision} and,
+ * if a {@link #setMappedFilesDir(Path) directory for mapped files} is set,
+ * they are written into binary files that are memory-mapped, instead of being stored in the heap.
+ * This way, samples are loaded on demand by the operating system, which also shares them among
+ * different processes. Such files are reused while they are not older than the trace files.</p>
+ *
+ * <p>Stored traces are identified by the file path, its last modification time and size,
+ * the number of samples to read and the precision.
+ * Traces are softly referenced, so that the ones not used by any {@link UtilizationModelPlanetLab}
+ * may be garbage collected when memory is needed (and parsed again if requested later).
+ * They can also be explicitly removed by {@link #clear() clearing} the store.</p>
+ *
+ * @since CloudSim Plus 7.3.0
+ */
+public final class PlanetLabTraceStore {
+    private static final PlanetLabTraceStore INSTANCE = new PlanetLabTraceStore();
+
+    /**
+     * The identification of a stored trace.
+     * @param filePath the trace file path
+     * @param lastModified the last modification time of the file (in milliseconds),
+     *                     or 0 if it's not a file in the file system (such as a resource inside a jar)
+     * @param fileSize the file size (in bytes), or 0 if it's not a file in the file system
+     * @param dataSamples the number of samples to read, as given to {@link #getTrace(String, int)}
+     * @param precision the requested precision to store samples
+     */
+    private record Key(String filePath, long lastModified, long fileSize, int dataSamples, Precision precision) { }
+
+    /**
+     * A soft reference to a stored trace, which knows its key
+     * to remove it from the store after the trace is garbage collected.
+     */
+    private static final class TraceReference extends SoftReference<PlanetLabTrace> {
+        private final Key key;
+
+        private TraceReference(final Key key, final PlanetLabTrace trace, final ReferenceQueue<PlanetLabTrace> queue) {
+            super(trace, queue);
+            this.key = key;
+        }
+    }
+
+    private final Map<Key, TraceReference> traces;
+
+    /** The queue where references to garbage collected traces are enqueued. */
+    private final ReferenceQueue<PlanetLabTrace> collectedTraces;
+
+    /** @see #getPrecision() */
+    private volatile Precision precision;
+
+    /** @see #getMappedFilesDir() */
+    private volatile Path mappedFilesDir;
+
+    private PlanetLabTraceStore() {
+        this.traces = new ConcurrentHashMap<>();
+        this.collectedTraces = new ReferenceQueue<>();
+        this.precision = Precision.DOUBLE;
+    }
+
+    /**
+     * Gets the process-wide store instance.
+     * @return
+     */
+    public static PlanetLabTraceStore getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Gets the trace for a PlanetLab file, parsing it only if it wasn't parsed before.
+     *
+     * @param workloadFilePath the path of a PlanetLab trace file,
+     *                         either inside the application's resource directory or not
+     * @param dataSamples number of samples to read from the workload file.
+     *                    If -1 is given, it checks if the first line of the trace has a comment.
+     *                    In this case, that comment is expected to represent the number of lines
+     *                    inside the trace.
+     *                    If the file doesn't have such a comment with a valid line number,
+     *                    it will be tried to read just {@link UtilizationModelPlanetLab#DEF_DATA_SAMPLES} lines
+     *                    from the trace.
+     * @return a read-only view of the trace samples (in scale from 0 to 1)
+     * @throws NumberFormatException when a value inside the file is not a valid number
+     * @throws UncheckedIOException when the trace file cannot be read
+     */
+    public PlanetLabTrace getTrace(final String workloadFilePath, final int dataSamples) {
+        Objects.requireNonNull(workloadFilePath);
+        removeCollectedTraces();
+        final var key = newKey(workloadFilePath, dataSamples, precision);
+
+        /* The trace is kept in a local variable (instead of being got from the reference after the computation)
+         * so that it cannot be garbage collected before it's returned. */
+        final var trace = new PlanetLabTrace[1];
+        traces.compute(key, (k, reference) -> {
+            trace[0] = reference == null ? null : reference.get();
+            if (trace[0] != null) {
+                return reference;
+            }
+
+            trace[0] = load(k);
+            return new TraceReference(k, trace[0], collectedTraces);
+        });
+
+        return trace[0];
+    }
+
+    /**
+     * Removes the entries whose traces were garbage collected.
+     */
+    private void removeCollectedTraces() {
+        Reference<? extends PlanetLabTrace> reference;
+        while ((reference = collectedTraces.poll()) != null) {
+            final var traceReference = (TraceReference) reference;
+            traces.remove(traceReference.key, traceReference);
+        }
+    }
+
+    private static Key newKey(final String filePath, final int dataSamples, final Precision precision) {
+        try {
+            final var path = Path.of(filePath);
+            if (Files.isRegularFile(path)) {
+                return new Key(filePath, Files.getLastModifiedTime(path).toMillis(), Files.size(path), dataSamples, precision);
+            }
+        } catch (final IOException | RuntimeException e) {
+            // The file isn't in the file system, so it's loaded from the resource directory
+        }
+
+        return new Key(filePath, 0, 0, dataSamples, precision);
+    }
+
+    private PlanetLabTrace load(final Key key) {
+        final double[] utilization = readWorkloadFile(key.filePath(), key.dataSamples());
+        final var supportedPrecision = PlanetLabTrace.supportedPrecision(utilization, key.precision());
+        final var dir = mappedFilesDir;
+        if (dir != null) {
+            return map(key, utilization, supportedPrecision, dir);
+        }
+
+        return supportedPrecision == Precision.DOUBLE ?
+                PlanetLabTrace.of(utilization) :
+                PlanetLabTrace.of(PlanetLabTrace.encode(utilization, supportedPrecision), supportedPrecision);
+    }
+
+    /**
+     * Stores trace samples into a binary file (if there isn't an up-to-date one) and memory-maps it.
+     * The file is written into a temporary file and then moved, so that
+     * a partially written file is never mapped.
+     */
+    private static PlanetLabTrace map(final Key key, final double[] utilization, final Precision precision, final Path dir) {
+        final var file = dir.resolve("planetlab-%016x-%d-%s.bin".formatted(hash(key.filePath()), key.dataSamples(), precision));
+        final long expectedSize = (long) utilization.length * precision.getBytes();
+        try {
+            if (!ColumnarTrace.isUpToDate(file, key.filePath()) || Files.size(file) != expectedSize) {
+                Files.createDirectories(dir);
+                final var tempFile = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+                try (var channel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+                    final var buffer = PlanetLabTrace.encode(utilization, precision);
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                }
+
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+
+            try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                return PlanetLabTrace.of(channel.map(FileChannel.MapMode.READ_ONLY, 0, expectedSize), precision);
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Computes a 64-bit FNV-1a hash of a file path, used to name the mapped file for a trace.
+     */
+    private static long hash(final String filePath) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < filePath.length(); i++) {
+            hash = (hash ^ filePath.charAt(i)) * 0x100000001b3L;
+        }
+
+        return hash;
+    }
+
+    /**
+     * Reads the planet lab workload file in which each one of its lines
+     * is a resource utilization percentage to be used for a different simulation time.
+     * The number of the line represents the simulation time to which
+     * the value in such a line will be used as a resource utilization percentage.
+     * For instance, the line 0 represents a resource utilization percentage for
+     * simulation time 0.
+     *
+     * @param workloadFilePath the path of a PlanetLab trace file
+     * @param dataSamples number of samples to read from the workload file
+     * @return an array containing the utilization values read from the trace file (in scale from 0 to 1)
+     * @throws UncheckedIOException when the trace file cannot be read
+     * @see #getTrace(String, int)
+     */
+    private static double[] readWorkloadFile(final String workloadFilePath, int dataSamples) {
+        double[] utilization = {0};
+
+        try (var buffer = new BufferedReader(ResourceLoader.newInputStreamReader(workloadFilePath, UtilizationModelPlanetLab.class))) {
+            int lineNum = 0;
+            String line;
+            while((line=buffer.readLine())!=null && lineNum < utilization.length){
+                if(lineNum == 0){
+                    dataSamples = parseDataSamples(line, dataSamples);
+                    utilization = new double[dataSamples];
+                }
+
+                if(!isComment(line)) {
+                    utilization[lineNum++] = Double.parseDouble(line) / 100.0;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return utilization;
+    }
+
+    /**
+     * Try to get the number of lines from the trace file (data samples).
+     * @param line the first line read from the trace
+     * @param dataSamples The number of lines to read.
+     *                    If negative it means it will try to get the
+     *                    number of lines directly from the file.
+     *                    The trace may have its number of lines as a comment in the
+     *                    first line of the file.
+     * @return the given data sample if it's a positive number;
+     *         the default data sample if the given value is negative
+     *         and the file doesn't contain the number of lines in the first line;
+     *         the number of lines read from the file
+     */
+    private static int parseDataSamples(final String line, int dataSamples) {
+        if(dataSamples < 0){
+            dataSamples = isComment(line) ?
+                            MathUtil.parseInt(line.substring(1), UtilizationModelPlanetLab.DEF_DATA_SAMPLES) :
+                            UtilizationModelPlanetLab.DEF_DATA_SAMPLES;
+        }
+
+        return Math.max(2, dataSamples);
+    }
+
+    private static boolean isComment(final String line) {
+        return line.startsWith("#");
+    }
+
+    /**
+     * Gets the format in which samples of traces loaded from now on are stored
+     * (default is {@link Precision#DOUBLE}).
+     * @return
+     */
+    public Precision getPrecision() {
+        return precision;
+    }
+
+    /**
+     * Sets the format in which samples of traces loaded from now on are stored.
+     * Already loaded traces are kept in their precision.
+     * @param precision the precision to set
+     * @return
+     */
+    public PlanetLabTraceStore setPrecision(final Precision precision) {
+        this.precision = Objects.requireNonNull(precision);
+        return this;
+    }
+
+    /**
+     * Gets the directory where binary files containing the samples of traces are stored and memory-mapped,
+     * or null if samples are stored in the heap (default).
+     * @return
+     */
+    public Path getMappedFilesDir() {
+        return mappedFilesDir;
+    }
+
+    /**
+     * Sets the directory where binary files containing the samples of traces loaded from now on
+     * are stored and memory-mapped.
+     * @param mappedFilesDir the directory to set, or null to store samples in the heap
+     * @return
+     */
+    public PlanetLabTraceStore setMappedFilesDir(final Path mappedFilesDir) {
+        this.mappedFilesDir = mappedFilesDir;
+        return this;
+    }
+
+    /**
+     * Gets the number of traces in the store.
+     * @return
+     */
+    public int size() {
+        removeCollectedTraces();
+        return traces.size();
+    }
+
+    /**
+     * Removes all traces from the store, so that they are garbage collected
+     * as soon as they are not used by any {@link UtilizationModelPlanetLab} anymore,
+     * even if there is enough memory to keep them.
+     * Files already mapped are kept.
+     */
+    public void clear() {
+        traces.clear();
+    }
+}
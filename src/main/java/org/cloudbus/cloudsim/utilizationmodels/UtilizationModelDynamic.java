@@ -259,6 +259,23 @@ public class UtilizationModelDynamic extends UtilizationModelAbstract {
         this.currentUtilization = currentUtilization;
     }
 
+    /**
+     * Updates the current resource utilization, such as when it's got from a trace as the simulation runs.
+     * The {@link #setUtilizationUpdateFunction(Function) utilization update function} takes it
+     * as the previous utilization the next time the utilization is computed.
+     * The value is limited to the {@link #getMaxResourceUtilization() maximum resource utilization}.
+     *
+     * <p>Such a value can be a percentage in scale from [0 to 1] or an absolute value,
+     * depending on the {@link #getUnit()}.</p>
+     *
+     * @param currentUtilization the current resource utilization
+     * @return
+     */
+    public final UtilizationModelDynamic updateCurrentUtilization(final double currentUtilization) {
+        setCurrentUtilization(maxResourceUtilization > 0 ? Math.min(currentUtilization, maxResourceUtilization) : currentUtilization);
+        return this;
+    }
+
     /**
      * Gets the maximum amount of resource that will be used.
      *
@@ -1,12 +1,5 @@
 package org.cloudbus.cloudsim.utilizationmodels;
 
-import org.cloudbus.cloudsim.util.MathUtil;
-import org.cloudbus.cloudsim.util.ResourceLoader;
-
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.UncheckedIOException;
 import java.util.Objects;
 import java.util.function.UnaryOperator;
 
@@ -21,6 +14,10 @@ import java.util.function.UnaryOperator;
  * This value in seconds is commonly used for the {@link #getSchedulingInterval() scheduling interval}
  * attribute when instantiating an object of this class.
  * </p>
+ *
+ * <p>Instances reading the same trace file share a single read-only copy of its samples,
+ * which is parsed just once by the {@link PlanetLabTraceStore}.
+ * Such a store can also be configured to keep samples in a compact format or in memory-mapped files.</p>
  */
 public class UtilizationModelPlanetLab extends UtilizationModelAbstract {
     /**
@@ -43,32 +40,20 @@ public class UtilizationModelPlanetLab extends UtilizationModelAbstract {
      * defined by {@link #schedulingInterval}
      * (each line on available trace files represent resource utilization for a time
      * interval of 5 minutes).
-     * The size of the array is defined according to the number of utilization samples
+     * The size of the trace is defined according to the number of utilization samples
      * specified in the constructor.
      *
-     * <p>If there is a {@link #mapper} Function set,
-     * the values are returned and stored according to the operation performed
-     * by such a Function. If no mapper Function is set, the values
-     * are returned and stored as read from the trace file (always in scale from 0 to 1).</p>
-     *
-     * @see #readWorkloadFile(InputStreamReader, int)
-     */
-    protected final double[] utilization;
-
-    /**
-     * A {@link UnaryOperator} Function that will be used to map the utilization values
-     * read from the trace value to a different value.
-     * That Function is useful when you don't want to use the values from the trace as they are,
-     * but you want to scale the values applying any mathematical operation over them.
-     * For instance, you can provide a mapper Function that scale the values in 10 times,
-     * by giving a Lambda Expression such as {@code value -> value * 10}
-     * in the mapper parameter of some constructor.
-     *
-     * <p>If a mapper Function is not set, the values are used as read from the trace file,
-     * without any change (except that the scale is always converted to [0..1]).</p>
+     * <p>If a mapper Function is given to the constructor,
+     * the values are stored according to the operation performed
+     * by such a Function, in a copy of the trace just for this instance.
+     * If no mapper Function is given, the values
+     * are returned as read from the trace file (always in scale from 0 to 1)
+     * and the trace is shared with every other instance reading the same file,
+     * through the {@link PlanetLabTraceStore}.</p>
      * @see #UtilizationModelPlanetLab(String, UnaryOperator)
+     * @see #getUtilizationTrace()
      */
-    private final UnaryOperator<Double> mapper;
+    private final PlanetLabTrace utilization;
 
     /**
      * @see #getSchedulingInterval()
@@ -113,7 +98,7 @@ public class UtilizationModelPlanetLab extends UtilizationModelAbstract {
      * @see #getSchedulingInterval()
      */
     public static UtilizationModelPlanetLab getInstance(final String workloadFilePath, final double schedulingInterval) {
-        return new UtilizationModelPlanetLab(newReader(workloadFilePath), schedulingInterval, -1);
+        return new UtilizationModelPlanetLab(workloadFilePath, schedulingInterval, -1);
     }
 
     /**
@@ -142,7 +127,7 @@ public class UtilizationModelPlanetLab extends UtilizationModelAbstract {
      * @see #getInstance(String)
      */
     public static UtilizationModelPlanetLab getInstance(final String workloadFilePath, final UnaryOperator<Double> mapper) throws NumberFormatException {
-        return new UtilizationModelPlanetLab(newReader(workloadFilePath), DEF_SCHEDULING_INTERVAL, -1, mapper);
+        return new UtilizationModelPlanetLab(workloadFilePath, DEF_SCHEDULING_INTERVAL, -1, mapper);
     }
 
     /**
@@ -186,17 +171,9 @@ public class UtilizationModelPlanetLab extends UtilizationModelAbstract {
      * @see #getInstance(String)
      */
     public UtilizationModelPlanetLab(final String workloadFilePath, final double schedulingInterval, final int dataSamples) throws NumberFormatException {
-        /*The default mapper Function doesn't change the value read from the trace file.
-         Therefore, the value is used as is.*/
-        this(newReader(workloadFilePath), schedulingInterval, dataSamples);
-    }
-
-    private UtilizationModelPlanetLab(
-        final InputStreamReader reader,
-        final double schedulingInterval,
-        final int dataSamples) throws NumberFormatException
-    {
-        this(reader, schedulingInterval, dataSamples, UnaryOperator.identity());
+        /*Without a mapper Function, the values read from the trace file are used as is.
+         Therefore, the trace is shared with other instances.*/
+        this(PlanetLabTraceStore.getInstance().getTrace(workloadFilePath, dataSamples), schedulingInterval);
     }
 
     /**
@@ -225,7 +202,7 @@ public class UtilizationModelPlanetLab extends UtilizationModelAbstract {
      * @see #getInstance(String)
      */
     public UtilizationModelPlanetLab(final String workloadFilePath, final UnaryOperator<Double> mapper) throws NumberFormatException {
-        this(newReader(workloadFilePath), DEF_SCHEDULING_INTERVAL, -1, mapper);
+        this(workloadFilePath, DEF_SCHEDULING_INTERVAL, -1, mapper);
     }
 
     /**
@@ -256,123 +233,53 @@ public class UtilizationModelPlanetLab extends UtilizationModelAbstract {
     {
         super();
         setSchedulingInterval(schedulingInterval);
-        this.mapper = Objects.requireNonNull(mapper);
+        Objects.requireNonNull(mapper);
 
         Objects.requireNonNull(utilization, "Utilization array cannot be null.");
         if(utilization.length <= 1){
             throw new IllegalArgumentException("The number of utilization samples must be greater than 1.");
         }
-        this.utilization = utilization;
+        this.utilization = PlanetLabTrace.of(utilization);
     }
 
     private UtilizationModelPlanetLab(
-        final InputStreamReader reader,
+        final String workloadFilePath,
         final double schedulingInterval,
         final int dataSamples,
         final UnaryOperator<Double> mapper) throws NumberFormatException
     {
-        super();
-        setSchedulingInterval(schedulingInterval);
-        this.mapper = Objects.requireNonNull(mapper);
-        utilization = readWorkloadFile(reader, dataSamples);
+        this(PlanetLabTraceStore.getInstance().getTrace(workloadFilePath, dataSamples).map(Objects.requireNonNull(mapper)), schedulingInterval);
     }
 
-    private static InputStreamReader newReader(final String workloadFilePath) {
-        return ResourceLoader.newInputStreamReader(workloadFilePath, UtilizationModelPlanetLab.class);
+    private UtilizationModelPlanetLab(final PlanetLabTrace utilization, final double schedulingInterval) {
+        super();
+        setSchedulingInterval(schedulingInterval);
+        this.utilization = utilization;
     }
 
     /**
-     * Reads the planet lab workload file in which each one of its lines
-     * is a resource utilization percentage to be used for a different simulation time.
-     * The number of the line represents the simulation time to which
-     * the value in such a line will be used as a resource utilization percentage.
-     * For instance, the line 0 represents a resource utilization percentage for
-     * simulation time 0.
-     *
-     * @param reader the {@link InputStreamReader} to read the file
-     * @param dataSamples number of samples to read from the workload file.
-     *                    If -1 is given, it checks if the first line of the trace has a comment.
-     *                    In this case, that comment is expected to represent the number of lines
-     *                    inside the trace and it will be used to accordingly create an array
-     *                    of that size to store the values read from the trace.
-     *                    If the file doesn't have such a comment with a valid line number,
-     *                    it will be tried to read just {@link #DEF_DATA_SAMPLES} lines
-     *                    from the trace.
-     * @return an array containing the utilization values read from the trace file (in scale from 0 to 1)
-     * @throws UncheckedIOException when the trace file cannot be read
-     * @see #utilization
+     * Gets the resource utilization samples read from the trace file (or given to the constructor),
+     * in intervals defined by the {@link #getSchedulingInterval() scheduling interval}.
+     * The trace is read-only, since it may be shared with other instances reading the same file.
+     * @return the utilization trace
      */
-    private double[] readWorkloadFile(final InputStreamReader reader, int dataSamples) {
-        Objects.requireNonNull(reader);
-        double[] utilization = {0};
-
-        try (var buffer = new BufferedReader(reader)) {
-            int lineNum = 0;
-            String line;
-            while((line=buffer.readLine())!=null && lineNum < utilization.length){
-                if(lineNum == 0){
-                    dataSamples = parseDataSamples(line, dataSamples);
-                    utilization = createEmptyArray(dataSamples);
-                }
-
-                if(!isComment(line)) {
-                    utilization[lineNum++] = mapper.apply(Double.parseDouble(line) / 100.0);
-                }
-            }
-        } catch (IOException e) {
-            throw new UncheckedIOException(e);
-        }
-
+    protected PlanetLabTrace getUtilizationTrace() {
         return utilization;
     }
 
-    /**
-     * Try to get the number of lines from the trace file (data samples).
-     * @param line the first line read from the trace
-     * @param dataSamples The number of lines to read.
-     *                    If negative it means it will try to get the
-     *                    number of lines directly from the file.
-     *                    The trace may have its number of lines as a comment in the
-     *                    first line of the file.
-     * @return the given data sample if it's a positive number;
-     *         the default data sample if the given value is negative
-     *         and the file doesn't contain the number of lines in the first line;
-     *         the number of lines read from the file
-     */
-    private int parseDataSamples(final String line, int dataSamples) {
-        if(dataSamples < 0){
-            dataSamples = isComment(line) ? MathUtil.parseInt(line.substring(1), DEF_DATA_SAMPLES) : DEF_DATA_SAMPLES;
-        }
-
-        return Math.max(2, dataSamples);
-    }
-
     /**
      * Gets the number of data samples actually read from the trace file.
      * @return
      */
     public int getDataSamples(){
-        return utilization.length;
-    }
-
-    private boolean isComment(final String line) {
-        return line.startsWith("#");
-    }
-
-    private double[] createEmptyArray(final int size) {
-        final double[] data = new double[size];
-        for (int i = 0; i < size; i++) {
-            data[i]=0;
-        }
-
-        return data;
+        return utilization.size();
     }
 
     @Override
     protected double getUtilizationInternal(final double time) {
     	//If the time requested is multiple of the scheduling interval, gets a precise value from the trace file
         if (Math.round(time) % getSchedulingInterval() == 0) {
-            return utilization[(int) getUtilizationIndex(time)];
+            return utilization.get((int) getUtilizationIndex(time));
         }
 
         /* Otherwise, computes a utilization based the
@@ -381,7 +288,7 @@ public class UtilizationModelPlanetLab extends UtilizationModelAbstract {
         final int prevIndex = getPrevUtilizationIndex(time);
         final int nextIndex = getNextUtilizationIndex(time);
 
-        return (utilization[prevIndex] + utilization[nextIndex]) / 2.0;
+        return (utilization.get(prevIndex) + utilization.get(nextIndex)) / 2.0;
     }
 
     /**
@@ -402,7 +309,7 @@ public class UtilizationModelPlanetLab extends UtilizationModelAbstract {
          * ensures we start reading data from the beginning of the
          * file if its end is reached.
          */
-        return (time / schedulingInterval) % utilization.length;
+        return (time / schedulingInterval) % utilization.size();
     }
 
     /**
@@ -436,7 +343,7 @@ public class UtilizationModelPlanetLab extends UtilizationModelAbstract {
      */
     private int getNextUtilizationIndex(final double time) {
         //Computes the modulo again since the Math.ceil may return an index higher than the size of the utilization array
-        return (int)Math.ceil(getUtilizationIndex(time)) % utilization.length;
+        return (int)Math.ceil(getUtilizationIndex(time)) % utilization.size();
     }
 
     /**
@@ -467,7 +374,7 @@ public class UtilizationModelPlanetLab extends UtilizationModelAbstract {
                It needs to be checked the impact in tests.*/
         final int index = endIndex - startIndex;
 
-        return index >= 0 ? index : (utilization.length - startIndex) + endIndex;
+        return index >= 0 ? index : (utilization.size() - startIndex) + endIndex;
     }
 
     /**
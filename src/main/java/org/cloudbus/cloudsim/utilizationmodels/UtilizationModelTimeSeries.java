@@ -0,0 +1,205 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.utilizationmodels;
+
+import java.util.Arrays;
+
+/**
+ * A {@link UtilizationModel} that defines the resource utilization along the simulation time
+ * as a step function, from utilization samples added as the simulation runs.
+ * The utilization at a given time is the one of the last sample taken at or before that time,
+ * or the initial utilization if there is no such a sample.
+ *
+ * <p>Samples are stored in primitive arrays, instead of one object (or event) for each one.
+ * Consecutive samples with the same utilization are coalesced into a single one,
+ * since they don't change the utilization.
+ * Samples must be added in time order.
+ * Samples that don't define the utilization anymore can be {@link #removeSamplesBefore(double) removed}
+ * as time advances, so that the series keeps just the ones ahead of the simulation clock.</p>
+ *
+ * @since CloudSim Plus 7.3.0
+ * @see org.cloudsimplus.traces.google.GoogleTaskUsageTraceReader
+ */
+public class UtilizationModelTimeSeries extends UtilizationModelAbstract {
+    private static final int DEF_CAPACITY = 8;
+
+    private final double initialUtilization;
+
+    /** The time of each sample, in ascending order. */
+    private double[] times;
+
+    /** The utilization of each sample. */
+    private double[] utilizations;
+
+    /** The number of samples stored in the arrays. */
+    private int size;
+
+    /**
+     * The index of the sample returned by the last utilization request,
+     * used to avoid a binary search when the utilization is requested for increasing times.
+     */
+    private int lastIndex;
+
+    /**
+     * Creates a UtilizationModelTimeSeries with a given initial utilization,
+     * where the {@link Unit} is set as {@link Unit#PERCENTAGE}.
+     * @param initialUtilization the resource utilization (in scale from 0 to 1) before the first sample
+     */
+    public UtilizationModelTimeSeries(final double initialUtilization) {
+        this(Unit.PERCENTAGE, initialUtilization);
+    }
+
+    /**
+     * Creates a UtilizationModelTimeSeries with a given {@link Unit} and initial utilization.
+     * @param unit the {@link Unit} that determines how the resource is used
+     * @param initialUtilization the resource utilization before the first sample,
+     *                           that the unit depends on the {@code unit} parameter
+     */
+    public UtilizationModelTimeSeries(final Unit unit, final double initialUtilization) {
+        super(unit);
+        validateUtilizationField("initialUtilization", initialUtilization);
+        this.initialUtilization = initialUtilization;
+        this.times = new double[DEF_CAPACITY];
+        this.utilizations = new double[DEF_CAPACITY];
+    }
+
+    /**
+     * Adds a utilization sample, which defines the resource utilization from the given time on.
+     * The sample is ignored if the utilization is equal to the one of the previous sample.
+     * If there is already a sample for the given time, it's replaced.
+     *
+     * @param time the time the utilization starts (in seconds)
+     * @param utilization the resource utilization from that time on
+     * @return true if the sample changed the time series, false if it was coalesced with the previous one
+     * @throws IllegalArgumentException when the time is lower than the time of the last sample
+     *                                  or the utilization is negative
+     */
+    public boolean addSample(final double time, final double utilization) {
+        validateUtilizationField("utilization", utilization);
+        if (size > 0 && time < times[size - 1]) {
+            throw new IllegalArgumentException(
+                "Samples must be added in time order. Last sample time: %.2f, sample time: %.2f".formatted(times[size - 1], time));
+        }
+
+        if (size > 0 && time == times[size - 1]) {
+            utilizations[size - 1] = utilization;
+            return true;
+        }
+
+        if (utilization == getLastUtilization()) {
+            return false;
+        }
+
+        if (size == times.length) {
+            final int capacity = size + (size >> 1);
+            times = Arrays.copyOf(times, capacity);
+            utilizations = Arrays.copyOf(utilizations, capacity);
+        }
+
+        times[size] = time;
+        utilizations[size++] = utilization;
+        return true;
+    }
+
+    /**
+     * Gets the utilization defined by the last added sample,
+     * or the initial utilization if there is no sample.
+     * @return the last utilization
+     */
+    public double getLastUtilization() {
+        return size == 0 ? initialUtilization : utilizations[size - 1];
+    }
+
+    /**
+     * Gets the number of samples stored, after coalescing the ones with the same utilization.
+     * @return the number of stored samples
+     */
+    public int getSamplesCount() {
+        return size;
+    }
+
+    /**
+     * Checks if there is some sample taken after a given time,
+     * which will change the utilization later on.
+     * @param time the time to check (in seconds)
+     * @return true if there is a sample after the given time, false otherwise
+     */
+    public boolean hasSamplesAfter(final double time) {
+        return size > 0 && times[size - 1] > time;
+    }
+
+    /**
+     * Removes the samples that don't define the utilization from a given time on,
+     * which are the ones before the last sample taken at or before that time.
+     * The utilization at that time and after it doesn't change,
+     * but the one before it may not be available anymore.
+     *
+     * @param time the time from which the utilization must be kept (in seconds)
+     * @return the number of removed samples
+     */
+    public int removeSamplesBefore(final double time) {
+        final int index = indexOf(time);
+        if (index <= 0) {
+            return 0;
+        }
+
+        size -= index;
+        if (size < times.length >> 2 && times.length > DEF_CAPACITY) {
+            final int capacity = Math.max(size << 1, DEF_CAPACITY);
+            times = Arrays.copyOfRange(times, index, index + capacity);
+            utilizations = Arrays.copyOfRange(utilizations, index, index + capacity);
+        } else {
+            System.arraycopy(times, index, times, 0, size);
+            System.arraycopy(utilizations, index, utilizations, 0, size);
+        }
+
+        lastIndex = 0;
+        return index;
+    }
+
+    @Override
+    protected double getUtilizationInternal(final double time) {
+        final int index = indexOf(time);
+        return index < 0 ? initialUtilization : utilizations[index];
+    }
+
+    /**
+     * Gets the index of the last sample taken at or before a given time.
+     * @param time the time to get the sample index
+     * @return the sample index or -1 if there is no sample up to the given time
+     */
+    private int indexOf(final double time) {
+        if (size == 0 || time < times[0]) {
+            return -1;
+        }
+
+        if (lastIndex < size && times[lastIndex] <= time && (lastIndex + 1 == size || time < times[lastIndex + 1])) {
+            return lastIndex;
+        }
+
+        final int found = Arrays.binarySearch(times, 0, size, time);
+        lastIndex = found < 0 ? -found - 2 : found;
+        return lastIndex;
+    }
+}
@@ -24,7 +24,14 @@
 package org.cloudbus.cloudsim.vms;
 
 import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.provisioners.ResourceProvisioner;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
 import java.util.function.Function;
 
 /**
@@ -34,7 +41,10 @@ import java.util.function.Function;
  * @since CloudSim Plus 6.1.0
  */
 public class HostResourceStats extends ResourceStats<Host> {
-    public static final HostResourceStats NULL = new HostResourceStats(Host.NULL, host -> 0.0) { @Override public boolean add(double time) { return false; }};
+    public static final HostResourceStats NULL = new HostResourceStats(Host.NULL, host -> 0.0) {
+        @Override public boolean add(double time) { return false; }
+        @Override public ResourceStats<Host> enableQuantileSketch(int bins) { return this; }
+    };
 
     /**
      * Creates a HostResourceStats to collect resource utilization statistics for a Host.
@@ -56,4 +66,34 @@ public class HostResourceStats extends ResourceStats<Host> {
     public boolean add(final double time) {
         return super.add(time) && getMachine().isActive();
     }
+
+    /**
+     * Merges the {@link QuantileSketch}es of the {@link Host#getBwUtilizationStats() BW utilization stats}
+     * of a group of Hosts (such as all Hosts in a rack), counting each pool of DPUs just once.
+     * Since Hosts in a rack may share the same {@link Host#getBwProvisioner() BW provisioners},
+     * they all collect the same utilization samples for that shared pool.
+     * This way, the stats of a Host are ignored when all its provisioners (compared by identity)
+     * were already counted for a previous Host.
+     *
+     * @param hosts the Hosts to merge the sketches of their BW utilization stats
+     * @return a new sketch with the values from the distinct DPU pools
+     *         or {@link QuantileSketch#NULL} if no Host has the sketch enabled
+     * @see ResourceStats#mergeQuantileSketches(Collection)
+     */
+    public static QuantileSketch mergeBwQuantileSketches(final Collection<? extends Host> hosts){
+        final Set<ResourceProvisioner> countedProvisioners = Collections.newSetFromMap(new IdentityHashMap<>());
+        final List<HostResourceStats> statsList = new ArrayList<>(hosts.size());
+        for (final Host host : hosts) {
+            boolean newPool = false;
+            for (final ResourceProvisioner provisioner : host.getBwProvisioner()) {
+                newPool |= countedProvisioners.add(provisioner);
+            }
+
+            if(newPool) {
+                statsList.add(host.getBwUtilizationStats());
+            }
+        }
+
+        return mergeQuantileSketches(statsList);
+    }
 }
@@ -0,0 +1,198 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.vms;
+
+/**
+ * A fixed-size and mergeable sketch to estimate quantiles (such as the 95th or 99th percentile)
+ * of resource utilization percentages (in scale from 0 to 1), without storing every collected value.
+ * Values are counted into equal-width bins between 0 and 1,
+ * so that the estimated quantiles have an absolute error of at most half a bin width
+ * (0.1% of the resource capacity with the {@link #DEF_BINS default number of bins}).
+ * Values greater than 1 are counted in the last bin and the exact minimum and maximum values are kept.
+ *
+ * <p>Sketches with the same number of bins can be {@link #merge(QuantileSketch) merged}
+ * without losing accuracy, for instance, to compute quantiles
+ * for all Hosts in a rack or Datacenter.</p>
+ *
+ * @since CloudSim Plus 7.3.0
+ * @see ResourceStats#enableQuantileSketch()
+ */
+public class QuantileSketch {
+    /**
+     * An attribute that implements the Null Object Design Pattern for {@link QuantileSketch} objects,
+     * which ignores added values.
+     */
+    public static final QuantileSketch NULL = new QuantileSketch(1) {
+        @Override public void add(final double value) {/**/}
+        @Override public QuantileSketch merge(final QuantileSketch other) { return this; }
+    };
+
+    /** The default number of bins, which gives a resolution of 0.1% of the resource capacity. */
+    public static final int DEF_BINS = 500;
+
+    private final long[] counts;
+    private long count;
+    private double min;
+    private double max;
+
+    /**
+     * Creates a sketch with the {@link #DEF_BINS default number of bins}.
+     */
+    public QuantileSketch() {
+        this(DEF_BINS);
+    }
+
+    /**
+     * Creates a sketch with a given number of bins.
+     * @param bins the number of bins, which defines the sketch accuracy and memory footprint
+     */
+    public QuantileSketch(final int bins) {
+        if (bins <= 0) {
+            throw new IllegalArgumentException("The number of bins must be greater than 0.");
+        }
+
+        this.counts = new long[bins];
+        this.min = Double.NaN;
+        this.max = Double.NaN;
+    }
+
+    /**
+     * Adds a value to the sketch.
+     * @param value the resource utilization percentage (in scale from 0 to 1) to add
+     */
+    public void add(final double value) {
+        if (value < 0 || Double.isNaN(value)) {
+            throw new IllegalArgumentException("Value must be a non-negative number.");
+        }
+
+        counts[bin(value)]++;
+        min = count == 0 ? value : Math.min(min, value);
+        max = count == 0 ? value : Math.max(max, value);
+        count++;
+    }
+
+    private int bin(final double value) {
+        return (int) Math.min(value * counts.length, counts.length - 1);
+    }
+
+    /**
+     * Adds the values from another sketch into this one.
+     * @param other the sketch to merge into this one, which must have the same number of bins
+     * @return this sketch
+     */
+    public QuantileSketch merge(final QuantileSketch other) {
+        if (other == NULL || other.count == 0) {
+            return this;
+        }
+
+        if (other.counts.length != counts.length) {
+            throw new IllegalArgumentException("Sketches with a different number of bins cannot be merged.");
+        }
+
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+
+        min = count == 0 ? other.min : Math.min(min, other.min);
+        max = count == 0 ? other.max : Math.max(max, other.max);
+        count += other.count;
+        return this;
+    }
+
+    /**
+     * Estimates a quantile of the added values,
+     * interpolating values inside the bin where the quantile is.
+     * Quantiles 0 and 1 are the exact minimum and maximum values.
+     *
+     * @param quantile the quantile to get (in scale from 0 to 1), such as 0.99 for the 99th percentile
+     * @return the estimated quantile value or {@link Double#NaN} if no value was added
+     */
+    public double getQuantile(final double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1.");
+        }
+
+        if (count == 0) {
+            return Double.NaN;
+        }
+
+        if (quantile == 0) {
+            return min;
+        }
+
+        if (quantile == 1) {
+            return max;
+        }
+
+        final double rank = quantile * (count - 1);
+        long cumulative = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0 || cumulative + counts[i] <= rank) {
+                cumulative += counts[i];
+                continue;
+            }
+
+            /* Assumes values are evenly spread inside the bin
+             * (which is limited by the min and max values). */
+            final double lower = Math.max((double) i / counts.length, min);
+            final double upper = Math.min(i == counts.length - 1 ? max : (i + 1.0) / counts.length, max);
+            final double value = lower + (upper - lower) * (rank - cumulative + 0.5) / counts[i];
+            return Math.min(Math.max(value, lower), upper);
+        }
+
+        return max;
+    }
+
+    /**
+     * Gets the number of values added to the sketch.
+     * @return
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Gets the minimum value added to the sketch.
+     * @return the minimum value or {@link Double#NaN} if no value was added
+     */
+    public double getMin() {
+        return min;
+    }
+
+    /**
+     * Gets the maximum value added to the sketch.
+     * @return the maximum value or {@link Double#NaN} if no value was added
+     */
+    public double getMax() {
+        return max;
+    }
+
+    /**
+     * Gets the number of bins, which defines the sketch accuracy.
+     * @return
+     */
+    public int getBins() {
+        return counts.length;
+    }
+}
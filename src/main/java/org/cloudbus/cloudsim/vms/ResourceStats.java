@@ -27,6 +27,7 @@ import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
 import org.cloudbus.cloudsim.core.AbstractMachine;
 import org.cloudbus.cloudsim.resources.Resource;
 
+import java.util.Collection;
 import java.util.Objects;
 import java.util.function.Function;
 
@@ -42,6 +43,7 @@ public class ResourceStats<T extends AbstractMachine> {
     private final Function<T, Double> resourceUtilizationFunction;
     private final T machine;
     private final SummaryStatistics stats;
+    private QuantileSketch quantileSketch;
     private double previousTime;
     private double previousUtilization;
 
@@ -55,6 +57,7 @@ public class ResourceStats<T extends AbstractMachine> {
         this.resourceUtilizationFunction = Objects.requireNonNull(resourceUtilizationFunction);
         this.machine = Objects.requireNonNull(machine);
         this.stats = new SummaryStatistics();
+        this.quantileSketch = QuantileSketch.NULL;
     }
 
     /**
@@ -83,6 +86,7 @@ public class ResourceStats<T extends AbstractMachine> {
             }
 
             this.stats.addValue(utilization);
+            this.quantileSketch.add(utilization);
             this.previousUtilization = utilization;
             return true;
         } finally {
@@ -144,6 +148,83 @@ public class ResourceStats<T extends AbstractMachine> {
      */
     public boolean isEmpty(){ return count() == 0; }
 
+    /**
+     * Enables a {@link QuantileSketch} with the {@link QuantileSketch#DEF_BINS default number of bins},
+     * to estimate quantiles of the resource utilization percentages collected from now on.
+     * @return this ResourceStats
+     * @see #enableQuantileSketch(int)
+     */
+    public ResourceStats<T> enableQuantileSketch(){
+        return enableQuantileSketch(QuantileSketch.DEF_BINS);
+    }
+
+    /**
+     * Enables a {@link QuantileSketch} with a given number of bins,
+     * to estimate quantiles of the resource utilization percentages collected from now on.
+     * The sketch has a fixed memory footprint, regardless of the number of collected samples,
+     * and can be {@link QuantileSketch#merge(QuantileSketch) merged} with the sketches of other machines
+     * (such as all Hosts in a rack or Datacenter).
+     * If the sketch is already enabled, it's kept.
+     *
+     * @param bins the number of sketch bins, which defines its accuracy
+     * @return this ResourceStats
+     */
+    public ResourceStats<T> enableQuantileSketch(final int bins){
+        if(quantileSketch == QuantileSketch.NULL) {
+            this.quantileSketch = new QuantileSketch(bins);
+        }
+
+        return this;
+    }
+
+    /**
+     * Gets the {@link QuantileSketch} of the collected resource utilization percentages.
+     * @return the sketch or {@link QuantileSketch#NULL} if it's not {@link #enableQuantileSketch() enabled}
+     */
+    public QuantileSketch getQuantileSketch(){
+        return quantileSketch;
+    }
+
+    /**
+     * Merges the {@link QuantileSketch}es of a group of ResourceStats into a new sketch,
+     * such as the CPU utilization stats of all Hosts in a rack or Datacenter,
+     * to estimate quantiles for the entire group.
+     * ResourceStats whose sketch is not {@link #enableQuantileSketch() enabled} are ignored.
+     *
+     * @param statsList the ResourceStats to merge their sketches
+     * @return a new sketch with the values from all given ones
+     *         or {@link QuantileSketch#NULL} if no ResourceStats has the sketch enabled
+     * @throws IllegalArgumentException when the sketches have a different number of bins
+     */
+    public static QuantileSketch mergeQuantileSketches(final Collection<? extends ResourceStats<?>> statsList){
+        QuantileSketch merged = QuantileSketch.NULL;
+        for (final var stats : statsList) {
+            final var sketch = stats.getQuantileSketch();
+            if(sketch == QuantileSketch.NULL) {
+                continue;
+            }
+
+            if(merged == QuantileSketch.NULL) {
+                merged = new QuantileSketch(sketch.getBins());
+            }
+
+            merged.merge(sketch);
+        }
+
+        return merged;
+    }
+
+    /**
+     * Gets an estimated quantile of the resource utilization percentage (from 0 to 1),
+     * such as the 95th percentile.
+     * @param quantile the quantile to get (in scale from 0 to 1), such as 0.95 for the 95th percentile
+     * @return the estimated quantile or {@link Double#NaN} if no sample was collected
+     *         or the {@link #enableQuantileSketch() sketch is not enabled}
+     */
+    public double getQuantile(final double quantile){
+        return quantileSketch.getQuantile(quantile);
+    }
+
     /**
      * Checks if it isn't time to add a value to the utilization history.
      * The utilization history is not updated in any one of the following conditions is met:
@@ -25,7 +25,12 @@ package org.cloudsimplus.builders.tables;
 
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -54,6 +59,16 @@ public abstract class AbstractTable implements Table {
      */
     private String columnSeparator;
 
+    /** The {@link Writer} the table is being streamed to, or null if the table is not being streamed. */
+    private Writer streamWriter;
+
+    /** A buffer reused to format each streamed row. */
+    private StringBuilder streamLine;
+
+    /** The {@link #rowOpening()} and {@link #rowClosing()} strings, formatted once when streaming starts. */
+    private String streamRowOpening;
+    private String streamRowClosing;
+
     public AbstractTable(){
         this("");
     }
@@ -146,6 +161,81 @@ public abstract class AbstractTable implements Table {
         printTableClosing();
     }
 
+    @Override
+    public void startStreaming(final Writer writer) {
+        this.streamWriter = Objects.requireNonNull(writer);
+        this.streamLine = new StringBuilder(256);
+        this.streamRowOpening = String.format(rowOpening());
+        this.streamRowClosing = String.format(rowClosing());
+        writeToStream(printTo(() -> {
+            printTableOpening();
+            printTitle();
+            printColumnHeaders();
+        }));
+    }
+
+    @Override
+    public void streamRow(final List<?> row) {
+        if(streamWriter == null) {
+            throw new IllegalStateException("Table streaming was not started.");
+        }
+
+        streamLine.setLength(0);
+        streamLine.append(streamRowOpening);
+        final int cols = Math.min(columns.size(), row.size());
+        for (int i = 0; i < cols; i++) {
+            columns.get(i).appendData(streamLine, row.get(i));
+        }
+
+        writeToStream(streamLine.append(streamRowClosing));
+    }
+
+    @Override
+    public void finishStreaming() {
+        if(streamWriter == null) {
+            return;
+        }
+
+        writeToStream(printTo(this::printTableClosing));
+        try {
+            streamWriter.flush();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            streamWriter = null;
+            streamLine = null;
+        }
+    }
+
+    private void writeToStream(final CharSequence text) {
+        try {
+            streamWriter.append(text);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Runs some of the methods that print parts of the table (such as the headers),
+     * capturing what they print instead of sending it to the {@link #getPrintStream() PrintStream}.
+     * That is just used once per streamed table, so rows are not printed this way.
+     *
+     * @param printer a {@link Runnable} that calls the printing methods
+     * @return the printed text
+     */
+    private String printTo(final Runnable printer) {
+        final var previousStream = printStream;
+        final var buffer = new ByteArrayOutputStream();
+        printStream = new PrintStream(buffer, true, StandardCharsets.UTF_8);
+        try {
+            printer.run();
+        } finally {
+            printStream = previousStream;
+        }
+
+        return buffer.toString(StandardCharsets.UTF_8);
+    }
+
     protected void printColumnHeaders(){
         printStream.printf(rowOpening());
         columns.forEach(col -> printStream.print(col.generateTitleHeader()));
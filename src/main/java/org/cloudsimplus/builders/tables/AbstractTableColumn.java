@@ -25,6 +25,8 @@ package org.cloudsimplus.builders.tables;
 
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.Formatter;
+
 /**
  * A column of a table to be generated using a {@link Table} class.
  * @author Manoel Campos da Silva Filho
@@ -50,6 +52,12 @@ public abstract class AbstractTableColumn implements TableColumn {
      */
     private Table table;
 
+    /**
+     * A {@link Formatter} that writes into the buffer last given to {@link #appendData(StringBuilder, Object)},
+     * reused while tables are streamed into the same buffer.
+     */
+    private Formatter formatter;
+
     /**
      * Creates a column with a specific title.
      * @param table The table that the column belongs to.
@@ -162,6 +170,20 @@ public abstract class AbstractTableColumn implements TableColumn {
         return String.format(format, data);
     }
 
+    @Override
+    public void appendData(final StringBuilder out, final Object data) {
+        if(StringUtils.isBlank(format)) {
+            out.append(data);
+            return;
+        }
+
+        if(formatter == null || formatter.out() != out) {
+            formatter = new Formatter(out);
+        }
+
+        formatter.format(format, data);
+    }
+
     /**
      * Generates a header for the column, either for the title or subtitle header.
      *
@@ -67,6 +67,20 @@ public class CloudletsTableBuilder extends TableBuilderAbstract<Cloudlet> {
         super(list, table);
     }
 
+    /**
+     * Instantiates a builder to stream Cloudlets as they are given to {@link #addRow(Object)},
+     * using the given {@link Table}.
+     * For instance, rows can be written as soon as Cloudlets finish, using
+     * {@code cloudlet.addOnFinishListener(info -> builder.addRow(info.getCloudlet()))}.
+     *
+     * @param table the {@link Table} used to build the table with the Cloudlets data
+     * @see #startStreaming(java.io.Writer)
+     * @since CloudSim Plus 7.3.0
+     */
+    public CloudletsTableBuilder(final Table table) {
+        super(table);
+    }
+
     @Override
     protected void createTableColumns() {
         final String ID = "ID";
@@ -70,6 +70,30 @@ public class CsvTableColumn extends AbstractTableColumn {
         return String.format(DATA_COL_SEPARATOR_FORMAT, super.generateData(data), getTable().getColumnSeparator());
     }
 
+    @Override
+    public void appendData(final StringBuilder out, final Object data) {
+        super.appendData(out, data);
+        if(!isLastColumn()) {
+            out.append(getTable().getColumnSeparator());
+        }
+    }
+
+    /**
+     * Aligns the data appended to a buffer to the right side, based on the length of the title
+     * header of the column, by inserting spaces before it, without creating intermediate strings.
+     * @param out the buffer containing the column data
+     * @param start the position in the buffer where the column data starts
+     * @since CloudSim Plus 7.3.0
+     */
+    protected void alignRight(final StringBuilder out, final int start) {
+        final String separator = getTable().getColumnSeparator();
+        final int width = getTitle().length() + (isLastColumn() || separator == null ? 0 : separator.length());
+        final int length = out.length() - start;
+        if (length < width) {
+            out.insert(start, " ".repeat(width - length));
+        }
+    }
+
     /**
      * Align a string to the right side, based on the length of the title
      * header of the column.
@@ -54,6 +54,20 @@ public class HostHistoryTableBuilder extends TableBuilderAbstract<HostStateHisto
         this.host = host;
     }
 
+    /**
+     * Instantiates a builder to stream history entries of a Host
+     * as they are given to {@link #addRow(Object)}, using the given {@link Table}.
+     *
+     * @param host the Host the history entries belong to
+     * @param table the {@link Table} used to build the table with the history data
+     * @see #startStreaming(java.io.Writer)
+     * @since CloudSim Plus 7.3.0
+     */
+    public HostHistoryTableBuilder(final Host host, final Table table) {
+        super(table);
+        this.host = host;
+    }
+
     @Override
     protected void createTableColumns() {
         TableColumn col = getTable().addColumn("Time ").setFormat("%5.0f");
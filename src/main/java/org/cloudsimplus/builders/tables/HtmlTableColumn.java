@@ -63,4 +63,11 @@ public class HtmlTableColumn extends AbstractTableColumn {
         return String.format("%s<td>%s</td>", indentLine(index), super.generateData(data));
     }
 
+    @Override
+    public void appendData(final StringBuilder out, final Object data) {
+        out.append(indentLine(getIndex())).append("<td>");
+        super.appendData(out, data);
+        out.append("</td>");
+    }
+
 }
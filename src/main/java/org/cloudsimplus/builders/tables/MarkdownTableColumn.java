@@ -52,6 +52,13 @@ public class MarkdownTableColumn extends CsvTableColumn {
         return alignStringRight(super.generateData(data));
     }
 
+    @Override
+    public void appendData(final StringBuilder out, final Object data) {
+        final int start = out.length();
+        super.appendData(out, data);
+        alignRight(out, start);
+    }
+
     @Override
     public String generateSubtitleHeader() {
         return alignStringRight(super.generateSubtitleHeader());
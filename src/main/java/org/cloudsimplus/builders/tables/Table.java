@@ -23,6 +23,7 @@
  */
 package org.cloudsimplus.builders.tables;
 
+import java.io.Writer;
 import java.util.List;
 
 /**
@@ -128,4 +129,45 @@ public interface Table {
      * Prints the table.
      */
     void print();
+
+    /**
+     * Starts streaming the table to a {@link Writer}, writing the table opening,
+     * title and column headers.
+     * After that, each row given to {@link #streamRow(List)} is written right away
+     * and is not kept in memory, until {@link #finishStreaming()} is called.
+     * Since column widths are defined by the column headers,
+     * columns must be set before streaming starts.
+     *
+     * <p>Tables that don't support streaming keep the default implementation,
+     * which ignores the writer: rows are stored as new rows and the entire table
+     * is {@link #print() printed} when streaming finishes.</p>
+     *
+     * @param writer the {@link Writer} to stream the table to
+     * @throws java.io.UncheckedIOException when the table cannot be written
+     * @since CloudSim Plus 7.3.0
+     */
+    default void startStreaming(Writer writer) {/**/}
+
+    /**
+     * Writes a row to the {@link Writer} given to {@link #startStreaming(Writer)}.
+     * @param row the data of each column for the row
+     * @throws IllegalStateException when the table streaming was not started
+     * @throws java.io.UncheckedIOException when the row cannot be written
+     * @since CloudSim Plus 7.3.0
+     * @see #startStreaming(Writer)
+     */
+    default void streamRow(final List<?> row) {
+        newRow().addAll(row);
+    }
+
+    /**
+     * Finishes streaming the table, writing the table closing and flushing the {@link Writer}
+     * given to {@link #startStreaming(Writer)}, which is not closed.
+     * @throws java.io.UncheckedIOException when the table cannot be written
+     * @since CloudSim Plus 7.3.0
+     * @see #startStreaming(Writer)
+     */
+    default void finishStreaming() {
+        print();
+    }
 }
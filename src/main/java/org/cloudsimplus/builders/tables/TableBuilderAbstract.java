@@ -23,6 +23,8 @@
  */
 package org.cloudsimplus.builders.tables;
 
+import java.io.Writer;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -50,6 +52,9 @@ public abstract class TableBuilderAbstract<T> {
 
     private Table table;
 
+    /** A row reused to stream the data of each object, or null if the table is not being streamed. */
+    private List<Object> streamRow;
+
     /**
      * Instantiates a builder to print the list of objects T using the
      * default {@link MarkdownTable}.
@@ -75,6 +80,18 @@ public abstract class TableBuilderAbstract<T> {
         createTableColumns();
     }
 
+    /**
+     * Instantiates a builder to stream objects T as they are given to {@link #addRow(Object)}
+     * using a given {@link Table}, instead of printing a list of objects.
+     *
+     * @param table the {@link Table} used to build the table with the object data
+     * @see #startStreaming(Writer)
+     * @since CloudSim Plus 7.3.0
+     */
+    public TableBuilderAbstract(final Table table){
+        this(List.of(), table);
+    }
+
     /**
      * Sets a List of objects T to be printed.
      * @param list List of objects T to set
@@ -187,6 +204,55 @@ public abstract class TableBuilderAbstract<T> {
         getTable().print();
     }
 
+    /**
+     * Starts streaming the table to a {@link Writer}, which is useful to print a large number of objects.
+     * Instead of storing all rows and printing them at the end,
+     * each object given to {@link #addRow(Object)} is written right away
+     * (for instance, directly from a listener notified when a Cloudlet finishes)
+     * and just the row being written is kept in memory.
+     * Columns must be configured before streaming starts.
+     *
+     * @param writer the {@link Writer} to stream the table to
+     * @return this TableBuilder object
+     * @see #finishStreaming()
+     * @since CloudSim Plus 7.3.0
+     */
+    public TableBuilderAbstract<T> startStreaming(final Writer writer){
+        if(getTable().getTitle().isEmpty()){
+            getTable().setTitle("SIMULATION RESULTS");
+        }
+
+        streamRow = new ArrayList<>(getTable().getColumns().size());
+        getTable().startStreaming(writer);
+        return this;
+    }
+
+    /**
+     * Writes a row with the data from a given object to the table being {@link #startStreaming(Writer) streamed}.
+     * @param object the object T to get the data to write in the row
+     * @throws IllegalStateException when the table streaming was not started
+     * @since CloudSim Plus 7.3.0
+     */
+    public void addRow(final T object){
+        if(streamRow == null) {
+            throw new IllegalStateException("Table streaming was not started.");
+        }
+
+        streamRow.clear();
+        addDataToRow(object, streamRow);
+        getTable().streamRow(streamRow);
+    }
+
+    /**
+     * Finishes streaming the table, writing its closing and flushing the {@link Writer}
+     * given to {@link #startStreaming(Writer)}, which is not closed.
+     * @since CloudSim Plus 7.3.0
+     */
+    public void finishStreaming(){
+        streamRow = null;
+        getTable().finishStreaming();
+    }
+
     /**
      * Add data to a row of the table being generated.
      * @param object The object T to get to data to show in the row of the table
@@ -23,6 +23,8 @@
  */
 package org.cloudsimplus.builders.tables;
 
+import java.util.List;
+
 /**
  * An interface that represents a column of a table generated
  * using a {@link Table}.
@@ -40,6 +42,21 @@ public interface TableColumn {
      */
     String generateData(Object data);
 
+    /**
+     * Appends the string that represents the data of the column,
+     * formatted according to the {@link #getFormat() format}, to a given buffer.
+     * It's used to stream tables, enabling implementations to format data
+     * straight into a buffer reused for all rows.
+     *
+     * @param out the buffer to append the formatted column data
+     * @param data The data of the column to be formatted
+     * @see Table#streamRow(List)
+     * @since CloudSim Plus 7.3.0
+     */
+    default void appendData(final StringBuilder out, final Object data) {
+        out.append(generateData(data));
+    }
+
     /**
      * Generates the string that represents the header of the column,
      * containing the column title.
@@ -31,6 +31,7 @@ import org.cloudbus.cloudsim.core.CloudSimTag;
 import org.cloudbus.cloudsim.core.Simulation;
 import org.cloudbus.cloudsim.core.events.SimEvent;
 import org.cloudbus.cloudsim.datacenters.Datacenter;
+import org.cloudbus.cloudsim.distributions.AliasTable;
 import org.cloudbus.cloudsim.distributions.ContinuousDistribution;
 import org.cloudbus.cloudsim.distributions.PoissonDistr;
 import org.cloudbus.cloudsim.distributions.StatisticalDistribution;
@@ -47,11 +48,14 @@ import java.util.*;
 import java.util.function.BinaryOperator;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
 
 import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toCollection;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 import static org.cloudbus.cloudsim.core.CloudSimTag.HOST_FAILURE;
+import static org.cloudbus.cloudsim.core.CloudSimTag.HOST_REPAIR;
 import static org.cloudbus.cloudsim.util.Conversion.HUNDRED_PERCENT;
 
 /**
@@ -78,6 +82,18 @@ import static org.cloudbus.cloudsim.util.Conversion.HUNDRED_PERCENT;
  * </p>
  *
  * <p>
+ * Alternatively, each Host can fail according to an independent process,
+ * with its own {@link #setHostFailureRates(ToDoubleFunction) failure rate},
+ * and groups of Hosts sharing a single point of failure (such as a rack or a DPU)
+ * can {@link #setHostGroupFailures(Function, double) fail together}.
+ * Failed PEs may also be {@link #setHostMeanTimeToRepairInHours(double) repaired}.
+ * Since these are independent Poisson processes, they are merged into a single one,
+ * whose rate is the sum of all rates. This way, just the next failure
+ * is scheduled, whatever the number of Hosts, and the Host or group it belongs to
+ * is selected in constant time using an {@link AliasTable}.
+ * </p>
+ *
+ * <p>
  * When Host's PEs fail, if there are more available PEs
  * than the required by its running VMs, no VM will be affected.
  * </p>
@@ -222,6 +238,49 @@ public class HostFaultInjection extends CloudSimEntity {
     /** @see #getMaxTimeToFailInHours() */
     private double maxTimeToFailInHours;
 
+    /** @see #setHostFailureRates(ToDoubleFunction) */
+    private ToDoubleFunction<Host> hostFailuresPerHour;
+
+    /** @see #setHostGroupFailures(Function, double) */
+    private Function<Host, ?> hostGroupFunction;
+
+    /** @see #setHostGroupFailures(Function, double) */
+    private double hostGroupFailuresPerHour;
+
+    /** @see #getHostMeanTimeToRepairInHours() */
+    private double hostMeanTimeToRepairInHours;
+
+    /** @see #getHostRepairsNumber() */
+    private int hostRepairsNumber;
+
+    /**
+     * The units that fail independently when failure processes are enabled:
+     * a list with a single Host for each Datacenter Host,
+     * followed by a list with all the Hosts of each group.
+     * It's null when the units must be (re)built.
+     */
+    private List<List<Host>> failureUnits;
+
+    /**
+     * Selects which one of the {@link #failureUnits} a failure belongs to,
+     * according to their failure rates.
+     * It's null if all rates are zero.
+     */
+    private AliasTable failureUnitsTable;
+
+    /**
+     * The number of Datacenter Hosts when the {@link #failureUnits} were built,
+     * so that they are rebuilt if Hosts are added or removed.
+     */
+    private int failureUnitsHostsNumber;
+
+    /**
+     * The PEs failed for the Hosts affected by a single failure
+     * (a Host or all Hosts in a group), to be repaired together later.
+     * @param failedPesByHost the PEs to set as working again for each Host
+     */
+    private record HostsRepair(Map<Host, List<Pe>> failedPesByHost) { }
+
     /**
      * Creates a fault injection mechanism for the Hosts of a given {@link Datacenter}.
      * The Hosts failures are randomly injected according to a {@link UniformDistr}
@@ -272,7 +331,13 @@ public class HostFaultInjection extends CloudSimEntity {
      */
     private void scheduleFaultInjection() {
         final Simulation sim = getSimulation();
-        final Predicate<SimEvent> otherEventsPredicate = evt -> evt.getTag() != HOST_FAILURE;
+        final Predicate<SimEvent> otherEventsPredicate = evt -> evt.getTag() != HOST_FAILURE && evt.getTag() != HOST_REPAIR;
+        if (isFailureProcessesEnabled()) {
+            updateFailureUnits();
+            if (failureUnitsTable == null) {
+                return;
+            }
+        }
 
         /*
         Just re-schedule more failures if there are other events to be processed.
@@ -283,7 +348,11 @@ public class HostFaultInjection extends CloudSimEntity {
         */
         if (sim.clock() < getMaxTimeToFailInSecs() || sim.isThereAnyFutureEvt(otherEventsPredicate)) {
             schedule(this, getTimeDelayForNextFault(), HOST_FAILURE);
+            return;
         }
+
+        //Pending repairs would just delay the end of the simulation
+        sim.cancelAll(this, evt -> evt.getTag() == HOST_REPAIR);
     }
 
     /**
@@ -291,17 +360,34 @@ public class HostFaultInjection extends CloudSimEntity {
      * that the next failure will be injected.
      * Since the values returned by the {@link #faultArrivalHoursGenerator}
      * are considered to be in <b>hours</b>, such values are converted to seconds.
+     * If failure processes are enabled, the delay follows an exponential distribution
+     * whose rate is the sum of the failure rates of all Hosts and groups.
      *
      * @return the next failure injection delay in seconds
      */
     private double getTimeDelayForNextFault() {
+        if (isFailureProcessesEnabled()) {
+            return randomExponentialHours(1 / failureUnitsTable.getTotalWeight()) * 3600;
+        }
+
         return faultArrivalHoursGenerator.sample() * 3600;
     }
 
+    /**
+     * Generates an exponentially distributed random time (in hours) by inverse transform sampling.
+     * @param meanHours the mean time (in hours)
+     * @return the random time (in hours)
+     */
+    private double randomExponentialHours(final double meanHours) {
+        return -Math.log(1 - random.sample()) * meanHours;
+    }
+
     @Override
     public void processEvent(final SimEvent evt) {
         if (evt.getTag() == HOST_FAILURE) {
             generateHostFaultAndScheduleNext();
+        } else if (evt.getTag() == HOST_REPAIR) {
+            repairHosts((HostsRepair) evt.getData());
         }
     }
 
@@ -319,8 +405,18 @@ public class HostFaultInjection extends CloudSimEntity {
      * @param pesFailures number of PEs that must fail
      */
     public void generateHostFault(final Host host, final int pesFailures){
+        injectHostFault(host, pesFailures);
+    }
+
+    /**
+     * Generates a fault for a given number of random PEs of a Host.
+     * @param host the Host to generate the fault to.
+     * @param pesFailures number of PEs that must fail
+     * @return the list of PEs just failed
+     */
+    private List<Pe> injectHostFault(final Host host, final int pesFailures){
         if(Host.NULL == host){
-            return;
+            return List.of();
         }
 
         this.lastFailedHost = host;
@@ -329,7 +425,8 @@ public class HostFaultInjection extends CloudSimEntity {
         registerHostFaultTime();
 
         final long previousWorkingPes = lastFailedHost.getWorkingPesNumber();
-        this.lastFailedPesNumber = generateHostPesFaults(pesFailures);
+        final List<Pe> failedPes = generateHostPesFaults(pesFailures);
+        this.lastFailedPesNumber = pesFailures;
         final long hostWorkingPes = lastFailedHost.getWorkingPesNumber();
         final long vmsRequiredPes = getWorkingVmsPesCount();
 
@@ -350,6 +447,8 @@ public class HostFaultInjection extends CloudSimEntity {
         } else {
             deallocateFailedHostPesFromVms();
         }
+
+        return failedPes;
     }
 
     private String getTime() {
@@ -362,14 +461,148 @@ public class HostFaultInjection extends CloudSimEntity {
      */
     private void generateHostFaultAndScheduleNext() {
         try {
-            final Host host = getRandomHost();
-            generateHostFault(host, randomFailedPesNumber(host));
+            if (isFailureProcessesEnabled()) {
+                generateFailureProcessesFault();
+            } else {
+                final Host host = getRandomHost();
+                generateHostFault(host, randomFailedPesNumber(host));
+            }
         } finally {
             //schedules the next failure injection try
             scheduleFaultInjection();
         }
     }
 
+    /**
+     * Generates a failure for the Host or group of Hosts
+     * selected according to their failure rates.
+     * A single Host has a random number of PEs failed,
+     * while all PEs of all Hosts in a group fail at once and are repaired together.
+     *
+     * <p>Hosts with no working PE are down and cannot fail again until repaired.
+     * Their failures are discarded, which thins the merged arrival process,
+     * without changing the failure rate of the other Hosts.</p>
+     */
+    private void generateFailureProcessesFault() {
+        final int unit = failureUnitsTable.select(random);
+        final boolean groupFailure = unit >= failureUnitsHostsNumber;
+        final List<Host> hosts = failureUnits.get(unit);
+        if (groupFailure) {
+            LOGGER.error(
+                "{}: {}: Correlated failure of the group of {} Hosts containing {}.",
+                getSimulation().clockStr(), getClass().getSimpleName(), hosts.size(), hosts.get(0));
+        }
+
+        final var failedPesByHost = new LinkedHashMap<Host, List<Pe>>();
+        for (final Host host : hosts) {
+            if (host.getWorkingPesNumber() == 0) {
+                continue;
+            }
+
+            final int pesFailures = groupFailure ? host.getWorkingPesNumber() : randomFailedPesNumber(host);
+            final List<Pe> failedPes = injectHostFault(host, pesFailures);
+            if (!failedPes.isEmpty()) {
+                failedPesByHost.put(host, failedPes);
+            }
+        }
+
+        scheduleHostsRepair(failedPesByHost);
+    }
+
+    /**
+     * Builds the {@link #failureUnits} and the table to select them,
+     * if they weren't built yet or the number of Datacenter Hosts has changed.
+     */
+    private void updateFailureUnits() {
+        final List<Host> hostList = datacenter.getHostList();
+        if (failureUnits != null && failureUnitsHostsNumber == hostList.size()) {
+            return;
+        }
+
+        final Map<Object, List<Host>> groups = new LinkedHashMap<>();
+        if (hostGroupFunction != null) {
+            for (final Host host : hostList) {
+                final Object group = hostGroupFunction.apply(host);
+                if (group != null) {
+                    groups.computeIfAbsent(group, key -> new ArrayList<>()).add(host);
+                }
+            }
+        }
+
+        final var units = new ArrayList<List<Host>>(hostList.size() + groups.size());
+        final double[] failuresPerHour = new double[hostList.size() + groups.size()];
+        double totalFailuresPerHour = 0;
+        for (final Host host : hostList) {
+            final double rate = hostFailuresPerHour == null ? 0 : hostFailuresPerHour.applyAsDouble(host);
+            if (rate < 0) {
+                throw new IllegalArgumentException("The failure rate of " + host + " cannot be negative.");
+            }
+
+            failuresPerHour[units.size()] = rate;
+            units.add(List.of(host));
+            totalFailuresPerHour += rate;
+        }
+
+        for (final List<Host> group : groups.values()) {
+            failuresPerHour[units.size()] = hostGroupFailuresPerHour;
+            units.add(group);
+            totalFailuresPerHour += hostGroupFailuresPerHour;
+        }
+
+        this.failureUnits = units;
+        this.failureUnitsHostsNumber = hostList.size();
+        this.failureUnitsTable = totalFailuresPerHour > 0 ? new AliasTable(failuresPerHour) : null;
+    }
+
+    /**
+     * Gets a random delay (in seconds) to repair a failure,
+     * following an exponential distribution with the {@link #getHostMeanTimeToRepairInHours() MTTR} as mean.
+     * @return the random delay (in seconds) or 0 if failures are not repaired
+     */
+    private double randomRepairDelayInSecs() {
+        return hostMeanTimeToRepairInHours > 0 ? randomExponentialHours(hostMeanTimeToRepairInHours) * 3600 : 0;
+    }
+
+    /**
+     * Schedules a single event to repair the PEs failed for the Hosts affected by a failure,
+     * if failures are repaired. This way, all Hosts in a group that failed together are repaired at the same time.
+     * @param failedPesByHost the PEs to repair for each Host
+     */
+    private void scheduleHostsRepair(final Map<Host, List<Pe>> failedPesByHost) {
+        if (hostMeanTimeToRepairInHours > 0 && !failedPesByHost.isEmpty()) {
+            schedule(this, randomRepairDelayInSecs(), HOST_REPAIR, new HostsRepair(failedPesByHost));
+        }
+    }
+
+    /**
+     * Sets the PEs failed for some Hosts as working again.
+     * The PEs of a Host that was entirely set as failed are not repaired.
+     *
+     * <p>Repaired PEs are not given back to the VMs that lost them:
+     * VMs that kept running with fewer PEs keep that number of PEs
+     * and VMs destroyed due to the failure are not recreated
+     * (they are just recovered if a {@link VmCloner} is set).
+     * Repaired PEs are just available to place new VMs.</p>
+     *
+     * @param repair the Hosts and PEs to repair
+     */
+    private void repairHosts(final HostsRepair repair) {
+        repair.failedPesByHost().forEach(this::repairHost);
+    }
+
+    private void repairHost(final Host host, final List<Pe> pes) {
+        if (host.isFailed()) {
+            return;
+        }
+
+        final var failedPes = pes.stream().filter(Pe::isFailed).collect(toList());
+        ((HostSimple) host).setPeStatus(failedPes, Pe.Status.FREE);
+        hostRepairsNumber++;
+        LOGGER.info(
+            "{}: {}: {} failed PEs repaired in {}. Current Working PEs: {}",
+            getSimulation().clockStr(), getClass().getSimpleName(), failedPes.size(), host, host.getWorkingPesNumber());
+    }
+
     /**
      * Register the time for a Host failure.
      */
@@ -449,7 +682,7 @@ public class HostFaultInjection extends CloudSimEntity {
      */
     private void cyclicallyRemoveFailedHostPesFromVms() {
         int failedPesToRemoveFromVms = failedPesToRemoveFromVms();
-        List<Vm> vmsWithPes = getVmsWithPEsFromFailedHost();
+        final List<Vm> vmsWithPes = getVmsWithPEsFromFailedHost();
         final int affectedVms = Math.min(vmsWithPes.size(), failedPesToRemoveFromVms);
 
         LOGGER.warn("{} VMs affected from a total of {}. {} PEs are going to be removed from them.",
@@ -467,8 +700,13 @@ public class HostFaultInjection extends CloudSimEntity {
             LOGGER.warn(
                     "Removing 1 PE from VM {} due to Host PE failure. New VM PEs Number: {}",
                     vm.getId(), vm.getNumberOfPes());
+
+            /* Just the visited VM may have been left without PEs,
+             * so it's removed instead of filtering all VMs again. */
+            if (vm.getNumberOfPes() == 0) {
+                vmsWithPes.remove(idx);
+            }
             idx++;
-            vmsWithPes = getVmsWithPEsFromFailedHost();
         }
     }
 
@@ -491,7 +729,7 @@ public class HostFaultInjection extends CloudSimEntity {
                 .getVmList()
                 .stream()
                 .filter(vm -> vm.getNumberOfPes() > 0)
-                .collect(toList());
+                .collect(toCollection(ArrayList::new));
     }
 
     /**
@@ -818,19 +1056,18 @@ public class HostFaultInjection extends CloudSimEntity {
      * Generates failures for a given number of PEs from the
      * {@link #getLastFailedHost() last failed Host}.
      * The minimum number of PEs to fail is 1.
+     * The PEs are got from the Host's index of working PEs,
+     * so that the time doesn't depend on the number of Host PEs.
      *
      * @param pesFailures number of PEs to set as failed
-     * @return the number of PEs just failed for the Host, which is equals to the input number
+     * @return the list of PEs just failed for the Host
      */
-    private int generateHostPesFaults(final int pesFailures) {
-        final var peList = lastFailedHost.getWorkingPeList()
-            .stream()
-            .limit(pesFailures)
-            .collect(toList());
+    private List<Pe> generateHostPesFaults(final int pesFailures) {
+        final var host = (HostSimple) lastFailedHost;
+        final var peList = host.getWorkingPeList(pesFailures);
+        host.setPeStatus(peList, Pe.Status.FAILED);
 
-        ((HostSimple)lastFailedHost).setPeStatus(peList, Pe.Status.FAILED);
-
-        return pesFailures;
+        return peList;
     }
 
     /**
@@ -937,4 +1174,98 @@ public class HostFaultInjection extends CloudSimEntity {
     public void setMaxTimeToFailInHours(final double maxTimeToFailInHours) {
         this.maxTimeToFailInHours = maxTimeToFailInHours;
     }
+
+    /**
+     * Checks if Hosts fail according to independent
+     * {@link #setHostFailureRates(ToDoubleFunction) per-Host} or
+     * {@link #setHostGroupFailures(Function, double) per-group} failure processes,
+     * instead of the generator given to the constructor.
+     * @return
+     */
+    public boolean isFailureProcessesEnabled() {
+        return hostFailuresPerHour != null || hostGroupFunction != null;
+    }
+
+    /**
+     * Sets a Function to get the failure rate of each Host,
+     * so that Hosts fail according to independent Poisson processes
+     * (with exponentially distributed times between failures),
+     * instead of the generator given to the constructor.
+     * A failure sets a random number of working PEs as failed.
+     *
+     * @param hostFailuresPerHour a Function that gets the mean number of failures per hour
+     *                            for a given Host, that is 1 / MTBF (in hours).
+     *                            Hosts with a zero rate never fail by themselves.
+     * @return
+     * @see #setHostGroupFailures(Function, double)
+     * @see #setHostMeanTimeToRepairInHours(double)
+     */
+    public HostFaultInjection setHostFailureRates(final ToDoubleFunction<Host> hostFailuresPerHour) {
+        this.hostFailuresPerHour = requireNonNull(hostFailuresPerHour);
+        this.failureUnits = null;
+        return this;
+    }
+
+    /**
+     * Sets groups of Hosts sharing a single point of failure (such as a rack, its switch or a DPU),
+     * where each group fails according to an independent Poisson process,
+     * setting all PEs of all its Hosts as failed at once.
+     * Such failures happen in addition to the ones from
+     * {@link #setHostFailureRates(ToDoubleFunction) individual Hosts}.
+     *
+     * @param hostGroupFunction a Function that gets the group a Host belongs to
+     *                          (Hosts belonging to a null group don't have correlated failures)
+     * @param groupFailuresPerHour the mean number of failures per hour for each group
+     * @return
+     */
+    public HostFaultInjection setHostGroupFailures(final Function<Host, ?> hostGroupFunction, final double groupFailuresPerHour) {
+        if (groupFailuresPerHour < 0) {
+            throw new IllegalArgumentException("The group failure rate cannot be negative.");
+        }
+
+        this.hostGroupFunction = requireNonNull(hostGroupFunction);
+        this.hostGroupFailuresPerHour = groupFailuresPerHour;
+        this.failureUnits = null;
+        return this;
+    }
+
+    /**
+     * Gets the Mean Time To Repair (MTTR) failed Host PEs (in hours),
+     * when failure processes are enabled.
+     * @return the MTTR (in hours) or 0 if failed PEs are never repaired (default)
+     * @see #isFailureProcessesEnabled()
+     */
+    public double getHostMeanTimeToRepairInHours() {
+        return hostMeanTimeToRepairInHours;
+    }
+
+    /**
+     * Sets the Mean Time To Repair (MTTR) failed Host PEs (in hours),
+     * when failure processes are enabled.
+     * The time to repair each failure follows an exponential distribution
+     * and the PEs of a group of Hosts that failed together are repaired together.
+     * Repaired PEs are not given back to the VMs affected by the failure,
+     * but are available to place new VMs.
+     *
+     * @param hostMeanTimeToRepairInHours the MTTR to set (in hours) or 0 to never repair failed PEs
+     * @return
+     * @see #isFailureProcessesEnabled()
+     */
+    public HostFaultInjection setHostMeanTimeToRepairInHours(final double hostMeanTimeToRepairInHours) {
+        if (hostMeanTimeToRepairInHours < 0) {
+            throw new IllegalArgumentException("The mean time to repair cannot be negative.");
+        }
+
+        this.hostMeanTimeToRepairInHours = hostMeanTimeToRepairInHours;
+        return this;
+    }
+
+    /**
+     * Gets the number of Host failures repaired so far.
+     * @return
+     * @see #setHostMeanTimeToRepairInHours(double)
+     */
+    public int getHostRepairsNumber() {
+        return hostRepairsNumber;
+    }
 }
@@ -0,0 +1,71 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.heuristics;
+
+import org.cloudbus.cloudsim.distributions.ContinuousDistribution;
+
+/**
+ * A mutable state of a problem searched by the annealing chains of a {@link SimulatedAnnealingAbstract}
+ * heuristic, which changes by random neighbor moves whose cost change is computed
+ * before deciding whether to apply them. This way, neighbor solutions are neither
+ * cloned nor have their entire cost recomputed.
+ *
+ * @param <T> the class of the state
+ * @see SimulatedAnnealingAbstract#anneal(java.util.function.BiFunction)
+ * @since CloudSim Plus 7.3.0
+ */
+public interface AnnealingState<T extends AnnealingState<T>> {
+    /**
+     * Selects a random neighbor move and computes how it changes the cost of the state,
+     * without applying it.
+     * @param random the random number generator to select the move
+     * @return the cost change (negative if the cost is reduced)
+     *         or {@link Double#NaN} if the selected move is not feasible
+     * @see #apply()
+     */
+    double delta(ContinuousDistribution random);
+
+    /**
+     * Applies the move last selected by {@link #delta(ContinuousDistribution)}, which must be feasible.
+     */
+    void apply();
+
+    /**
+     * Copies another state of the same problem into this one, reusing the memory of this state.
+     * @param source the state to copy
+     */
+    void copyFrom(T source);
+
+    /**
+     * Creates a copy of this state.
+     * @return
+     */
+    T copy();
+
+    /**
+     * Gets the cost of the state, which is kept up-to-date as moves are applied.
+     * @return
+     */
+    double getCost();
+}
@@ -27,13 +27,24 @@ import org.cloudbus.cloudsim.cloudlets.Cloudlet;
 import org.cloudbus.cloudsim.distributions.ContinuousDistribution;
 import org.cloudbus.cloudsim.vms.Vm;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * A heuristic that uses <a href="http://en.wikipedia.org/wiki/Simulated_annealing">Simulated Annealing</a>
  * to find a sub-optimal mapping among a set of Cloudlets and VMs in order to reduce
  * the number of idle or overloaded Vm Pe's.
  *
+ * <p>The search is performed over a {@link CloudletToVmMappingState mapping stored in primitive arrays},
+ * where each neighbor solution is obtained either by moving a random Cloudlet to a random VM
+ * or by swapping the VMs of two random Cloudlets.
+ * The cost change of such moves is computed in constant time,
+ * so that neighbor solutions are neither cloned nor have their entire cost recomputed.
+ * Multiple independent annealing chains, starting from different solutions,
+ * can be run in parallel by {@link #setChainsNumber(int) setting the number of chains},
+ * returning the best solution among them.</p>
+ *
  * @author Manoel Campos da Silva Filho
  * @since CloudSim Plus 1.0
  */
@@ -63,6 +74,86 @@ public class CloudletToVmMappingSimulatedAnnealing
         initialSolution = new CloudletToVmMappingSolution(this);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The first chain starts from the {@link #getInitialSolution() initial solution},
+     * while any other chain starts from a random solution.</p>
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public CloudletToVmMappingSolution solve() {
+        final long startTime = System.currentTimeMillis();
+        final var initial = getInitialSolution();
+        if (initial.getResult().isEmpty()) {
+            setBestSolutionSoFar(initial);
+            setSolveTime((System.currentTimeMillis() - startTime)/1000.0);
+            return initial;
+        }
+
+        final long[] cloudletPes = cloudletList.stream().mapToLong(Cloudlet::getNumberOfPes).toArray();
+        final long[] vmPes = vmList.stream().mapToLong(Vm::getNumberOfPes).toArray();
+        final int[] initialVms = getVmIndexes(initial);
+        final var best = anneal((chain, random) -> {
+            final int[] cloudletVm = chain == 0 ? initialVms : randomVmIndexes(random);
+            return new CloudletToVmMappingState(cloudletPes, vmPes, cloudletVm);
+        });
+
+        final var solution = new CloudletToVmMappingSolution(this);
+        for (int i = 0; i < best.getCloudletsNumber(); i++) {
+            solution.bindCloudletToVm(cloudletList.get(i), vmList.get(best.getVm(i)));
+        }
+
+        setBestSolutionSoFar(solution);
+        setNeighborSolution(solution);
+        setSolveTime((System.currentTimeMillis() - startTime)/1000.0);
+        return solution;
+    }
+
+    /**
+     * Gets the index of the VM each Cloudlet is mapped to in a given solution.
+     * Cloudlets the solution doesn't map to any VM in the {@link #getVmList() VM list}
+     * are mapped to a random VM.
+     * @param solution the solution to get the VM indexes from
+     * @return an array with the index of the VM for each Cloudlet in the {@link #getCloudletList() Cloudlet list}
+     */
+    private int[] getVmIndexes(final CloudletToVmMappingSolution solution) {
+        final Map<Vm, Integer> vmIndexes = new HashMap<>(vmList.size());
+        for (int i = 0; i < vmList.size(); i++) {
+            vmIndexes.put(vmList.get(i), i);
+        }
+
+        final var result = solution.getResult();
+        final int[] cloudletVm = new int[cloudletList.size()];
+        for (int i = 0; i < cloudletVm.length; i++) {
+            final Integer vm = vmIndexes.get(result.get(cloudletList.get(i)));
+            cloudletVm[i] = vm == null ? getRandomValue(vmList.size()) : vm;
+        }
+
+        return cloudletVm;
+    }
+
+    private int[] randomVmIndexes(final ContinuousDistribution random) {
+        final int[] cloudletVm = new int[cloudletList.size()];
+        for (int i = 0; i < cloudletVm.length; i++) {
+            cloudletVm[i] = getRandomValue(random, vmList.size());
+        }
+
+        return cloudletVm;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @param chainsNumber {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public CloudletToVmMappingSimulatedAnnealing setChainsNumber(final int chainsNumber) {
+        super.setChainsNumber(chainsNumber);
+        return this;
+    }
+
     private CloudletToVmMappingSolution generateRandomSolution() {
         final var solution = new CloudletToVmMappingSolution(this);
         cloudletList.forEach(cloudlet -> solution.bindCloudletToVm(cloudlet, getRandomVm()));
@@ -99,7 +99,6 @@ public class CloudletToVmMappingSolution implements HeuristicSolution<Map<Cloudl
         this(requireNonNull(solution).heuristic, new HashMap<>(solution.cloudletVmMap));
         this.recomputeCost = solution.recomputeCost;
         this.lastCost = solution.lastCost;
-        this.cloudletVmMap.putAll(solution.cloudletVmMap);
     }
 
     /**
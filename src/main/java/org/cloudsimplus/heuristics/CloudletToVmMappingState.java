@@ -0,0 +1,254 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.heuristics;
+
+import org.cloudbus.cloudsim.distributions.ContinuousDistribution;
+
+import static org.cloudsimplus.heuristics.HeuristicAbstract.getRandomValue;
+
+/**
+ * A mutable mapping of Cloudlets to VMs stored in primitive arrays,
+ * where Cloudlets and VMs are identified by their indexes in the lists given to a
+ * {@link CloudletToVmMappingSimulatedAnnealing}.
+ * It keeps the number of PEs requested from each VM, so that the cost change of
+ * moving a Cloudlet to another VM or swapping the VMs of two Cloudlets is computed
+ * and applied in constant time, without cloning the mapping.
+ * Each neighbor move either moves a random Cloudlet to a random VM
+ * or swaps the VMs of two random Cloudlets.
+ *
+ * <p>The cost is the same computed by {@link CloudletToVmMappingSolution#getCost()}:
+ * the sum, for each VM running some Cloudlet, of the absolute difference
+ * between the number of VM PEs and the number of PEs required by its Cloudlets.</p>
+ *
+ * @since CloudSim Plus 7.3.0
+ */
+final class CloudletToVmMappingState implements AnnealingState<CloudletToVmMappingState> {
+    /**
+     * The probability of a neighbor move to move a Cloudlet to another VM,
+     * instead of swapping the VMs of two Cloudlets.
+     */
+    private static final double REASSIGN_PROBABILITY = 0.5;
+
+    /** The number of PEs required by each Cloudlet. */
+    private final long[] cloudletPes;
+
+    /** The number of PEs of each VM. */
+    private final long[] vmPes;
+
+    /** The index of the VM each Cloudlet is mapped to. */
+    private final int[] cloudletVm;
+
+    /** The number of PEs required by the Cloudlets mapped to each VM. */
+    private final long[] vmRequestedPes;
+
+    /** The number of Cloudlets mapped to each VM. */
+    private final int[] vmCloudlets;
+
+    /** @see #getCost() */
+    private long cost;
+
+    /** The index of the Cloudlet of the move last selected by {@link #delta(ContinuousDistribution)}. */
+    private int moveCloudlet;
+
+    /** The index of the VM (for a reassign) or of the other Cloudlet (for a swap) of the last selected move. */
+    private int moveTarget;
+
+    /** Indicates if the last selected move is a reassign or a swap. */
+    private boolean reassignMove;
+
+    /**
+     * Creates a mapping state.
+     * @param cloudletPes the number of PEs required by each Cloudlet (which isn't copied)
+     * @param vmPes the number of PEs of each VM (which isn't copied)
+     * @param cloudletVm the index of the VM each Cloudlet is mapped to (which is copied)
+     */
+    CloudletToVmMappingState(final long[] cloudletPes, final long[] vmPes, final int[] cloudletVm) {
+        if (cloudletPes.length != cloudletVm.length) {
+            throw new IllegalArgumentException("Each Cloudlet must be mapped to a VM.");
+        }
+
+        this.cloudletPes = cloudletPes;
+        this.vmPes = vmPes;
+        this.cloudletVm = cloudletVm.clone();
+        this.vmRequestedPes = new long[vmPes.length];
+        this.vmCloudlets = new int[vmPes.length];
+        for (int cloudlet = 0; cloudlet < cloudletVm.length; cloudlet++) {
+            vmRequestedPes[cloudletVm[cloudlet]] += cloudletPes[cloudlet];
+            vmCloudlets[cloudletVm[cloudlet]]++;
+        }
+
+        for (int vm = 0; vm < vmPes.length; vm++) {
+            cost += vmCost(vm, vmRequestedPes[vm], vmCloudlets[vm]);
+        }
+    }
+
+    /**
+     * Clones a given state.
+     * @param source the state to clone
+     */
+    CloudletToVmMappingState(final CloudletToVmMappingState source) {
+        this.cloudletPes = source.cloudletPes;
+        this.vmPes = source.vmPes;
+        this.cloudletVm = source.cloudletVm.clone();
+        this.vmRequestedPes = source.vmRequestedPes.clone();
+        this.vmCloudlets = source.vmCloudlets.clone();
+        this.cost = source.cost;
+    }
+
+    /**
+     * Copies the mapping from another state of the same Cloudlets and VMs,
+     * reusing the arrays of this state.
+     * @param source the state to copy
+     */
+    @Override
+    public void copyFrom(final CloudletToVmMappingState source) {
+        System.arraycopy(source.cloudletVm, 0, cloudletVm, 0, cloudletVm.length);
+        System.arraycopy(source.vmRequestedPes, 0, vmRequestedPes, 0, vmRequestedPes.length);
+        System.arraycopy(source.vmCloudlets, 0, vmCloudlets, 0, vmCloudlets.length);
+        this.cost = source.cost;
+    }
+
+    @Override
+    public CloudletToVmMappingState copy() {
+        return new CloudletToVmMappingState(this);
+    }
+
+    @Override
+    public double delta(final ContinuousDistribution random) {
+        final int vms = getVmsNumber();
+        moveCloudlet = getRandomValue(random, getCloudletsNumber());
+        reassignMove = vms > 1 && random.sample() < REASSIGN_PROBABILITY;
+        moveTarget = reassignMove ? getRandomValue(random, vms) : getRandomValue(random, getCloudletsNumber());
+        return reassignMove ? reassignDelta(moveCloudlet, moveTarget) : swapDelta(moveCloudlet, moveTarget);
+    }
+
+    @Override
+    public void apply() {
+        if (reassignMove) {
+            reassign(moveCloudlet, moveTarget);
+        } else {
+            swap(moveCloudlet, moveTarget);
+        }
+    }
+
+    private long vmCost(final int vm, final long requestedPes, final int cloudlets) {
+        return cloudlets == 0 ? 0 : Math.abs(vmPes[vm] - requestedPes);
+    }
+
+    /**
+     * Computes how the cost changes if a Cloudlet is moved to another VM.
+     * @param cloudlet the index of the Cloudlet to move
+     * @param vm the index of the VM to move the Cloudlet to
+     * @return the cost change (negative if the cost is reduced)
+     */
+    long reassignDelta(final int cloudlet, final int vm) {
+        final int source = cloudletVm[cloudlet];
+        if (source == vm) {
+            return 0;
+        }
+
+        final long pes = cloudletPes[cloudlet];
+        return vmCost(source, vmRequestedPes[source] - pes, vmCloudlets[source] - 1)
+               - vmCost(source, vmRequestedPes[source], vmCloudlets[source])
+               + vmCost(vm, vmRequestedPes[vm] + pes, vmCloudlets[vm] + 1)
+               - vmCost(vm, vmRequestedPes[vm], vmCloudlets[vm]);
+    }
+
+    /**
+     * Moves a Cloudlet to another VM.
+     * @param cloudlet the index of the Cloudlet to move
+     * @param vm the index of the VM to move the Cloudlet to
+     */
+    void reassign(final int cloudlet, final int vm) {
+        cost += reassignDelta(cloudlet, vm);
+        final int source = cloudletVm[cloudlet];
+        vmRequestedPes[source] -= cloudletPes[cloudlet];
+        vmCloudlets[source]--;
+        vmRequestedPes[vm] += cloudletPes[cloudlet];
+        vmCloudlets[vm]++;
+        cloudletVm[cloudlet] = vm;
+    }
+
+    /**
+     * Computes how the cost changes if the VMs of two Cloudlets are swapped.
+     * @param cloudlet1 the index of the first Cloudlet
+     * @param cloudlet2 the index of the second Cloudlet
+     * @return the cost change (negative if the cost is reduced)
+     */
+    long swapDelta(final int cloudlet1, final int cloudlet2) {
+        final int vm1 = cloudletVm[cloudlet1];
+        final int vm2 = cloudletVm[cloudlet2];
+        final long diff = cloudletPes[cloudlet2] - cloudletPes[cloudlet1];
+        if (vm1 == vm2 || diff == 0) {
+            return 0;
+        }
+
+        return vmCost(vm1, vmRequestedPes[vm1] + diff, vmCloudlets[vm1])
+               - vmCost(vm1, vmRequestedPes[vm1], vmCloudlets[vm1])
+               + vmCost(vm2, vmRequestedPes[vm2] - diff, vmCloudlets[vm2])
+               - vmCost(vm2, vmRequestedPes[vm2], vmCloudlets[vm2]);
+    }
+
+    /**
+     * Swaps the VMs of two Cloudlets.
+     * @param cloudlet1 the index of the first Cloudlet
+     * @param cloudlet2 the index of the second Cloudlet
+     */
+    void swap(final int cloudlet1, final int cloudlet2) {
+        cost += swapDelta(cloudlet1, cloudlet2);
+        final int vm1 = cloudletVm[cloudlet1];
+        final int vm2 = cloudletVm[cloudlet2];
+        final long diff = cloudletPes[cloudlet2] - cloudletPes[cloudlet1];
+        vmRequestedPes[vm1] += diff;
+        vmRequestedPes[vm2] -= diff;
+        cloudletVm[cloudlet1] = vm2;
+        cloudletVm[cloudlet2] = vm1;
+    }
+
+    /**
+     * Gets the index of the VM a Cloudlet is mapped to.
+     * @param cloudlet the index of the Cloudlet
+     * @return
+     */
+    int getVm(final int cloudlet) {
+        return cloudletVm[cloudlet];
+    }
+
+    int getCloudletsNumber() {
+        return cloudletVm.length;
+    }
+
+    int getVmsNumber() {
+        return vmPes.length;
+    }
+
+    /**
+     * Gets the cost of the mapping, which is kept up-to-date as Cloudlets are moved.
+     * @return
+     */
+    @Override
+    public double getCost() {
+        return cost;
+    }
+}
@@ -109,7 +109,18 @@ public abstract class HeuristicAbstract<S extends HeuristicSolution<?>>  impleme
 
 	@Override
 	public int getRandomValue(final int maxValue){
-		final double uniform = getRandom().sample();
+		return getRandomValue(getRandom(), maxValue);
+	}
+
+	/**
+	 * Gets a random number between 0 (inclusive) and maxValue (exclusive)
+	 * from a given random number generator, as {@link #getRandomValue(int)} does.
+	 * @param random the random number generator
+	 * @param maxValue the maximum value (exclusive)
+	 * @return
+	 */
+	protected static int getRandomValue(final ContinuousDistribution random, final int maxValue){
+		final double uniform = random.sample();
 
         /* Always get an index between [0 and size[,
         regardless if the random number generator returns
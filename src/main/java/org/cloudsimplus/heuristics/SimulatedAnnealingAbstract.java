@@ -24,6 +24,11 @@
 package org.cloudsimplus.heuristics;
 
 import org.cloudbus.cloudsim.distributions.ContinuousDistribution;
+import org.cloudbus.cloudsim.distributions.UniformDistr;
+
+import java.util.Comparator;
+import java.util.function.BiFunction;
+import java.util.stream.IntStream;
 
 /**
  * An abstract class for implementation of
@@ -73,6 +78,9 @@ public abstract class SimulatedAnnealingAbstract<S extends HeuristicSolution<?>>
     /** @see #getCoolingRate() */
     private double coolingRate;
 
+    /** @see #getChainsNumber() */
+    private int chainsNumber;
+
 	/**
      * Instantiates a simulated annealing heuristic.
      *
@@ -81,6 +89,7 @@ public abstract class SimulatedAnnealingAbstract<S extends HeuristicSolution<?>>
      */
     SimulatedAnnealingAbstract(final ContinuousDistribution random, final Class<S> solutionClass){
         super(random, solutionClass);
+        this.chainsNumber = 1;
     }
 
 	/**
@@ -100,9 +109,19 @@ public abstract class SimulatedAnnealingAbstract<S extends HeuristicSolution<?>>
      */
     @Override
     public double getAcceptanceProbability() {
+        return acceptanceProbability(getNeighborSolution().getCost() - getBestSolutionSoFar().getCost(), currentTemperature);
+    }
+
+    /**
+     * Computes the probability of accepting a move according to the Boltzmann distribution.
+     * @param delta how the move changes the cost
+     * @param temperature the system temperature
+     * @return the acceptance probability, which is greater than or equal to 1 if the cost isn't increased
+     * @see #getAcceptanceProbability()
+     */
+    private static double acceptanceProbability(final double delta, final double temperature) {
         final double boltzmannConstant = 1.0;
-        return Math.exp((getBestSolutionSoFar().getCost() - getNeighborSolution().getCost())
-               / (boltzmannConstant * currentTemperature));
+        return Math.exp(-delta / (boltzmannConstant * temperature));
     }
 
     /**
@@ -124,12 +143,103 @@ public abstract class SimulatedAnnealingAbstract<S extends HeuristicSolution<?>>
      */
     @Override
     public void updateSystemState() {
-	    currentTemperature *= 1 - coolingRate;
+	    currentTemperature = cool(currentTemperature);
 	    LOGGER.debug(
 	        "{}: Best solution cost so far is {}, current system temperature is {}",
             System.currentTimeMillis(), getBestSolutionSoFar().getCost(), getCurrentTemperature());
     }
 
+    /**
+     * Cools a given temperature at the {@link #getCoolingRate() cooling rate}.
+     * @param temperature the temperature to cool
+     * @return the new temperature
+     */
+    private double cool(final double temperature) {
+        return temperature * (1 - coolingRate);
+    }
+
+    /**
+     * Runs {@link #getChainsNumber() independent annealing chains},
+     * in parallel if there are more than one, and gets the state with the lowest cost among them.
+     * Each chain cools the system from the {@link #getCurrentTemperature() current temperature}
+     * until it's {@link #getColdTemperature() cold}, making {@link #getSearchesByIteration()}
+     * neighbor moves at each temperature.
+     * Moves reducing the cost are always accepted,
+     * while the other ones are accepted according to the Boltzmann distribution,
+     * as in {@link #getAcceptanceProbability()}.
+     * At the end, the system is as cold as the chains left it,
+     * so that, as for {@link #solve()}, the search doesn't continue if it's performed again.
+     *
+     * <p>The first chain uses the random number generator given to the constructor.
+     * Any other chain uses its own {@link UniformDistr}, seeded from the seed of that generator,
+     * so that results don't depend on thread scheduling.</p>
+     *
+     * @param initialStateFunction a {@link BiFunction} that creates the state a chain starts from,
+     *                             receiving the chain index and the random number generator of the chain
+     * @param <T> the class of the states
+     * @return the state with the lowest cost found
+     */
+    protected final <T extends AnnealingState<T>> T anneal(
+        final BiFunction<Integer, ContinuousDistribution, T> initialStateFunction)
+    {
+        final double initialTemperature = currentTemperature;
+        final var chains = chainsNumber > 1 ? IntStream.range(0, chainsNumber).parallel() : IntStream.range(0, chainsNumber);
+        final T best = chains
+            .mapToObj(chain -> {
+                final ContinuousDistribution random = chain == 0 ? getRandom() : new UniformDistr(getRandom().getSeed() + chain);
+                return anneal(initialStateFunction.apply(chain, random), random, initialTemperature);
+            })
+            .min(Comparator.comparingDouble(AnnealingState::getCost))
+            .orElseThrow();
+
+        while (!isToStopSearch()) {
+            currentTemperature = cool(currentTemperature);
+        }
+
+        return best;
+    }
+
+    /**
+     * Runs an annealing chain.
+     *
+     * @param current the state to start from, which is changed by the accepted moves
+     * @param random the random number generator for the chain
+     * @param initialTemperature the temperature to start from
+     * @param <T> the class of the state
+     * @return the state with the lowest cost found
+     * @see #anneal(BiFunction)
+     */
+    private <T extends AnnealingState<T>> T anneal(final T current, final ContinuousDistribution random, final double initialTemperature) {
+        /* The best state is just copied when a move is about to leave it,
+         * instead of every time a better state is found. */
+        final T best = current.copy();
+        boolean currentIsBest = true;
+
+        double temperature = initialTemperature;
+        while (temperature > coldTemperature) {
+            for (int i = 0; i < getSearchesByIteration(); i++) {
+                final double delta = current.delta(random);
+                if (Double.isNaN(delta) || delta > 0 && random.sample() >= acceptanceProbability(delta, temperature)) {
+                    continue;
+                }
+
+                if (currentIsBest && delta > 0) {
+                    best.copyFrom(current);
+                    currentIsBest = false;
+                }
+
+                current.apply();
+                currentIsBest |= current.getCost() < best.getCost();
+            }
+
+            temperature = cool(temperature);
+        }
+
+        final T result = currentIsBest ? current : best;
+        LOGGER.debug("{}: Annealing chain finished with a solution cost of {}", System.currentTimeMillis(), result.getCost());
+        return result;
+    }
+
     /**
      * Gets the current system temperature that
      * represents the system state at the time
@@ -164,6 +274,32 @@ public abstract class SimulatedAnnealingAbstract<S extends HeuristicSolution<?>>
         this.coolingRate = coolingRate;
     }
 
+    /**
+     * Gets the number of independent annealing chains to run in parallel
+     * to find a solution, returning the best one among them (default is 1).
+     * @return
+     * @see #anneal(BiFunction)
+     */
+    public int getChainsNumber() {
+        return chainsNumber;
+    }
+
+    /**
+     * Sets the number of independent annealing chains to run in parallel
+     * to find a solution, returning the best one among them.
+     * @param chainsNumber the number of chains to set
+     * @return
+     * @see #anneal(BiFunction)
+     */
+    public SimulatedAnnealingAbstract<S> setChainsNumber(final int chainsNumber) {
+        if (chainsNumber <= 0) {
+            throw new IllegalArgumentException("The number of chains must be greater than 0.");
+        }
+
+        this.chainsNumber = chainsNumber;
+        return this;
+    }
+
     /**
      * @return the temperature that defines the system is cold enough
      * and solution search may be stopped.
@@ -0,0 +1,352 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.heuristics;
+
+import org.cloudbus.cloudsim.distributions.ContinuousDistribution;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.provisioners.ResourceProvisioner;
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.vms.Vm;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static java.util.Objects.requireNonNull;
+import static org.cloudsimplus.heuristics.VmToHostMappingState.UNPLACED;
+
+/**
+ * A heuristic that uses <a href="http://en.wikipedia.org/wiki/Simulated_annealing">Simulated Annealing</a>
+ * to find an offline sub-optimal placement for a batch of VMs into a set of Hosts,
+ * including the DPU each VM uses from the pool its Host shares with
+ * the other Hosts in the same rack (its {@link Host#getRelatedHost() related Hosts}).
+ * It aims to place as many VMs as possible into the fewest and fullest Hosts,
+ * so that it gives a reference placement to measure how far online
+ * {@link org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicy VM allocation policies}
+ * are from it and the achievable packing density.
+ *
+ * <p>The placement is searched over a snapshot of the resources available
+ * in Hosts and DPUs when {@link #solve()} is called,
+ * considering the PEs (and their MIPS capacity), RAM and storage of Hosts and the bandwidth of DPUs.
+ * DPUs are identified by their {@link ResourceProvisioner} objects, so that a provisioner shared
+ * by multiple Hosts is a single DPU whose bandwidth is used by the VMs of all those Hosts.
+ * The heuristic doesn't change Hosts or VMs: the solution can be used, for instance,
+ * to compare with the placement made by a policy or to set the
+ * {@link Vm#setNicId(int) NIC} and the Host of each VM.</p>
+ *
+ * <p>The search starts from a first-fit placement and each neighbor solution is obtained either by moving a
+ * random VM to a random Host and DPU or by swapping the placements of two random VMs.
+ * The resources used from each Host and DPU are stored in {@link VmToHostMappingState primitive arrays},
+ * so that the feasibility and cost change of such moves are computed in constant time.
+ * Multiple independent annealing chains can be run in parallel by
+ * {@link #setChainsNumber(int) setting the number of chains}, returning the best solution among them.</p>
+ *
+ * @see VmToHostMappingSolution
+ * @since CloudSim Plus 7.3.0
+ */
+public class VmToHostMappingSimulatedAnnealing extends SimulatedAnnealingAbstract<VmToHostMappingSolution> {
+    /** @see #getHostList() */
+    private List<Host> hostList;
+
+    /** @see #getVmList() */
+    private List<Vm> vmList;
+
+    /**
+     * The snapshot of the resources of Hosts, DPUs and VMs taken when the placement was last searched,
+     * or null if it wasn't taken yet or the Hosts or VMs changed.
+     */
+    private VmToHostMappingState.Snapshot snapshot;
+
+    /**
+     * Creates a new Simulated Annealing Heuristic for placing VMs into Hosts.
+     *
+     * @param initialTemperature the system initial temperature
+     * @param random a random number generator
+     * @see #setColdTemperature(double)
+     * @see #setCoolingRate(double)
+     */
+    public VmToHostMappingSimulatedAnnealing(final double initialTemperature, final ContinuousDistribution random) {
+        super(random, VmToHostMappingSolution.class);
+        setCurrentTemperature(initialTemperature);
+        this.hostList = List.of();
+        this.vmList = List.of();
+    }
+
+    /**
+     * {@inheritDoc}
+     * It's the placement of VMs in the order of the {@link #getVmList() VM list},
+     * each one into the first Host and DPU with enough resources.
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public VmToHostMappingSolution getInitialSolution() {
+        this.snapshot = newSnapshot();
+        return toSolution(firstFit(new VmToHostMappingState(snapshot), IntStream.range(0, snapshot.vmsNumber()).toArray()));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The first chain starts from the {@link #getInitialSolution() initial solution},
+     * while any other chain starts from a first-fit placement of VMs in a random order.</p>
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public VmToHostMappingSolution solve() {
+        final long startTime = System.currentTimeMillis();
+        final var snapshot = newSnapshot();
+        this.snapshot = snapshot;
+        final var best = anneal((chain, random) -> {
+            final int[] vmOrder = IntStream.range(0, snapshot.vmsNumber()).toArray();
+            if (chain > 0) {
+                shuffle(vmOrder, random);
+            }
+
+            return firstFit(new VmToHostMappingState(snapshot), vmOrder);
+        });
+
+        best.recomputeCost();
+        final var solution = toSolution(best);
+        setBestSolutionSoFar(solution);
+        setNeighborSolution(solution);
+        setSolveTime((System.currentTimeMillis() - startTime)/1000.0);
+        return solution;
+    }
+
+    /**
+     * Takes a snapshot of the resources available in Hosts and DPUs and the ones required by VMs.
+     */
+    private VmToHostMappingState.Snapshot newSnapshot() {
+        final int hosts = hostList.size();
+        final long[] hostPes = new long[hosts];
+        final long[] hostRam = new long[hosts];
+        final long[] hostStorage = new long[hosts];
+        final double[] hostPeMips = new double[hosts];
+        final long[] hostBasePes = new long[hosts];
+        final long[] hostBaseRam = new long[hosts];
+        final long[] hostBaseStorage = new long[hosts];
+        final int[] hostBaseVms = new int[hosts];
+        final int[][] hostDpus = new int[hosts][];
+        final int[] hostRack = new int[hosts];
+
+        /* DPUs and racks are identified by the identity of the objects shared among Hosts. */
+        final Map<ResourceProvisioner, Integer> dpuIndexes = new IdentityHashMap<>();
+        final List<ResourceProvisioner> dpus = new ArrayList<>();
+        final Map<List<Host>, Integer> rackIndexes = new IdentityHashMap<>();
+        int racks = 0;
+        for (int i = 0; i < hosts; i++) {
+            final Host host = hostList.get(i);
+            hostPes[i] = host.getWorkingPesNumber();
+            hostBasePes[i] = host.getBusyPesNumber();
+            hostRam[i] = host.getRamProvisioner().getCapacity();
+            hostBaseRam[i] = host.getRamProvisioner().getTotalAllocatedResource();
+            hostStorage[i] = host.getStorage().getCapacity();
+            hostBaseStorage[i] = host.getStorage().getAllocatedResource();
+            hostPeMips[i] = host.getWorkingPeList().stream().mapToDouble(Pe::getCapacity).min().orElse(0);
+            hostBaseVms[i] = host.getVmList().size();
+
+            final List<ResourceProvisioner> provisioners = host.getBwProvisioner();
+            hostDpus[i] = new int[provisioners.size()];
+            for (int nic = 0; nic < provisioners.size(); nic++) {
+                hostDpus[i][nic] = dpuIndexes.computeIfAbsent(provisioners.get(nic), dpu -> {
+                    dpus.add(dpu);
+                    return dpus.size() - 1;
+                });
+            }
+
+            final List<Host> rack = host.getRelatedHost();
+            if (rack == null) {
+                hostRack[i] = racks++;
+            } else {
+                final Integer index = rackIndexes.putIfAbsent(rack, racks);
+                hostRack[i] = index == null ? racks++ : index;
+            }
+        }
+
+        final long[] dpuBw = dpus.stream().mapToLong(ResourceProvisioner::getCapacity).toArray();
+        final long[] dpuBaseBw = dpus.stream().mapToLong(ResourceProvisioner::getTotalAllocatedResource).toArray();
+        final long[] vmPes = vmList.stream().mapToLong(Vm::getNumberOfPes).toArray();
+        final double[] vmMips = vmList.stream().mapToDouble(Vm::getMips).toArray();
+        final long[] vmRam = vmList.stream().mapToLong(vm -> vm.getRam().getCapacity()).toArray();
+        final long[] vmStorage = vmList.stream().mapToLong(vm -> vm.getStorage().getCapacity()).toArray();
+        final long[] vmBw = vmList.stream().mapToLong(vm -> vm.getBw().getCapacity()).toArray();
+        return new VmToHostMappingState.Snapshot(
+            hostPes, hostRam, hostStorage, hostPeMips, hostBasePes, hostBaseRam, hostBaseStorage, hostBaseVms,
+            hostDpus, hostRack, dpuBw, dpuBaseBw, vmPes, vmMips, vmRam, vmStorage, vmBw);
+    }
+
+    /**
+     * Places each unplaced VM, in a given order, into the first Host and DPU with enough resources.
+     * @param state the state to place VMs
+     * @param vmOrder the indexes of VMs in the order to place them
+     * @return the given state
+     */
+    private static VmToHostMappingState firstFit(final VmToHostMappingState state, final int[] vmOrder) {
+        final var snapshot = state.getSnapshot();
+        for (final int vm : vmOrder) {
+            for (int host = 0; host < snapshot.hostsNumber() && state.getHost(vm) == UNPLACED; host++) {
+                for (final int dpu : snapshot.hostDpus()[host]) {
+                    if (state.canMove(vm, host, dpu)) {
+                        state.move(vm, host, dpu);
+                        break;
+                    }
+                }
+            }
+        }
+
+        return state;
+    }
+
+    private static void shuffle(final int[] values, final ContinuousDistribution random) {
+        for (int i = values.length - 1; i > 0; i--) {
+            final int j = getRandomValue(random, i + 1);
+            final int value = values[i];
+            values[i] = values[j];
+            values[j] = value;
+        }
+    }
+
+    /**
+     * Converts a placement state into a solution with the Host and DPU of each VM.
+     */
+    private VmToHostMappingSolution toSolution(final VmToHostMappingState state) {
+        final var snapshot = state.getSnapshot();
+        final Map<Vm, Host> vmHostMap = new LinkedHashMap<>();
+        final Map<Vm, Integer> vmNicIdMap = new HashMap<>();
+        final List<Vm> unplacedVms = new ArrayList<>();
+        for (int i = 0; i < snapshot.vmsNumber(); i++) {
+            final Vm vm = vmList.get(i);
+            final int host = state.getHost(i);
+            if (host == UNPLACED) {
+                unplacedVms.add(vm);
+                continue;
+            }
+
+            vmHostMap.put(vm, hostList.get(host));
+            final int[] hostDpus = snapshot.hostDpus()[host];
+            for (int nic = 0; nic < hostDpus.length; nic++) {
+                if (hostDpus[nic] == state.getDpu(i)) {
+                    vmNicIdMap.put(vm, nic);
+                    break;
+                }
+            }
+        }
+
+        final var activeRacks = new BitSet();
+        int activeHosts = 0;
+        for (int host = 0; host < snapshot.hostsNumber(); host++) {
+            if (state.isHostActive(host)) {
+                activeHosts++;
+                activeRacks.set(snapshot.hostRack()[host]);
+            }
+        }
+
+        return new VmToHostMappingSolution(
+            this, state, vmHostMap, vmNicIdMap, unplacedVms, activeHosts, activeRacks.cardinality());
+    }
+
+    /**
+     * {@inheritDoc}
+     * The neighbor is obtained by applying a random move to a copy of the placement of the source solution:
+     * moving a VM to a random Host and DPU or swapping the placements of two VMs,
+     * if there are enough resources for that.
+     * The resources of Hosts and DPUs are the ones when the source solution was found
+     * (or when the placement was last searched, for an empty solution).
+     *
+     * @param source {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public VmToHostMappingSolution createNeighbor(final VmToHostMappingSolution source) {
+        final var sourceState = source.getState();
+        final var state = sourceState == null ? new VmToHostMappingState(getSnapshot()) : sourceState.copy();
+        if (!Double.isNaN(state.delta(getRandom()))) {
+            state.apply();
+        }
+
+        return toSolution(state);
+    }
+
+    /**
+     * Gets the snapshot of the resources taken when the placement was last searched,
+     * taking a new one if there isn't any.
+     */
+    private VmToHostMappingState.Snapshot getSnapshot() {
+        if (snapshot == null) {
+            snapshot = newSnapshot();
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Gets the list of Hosts where VMs can be placed.
+     * @return
+     */
+    public List<Host> getHostList() {
+        return hostList;
+    }
+
+    /**
+     * Sets the list of Hosts where VMs can be placed.
+     * @param hostList the list of Hosts to set
+     * @return
+     */
+    public VmToHostMappingSimulatedAnnealing setHostList(final List<Host> hostList) {
+        this.hostList = requireNonNull(hostList);
+        this.snapshot = null;
+        return this;
+    }
+
+    /**
+     * Gets the list of VMs to be placed.
+     * @return
+     */
+    public List<Vm> getVmList() {
+        return vmList;
+    }
+
+    /**
+     * Sets the list of VMs to be placed.
+     * @param vmList the list of VMs to set
+     * @return
+     */
+    public VmToHostMappingSimulatedAnnealing setVmList(final List<Vm> vmList) {
+        this.vmList = requireNonNull(vmList);
+        this.snapshot = null;
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @param chainsNumber {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public VmToHostMappingSimulatedAnnealing setChainsNumber(final int chainsNumber) {
+        super.setChainsNumber(chainsNumber);
+        return this;
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.heuristics;
+
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.vms.Vm;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A possible solution for placing a set of VMs into a set of Hosts,
+ * including the DPU (the {@link Host#getBwProvisioner(int) BW provisioner}) each VM uses
+ * from the pool its Host may share with other Hosts in the same rack.
+ * It represents a solution generated using a {@link VmToHostMappingSimulatedAnnealing}.
+ *
+ * @see VmToHostMappingSimulatedAnnealing
+ * @since CloudSim Plus 7.3.0
+ */
+public class VmToHostMappingSolution implements HeuristicSolution<Map<Vm, Host>> {
+    private final Heuristic heuristic;
+
+    /**
+     * The placement state the solution was got from,
+     * or null if it's an empty solution.
+     */
+    private final VmToHostMappingState state;
+
+    /** @see #getResult() */
+    private final Map<Vm, Host> vmHostMap;
+
+    /** @see #getNicId(Vm) */
+    private final Map<Vm, Integer> vmNicIdMap;
+
+    /** @see #getUnplacedVms() */
+    private final List<Vm> unplacedVms;
+
+    /** @see #getActiveHostsNumber() */
+    private final int activeHostsNumber;
+
+    /** @see #getActiveRacksNumber() */
+    private final int activeRacksNumber;
+
+    /**
+     * Creates an empty solution, where no VM is placed.
+     *
+     * @param heuristic the heuristic implementation used to find the solution
+     * being created.
+     */
+    public VmToHostMappingSolution(final Heuristic heuristic) {
+        this(heuristic, null, new LinkedHashMap<>(), new LinkedHashMap<>(), List.of(), 0, 0);
+    }
+
+    VmToHostMappingSolution(
+        final Heuristic heuristic, final VmToHostMappingState state,
+        final Map<Vm, Host> vmHostMap, final Map<Vm, Integer> vmNicIdMap,
+        final List<Vm> unplacedVms, final int activeHostsNumber, final int activeRacksNumber)
+    {
+        this.heuristic = requireNonNull(heuristic);
+        this.state = state;
+        this.vmHostMap = vmHostMap;
+        this.vmNicIdMap = vmNicIdMap;
+        this.unplacedVms = unplacedVms;
+        this.activeHostsNumber = activeHostsNumber;
+        this.activeRacksNumber = activeRacksNumber;
+    }
+
+    @Override
+    public Heuristic<HeuristicSolution<Map<Vm, Host>>> getHeuristic() {
+        return heuristic;
+    }
+
+    /**
+     * {@inheritDoc}
+     * It's a penalty for each VM that couldn't be placed plus a cost for each active Host,
+     * which is lower for fuller Hosts.
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public double getCost() {
+        return state == null ? 0 : state.getCost();
+    }
+
+    /**
+     * Compares this solution with another given one, based on the solution
+     * cost. The current object is considered to be:
+     * equal to the given object if they have the same cost;
+     * greater than the given object if it has a lower cost;
+     * lower than the given object if it has a higher cost;
+     *
+     * @param solution the solution to compare this instance to
+     * @return {@inheritDoc}
+     */
+    @Override
+    public int compareTo(final HeuristicSolution solution) {
+        final double diff = this.getCost() - solution.getCost();
+        if(Math.abs(diff) <= CloudletToVmMappingSolution.MIN_DIFF) {
+            return 0;
+        }
+
+        return diff > 0 ? -1 : 1;
+    }
+
+    /**
+     * Gets the placement state the solution was got from.
+     * @return the state or null if it's an empty solution
+     */
+    VmToHostMappingState getState() {
+        return state;
+    }
+
+    /**
+     * @return the actual solution, providing the Host where each placed VM is.
+     */
+    @Override
+    public Map<Vm, Host> getResult() {
+        return Collections.unmodifiableMap(vmHostMap);
+    }
+
+    /**
+     * Gets the index of the DPU (the {@link Host#getBwProvisioner(int) BW provisioner}
+     * of the Host) a VM uses, to be set as the {@link Vm#setNicId(int) VM NIC id}.
+     * @param vm the VM to get the DPU index
+     * @return the DPU index or -1 if the VM isn't placed
+     */
+    public int getNicId(final Vm vm) {
+        return vmNicIdMap.getOrDefault(vm, -1);
+    }
+
+    /**
+     * Gets the VMs that couldn't be placed in any Host.
+     * @return
+     */
+    public List<Vm> getUnplacedVms() {
+        return Collections.unmodifiableList(unplacedVms);
+    }
+
+    /**
+     * Gets the number of Hosts having some VM, including the ones they had before the placement.
+     * @return
+     */
+    public int getActiveHostsNumber() {
+        return activeHostsNumber;
+    }
+
+    /**
+     * Gets the number of racks (the groups of {@link Host#getRelatedHost() related Hosts})
+     * having some active Host.
+     * @return
+     */
+    public int getActiveRacksNumber() {
+        return activeRacksNumber;
+    }
+}
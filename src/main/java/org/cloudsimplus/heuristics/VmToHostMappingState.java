@@ -0,0 +1,496 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.heuristics;
+
+import org.cloudbus.cloudsim.distributions.ContinuousDistribution;
+
+import java.util.Arrays;
+
+import static org.cloudsimplus.heuristics.HeuristicAbstract.getRandomValue;
+
+/**
+ * A mutable placement of VMs into Hosts and DPUs stored in primitive arrays,
+ * over a {@link Snapshot} of the resources of Hosts and of the DPUs they share.
+ * Hosts, DPUs and VMs are identified by their indexes in the snapshot.
+ * The resources used from each Host and DPU are kept up-to-date, so that
+ * checking, scoring and applying a move of a VM, or a swap of the placement of two VMs,
+ * takes constant time.
+ * A VM fits into a Host if the Host has enough free PEs, RAM and storage,
+ * and its PEs have at least the MIPS of each VM PE (as checked by
+ * {@link org.cloudbus.cloudsim.hosts.Host#isSuitableForVm(org.cloudbus.cloudsim.vms.Vm)}),
+ * while the DPU must have enough free bandwidth.
+ *
+ * <p>The cost of a placement is the sum of:
+ * <ul>
+ *     <li>{@link #getUnplacedVmCost() a penalty} for each VM that isn't placed,
+ *     which is higher than the cost of any Host, so that placing a VM is always preferred;</li>
+ *     <li>for each active Host (which has some VM), 1 minus half of its squared fill,
+ *     where the fill is the mean fraction of its PEs and RAM that is used.
+ *     This way, using fewer and fuller Hosts reduces the cost.</li>
+ * </ul>
+ * </p>
+ *
+ * @since CloudSim Plus 7.3.0
+ */
+final class VmToHostMappingState implements AnnealingState<VmToHostMappingState> {
+    /** The index of the Host and DPU of a VM that isn't placed. */
+    static final int UNPLACED = -1;
+
+    /**
+     * The probability of a neighbor move to swap the placements of two VMs,
+     * instead of moving a VM to another Host.
+     */
+    private static final double SWAP_PROBABILITY = 0.5;
+
+    /**
+     * The resources of Hosts, DPUs and VMs to place.
+     * Base values are the resources already used when the snapshot was taken.
+     *
+     * @param hostPes the number of working PEs of each Host
+     * @param hostRam the RAM capacity of each Host
+     * @param hostStorage the storage capacity of each Host
+     * @param hostPeMips the MIPS capacity of each PE of each Host (the lowest one if PEs have different capacities)
+     * @param hostBasePes the number of PEs used from each Host
+     * @param hostBaseRam the RAM used from each Host
+     * @param hostBaseStorage the storage used from each Host
+     * @param hostBaseVms the number of VMs already in each Host
+     * @param hostDpus the indexes of the DPUs each Host can use
+     * @param hostRack the index of the rack of each Host
+     * @param dpuBw the bandwidth capacity of each DPU
+     * @param dpuBaseBw the bandwidth used from each DPU
+     * @param vmPes the number of PEs of each VM
+     * @param vmMips the MIPS capacity of each PE of each VM
+     * @param vmRam the RAM of each VM
+     * @param vmStorage the storage of each VM
+     * @param vmBw the bandwidth of each VM
+     */
+    record Snapshot(
+        long[] hostPes, long[] hostRam, long[] hostStorage, double[] hostPeMips,
+        long[] hostBasePes, long[] hostBaseRam, long[] hostBaseStorage, int[] hostBaseVms,
+        int[][] hostDpus, int[] hostRack, long[] dpuBw, long[] dpuBaseBw,
+        long[] vmPes, double[] vmMips, long[] vmRam, long[] vmStorage, long[] vmBw)
+    {
+        int hostsNumber() {
+            return hostPes.length;
+        }
+
+        int vmsNumber() {
+            return vmPes.length;
+        }
+    }
+
+    private final Snapshot snapshot;
+
+    /** The index of the Host of each VM, or {@link #UNPLACED}. */
+    private final int[] vmHost;
+
+    /** The index of the DPU of each VM, or {@link #UNPLACED}. */
+    private final int[] vmDpu;
+
+    private final long[] hostUsedPes;
+    private final long[] hostUsedRam;
+    private final long[] hostUsedStorage;
+    private final int[] hostVms;
+    private final long[] dpuUsedBw;
+
+    /** @see #getUnplacedVmsNumber() */
+    private int unplacedVms;
+
+    /** @see #getCost() */
+    private double cost;
+
+    /** The index of the VM of the move last selected by {@link #delta(ContinuousDistribution)}. */
+    private int moveVm;
+
+    /** The index of the Host (for a move) or of the other VM (for a swap) of the last selected move. */
+    private int moveTarget;
+
+    /** The index of the DPU of the last selected move, or {@link #UNPLACED} for a swap. */
+    private int moveDpu;
+
+    /** Indicates if the last selected move is a swap or a move. */
+    private boolean swapMove;
+
+    /**
+     * Creates a state where no VM is placed.
+     * @param snapshot the resources of Hosts, DPUs and VMs (which aren't copied)
+     */
+    VmToHostMappingState(final Snapshot snapshot) {
+        this.snapshot = snapshot;
+        this.vmHost = new int[snapshot.vmsNumber()];
+        this.vmDpu = new int[snapshot.vmsNumber()];
+        Arrays.fill(vmHost, UNPLACED);
+        Arrays.fill(vmDpu, UNPLACED);
+        this.hostUsedPes = snapshot.hostBasePes().clone();
+        this.hostUsedRam = snapshot.hostBaseRam().clone();
+        this.hostUsedStorage = snapshot.hostBaseStorage().clone();
+        this.hostVms = snapshot.hostBaseVms().clone();
+        this.dpuUsedBw = snapshot.dpuBaseBw().clone();
+        this.unplacedVms = vmHost.length;
+        recomputeCost();
+    }
+
+    /**
+     * Clones a given state.
+     * @param source the state to clone
+     */
+    VmToHostMappingState(final VmToHostMappingState source) {
+        this.snapshot = source.snapshot;
+        this.vmHost = source.vmHost.clone();
+        this.vmDpu = source.vmDpu.clone();
+        this.hostUsedPes = source.hostUsedPes.clone();
+        this.hostUsedRam = source.hostUsedRam.clone();
+        this.hostUsedStorage = source.hostUsedStorage.clone();
+        this.hostVms = source.hostVms.clone();
+        this.dpuUsedBw = source.dpuUsedBw.clone();
+        this.unplacedVms = source.unplacedVms;
+        this.cost = source.cost;
+    }
+
+    /**
+     * Copies the placement from another state of the same snapshot,
+     * reusing the arrays of this state.
+     * @param source the state to copy
+     */
+    @Override
+    public void copyFrom(final VmToHostMappingState source) {
+        System.arraycopy(source.vmHost, 0, vmHost, 0, vmHost.length);
+        System.arraycopy(source.vmDpu, 0, vmDpu, 0, vmDpu.length);
+        System.arraycopy(source.hostUsedPes, 0, hostUsedPes, 0, hostUsedPes.length);
+        System.arraycopy(source.hostUsedRam, 0, hostUsedRam, 0, hostUsedRam.length);
+        System.arraycopy(source.hostUsedStorage, 0, hostUsedStorage, 0, hostUsedStorage.length);
+        System.arraycopy(source.hostVms, 0, hostVms, 0, hostVms.length);
+        System.arraycopy(source.dpuUsedBw, 0, dpuUsedBw, 0, dpuUsedBw.length);
+        this.unplacedVms = source.unplacedVms;
+        this.cost = source.cost;
+    }
+
+    @Override
+    public VmToHostMappingState copy() {
+        return new VmToHostMappingState(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The move either moves a random VM to a random Host and DPU
+     * or swaps the placements of two random VMs.
+     *
+     * @param random {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public double delta(final ContinuousDistribution random) {
+        final int vms = snapshot.vmsNumber();
+        final int hosts = snapshot.hostsNumber();
+        if (vms == 0 || hosts == 0) {
+            return Double.NaN;
+        }
+
+        moveVm = getRandomValue(random, vms);
+        swapMove = random.sample() < SWAP_PROBABILITY;
+        if (swapMove) {
+            moveTarget = getRandomValue(random, vms);
+            moveDpu = UNPLACED;
+            return canSwap(moveVm, moveTarget) ? swapDelta(moveVm, moveTarget) : Double.NaN;
+        }
+
+        moveTarget = getRandomValue(random, hosts);
+        final int[] hostDpus = snapshot.hostDpus()[moveTarget];
+        moveDpu = hostDpus.length == 0 ? UNPLACED : hostDpus[getRandomValue(random, hostDpus.length)];
+        return moveDpu != UNPLACED && canMove(moveVm, moveTarget, moveDpu) ? moveDelta(moveVm, moveTarget) : Double.NaN;
+    }
+
+    @Override
+    public void apply() {
+        if (swapMove) {
+            swap(moveVm, moveTarget);
+        } else {
+            move(moveVm, moveTarget, moveDpu);
+        }
+    }
+
+    /**
+     * Recomputes the cost from scratch, removing any rounding error
+     * accumulated by moves.
+     */
+    void recomputeCost() {
+        double sum = unplacedVms * getUnplacedVmCost();
+        for (int host = 0; host < hostVms.length; host++) {
+            sum += hostCost(host, hostUsedPes[host], hostUsedRam[host], hostVms[host]);
+        }
+
+        this.cost = sum;
+    }
+
+    private double hostCost(final int host, final long usedPes, final long usedRam, final int vms) {
+        if (vms == 0) {
+            return 0;
+        }
+
+        final double fill = (fraction(usedPes, snapshot.hostPes()[host]) + fraction(usedRam, snapshot.hostRam()[host])) / 2;
+        return 1 - fill * fill / 2;
+    }
+
+    private static double fraction(final long used, final long capacity) {
+        return capacity == 0 ? 1 : (double) used / capacity;
+    }
+
+    private double hostDelta(final int host, final long pes, final long ram, final int vms) {
+        return hostCost(host, hostUsedPes[host] + pes, hostUsedRam[host] + ram, hostVms[host] + vms)
+               - hostCost(host, hostUsedPes[host], hostUsedRam[host], hostVms[host]);
+    }
+
+    private boolean hostFits(final int host, final long pes, final long ram, final long storage) {
+        return hostUsedPes[host] + pes <= snapshot.hostPes()[host] &&
+               hostUsedRam[host] + ram <= snapshot.hostRam()[host] &&
+               hostUsedStorage[host] + storage <= snapshot.hostStorage()[host];
+    }
+
+    /**
+     * Checks if the PEs of a Host have enough MIPS capacity for each PE of a VM.
+     */
+    private boolean peMipsFits(final int host, final int vm) {
+        return snapshot.vmMips()[vm] <= snapshot.hostPeMips()[host];
+    }
+
+    private boolean dpuFits(final int dpu, final long bw) {
+        return dpuUsedBw[dpu] + bw <= snapshot.dpuBw()[dpu];
+    }
+
+    /**
+     * Checks if a VM can be moved to a given Host and DPU (or unplaced),
+     * changing its current placement.
+     * @param vm the index of the VM
+     * @param host the index of the Host to move the VM to, or {@link #UNPLACED}
+     * @param dpu the index of a DPU the Host can use, ignored if the VM is to be unplaced
+     * @return true if the move changes the placement and there are enough resources for it
+     */
+    boolean canMove(final int vm, final int host, final int dpu) {
+        final int source = vmHost[vm];
+        if (host == UNPLACED) {
+            return source != UNPLACED;
+        }
+
+        if (host == source && dpu == vmDpu[vm]) {
+            return false;
+        }
+
+        return (host == source || hostFits(host, snapshot.vmPes()[vm], snapshot.vmRam()[vm], snapshot.vmStorage()[vm]) && peMipsFits(host, vm))
+               && (dpu == vmDpu[vm] || dpuFits(dpu, snapshot.vmBw()[vm]));
+    }
+
+    /**
+     * Computes how the cost changes if a VM is moved.
+     * @param vm the index of the VM
+     * @param host the index of the Host to move the VM to, or {@link #UNPLACED}
+     * @return the cost change (negative if the cost is reduced)
+     * @see #canMove(int, int, int)
+     */
+    double moveDelta(final int vm, final int host) {
+        final int source = vmHost[vm];
+        if (source == host) {
+            return 0;
+        }
+
+        final long pes = snapshot.vmPes()[vm];
+        final long ram = snapshot.vmRam()[vm];
+        return (source == UNPLACED ? -getUnplacedVmCost() : hostDelta(source, -pes, -ram, -1))
+               + (host == UNPLACED ? getUnplacedVmCost() : hostDelta(host, pes, ram, 1));
+    }
+
+    /**
+     * Moves a VM, which must be {@link #canMove(int, int, int) possible}.
+     * @param vm the index of the VM
+     * @param host the index of the Host to move the VM to, or {@link #UNPLACED}
+     * @param dpu the index of a DPU the Host can use, ignored if the VM is to be unplaced
+     */
+    void move(final int vm, final int host, final int dpu) {
+        cost += moveDelta(vm, host);
+        final long pes = snapshot.vmPes()[vm];
+        final long ram = snapshot.vmRam()[vm];
+        final long storage = snapshot.vmStorage()[vm];
+        final long bw = snapshot.vmBw()[vm];
+        final int source = vmHost[vm];
+        if (source == UNPLACED) {
+            unplacedVms--;
+        } else {
+            hostUsedPes[source] -= pes;
+            hostUsedRam[source] -= ram;
+            hostUsedStorage[source] -= storage;
+            hostVms[source]--;
+            dpuUsedBw[vmDpu[vm]] -= bw;
+        }
+
+        if (host == UNPLACED) {
+            unplacedVms++;
+            vmHost[vm] = UNPLACED;
+            vmDpu[vm] = UNPLACED;
+            return;
+        }
+
+        hostUsedPes[host] += pes;
+        hostUsedRam[host] += ram;
+        hostUsedStorage[host] += storage;
+        hostVms[host]++;
+        dpuUsedBw[dpu] += bw;
+        vmHost[vm] = host;
+        vmDpu[vm] = dpu;
+    }
+
+    /**
+     * Checks if two VMs can swap their placements (including their DPUs).
+     * @param vm1 the index of the first VM
+     * @param vm2 the index of the second VM
+     * @return true if the swap changes the placement and there are enough resources for it
+     */
+    boolean canSwap(final int vm1, final int vm2) {
+        final int host1 = vmHost[vm1];
+        final int host2 = vmHost[vm2];
+        final int dpu1 = vmDpu[vm1];
+        final int dpu2 = vmDpu[vm2];
+        if (vm1 == vm2 || host1 == host2 && dpu1 == dpu2) {
+            return false;
+        }
+
+        final long pes = snapshot.vmPes()[vm2] - snapshot.vmPes()[vm1];
+        final long ram = snapshot.vmRam()[vm2] - snapshot.vmRam()[vm1];
+        final long storage = snapshot.vmStorage()[vm2] - snapshot.vmStorage()[vm1];
+        final long bw = snapshot.vmBw()[vm2] - snapshot.vmBw()[vm1];
+        if (host1 != host2 &&
+            (host1 != UNPLACED && !(hostFits(host1, pes, ram, storage) && peMipsFits(host1, vm2)) ||
+             host2 != UNPLACED && !(hostFits(host2, -pes, -ram, -storage) && peMipsFits(host2, vm1))))
+        {
+            return false;
+        }
+
+        return dpu1 == dpu2 || (dpu1 == UNPLACED || dpuFits(dpu1, bw)) && (dpu2 == UNPLACED || dpuFits(dpu2, -bw));
+    }
+
+    /**
+     * Computes how the cost changes if two VMs swap their placements.
+     * @param vm1 the index of the first VM
+     * @param vm2 the index of the second VM
+     * @return the cost change (negative if the cost is reduced)
+     * @see #canSwap(int, int)
+     */
+    double swapDelta(final int vm1, final int vm2) {
+        final int host1 = vmHost[vm1];
+        final int host2 = vmHost[vm2];
+        if (host1 == host2) {
+            return 0;
+        }
+
+        final long pes = snapshot.vmPes()[vm2] - snapshot.vmPes()[vm1];
+        final long ram = snapshot.vmRam()[vm2] - snapshot.vmRam()[vm1];
+        return (host1 == UNPLACED ? 0 : hostDelta(host1, pes, ram, 0))
+               + (host2 == UNPLACED ? 0 : hostDelta(host2, -pes, -ram, 0));
+    }
+
+    /**
+     * Swaps the placements of two VMs, which must be {@link #canSwap(int, int) possible}.
+     * @param vm1 the index of the first VM
+     * @param vm2 the index of the second VM
+     */
+    void swap(final int vm1, final int vm2) {
+        final int host1 = vmHost[vm1];
+        final int dpu1 = vmDpu[vm1];
+        final int host2 = vmHost[vm2];
+        final int dpu2 = vmDpu[vm2];
+
+        /* Unplacing both VMs first frees their resources,
+        * so that the moves below don't exceed any capacity. */
+        final double previousCost = cost;
+        final double delta = swapDelta(vm1, vm2);
+        if (host1 != UNPLACED) {
+            move(vm1, UNPLACED, UNPLACED);
+        }
+
+        if (host2 != UNPLACED) {
+            move(vm2, UNPLACED, UNPLACED);
+        }
+
+        if (host2 != UNPLACED) {
+            move(vm1, host2, dpu2);
+        }
+
+        if (host1 != UNPLACED) {
+            move(vm2, host1, dpu1);
+        }
+
+        cost = previousCost + delta;
+    }
+
+    /**
+     * Gets the index of the Host a VM is placed into.
+     * @param vm the index of the VM
+     * @return the Host index or {@link #UNPLACED}
+     */
+    int getHost(final int vm) {
+        return vmHost[vm];
+    }
+
+    /**
+     * Gets the index of the DPU a VM uses.
+     * @param vm the index of the VM
+     * @return the DPU index or {@link #UNPLACED}
+     */
+    int getDpu(final int vm) {
+        return vmDpu[vm];
+    }
+
+    /**
+     * Checks if a Host has any VM, including the ones it had when the snapshot was taken.
+     * @param host the index of the Host
+     * @return
+     */
+    boolean isHostActive(final int host) {
+        return hostVms[host] > 0;
+    }
+
+    Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    int getUnplacedVmsNumber() {
+        return unplacedVms;
+    }
+
+    /**
+     * Gets the cost added for each VM that isn't placed,
+     * which is higher than the maximum cost of all Hosts.
+     * @return
+     */
+    double getUnplacedVmCost() {
+        return snapshot.hostsNumber() + 1;
+    }
+
+    /**
+     * Gets the cost of the placement, which is kept up-to-date as VMs are moved.
+     * @return
+     */
+    @Override
+    public double getCost() {
+        return cost;
+    }
+}
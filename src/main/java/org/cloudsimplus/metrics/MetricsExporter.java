@@ -0,0 +1,306 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.metrics;
+
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.core.Simulation;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.provisioners.ResourceProvisioner;
+import org.cloudsimplus.util.AsyncWriter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.DoubleSupplier;
+
+/**
+ * A base class to sample time series of metrics (such as Host CPU/RAM utilization,
+ * per-DPU bandwidth utilization, VM placement scores or broker queue sizes)
+ * while the simulation runs, and export them in a background thread.
+ *
+ * <p>Each sample is a row containing the simulation time and the current value of every
+ * {@link #addSeries(String, DoubleSupplier) series}.
+ * Rows are stored in a fixed number of preallocated blocks of primitive doubles,
+ * which are used as a ring: when a block is full, it's handed to the background thread
+ * and the simulation thread goes on sampling into the next free block.
+ * Therefore, sampling neither formats Strings nor allocates objects,
+ * and the simulation thread just waits for the writer if all blocks are pending to be written.</p>
+ *
+ * <p>Samples can be collected {@link #attach(Simulation, double) periodically} or
+ * by calling {@link #sample(double)} directly.
+ * The exporter must be {@link #close() closed} after the simulation finishes,
+ * to ensure all samples are written.
+ * If the background writer fails, the error is thrown as an {@link UncheckedIOException}
+ * when the next block is handed to it or when the exporter is closed.</p>
+ *
+ * @since CloudSim Plus 7.3.0
+ * @see AsyncWriter
+ */
+public abstract class MetricsExporter extends AsyncWriter<MetricsExporter.Block> {
+    /** The default number of rows in each block of samples. */
+    public static final int DEF_BLOCK_ROWS = 1024;
+
+    /** The default number of blocks of samples, including the one being filled. */
+    public static final int DEF_BLOCKS = 4;
+
+    /**
+     * A block of samples, stored row by row, where the first value of each row is the sample time.
+     */
+    static final class Block {
+        private final double[] values;
+        private int rows;
+
+        private Block(final double[] values) {
+            this.values = values;
+        }
+    }
+
+    private final List<String> names;
+    private final List<DoubleSupplier> series;
+    private final int blockRows;
+    private final int blocks;
+    private final BlockingQueue<Block> freeBlocks;
+    private Block block;
+
+    /**
+     * Creates an exporter with the {@link #DEF_BLOCKS default number of blocks}
+     * of {@link #DEF_BLOCK_ROWS default size}.
+     */
+    protected MetricsExporter() {
+        this(DEF_BLOCK_ROWS, DEF_BLOCKS);
+    }
+
+    /**
+     * Creates an exporter with a given number of blocks of samples.
+     * @param blockRows the number of rows (samples) in each block
+     * @param blocks the number of blocks, which must be at least 2,
+     *               so that a block can be filled while another one is written
+     */
+    protected MetricsExporter(final int blockRows, final int blocks) {
+        super(validateBlocks(blockRows, blocks));
+        this.blockRows = blockRows;
+        this.blocks = blocks;
+        this.names = new ArrayList<>();
+        this.series = new ArrayList<>();
+        this.freeBlocks = new ArrayBlockingQueue<>(blocks);
+    }
+
+    private static int validateBlocks(final int blockRows, final int blocks) {
+        if (blockRows <= 0 || blocks < 2) {
+            throw new IllegalArgumentException("There must be at least 2 blocks with a positive number of rows.");
+        }
+
+        return blocks;
+    }
+
+    /**
+     * Adds a series of metric values to be sampled.
+     * Series must be added before the first sample is collected.
+     *
+     * @param name the series name, used as the column name in the exported file
+     * @param supplier a {@link DoubleSupplier} that gives the current value of the metric,
+     *                 which is called from the simulation thread
+     * @return this exporter
+     * @throws IllegalStateException when samples were already collected
+     */
+    public MetricsExporter addSeries(final String name, final DoubleSupplier supplier) {
+        if (block != null || isClosed()) {
+            throw new IllegalStateException("Series cannot be added after sampling has started.");
+        }
+
+        names.add(Objects.requireNonNull(name));
+        series.add(Objects.requireNonNull(supplier));
+        return this;
+    }
+
+    /**
+     * Adds series for the CPU and RAM utilization percentage (in scale from 0 to 1)
+     * of each given Host and for the bandwidth utilization percentage of each one of its DPUs
+     * (the {@link Host#getBwProvisioner() BW provisioners}).
+     * The series are named "host{id}.cpu", "host{id}.ram" and "host{id}.dpu{index}.bw".
+     *
+     * @param hosts the Hosts to sample
+     * @return this exporter
+     */
+    public MetricsExporter addHostSeries(final List<? extends Host> hosts) {
+        for (final Host host : hosts) {
+            final String prefix = "host" + host.getId();
+            addSeries(prefix + ".cpu", host::getCpuPercentUtilization);
+            addSeries(prefix + ".ram", () -> host.getRam().getPercentUtilization());
+            final List<ResourceProvisioner> dpus = host.getBwProvisioner();
+            for (int i = 0; i < dpus.size(); i++) {
+                final var dpu = dpus.get(i);
+                addSeries(prefix + ".dpu" + i + ".bw", () -> utilization(dpu));
+            }
+        }
+
+        return this;
+    }
+
+    private static double utilization(final ResourceProvisioner provisioner) {
+        final long capacity = provisioner.getCapacity();
+        return capacity > 0 ? provisioner.getTotalAllocatedResource() / (double) capacity : 0;
+    }
+
+    /**
+     * Adds series for the number of VMs and Cloudlets waiting in the queues of a broker,
+     * named "{broker name}.vmWaiting" and "{broker name}.cloudletWaiting".
+     *
+     * @param broker the broker to sample
+     * @return this exporter
+     */
+    public MetricsExporter addBrokerSeries(final DatacenterBroker broker) {
+        addSeries(broker.getName() + ".vmWaiting", () -> broker.getVmWaitingList().size());
+        addSeries(broker.getName() + ".cloudletWaiting", () -> broker.getCloudletWaitingList().size());
+        return this;
+    }
+
+    /**
+     * Collects samples of all series periodically, while the simulation runs.
+     * A {@link MetricsSampler} entity schedules sampling events at every interval
+     * (starting at the simulation start), like a {@link org.cloudbus.cloudsim.power.PowerMeter},
+     * so that samples are collected at the configured times even if no other event happens at them.
+     * Sampling stops when there are no other events to be processed.
+     *
+     * @param simulation the simulation to sample
+     * @param interval the interval between samples (in seconds)
+     * @return this exporter
+     */
+    public MetricsExporter attach(final Simulation simulation, final double interval) {
+        new MetricsSampler(simulation, this, interval);
+        return this;
+    }
+
+    /**
+     * Collects a sample of all series for a given time.
+     * If the current block becomes full, it's handed to the background thread to be written.
+     * Samples collected after the exporter is closed are ignored.
+     *
+     * @param time the simulation time of the sample
+     */
+    public void sample(final double time) {
+        throwErrorIfAny();
+        if (isClosed()) {
+            return;
+        }
+
+        if (block == null) {
+            start();
+        }
+
+        final int columns = series.size() + 1;
+        final int offset = block.rows * columns;
+        block.values[offset] = time;
+        for (int i = 1; i < columns; i++) {
+            block.values[offset + i] = series.get(i - 1).getAsDouble();
+        }
+
+        if (++block.rows == blockRows) {
+            submit(block);
+            block = take();
+        }
+    }
+
+    private void start() {
+        final int columns = series.size() + 1;
+        for (int i = 0; i < blocks; i++) {
+            freeBlocks.add(new Block(new double[blockRows * columns]));
+        }
+
+        block = freeBlocks.remove();
+    }
+
+    private Block take() {
+        try {
+            return freeBlocks.take();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a free block of samples", e);
+        }
+    }
+
+    @Override
+    protected final void openOutput() throws IOException {
+        writeHeader(getNames());
+    }
+
+    @Override
+    protected final void writeItem(final Block block) throws IOException {
+        writeBlock(block.values, block.rows, series.size() + 1);
+    }
+
+    /**
+     * Returns a written block to the free ones.
+     * @param block {@inheritDoc}
+     */
+    @Override
+    protected final void itemProcessed(final Block block) {
+        block.rows = 0;
+        freeBlocks.add(block);
+    }
+
+    /**
+     * Hands the partially filled block to the background thread,
+     * so that the last samples are written when the exporter is closed.
+     */
+    @Override
+    protected final void beforeClose() {
+        if (block != null && block.rows > 0) {
+            submit(block);
+        }
+    }
+
+    /**
+     * Gets the names of the series, in the order their values are stored in each row
+     * (after the sample time).
+     * @return a read-only List of series names
+     */
+    public List<String> getNames() {
+        return Collections.unmodifiableList(names);
+    }
+
+    /**
+     * Writes the header of the output. It's called from the background thread,
+     * before any block of samples.
+     * @param names the names of the series
+     * @throws IOException when the header cannot be written
+     */
+    protected abstract void writeHeader(List<String> names) throws IOException;
+
+    /**
+     * Writes a block of samples. It's called from the background thread.
+     * @param values the sample values, stored row by row, where the first value of each row is the sample time
+     *               (just the first {@code rows * columns} values are valid)
+     * @param rows the number of rows (samples) in the block
+     * @param columns the number of values in each row, including the time
+     * @throws IOException when the block cannot be written
+     */
+    protected abstract void writeBlock(double[] values, int rows, int columns) throws IOException;
+
+}
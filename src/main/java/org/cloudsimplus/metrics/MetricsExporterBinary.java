@@ -0,0 +1,184 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.metrics;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+
+/**
+ * A {@link MetricsExporter} that writes samples to a compact columnar binary file in a background thread.
+ * Samples are written in blocks and, inside each block, the values of each column
+ * are stored contiguously, so that a single series can be read without parsing the others.
+ *
+ * <p>The file layout (all values are big-endian) is:</p>
+ * <pre>
+ * int MAGIC, short VERSION, int columns
+ * for each column: the column name as modified UTF-8 (as written by {@link DataOutputStream#writeUTF(String)}),
+ *                  where the first column is "time"
+ * for each block: int rows, then for each column: the double values of that column for each row
+ * </pre>
+ * The file can be read back using {@link #read(Path)}.
+ *
+ * @since CloudSim Plus 7.3.0
+ */
+public class MetricsExporterBinary extends MetricsExporter {
+    /** An int starting each file, which corresponds to the ASCII string "CSPM". */
+    public static final int MAGIC = 0x4353504D;
+
+    /** The version of the file format. */
+    public static final short VERSION = 1;
+
+    private final DataOutputStream output;
+
+    /**
+     * Creates an exporter that writes a columnar binary file, using the
+     * {@link #DEF_BLOCKS default number of blocks} of {@link #DEF_BLOCK_ROWS default size}.
+     * @param file the path of the file to write
+     * @throws UncheckedIOException when the file cannot be created
+     */
+    public MetricsExporterBinary(final Path file) {
+        this(file, DEF_BLOCK_ROWS, DEF_BLOCKS);
+    }
+
+    /**
+     * Creates an exporter that writes a columnar binary file, using a given number of blocks of samples.
+     * @param file the path of the file to write
+     * @param blockRows the number of rows (samples) in each block
+     * @param blocks the number of blocks
+     * @throws UncheckedIOException when the file cannot be created
+     */
+    public MetricsExporterBinary(final Path file, final int blockRows, final int blocks) {
+        super(blockRows, blocks);
+        try {
+            this.output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    protected void writeHeader(final List<String> names) throws IOException {
+        output.writeInt(MAGIC);
+        output.writeShort(VERSION);
+        output.writeInt(names.size() + 1);
+        output.writeUTF("time");
+        for (final String name : names) {
+            output.writeUTF(name);
+        }
+    }
+
+    @Override
+    protected void writeBlock(final double[] values, final int rows, final int columns) throws IOException {
+        output.writeInt(rows);
+        for (int col = 0; col < columns; col++) {
+            for (int row = 0; row < rows; row++) {
+                output.writeDouble(values[row * columns + col]);
+            }
+        }
+    }
+
+    @Override
+    protected void flush() throws IOException {
+        output.flush();
+    }
+
+    @Override
+    protected void closeOutput() throws IOException {
+        output.close();
+    }
+
+    /**
+     * Reads a file previously written by this exporter.
+     * @param file the path of the file to read
+     * @return a Map where each key is a column name (starting with "time") and each value
+     *         is an array with all the values of that column, in the order the columns were written
+     * @throws UncheckedIOException when the file cannot be read, has an invalid header
+     *                              or ends in the middle of a block
+     */
+    public static Map<String, double[]> read(final Path file) {
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readShort() != VERSION) {
+                throw new IOException(file + " is not a valid metrics file of the expected version");
+            }
+
+            final String[] names = new String[in.readInt()];
+            for (int col = 0; col < names.length; col++) {
+                names[col] = in.readUTF();
+            }
+
+            final double[][] columns = new double[names.length][16];
+            int size = 0;
+            for (var blockRows = readBlockRows(in); blockRows.isPresent(); blockRows = readBlockRows(in)) {
+                final int rows = blockRows.getAsInt();
+                for (int col = 0; col < names.length; col++) {
+                    if (size + rows > columns[col].length) {
+                        columns[col] = Arrays.copyOf(columns[col], Math.max(size + rows, columns[col].length * 2));
+                    }
+
+                    for (int row = 0; row < rows; row++) {
+                        columns[col][size + row] = in.readDouble();
+                    }
+                }
+
+                size += rows;
+            }
+
+            final Map<String, double[]> map = new LinkedHashMap<>();
+            for (int col = 0; col < names.length; col++) {
+                map.put(names[col], Arrays.copyOf(columns[col], size));
+            }
+
+            return map;
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads the number of rows starting the next block.
+     * Since {@link java.io.InputStream#available()} doesn't reliably indicate the end of a stream,
+     * it's detected by the {@link EOFException} thrown when no other block is found.
+     * @return an {@link OptionalInt} with the number of rows in the next block
+     *         or an empty one if there are no more blocks
+     */
+    private static OptionalInt readBlockRows(final DataInputStream in) throws IOException {
+        try {
+            return OptionalInt.of(in.readInt());
+        } catch (final EOFException e) {
+            return OptionalInt.empty();
+        }
+    }
+}
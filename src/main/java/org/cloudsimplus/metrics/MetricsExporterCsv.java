@@ -0,0 +1,112 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.metrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * A {@link MetricsExporter} that writes samples to a CSV file in a background thread.
+ * The file starts with a header line containing "time" and the names of the series,
+ * followed by one line for each sample.
+ *
+ * @since CloudSim Plus 7.3.0
+ */
+public class MetricsExporterCsv extends MetricsExporter {
+    private static final char SEPARATOR = ',';
+
+    private final Writer writer;
+
+    /**
+     * A buffer reused to format each line, avoiding one String allocation per value.
+     */
+    private final StringBuilder line;
+
+    /**
+     * Creates an exporter that writes a CSV file, using the
+     * {@link #DEF_BLOCKS default number of blocks} of {@link #DEF_BLOCK_ROWS default size}.
+     * @param file the path of the file to write
+     * @throws UncheckedIOException when the file cannot be created
+     */
+    public MetricsExporterCsv(final Path file) {
+        this(file, DEF_BLOCK_ROWS, DEF_BLOCKS);
+    }
+
+    /**
+     * Creates an exporter that writes a CSV file, using a given number of blocks of samples.
+     * @param file the path of the file to write
+     * @param blockRows the number of rows (samples) in each block
+     * @param blocks the number of blocks
+     * @throws UncheckedIOException when the file cannot be created
+     */
+    public MetricsExporterCsv(final Path file, final int blockRows, final int blocks) {
+        super(blockRows, blocks);
+        this.line = new StringBuilder(256);
+        try {
+            this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    protected void writeHeader(final List<String> names) throws IOException {
+        writer.write("time");
+        for (final String name : names) {
+            writer.append(SEPARATOR).write(name);
+        }
+
+        writer.write('\n');
+    }
+
+    @Override
+    protected void writeBlock(final double[] values, final int rows, final int columns) throws IOException {
+        for (int row = 0; row < rows; row++) {
+            line.setLength(0);
+            final int offset = row * columns;
+            line.append(values[offset]);
+            for (int col = 1; col < columns; col++) {
+                line.append(SEPARATOR).append(values[offset + col]);
+            }
+
+            writer.append(line.append('\n'));
+        }
+    }
+
+    @Override
+    protected void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    protected void closeOutput() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.metrics;
+
+import org.cloudbus.cloudsim.core.CloudSimEntity;
+import org.cloudbus.cloudsim.core.Simulation;
+import org.cloudbus.cloudsim.core.events.SimEvent;
+
+import java.util.Objects;
+
+import static org.cloudbus.cloudsim.core.CloudSimTag.METRICS_SAMPLE;
+
+/**
+ * An entity that periodically collects samples for a {@link MetricsExporter},
+ * by scheduling a {@link org.cloudbus.cloudsim.core.CloudSimTag#METRICS_SAMPLE} event
+ * to itself at every sampling interval.
+ *
+ * @since CloudSim Plus 7.3.0
+ * @see MetricsExporter#attach(Simulation, double)
+ */
+final class MetricsSampler extends CloudSimEntity {
+    private final MetricsExporter exporter;
+    private final double interval;
+
+    /**
+     * Creates a sampler for a given exporter.
+     * @param simulation the simulation to sample
+     * @param exporter the exporter to collect samples for
+     * @param interval the interval between samples (in seconds)
+     */
+    MetricsSampler(final Simulation simulation, final MetricsExporter exporter, final double interval) {
+        super(simulation);
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Sampling interval must be greater than 0.");
+        }
+
+        this.exporter = Objects.requireNonNull(exporter);
+        this.interval = interval;
+    }
+
+    @Override
+    protected void startInternal() {
+        schedule(METRICS_SAMPLE);
+    }
+
+    @Override
+    public void processEvent(final SimEvent evt) {
+        switch (evt.getTag()) {
+            case METRICS_SAMPLE -> sample();
+            case SIMULATION_END -> shutdown();
+            default -> throw new IllegalStateException("Unknown Event: " + evt);
+        }
+    }
+
+    /**
+     * Collects a sample and schedules the next one,
+     * just if there are other events to be processed.
+     * Otherwise, the simulation has finished and no more samples should be collected.
+     */
+    private void sample() {
+        exporter.sample(getSimulation().clock());
+        if (getSimulation().isThereAnyFutureEvt(evt -> evt.getTag() != METRICS_SAMPLE)) {
+            schedule(interval, METRICS_SAMPLE);
+        }
+    }
+}
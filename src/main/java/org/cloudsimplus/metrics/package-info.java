@@ -0,0 +1,10 @@
+/**
+ * Provides classes to periodically sample time series of metrics
+ * (such as {@link org.cloudbus.cloudsim.hosts.Host} resource utilization and broker queue sizes)
+ * as the simulation runs and export them to CSV or columnar binary files,
+ * which are written by a background thread so that the simulation thread never waits for I/O.
+ *
+ * @since CloudSim Plus 7.3.0
+ * @see org.cloudsimplus.metrics.MetricsExporter
+ */
+package org.cloudsimplus.metrics;
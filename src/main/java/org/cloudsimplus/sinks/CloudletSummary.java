@@ -0,0 +1,64 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.sinks;
+
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+
+/**
+ * An immutable summary of a finished {@link Cloudlet}, holding just primitive values,
+ * so that the Cloudlet object itself doesn't need to be retained.
+ *
+ * @param id the Cloudlet id
+ * @param brokerId the id of the broker the Cloudlet belongs to
+ * @param vmId the id of the VM that ran the Cloudlet
+ * @param hostId the id of the Host where the VM was placed
+ * @param status the final Cloudlet status
+ * @param length the Cloudlet length (in MI) for each PE
+ * @param pes the number of PEs the Cloudlet required
+ * @param arrivalTime the time the Cloudlet arrived at the broker (in seconds)
+ * @param execStartTime the time the Cloudlet started executing (in seconds)
+ * @param finishTime the time the Cloudlet finished (in seconds)
+ * @param actualCpuTime the time the Cloudlet spent executing (in seconds)
+ * @param waitTime the time the Cloudlet waited to start executing (in seconds)
+ * @since CloudSim Plus 7.3.0
+ */
+public record CloudletSummary(
+    long id, long brokerId, long vmId, long hostId, Cloudlet.Status status,
+    long length, long pes, double arrivalTime, double execStartTime,
+    double finishTime, double actualCpuTime, double waitTime)
+{
+    /**
+     * Creates a summary from a given Cloudlet.
+     * @param cloudlet the Cloudlet to summarize
+     * @return the new summary
+     */
+    public static CloudletSummary of(final Cloudlet cloudlet) {
+        final var vm = cloudlet.getVm();
+        return new CloudletSummary(
+            cloudlet.getId(), cloudlet.getBroker().getId(), vm.getId(), vm.getHost().getId(),
+            cloudlet.getStatus(), cloudlet.getLength(), cloudlet.getNumberOfPes(),
+            cloudlet.getArrivedTime(), cloudlet.getExecStartTime(), cloudlet.getFinishTime(),
+            cloudlet.getActualCpuTime(), cloudlet.getWaitTime());
+    }
+}
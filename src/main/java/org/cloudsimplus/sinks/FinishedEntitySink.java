@@ -0,0 +1,85 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.sinks;
+
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.vms.Vm;
+
+import java.util.function.Consumer;
+
+/**
+ * A destination for summaries of {@link Cloudlet}s that finished and {@link Vm}s that were destroyed,
+ * enabling such data to be streamed out of the simulation as it runs.
+ * A sink is set for a {@link DatacenterBroker} using {@link DatacenterBroker#setFinishedEntitySink(FinishedEntitySink)}.
+ *
+ * <p>When a broker is set to not {@link DatacenterBroker#isRetainFinishedEntities() retain finished entities},
+ * the sink is the only place where data about such entities is kept,
+ * so that memory usage is bounded by the number of running entities instead of
+ * the trace length.</p>
+ *
+ * <p>A sink must be {@link #close() closed} after the simulation finishes,
+ * to ensure all data is written. The same sink can be shared by multiple brokers.</p>
+ *
+ * @since CloudSim Plus 7.3.0
+ */
+public interface FinishedEntitySink extends AutoCloseable {
+    /**
+     * An attribute that implements the Null Object Design Pattern for {@link FinishedEntitySink}
+     * objects.
+     */
+    FinishedEntitySink NULL = new FinishedEntitySinkNull();
+
+    /**
+     * Creates a sink that just forwards summaries to given callbacks,
+     * in the simulation thread.
+     *
+     * @param cloudletConsumer a {@link Consumer} to receive the summary of each finished Cloudlet
+     * @param vmConsumer a {@link Consumer} to receive the summary of each destroyed VM
+     * @return the new sink
+     */
+    static FinishedEntitySink of(final Consumer<CloudletSummary> cloudletConsumer, final Consumer<VmSummary> vmConsumer) {
+        return new FinishedEntitySinkCallback(cloudletConsumer, vmConsumer);
+    }
+
+    /**
+     * Receives the summary of a Cloudlet that has finished and was returned to its broker.
+     * @param summary the Cloudlet summary
+     */
+    void cloudletFinished(CloudletSummary summary);
+
+    /**
+     * Receives the summary of a VM that was destroyed.
+     * @param summary the VM summary
+     */
+    void vmDestroyed(VmSummary summary);
+
+    /**
+     * Flushes pending summaries and releases resources used by the sink.
+     * Summaries received after that are ignored.
+     * @throws java.io.UncheckedIOException when some data could not be written
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,96 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.sinks;
+
+import org.cloudsimplus.util.AsyncWriter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * A base class for {@link FinishedEntitySink}s that write summaries in a background thread,
+ * so that the simulation thread never waits for I/O, unless the writer falls behind
+ * and the bounded queue of pending summaries becomes full.
+ * That back-pressure keeps memory usage bounded.
+ *
+ * <p>If the background writer fails, the error is thrown as an {@link UncheckedIOException}
+ * at the next summary submission or when the sink is {@link #close() closed}.</p>
+ *
+ * @since CloudSim Plus 7.3.0
+ * @see AsyncWriter
+ */
+public abstract class FinishedEntitySinkAsync extends AsyncWriter<Object> implements FinishedEntitySink {
+    /**
+     * The default maximum number of summaries waiting to be written.
+     */
+    public static final int DEF_QUEUE_CAPACITY = 1 << 16;
+
+    /**
+     * Creates a sink with the {@link #DEF_QUEUE_CAPACITY default queue capacity}.
+     */
+    protected FinishedEntitySinkAsync() {
+        this(DEF_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Creates a sink with a given queue capacity.
+     * @param queueCapacity the maximum number of summaries waiting to be written
+     */
+    protected FinishedEntitySinkAsync(final int queueCapacity) {
+        super(queueCapacity);
+    }
+
+    @Override
+    public final void cloudletFinished(final CloudletSummary summary) {
+        submit(summary);
+    }
+
+    @Override
+    public final void vmDestroyed(final VmSummary summary) {
+        submit(summary);
+    }
+
+    @Override
+    protected final void writeItem(final Object item) throws IOException {
+        if (item instanceof CloudletSummary summary) {
+            writeCloudlet(summary);
+        } else {
+            writeVm((VmSummary) item);
+        }
+    }
+
+    /**
+     * Writes the summary of a finished Cloudlet. It's called from the background thread.
+     * @param summary the summary to write
+     * @throws IOException when the summary cannot be written
+     */
+    protected abstract void writeCloudlet(CloudletSummary summary) throws IOException;
+
+    /**
+     * Writes the summary of a destroyed VM. It's called from the background thread.
+     * @param summary the summary to write
+     * @throws IOException when the summary cannot be written
+     */
+    protected abstract void writeVm(VmSummary summary) throws IOException;
+}
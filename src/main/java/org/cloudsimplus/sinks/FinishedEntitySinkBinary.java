@@ -0,0 +1,203 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.sinks;
+
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
+
+/**
+ * A {@link FinishedEntitySink} that writes summaries of finished Cloudlets and destroyed VMs
+ * to two binary files in a background thread, using fixed-width big-endian records.
+ *
+ * <p>Each file starts with a header composed of the int {@link #MAGIC}, the short {@link #VERSION}
+ * and a byte indicating the record type ({@link #CLOUDLET_RECORD} or {@link #VM_RECORD}).
+ * Then each record contains the components of a {@link CloudletSummary} or {@link VmSummary},
+ * in declaration order, where the Cloudlet status is stored as the int ordinal of the
+ * {@link Cloudlet.Status} enum.
+ * Records can be read back using {@link #readCloudlets(Path, Consumer)} and {@link #readVms(Path, Consumer)}.</p>
+ *
+ * @since CloudSim Plus 7.3.0
+ */
+public class FinishedEntitySinkBinary extends FinishedEntitySinkAsync {
+    /** An int starting each file, which corresponds to the ASCII string "CSPS". */
+    public static final int MAGIC = 0x43535053;
+
+    /** The version of the file format. */
+    public static final short VERSION = 1;
+
+    /** Indicates a file contains {@link CloudletSummary} records. */
+    public static final byte CLOUDLET_RECORD = 1;
+
+    /** Indicates a file contains {@link VmSummary} records. */
+    public static final byte VM_RECORD = 2;
+
+    private static final Cloudlet.Status[] STATUSES = Cloudlet.Status.values();
+
+    private final DataOutputStream cloudletsOutput;
+    private final DataOutputStream vmsOutput;
+
+    /**
+     * Creates a sink that writes binary files.
+     * @param cloudletsFile the path of the file to write finished Cloudlets summaries
+     * @param vmsFile the path of the file to write destroyed VMs summaries
+     * @throws UncheckedIOException when the files cannot be created
+     */
+    public FinishedEntitySinkBinary(final Path cloudletsFile, final Path vmsFile) {
+        super();
+        try {
+            this.cloudletsOutput = newOutput(cloudletsFile, CLOUDLET_RECORD);
+            this.vmsOutput = newOutput(vmsFile, VM_RECORD);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static DataOutputStream newOutput(final Path file, final byte recordType) throws IOException {
+        final var output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+        output.writeInt(MAGIC);
+        output.writeShort(VERSION);
+        output.writeByte(recordType);
+        return output;
+    }
+
+    @Override
+    protected void writeCloudlet(final CloudletSummary summary) throws IOException {
+        final var out = cloudletsOutput;
+        out.writeLong(summary.id());
+        out.writeLong(summary.brokerId());
+        out.writeLong(summary.vmId());
+        out.writeLong(summary.hostId());
+        out.writeInt(summary.status().ordinal());
+        out.writeLong(summary.length());
+        out.writeLong(summary.pes());
+        out.writeDouble(summary.arrivalTime());
+        out.writeDouble(summary.execStartTime());
+        out.writeDouble(summary.finishTime());
+        out.writeDouble(summary.actualCpuTime());
+        out.writeDouble(summary.waitTime());
+    }
+
+    @Override
+    protected void writeVm(final VmSummary summary) throws IOException {
+        final var out = vmsOutput;
+        out.writeLong(summary.id());
+        out.writeLong(summary.brokerId());
+        out.writeLong(summary.hostId());
+        out.writeLong(summary.pes());
+        out.writeDouble(summary.mips());
+        out.writeLong(summary.ram());
+        out.writeLong(summary.bw());
+        out.writeLong(summary.storage());
+        out.writeDouble(summary.startTime());
+        out.writeDouble(summary.stopTime());
+        out.writeDouble(summary.cpuUtilizationMean());
+    }
+
+    @Override
+    protected void flush() throws IOException {
+        cloudletsOutput.flush();
+        vmsOutput.flush();
+    }
+
+    @Override
+    protected void closeOutput() throws IOException {
+        try {
+            cloudletsOutput.close();
+        } finally {
+            vmsOutput.close();
+        }
+    }
+
+    /**
+     * Reads a file of Cloudlet summaries previously written by this sink.
+     * @param file the path of the file to read
+     * @param consumer a {@link Consumer} to receive each read summary
+     * @throws UncheckedIOException when the file cannot be read, has an invalid header
+     *                              or ends in the middle of a record
+     */
+    public static void readCloudlets(final Path file, final Consumer<CloudletSummary> consumer) {
+        try (var in = newInput(file, CLOUDLET_RECORD)) {
+            for (var id = readId(in); id.isPresent(); id = readId(in)) {
+                consumer.accept(new CloudletSummary(
+                    id.getAsLong(), in.readLong(), in.readLong(), in.readLong(), STATUSES[in.readInt()],
+                    in.readLong(), in.readLong(), in.readDouble(), in.readDouble(),
+                    in.readDouble(), in.readDouble(), in.readDouble()));
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads a file of VM summaries previously written by this sink.
+     * @param file the path of the file to read
+     * @param consumer a {@link Consumer} to receive each read summary
+     * @throws UncheckedIOException when the file cannot be read, has an invalid header
+     *                              or ends in the middle of a record
+     */
+    public static void readVms(final Path file, final Consumer<VmSummary> consumer) {
+        try (var in = newInput(file, VM_RECORD)) {
+            for (var id = readId(in); id.isPresent(); id = readId(in)) {
+                consumer.accept(new VmSummary(
+                    id.getAsLong(), in.readLong(), in.readLong(), in.readLong(), in.readDouble(),
+                    in.readLong(), in.readLong(), in.readLong(),
+                    in.readDouble(), in.readDouble(), in.readDouble()));
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads the id starting the next record.
+     * Since {@link InputStream#available()} doesn't reliably indicate the end of a stream,
+     * it's detected by the {@link EOFException} thrown when no other record is found.
+     * An {@link EOFException} thrown while reading the remaining fields of a record is
+     * propagated, since the file is truncated.
+     * @return an {@link OptionalLong} with the id of the entity in the next record
+     *         or an empty one if there are no more records
+     */
+    private static OptionalLong readId(final DataInputStream in) throws IOException {
+        try {
+            return OptionalLong.of(in.readLong());
+        } catch (final EOFException e) {
+            return OptionalLong.empty();
+        }
+    }
+
+    private static DataInputStream newInput(final Path file, final byte recordType) throws IOException {
+        final var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+        if (in.readInt() != MAGIC || in.readShort() != VERSION || in.readByte() != recordType) {
+            in.close();
+            throw new IOException(file + " is not a valid summary file of the expected record type and version");
+        }
+
+        return in;
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.sinks;
+
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link FinishedEntitySink} that forwards summaries to callbacks,
+ * in the simulation thread.
+ *
+ * @since CloudSim Plus 7.3.0
+ * @see FinishedEntitySink#of(Consumer, Consumer)
+ */
+final class FinishedEntitySinkCallback implements FinishedEntitySink {
+    private final Consumer<CloudletSummary> cloudletConsumer;
+    private final Consumer<VmSummary> vmConsumer;
+
+    FinishedEntitySinkCallback(final Consumer<CloudletSummary> cloudletConsumer, final Consumer<VmSummary> vmConsumer) {
+        this.cloudletConsumer = requireNonNull(cloudletConsumer);
+        this.vmConsumer = requireNonNull(vmConsumer);
+    }
+
+    @Override
+    public void cloudletFinished(final CloudletSummary summary) {
+        cloudletConsumer.accept(summary);
+    }
+
+    @Override
+    public void vmDestroyed(final VmSummary summary) {
+        vmConsumer.accept(summary);
+    }
+
+    @Override
+    public void close() {/**/}
+}
@@ -0,0 +1,130 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.sinks;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A {@link FinishedEntitySink} that writes summaries of finished Cloudlets and destroyed VMs
+ * to two CSV files in a background thread.
+ * Each file starts with a header line containing the names of the
+ * {@link CloudletSummary} or {@link VmSummary} components.
+ *
+ * @since CloudSim Plus 7.3.0
+ */
+public class FinishedEntitySinkCsv extends FinishedEntitySinkAsync {
+    private static final char SEPARATOR = ',';
+    private static final String CLOUDLETS_HEADER =
+        "id,brokerId,vmId,hostId,status,length,pes,arrivalTime,execStartTime,finishTime,actualCpuTime,waitTime";
+    private static final String VMS_HEADER =
+        "id,brokerId,hostId,pes,mips,ram,bw,storage,startTime,stopTime,cpuUtilizationMean";
+
+    private final Writer cloudletsWriter;
+    private final Writer vmsWriter;
+
+    /**
+     * A buffer reused to format each line, avoiding one String allocation per field.
+     */
+    private final StringBuilder line;
+
+    /**
+     * Creates a sink that writes CSV files.
+     * @param cloudletsFile the path of the file to write finished Cloudlets summaries
+     * @param vmsFile the path of the file to write destroyed VMs summaries
+     * @throws UncheckedIOException when the files cannot be created
+     */
+    public FinishedEntitySinkCsv(final Path cloudletsFile, final Path vmsFile) {
+        super();
+        this.line = new StringBuilder(256);
+        try {
+            this.cloudletsWriter = newWriter(cloudletsFile, CLOUDLETS_HEADER);
+            this.vmsWriter = newWriter(vmsFile, VMS_HEADER);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Writer newWriter(final Path file, final String header) throws IOException {
+        final BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        writer.write(header);
+        writer.newLine();
+        return writer;
+    }
+
+    @Override
+    protected void writeCloudlet(final CloudletSummary summary) throws IOException {
+        line.setLength(0);
+        line.append(summary.id()).append(SEPARATOR)
+            .append(summary.brokerId()).append(SEPARATOR)
+            .append(summary.vmId()).append(SEPARATOR)
+            .append(summary.hostId()).append(SEPARATOR)
+            .append(summary.status()).append(SEPARATOR)
+            .append(summary.length()).append(SEPARATOR)
+            .append(summary.pes()).append(SEPARATOR)
+            .append(summary.arrivalTime()).append(SEPARATOR)
+            .append(summary.execStartTime()).append(SEPARATOR)
+            .append(summary.finishTime()).append(SEPARATOR)
+            .append(summary.actualCpuTime()).append(SEPARATOR)
+            .append(summary.waitTime()).append('\n');
+        cloudletsWriter.append(line);
+    }
+
+    @Override
+    protected void writeVm(final VmSummary summary) throws IOException {
+        line.setLength(0);
+        line.append(summary.id()).append(SEPARATOR)
+            .append(summary.brokerId()).append(SEPARATOR)
+            .append(summary.hostId()).append(SEPARATOR)
+            .append(summary.pes()).append(SEPARATOR)
+            .append(summary.mips()).append(SEPARATOR)
+            .append(summary.ram()).append(SEPARATOR)
+            .append(summary.bw()).append(SEPARATOR)
+            .append(summary.storage()).append(SEPARATOR)
+            .append(summary.startTime()).append(SEPARATOR)
+            .append(summary.stopTime()).append(SEPARATOR)
+            .append(summary.cpuUtilizationMean()).append('\n');
+        vmsWriter.append(line);
+    }
+
+    @Override
+    protected void flush() throws IOException {
+        cloudletsWriter.flush();
+        vmsWriter.flush();
+    }
+
+    @Override
+    protected void closeOutput() throws IOException {
+        try {
+            cloudletsWriter.close();
+        } finally {
+            vmsWriter.close();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.sinks;
+
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.vms.Vm;
+
+/**
+ * An immutable summary of a destroyed {@link Vm}, holding just primitive values,
+ * so that the VM object itself doesn't need to be retained.
+ *
+ * @param id the VM id
+ * @param brokerId the id of the broker the VM belongs to
+ * @param hostId the id of the Host where the VM was placed
+ * @param pes the number of VM PEs
+ * @param mips the MIPS capacity of each VM PE
+ * @param ram the VM RAM capacity (in Megabytes)
+ * @param bw the VM bandwidth capacity (in Megabits/s)
+ * @param storage the VM storage capacity (in Megabytes)
+ * @param startTime the time the VM started (in seconds)
+ * @param stopTime the time the VM was destroyed (in seconds)
+ * @param cpuUtilizationMean the mean CPU utilization percentage (in scale from 0 to 1),
+ *                           or {@link Double#NaN} if utilization stats are not enabled for the VM
+ * @since CloudSim Plus 7.3.0
+ */
+public record VmSummary(
+    long id, long brokerId, long hostId, long pes, double mips,
+    long ram, long bw, long storage, double startTime, double stopTime,
+    double cpuUtilizationMean)
+{
+    /**
+     * Creates a summary from a given VM.
+     * @param vm the VM to summarize
+     * @param host the Host where the VM was placed
+     * @return the new summary
+     */
+    public static VmSummary of(final Vm vm, final Host host) {
+        final var cpuStats = vm.getCpuUtilizationStats();
+        return new VmSummary(
+            vm.getId(), vm.getBroker().getId(), host.getId(), vm.getNumberOfPes(), vm.getMips(),
+            vm.getRam().getCapacity(), vm.getBw().getCapacity(), vm.getStorage().getCapacity(),
+            vm.getStartTime(), vm.getStopTime(),
+            cpuStats.isEmpty() ? Double.NaN : cpuStats.getMean());
+    }
+}
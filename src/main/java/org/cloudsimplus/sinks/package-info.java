@@ -0,0 +1,11 @@
+/**
+ * Provides classes to stream summaries of finished {@link org.cloudbus.cloudsim.cloudlets.Cloudlet}s
+ * and destroyed {@link org.cloudbus.cloudsim.vms.Vm}s out of the simulation,
+ * such as to a callback or to CSV and binary files written by a background thread.
+ * That enables brokers to stop retaining such entities,
+ * bounding memory usage of long trace-driven simulations.
+ *
+ * @since CloudSim Plus 7.3.0
+ * @see org.cloudsimplus.sinks.FinishedEntitySink
+ */
+package org.cloudsimplus.sinks;
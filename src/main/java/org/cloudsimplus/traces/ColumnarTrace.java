@@ -0,0 +1,467 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.traces;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * A trace stored in a compact, versioned columnar binary format,
+ * which is memory-mapped and read in place, without parsing text.
+ * Such files are created by a {@link ColumnarTraceWriter},
+ * usually the first time a text trace is parsed, to speed up reading the same trace
+ * in later simulation runs.
+ *
+ * <p>Each column is stored as an array of fixed-width values according to its {@link ColumnType}.
+ * Values of {@link ColumnType#STRING} columns are stored as indexes into a dictionary
+ * of distinct Strings, which is loaded when the file is opened.
+ * Numeric columns having empty values (such as missing fields in a trace line)
+ * store a bitmap indicating such values.
+ * Numeric values whose original text is not the one {@link Long#toString(long)}
+ * or {@link Double#toString(double)} gives (such as 0.50 or 1e3) also store such a text in the dictionary,
+ * so that {@link #getString(int, int)} and {@link #getLong(int, int)} behave exactly as if the text was parsed.
+ * The number of fields in each row is also stored, since trace lines may have a variable number of fields.
+ * Finally, the configuration used to parse the text trace is stored, so that a file
+ * created with a different configuration is not considered {@link #isUpToDate(Path, String, String) up-to-date}.</p>
+ *
+ * <p>Since a single mapped buffer is limited to 2 GB, columns are mapped in chunks
+ * and values are addressed by long offsets, so that traces with billions of rows can be read.</p>
+ *
+ * <p>The file layout (all values are big-endian) is:</p>
+ * <pre>
+ * int MAGIC, short VERSION, short 0, int rows, int columns, long metadataBytes
+ * for each column: byte type ordinal, byte flags (bit 0 set if it has empty values, bit 1 set if it has original texts)
+ * configuration: int length, UTF-8 bytes
+ * dictionary: int size, then for each String: int length, UTF-8 bytes (metadataBytes in total with the configuration)
+ * padding to an 8-byte boundary
+ * int field count for each row, padded to an 8-byte boundary
+ * for each column: the column values (8-byte longs or doubles, or 4-byte dictionary indexes padded to an 8-byte boundary),
+ *                  followed by a bitmap of empty values (as longs), if the column has empty values,
+ *                  followed by the 4-byte dictionary index of the original text of each value (or -1 if there is no such text)
+ *                  padded to an 8-byte boundary, if the column has original texts
+ * </pre>
+ *
+ * @since CloudSim Plus 7.3.0
+ */
+public final class ColumnarTrace {
+    /** An int starting each file, which corresponds to the ASCII string "CSPC". */
+    public static final int MAGIC = 0x43535043;
+
+    /** The version of the file format. */
+    public static final short VERSION = 2;
+
+    /** The size of the fixed-width file header, before the column types. */
+    static final int HEADER_SIZE = 24;
+
+    /**
+     * The types of values stored in a column.
+     */
+    public enum ColumnType {
+        /** Integer values, stored as longs. */
+        LONG,
+        /** Floating-point values, stored as doubles. */
+        DOUBLE,
+        /** Text values, stored as indexes into a dictionary. */
+        STRING
+    }
+
+    private static final ColumnType[] TYPES = ColumnType.values();
+
+    /**
+     * The default number of bits of an offset used to address a byte inside a mapped chunk,
+     * so that each chunk has 1 GB.
+     */
+    private static final int DEF_CHUNK_BITS = 30;
+
+    /** The flag indicating a column has empty values. */
+    static final int HAS_EMPTIES = 1;
+
+    /** The flag indicating a column has original texts for some values. */
+    static final int HAS_TEXTS = 2;
+
+    private final Path file;
+    private final int rows;
+    private final ColumnType[] types;
+    private final String configuration;
+    private final String[] dictionary;
+    private final Region fieldCounts;
+    private final Region[] values;
+
+    /** The bitmap of empty values for each column, or null if the column has no empty values. */
+    private final Region[] empties;
+
+    /**
+     * The dictionary indexes of the original text of the values of each column,
+     * or null if the column has no such texts.
+     */
+    private final Region[] texts;
+
+    private ColumnarTrace(final Path file, final FileChannel channel, final int chunkBits) throws IOException {
+        this.file = file;
+        final var header = readHeader(file, channel);
+        this.rows = header.getInt();
+        final int columns = header.getInt();
+        final long metadataBytes = header.getLong();
+
+        long position = HEADER_SIZE;
+        final var meta = map(channel, position, 2L * columns + metadataBytes);
+        this.types = new ColumnType[columns];
+        final byte[] flags = new byte[columns];
+        for (int col = 0; col < columns; col++) {
+            types[col] = TYPES[meta.get()];
+            flags[col] = meta.get();
+        }
+
+        this.configuration = readString(meta);
+        this.dictionary = readDictionary(meta);
+        position = align(position + meta.limit());
+
+        this.fieldCounts = new Region(channel, position, 4L * rows, chunkBits);
+        position = align(position + 4L * rows);
+
+        this.values = new Region[columns];
+        this.empties = new Region[columns];
+        this.texts = new Region[columns];
+        for (int col = 0; col < columns; col++) {
+            final long size = align((long) valueSize(types[col]) * rows);
+            values[col] = new Region(channel, position, size, chunkBits);
+            position += size;
+            if ((flags[col] & HAS_EMPTIES) != 0) {
+                empties[col] = new Region(channel, position, bitmapSize(rows), chunkBits);
+                position += bitmapSize(rows);
+            }
+
+            if ((flags[col] & HAS_TEXTS) != 0) {
+                texts[col] = new Region(channel, position, align((long) Integer.BYTES * rows), chunkBits);
+                position += align((long) Integer.BYTES * rows);
+            }
+        }
+    }
+
+    /**
+     * A region of the file mapped into memory as a sequence of chunks, each one up to 2^chunkBits bytes.
+     * Since regions start at an 8-byte boundary and chunks have a power of 2 size,
+     * a value never spans two chunks.
+     */
+    private static final class Region {
+        private final MappedByteBuffer[] chunks;
+        private final int chunkBits;
+        private final long chunkMask;
+
+        private Region(final FileChannel channel, final long position, final long size, final int chunkBits) throws IOException {
+            this.chunkBits = chunkBits;
+            this.chunkMask = (1L << chunkBits) - 1;
+            this.chunks = new MappedByteBuffer[(int) ((size + chunkMask) >>> chunkBits)];
+            for (int chunk = 0; chunk < chunks.length; chunk++) {
+                final long offset = (long) chunk << chunkBits;
+                chunks[chunk] = channel.map(FileChannel.MapMode.READ_ONLY, position + offset, Math.min(size - offset, 1L << chunkBits));
+            }
+        }
+
+        private int getInt(final long offset) {
+            return chunks[(int) (offset >>> chunkBits)].getInt((int) (offset & chunkMask));
+        }
+
+        private long getLong(final long offset) {
+            return chunks[(int) (offset >>> chunkBits)].getLong((int) (offset & chunkMask));
+        }
+
+        private double getDouble(final long offset) {
+            return chunks[(int) (offset >>> chunkBits)].getDouble((int) (offset & chunkMask));
+        }
+    }
+
+    /**
+     * Maps the fixed-width header of a columnar trace file,
+     * checking it has the expected {@link #MAGIC} and {@link #VERSION}.
+     * @return the header buffer, positioned at the number of rows
+     */
+    private static MappedByteBuffer readHeader(final Path file, final FileChannel channel) throws IOException {
+        final var header = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(HEADER_SIZE, channel.size()));
+        if (header.limit() < HEADER_SIZE || header.getInt() != MAGIC || header.getShort() != VERSION) {
+            throw new IOException(file + " is not a columnar trace file of version " + VERSION);
+        }
+
+        header.getShort();
+        return header;
+    }
+
+    /**
+     * Opens a columnar trace file, mapping it into memory.
+     * @param file the path of the file to open
+     * @return the opened trace
+     * @throws UncheckedIOException when the file cannot be read or is not a valid columnar trace file
+     */
+    public static ColumnarTrace open(final Path file) {
+        return open(file, DEF_CHUNK_BITS);
+    }
+
+    /**
+     * Opens a columnar trace file, mapping it into memory in chunks of a given size.
+     * @param file the path of the file to open
+     * @param chunkBits the number of bits of an offset used to address a byte inside a chunk
+     * @return the opened trace
+     */
+    static ColumnarTrace open(final Path file, final int chunkBits) {
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new ColumnarTrace(file, channel, chunkBits);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Checks if a columnar trace file exists and is up-to-date with the text trace file it was created from.
+     * @param columnarFile the path of the columnar trace file
+     * @param traceFilePath the path of the text trace file, which may not exist in the file system
+     *                      (such as when it is a resource inside a jar), so that it's not checked
+     * @return true if the columnar file exists and is not older than the text trace file, false otherwise
+     */
+    public static boolean isUpToDate(final Path columnarFile, final String traceFilePath) {
+        if (!Files.isRegularFile(columnarFile)) {
+            return false;
+        }
+
+        try {
+            final var traceFile = Path.of(traceFilePath);
+            return !Files.isRegularFile(traceFile) ||
+                   Files.getLastModifiedTime(traceFile).compareTo(Files.getLastModifiedTime(columnarFile)) <= 0;
+        } catch (final IOException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Checks if a columnar trace file exists, is up-to-date with the text trace file it was created from
+     * and was created using a given configuration to parse the text trace.
+     * @param columnarFile the path of the columnar trace file
+     * @param traceFilePath the path of the text trace file, which may not exist in the file system
+     *                      (such as when it is a resource inside a jar), so that it's not checked
+     * @param configuration the configuration currently used to parse the text trace
+     * @return true if the columnar file exists, is not older than the text trace file
+     *         and was created with the given configuration, false otherwise
+     * @see ColumnarTraceWriter#ColumnarTraceWriter(String)
+     */
+    public static boolean isUpToDate(final Path columnarFile, final String traceFilePath, final String configuration) {
+        if (!isUpToDate(columnarFile, traceFilePath)) {
+            return false;
+        }
+
+        try (var channel = FileChannel.open(columnarFile, StandardOpenOption.READ)) {
+            final var header = readHeader(columnarFile, channel);
+            header.getInt();
+            final int columns = header.getInt();
+            final long metadataBytes = header.getLong();
+            final var meta = map(channel, HEADER_SIZE, 2L * columns + metadataBytes);
+            meta.position(2 * columns);
+            return readString(meta).equals(configuration);
+        } catch (final IOException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static MappedByteBuffer map(final FileChannel channel, final long position, final long size) throws IOException {
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Columnar trace metadata too large to be mapped: " + size + " bytes");
+        }
+
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+    }
+
+    private static String[] readDictionary(final MappedByteBuffer meta) {
+        final var dictionary = new String[meta.getInt()];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = readString(meta);
+        }
+
+        return dictionary;
+    }
+
+    private static String readString(final MappedByteBuffer meta) {
+        final var bytes = new byte[meta.getInt()];
+        meta.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static int valueSize(final ColumnType type) {
+        return type == ColumnType.STRING ? Integer.BYTES : Long.BYTES;
+    }
+
+    static long bitmapSize(final int rows) {
+        return ((rows + 63L) / 64) * Long.BYTES;
+    }
+
+    static long align(final long position) {
+        return (position + 7) & ~7L;
+    }
+
+    /**
+     * Gets the path of the columnar trace file.
+     * @return the file path
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Gets the configuration used to parse the text trace the file was created from.
+     * @return the configuration (an empty String if it was not given)
+     * @see #isUpToDate(Path, String, String)
+     */
+    public String getConfiguration() {
+        return configuration;
+    }
+
+    /**
+     * Gets the number of rows (trace lines) in the trace.
+     * @return the number of rows
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Gets the number of columns in the trace, which is the maximum number of fields of a row.
+     * @return the number of columns
+     */
+    public int getColumns() {
+        return types.length;
+    }
+
+    /**
+     * Gets the type of values stored in a column.
+     * @param col the column index
+     * @return the column type
+     */
+    public ColumnType getColumnType(final int col) {
+        return types[col];
+    }
+
+    /**
+     * Gets the number of fields in a row (the number of fields in the trace line it was created from).
+     * Columns after such a number have empty values for that row.
+     * @param row the row index
+     * @return the number of fields in the row
+     */
+    public int getFieldCount(final int row) {
+        return fieldCounts.getInt((long) Objects.checkIndex(row, rows) * Integer.BYTES);
+    }
+
+    /**
+     * Checks if a field is empty.
+     * @param row the row index
+     * @param col the column index
+     * @return true if the field is empty or missing, false otherwise
+     */
+    public boolean isEmpty(final int row, final int col) {
+        if (types[col] == ColumnType.STRING) {
+            return dictionary[stringIndex(row, col)].isEmpty();
+        }
+
+        final var bitmap = empties[col];
+        return bitmap != null && (bitmap.getLong((long) (Objects.checkIndex(row, rows) >>> 6) * Long.BYTES) & (1L << row)) != 0;
+    }
+
+    /**
+     * Gets a field value as a long.
+     * @param row the row index
+     * @param col the column index
+     * @return the field value
+     * @throws NumberFormatException when the field is empty or its value is not an integer,
+     *                               as if the text value was parsed
+     */
+    public long getLong(final int row, final int col) {
+        return switch (types[col]) {
+            case LONG -> {
+                checkNotEmpty(row, col);
+                yield values[col].getLong((long) Objects.checkIndex(row, rows) * Long.BYTES);
+            }
+            case DOUBLE, STRING -> Long.parseLong(getString(row, col));
+        };
+    }
+
+    /**
+     * Gets a field value as a double.
+     * @param row the row index
+     * @param col the column index
+     * @return the field value
+     * @throws NumberFormatException when the field is empty or its value is not a number,
+     *                               as if the text value was parsed
+     */
+    public double getDouble(final int row, final int col) {
+        return switch (types[col]) {
+            case LONG -> getLong(row, col);
+            case DOUBLE -> {
+                checkNotEmpty(row, col);
+                yield values[col].getDouble((long) Objects.checkIndex(row, rows) * Long.BYTES);
+            }
+            case STRING -> Double.parseDouble(getString(row, col));
+        };
+    }
+
+    /**
+     * Gets a field value as a String.
+     * For {@link ColumnType#STRING} columns and numeric values whose original text was stored,
+     * the String is got from the dictionary, without creating a new object.
+     * For other numeric values, the original text is the String representing the number,
+     * which is created.
+     * @param row the row index
+     * @param col the column index
+     * @return the field value or an empty String if the field is empty
+     */
+    public String getString(final int row, final int col) {
+        if (types[col] == ColumnType.STRING) {
+            return dictionary[stringIndex(row, col)];
+        }
+
+        if (isEmpty(row, col)) {
+            return "";
+        }
+
+        final var textIndexes = texts[col];
+        final int textIndex = textIndexes == null ? -1 : textIndexes.getInt((long) Objects.checkIndex(row, rows) * Integer.BYTES);
+        if (textIndex >= 0) {
+            return dictionary[textIndex];
+        }
+
+        return types[col] == ColumnType.LONG ? Long.toString(getLong(row, col)) : Double.toString(getDouble(row, col));
+    }
+
+    private int stringIndex(final int row, final int col) {
+        return values[col].getInt((long) Objects.checkIndex(row, rows) * Integer.BYTES);
+    }
+
+    private void checkNotEmpty(final int row, final int col) {
+        if (isEmpty(row, col)) {
+            throw new NumberFormatException("empty String");
+        }
+    }
+}
@@ -0,0 +1,575 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.traces;
+
+import org.cloudsimplus.traces.ColumnarTrace.ColumnType;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * Builds a {@link ColumnarTrace} file row by row.
+ * Rows can be added either from the fields of a parsed text trace line,
+ * whose column types are inferred from the values,
+ * or by setting typed values directly.
+ *
+ * <p>The type of a column inferred from text values follows the same rules
+ * {@link TraceReaderBase} uses to parse fields: a column starts as {@link ColumnType#LONG}
+ * and is promoted to {@link ColumnType#DOUBLE} when a decimal value is found,
+ * or to {@link ColumnType#STRING} when a non-numeric value is found.
+ * Empty fields don't change the column type.
+ * When the text of a numeric value is not the one {@link Long#toString(long)} or {@link Double#toString(double)} gives,
+ * the text is kept as well, so that the value is read back as the same String.</p>
+ *
+ * <p>Since the columnar file stores all values of a column together,
+ * each finished row is appended to one temporary spill file for each column,
+ * which are copied into the columnar file when it's {@link #write(Path) written}.
+ * That way, just the dictionary of distinct Strings is kept in memory,
+ * no matter how many rows the trace has.
+ * The spill files are deleted when the file is written or the writer is {@link #close() closed}.</p>
+ *
+ * @since CloudSim Plus 7.3.0
+ */
+public final class ColumnarTraceWriter implements Closeable {
+    private static final Pattern LONG_REGEX = Pattern.compile(TraceReaderBase.INT_REGEX);
+    private static final Pattern DOUBLE_REGEX = Pattern.compile(TraceReaderBase.DOUBLE_REGEX);
+
+    /* The kinds of field values stored in a spill file, which may be combined with the WITH_TEXT flag. */
+    private static final int EMPTY = 0;
+    private static final int LONG = 1;
+    private static final int DOUBLE = 2;
+    private static final int STRING = 3;
+
+    /** A flag set for numeric values followed by the dictionary index of their original text. */
+    private static final int WITH_TEXT = 4;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final String configuration;
+    private final Path spillDir;
+    private final List<Column> columns = new ArrayList<>();
+    private final Map<String, Integer> dictionaryIndexes = new HashMap<>();
+    private final List<String> dictionary = new ArrayList<>();
+
+    /** A spill file storing the number of fields of each row. */
+    private Path fieldCountsFile;
+    private DataOutputStream fieldCounts;
+    private int rows;
+
+    /** The number of fields set for the row being built. */
+    private int rowFields;
+
+    /**
+     * Creates a writer for a columnar trace not bound to any parsing configuration.
+     */
+    public ColumnarTraceWriter() {
+        this("");
+    }
+
+    /**
+     * Creates a writer for a columnar trace whose text trace was parsed using a given configuration,
+     * such as the field delimiter and comment Strings.
+     * Spill files are created in the default temporary-file directory.
+     * @param configuration a description of the configuration used to parse the text trace
+     * @see ColumnarTrace#isUpToDate(Path, String, String)
+     */
+    public ColumnarTraceWriter(final String configuration) {
+        this(configuration, null);
+    }
+
+    /**
+     * Creates a writer for a columnar trace whose text trace was parsed using a given configuration,
+     * such as the field delimiter and comment Strings.
+     * @param configuration a description of the configuration used to parse the text trace
+     * @param spillDir the directory where spill files are created
+     *                 (usually the one of the columnar file, which is expected to have room for a copy of it),
+     *                 or null to use the default temporary-file directory
+     * @see ColumnarTrace#isUpToDate(Path, String, String)
+     */
+    public ColumnarTraceWriter(final String configuration, final Path spillDir) {
+        this.configuration = Objects.requireNonNull(configuration);
+        this.spillDir = spillDir;
+    }
+
+    /**
+     * Adds a row from the fields of a parsed text trace line, inferring the column types.
+     * @param fields the fields of the trace line
+     */
+    public void addRow(final String[] fields) {
+        for (int col = 0; col < fields.length; col++) {
+            setText(col, fields[col]);
+        }
+
+        endRow();
+    }
+
+    /**
+     * Sets a text value for a column of the row being built,
+     * promoting the column type if the value doesn't fit in the current one.
+     * @param col the column index
+     * @param value the text value
+     */
+    public void setText(final int col, final String value) {
+        final var column = column(col);
+        if (value == null || value.isEmpty()) {
+            column.set(EMPTY, 0);
+        } else if (LONG_REGEX.matcher(value).matches() && fitsLong(value)) {
+            column.set(LONG, Long.parseLong(value));
+            column.keepText(value);
+        } else if (DOUBLE_REGEX.matcher(value).matches()) {
+            column.set(DOUBLE, Double.doubleToRawLongBits(Double.parseDouble(value)));
+            column.keepText(value);
+        } else {
+            column.set(STRING, stringIndex(value));
+        }
+
+        rowFields = Math.max(rowFields, col + 1);
+    }
+
+    /**
+     * Sets a long value for a column of the row being built.
+     * @param col the column index
+     * @param value the value to set
+     */
+    public void setLong(final int col, final long value) {
+        column(col).set(LONG, value);
+        rowFields = Math.max(rowFields, col + 1);
+    }
+
+    /**
+     * Sets a double value for a column of the row being built.
+     * @param col the column index
+     * @param value the value to set
+     */
+    public void setDouble(final int col, final double value) {
+        column(col).set(DOUBLE, Double.doubleToRawLongBits(value));
+        rowFields = Math.max(rowFields, col + 1);
+    }
+
+    /**
+     * Finishes the row being built, appending it to the spill files,
+     * so that the next values are set for a new row.
+     * Columns not set for the row are stored as empty.
+     * @throws UncheckedIOException when the spill files cannot be written
+     */
+    public void endRow() {
+        if (rows == Integer.MAX_VALUE) {
+            throw new IllegalStateException("A columnar trace cannot have more than " + Integer.MAX_VALUE + " rows.");
+        }
+
+        try {
+            if (fieldCounts == null) {
+                fieldCountsFile = newSpillFile();
+                fieldCounts = newSpillOutput(fieldCountsFile);
+            }
+
+            fieldCounts.writeInt(rowFields);
+            for (final var column : columns) {
+                column.endRow();
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        rows++;
+        rowFields = 0;
+    }
+
+    /**
+     * Gets the number of rows added so far.
+     * @return the number of rows
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Writes the added rows to a columnar trace file and {@link #close() closes} the writer.
+     * The data is written to a temporary file which then replaces the given one,
+     * so that an incomplete file is never left behind.
+     * @param file the path of the file to write
+     * @throws UncheckedIOException when the file cannot be written
+     */
+    public void write(final Path file) {
+        try {
+            final var absFile = file.toAbsolutePath();
+            final var tmpFile = Files.createTempFile(absFile.getParent(), absFile.getFileName().toString(), ".tmp");
+            try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile), BUFFER_SIZE))) {
+                write(out);
+            } catch (final IOException | RuntimeException e) {
+                Files.deleteIfExists(tmpFile);
+                throw e;
+            }
+
+            Files.move(tmpFile, absFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            close();
+        }
+    }
+
+    private void write(final DataOutputStream out) throws IOException {
+        if (fieldCounts != null) {
+            fieldCounts.close();
+        }
+
+        for (final var column : columns) {
+            column.finish();
+        }
+
+        final byte[] configurationBytes = configuration.getBytes(StandardCharsets.UTF_8);
+        final byte[][] dictionaryBytes = new byte[dictionary.size()][];
+        long metadataSize = 2L * Integer.BYTES + configurationBytes.length;
+        for (int i = 0; i < dictionaryBytes.length; i++) {
+            dictionaryBytes[i] = dictionary.get(i).getBytes(StandardCharsets.UTF_8);
+            metadataSize += Integer.BYTES + dictionaryBytes[i].length;
+        }
+
+        out.writeInt(ColumnarTrace.MAGIC);
+        out.writeShort(ColumnarTrace.VERSION);
+        out.writeShort(0);
+        out.writeInt(rows);
+        out.writeInt(columns.size());
+        out.writeLong(metadataSize);
+        for (final var column : columns) {
+            out.writeByte(column.type.ordinal());
+            out.writeByte((column.hasEmpties() ? ColumnarTrace.HAS_EMPTIES : 0) | (column.hasTexts() ? ColumnarTrace.HAS_TEXTS : 0));
+        }
+
+        out.writeInt(configurationBytes.length);
+        out.write(configurationBytes);
+
+        out.writeInt(dictionaryBytes.length);
+        for (final byte[] bytes : dictionaryBytes) {
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+        pad(out, ColumnarTrace.HEADER_SIZE + 2L * columns.size() + metadataSize);
+
+        if (fieldCountsFile != null) {
+            Files.copy(fieldCountsFile, out);
+        }
+        pad(out, (long) Integer.BYTES * rows);
+
+        for (final var column : columns) {
+            column.write(out);
+        }
+    }
+
+    /**
+     * Writes zeros after a section of the file, so that the next one starts at an 8-byte boundary.
+     * Since {@link DataOutputStream#size()} is limited to int, the size of the section must be given.
+     * @param sectionSize the number of bytes in the section, which must start at an 8-byte boundary
+     */
+    private static void pad(final DataOutputStream out, final long sectionSize) throws IOException {
+        for (long i = sectionSize; i < ColumnarTrace.align(sectionSize); i++) {
+            out.writeByte(0);
+        }
+    }
+
+    /**
+     * Deletes the spill files, discarding the rows added so far if the file was not {@link #write(Path) written}.
+     */
+    @Override
+    public void close() {
+        try {
+            if (fieldCounts != null) {
+                fieldCounts.close();
+                Files.deleteIfExists(fieldCountsFile);
+            }
+
+            for (final var column : columns) {
+                column.close();
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path newSpillFile() throws IOException {
+        final var file = spillDir == null ?
+                            Files.createTempFile("columnar", ".spill") :
+                            Files.createTempFile(spillDir, "columnar", ".spill");
+        // The file is left behind just when the writer is neither written nor closed
+        file.toFile().deleteOnExit();
+        return file;
+    }
+
+    private static DataOutputStream newSpillOutput(final Path file) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE));
+    }
+
+    private static boolean fitsLong(final String value) {
+        try {
+            Long.parseLong(value);
+            return true;
+        } catch (final NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private Column column(final int col) {
+        try {
+            while (columns.size() <= col) {
+                columns.add(new Column());
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return columns.get(col);
+    }
+
+    private int stringIndex(final String value) {
+        return dictionaryIndexes.computeIfAbsent(value, str -> {
+            dictionary.add(str);
+            return dictionary.size() - 1;
+        });
+    }
+
+    /**
+     * Stores the values of a column in a spill file, as they were set for each row.
+     * The type of the column is the widest one among the values, so that values
+     * are just converted to it when the columnar file is written.
+     * Rows whose value was not set are empty.
+     */
+    private final class Column {
+        private final Path file;
+        private final DataOutputStream out;
+        private ColumnType type = ColumnType.LONG;
+        private boolean hasEmptyValues;
+        private boolean hasLongValues;
+        private boolean hasOriginalTexts;
+
+        /* The value set for the row being built. */
+        private int kind = EMPTY;
+        private long bits;
+        private int text = -1;
+
+        /**
+         * Creates a column whose value is empty for the rows already added.
+         */
+        private Column() throws IOException {
+            this.file = newSpillFile();
+            this.out = newSpillOutput(file);
+            for (int row = 0; row < rows; row++) {
+                out.writeByte(EMPTY);
+            }
+            hasEmptyValues = rows > 0;
+        }
+
+        /**
+         * Sets the value for the row being built.
+         * @param kind the kind of value
+         * @param bits the long value, the raw bits of the double value or the dictionary index of the String
+         */
+        private void set(final int kind, final long bits) {
+            this.kind = kind;
+            this.bits = bits;
+            this.text = -1;
+        }
+
+        /**
+         * Keeps the original text of the numeric value of the row being built,
+         * if it's not the text the value would be converted to.
+         */
+        private void keepText(final String text) {
+            if (!numberText(kind, bits).equals(text)) {
+                this.text = stringIndex(text);
+            }
+        }
+
+        private void endRow() throws IOException {
+            switch (kind) {
+                case EMPTY -> hasEmptyValues = true;
+                case LONG -> hasLongValues = true;
+                case DOUBLE -> type = type == ColumnType.STRING ? type : ColumnType.DOUBLE;
+                default -> type = ColumnType.STRING;
+            }
+
+            out.writeByte(text >= 0 ? kind | WITH_TEXT : kind);
+            if (kind != EMPTY) {
+                out.writeLong(bits);
+            }
+
+            if (text >= 0) {
+                hasOriginalTexts = true;
+                out.writeInt(text);
+            }
+
+            set(EMPTY, 0);
+        }
+
+        /**
+         * Closes the spill file and adds to the dictionary the Strings values will be converted to,
+         * which must be done before the dictionary is written.
+         */
+        private void finish() throws IOException {
+            out.close();
+            if (type == ColumnType.STRING) {
+                read(value -> stringIndex(value.string()));
+            } else if (type == ColumnType.DOUBLE && hasLongValues) {
+                read(value -> {
+                    if (value.kind == LONG) {
+                        value.text();
+                    }
+                });
+            }
+        }
+
+        private boolean hasEmpties() {
+            return type != ColumnType.STRING && hasEmptyValues;
+        }
+
+        /**
+         * Checks if the original text of values is stored.
+         * Integer values of a {@link ColumnType#DOUBLE} column always store their text,
+         * so that they are still read as integers.
+         */
+        private boolean hasTexts() {
+            return type != ColumnType.STRING && (hasOriginalTexts || type == ColumnType.DOUBLE && hasLongValues);
+        }
+
+        private void write(final DataOutputStream out) throws IOException {
+            read(value -> {
+                switch (type) {
+                    case LONG -> out.writeLong(value.kind == LONG ? value.bits : 0);
+                    case DOUBLE -> out.writeDouble(value.toDouble());
+                    case STRING -> out.writeInt(dictionaryIndexes.get(value.string()));
+                }
+            });
+            pad(out, (long) ColumnarTrace.valueSize(type) * rows);
+
+            if (hasEmpties()) {
+                final long[] word = {0};
+                final int[] row = {0};
+                read(value -> {
+                    if (value.kind == EMPTY) {
+                        word[0] |= 1L << row[0];
+                    }
+
+                    if (++row[0] % Long.SIZE == 0) {
+                        out.writeLong(word[0]);
+                        word[0] = 0;
+                    }
+                });
+
+                if (rows % Long.SIZE != 0) {
+                    out.writeLong(word[0] | -1L << rows);
+                }
+            }
+
+            if (hasTexts()) {
+                read(value -> out.writeInt(value.kind == LONG && type == ColumnType.DOUBLE ? value.text() : value.text));
+                pad(out, (long) Integer.BYTES * rows);
+            }
+        }
+
+        /**
+         * Reads the values of all rows from the spill file.
+         * @param consumer the consumer of each value, which is reused for all rows
+         */
+        private void read(final ValueConsumer consumer) throws IOException {
+            try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE))) {
+                final var value = new Value();
+                for (int row = 0; row < rows; row++) {
+                    final int flags = in.readUnsignedByte();
+                    value.kind = flags & ~WITH_TEXT;
+                    value.bits = value.kind == EMPTY ? 0 : in.readLong();
+                    value.text = (flags & WITH_TEXT) == 0 ? -1 : in.readInt();
+                    consumer.accept(value);
+                }
+            }
+        }
+
+        private void close() throws IOException {
+            out.close();
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * A value read from a spill file.
+     */
+    private final class Value {
+        private int kind;
+        private long bits;
+        private int text;
+
+        private double toDouble() {
+            return switch (kind) {
+                case LONG -> bits;
+                case DOUBLE -> Double.longBitsToDouble(bits);
+                default -> 0;
+            };
+        }
+
+        /**
+         * Gets the dictionary index of the text of a numeric value,
+         * which is the original text, if kept, or the text the number is converted to.
+         */
+        private int text() {
+            return text >= 0 ? text : stringIndex(numberText(kind, bits));
+        }
+
+        /**
+         * Gets the String a value is converted to in a {@link ColumnType#STRING} column.
+         */
+        private String string() {
+            return switch (kind) {
+                case EMPTY -> "";
+                case STRING -> dictionary.get((int) bits);
+                default -> dictionary.get(text());
+            };
+        }
+    }
+
+    /**
+     * Gets the text a numeric value is converted to.
+     */
+    private static String numberText(final int kind, final long bits) {
+        return kind == LONG ? Long.toString(bits) : Double.toString(Double.longBitsToDouble(bits));
+    }
+
+    @FunctionalInterface
+    private interface ValueConsumer {
+        void accept(Value value) throws IOException;
+    }
+}
@@ -24,9 +24,15 @@
 package org.cloudsimplus.traces;
 
 import org.cloudbus.cloudsim.util.TraceReaderAbstract;
+import org.cloudsimplus.traces.ColumnarTrace.ColumnType;
 
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.function.Function;
 
 /**
  * An abstract class providing additional features for subclasses implementing trace file
@@ -34,6 +40,11 @@ import java.util.Objects;
  *
  * <p>Check important details at {@link TraceReaderAbstract}.</p>
  *
+ * <p>A {@link #setColumnarCacheFile(Path) columnar cache file} can be set so that,
+ * the first time the whole trace is read, the parsed lines are stored in a compact binary
+ * {@link ColumnarTrace}. Later reads (usually in other simulation runs) map such a file into memory
+ * and get field values directly from it, without parsing the text trace.</p>
+ *
  * @author Manoel Campos da Silva Filho
  * @since CloudSim Plus 4.0.0
  */
@@ -41,11 +52,28 @@ public abstract class TraceReaderBase extends TraceReaderAbstract {
     /**
      * Regular expression to check if a String corresponds to an integer number.
      */
-    private static final String INT_REGEX = "^-?\\d+$";
+    static final String INT_REGEX = "^-?\\d+$";
+
+    /**
+     * Regular expression to check if a String corresponds to a decimal number.
+     */
+    static final String DOUBLE_REGEX = "^-?\\d+(\\.?\\d+)?$";
 
     /** @see #getLastParsedLineArray() */
     private String[] lastParsedLineArray;
 
+    /** @see #getColumnarCacheFile() */
+    private Path columnarCacheFile;
+
+    /**
+     * The columnar trace being read, or null if field values are got from the
+     * {@link #getLastParsedLineArray() last parsed line}.
+     */
+    private ColumnarTrace columnarTrace;
+
+    /** The row of the {@link #columnarTrace} being read. */
+    private int columnarRow;
+
     protected TraceReaderBase(final String filePath, final InputStream reader) {
         super(filePath, reader);
     }
@@ -57,6 +85,10 @@ public abstract class TraceReaderBase extends TraceReaderAbstract {
      * @return
      */
     public <T extends Enum> String getFieldValue(final T field){
+        if(columnarTrace != null) {
+            return columnarTrace.getString(columnarRow, field.ordinal());
+        }
+
         return lastParsedLineArray[field.ordinal()];
     }
 
@@ -67,6 +99,10 @@ public abstract class TraceReaderBase extends TraceReaderAbstract {
      * @return
      */
     public <T extends Enum> double getFieldDoubleValue(final T field){
+        if(columnarTrace != null) {
+            return columnarTrace.getDouble(columnarRow, field.ordinal());
+        }
+
         return Double.parseDouble(getFieldValue(field));
     }
 
@@ -78,8 +114,12 @@ public abstract class TraceReaderBase extends TraceReaderAbstract {
      * @return
      */
     public <T extends Enum> double getFieldDoubleValue(final T field, final double defaultValue){
+        if(isColumnarNumber(field)) {
+            return isColumnarEmpty(field) ? defaultValue : getFieldDoubleValue(field);
+        }
+
         final String value = getFieldValue(field);
-        return  value.matches("^-?\\d+(\\.?\\d+)?$") ? Double.parseDouble(value) : defaultValue;
+        return  value.matches(DOUBLE_REGEX) ? Double.parseDouble(value) : defaultValue;
     }
 
     /**
@@ -89,6 +129,15 @@ public abstract class TraceReaderBase extends TraceReaderAbstract {
      * @return
      */
     public <T extends Enum> int getFieldIntValue(final T field){
+        if(columnarTrace != null) {
+            final long value = columnarTrace.getLong(columnarRow, field.ordinal());
+            if((int)value != value) {
+                throw new NumberFormatException("Value out of int range: " + value);
+            }
+
+            return (int)value;
+        }
+
         return Integer.parseInt(getFieldValue(field));
     }
 
@@ -100,6 +149,10 @@ public abstract class TraceReaderBase extends TraceReaderAbstract {
      * @return
      */
     public <T extends Enum> int getFieldIntValue(final T field, final int defaultValue){
+        if(isColumnarNumber(field)) {
+            return isColumnarInteger(field) ? getFieldIntValue(field) : defaultValue;
+        }
+
         final String value = getFieldValue(field);
         return  value.matches(INT_REGEX) ? Integer.parseInt(value) : defaultValue;
     }
@@ -111,6 +164,10 @@ public abstract class TraceReaderBase extends TraceReaderAbstract {
      * @return
      */
     public <T extends Enum> long getFieldLongValue(final T field){
+        if(columnarTrace != null) {
+            return columnarTrace.getLong(columnarRow, field.ordinal());
+        }
+
         return Long.parseLong(getFieldValue(field));
     }
 
@@ -122,10 +179,218 @@ public abstract class TraceReaderBase extends TraceReaderAbstract {
      * @return
      */
     public <T extends Enum> long getFieldLongValue(final T field, final long defaultValue){
+        if(isColumnarNumber(field)) {
+            return isColumnarInteger(field) ? getFieldLongValue(field) : defaultValue;
+        }
+
         final String value = getFieldValue(field);
         return  value.matches(INT_REGEX) ? Long.parseLong(value) : defaultValue;
     }
 
+    /**
+     * Checks if field values are being read from a {@link ColumnarTrace} numeric column,
+     * so that they don't need to be checked against a regex.
+     * @param field a enum value representing the index of the field
+     * @return true if the field is stored in a numeric column, false otherwise
+     */
+    private <T extends Enum> boolean isColumnarNumber(final T field) {
+        return columnarTrace != null && columnarTrace.getColumnType(field.ordinal()) != ColumnType.STRING;
+    }
+
+    private <T extends Enum> boolean isColumnarEmpty(final T field) {
+        return columnarTrace.isEmpty(columnarRow, field.ordinal());
+    }
+
+    /**
+     * Checks if a field from a numeric {@link ColumnarTrace} column has an integer value.
+     * A value from a {@link ColumnType#DOUBLE} column is considered an integer
+     * if its original text is an integer, as when the text trace is parsed.
+     * @param field a enum value representing the index of the field
+     * @return true if the value is an integer, false if it's empty or not an integer
+     */
+    private <T extends Enum> boolean isColumnarInteger(final T field) {
+        if(isColumnarEmpty(field)) {
+            return false;
+        }
+
+        return columnarTrace.getColumnType(field.ordinal()) == ColumnType.LONG || getFieldValue(field).matches(INT_REGEX);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>If a {@link #setColumnarCacheFile(Path) columnar cache file} is set and it's up-to-date,
+     * lines are read from it. In such a case, the array given to the function
+     * has the number of fields of the line, but its elements are null:
+     * field values must be got using the getter methods such as {@link #getFieldValue(Enum)}.
+     * If such a file doesn't exist, the text trace is parsed and, when the
+     * {@link #getMaxLinesToRead() number of lines to read} is not limited,
+     * the cache file is created.</p>
+     * @param processParsedLineFunction {@inheritDoc}
+     */
+    @Override
+    protected void readFile(final Function<String[], Boolean> processParsedLineFunction) {
+        if(columnarCacheFile == null) {
+            super.readFile(processParsedLineFunction);
+            return;
+        }
+
+        if(ColumnarTrace.isUpToDate(columnarCacheFile, getFilePath(), getParseConfiguration())) {
+            readColumnarFile(ColumnarTrace.open(columnarCacheFile), processParsedLineFunction);
+            return;
+        }
+
+        try(var writer = newColumnarTraceWriter()) {
+            super.readFile(parsedLineArray -> {
+                writer.addRow(parsedLineArray);
+                return processParsedLineFunction.apply(parsedLineArray);
+            });
+
+            if(getMaxLinesToRead() == Integer.MAX_VALUE) {
+                writer.write(columnarCacheFile);
+            }
+        }
+    }
+
+    /**
+     * Creates a writer for the {@link #getColumnarCacheFile() columnar cache file},
+     * whose spill files are created in the same directory of such a file.
+     * @return the new writer
+     */
+    private ColumnarTraceWriter newColumnarTraceWriter() {
+        return new ColumnarTraceWriter(getParseConfiguration(), columnarCacheFile.toAbsolutePath().getParent());
+    }
+
+    private void readColumnarFile(final ColumnarTrace trace, final Function<String[], Boolean> processParsedLineFunction) {
+        final var iterator = newColumnarLineIterator(trace);
+        try {
+            int lines = 0;
+            while (lines < getMaxLinesToRead() && iterator.hasNext()) {
+                if(processParsedLineFunction.apply(iterator.next())) {
+                    setLastLineNumber(++lines);
+                }
+            }
+        } finally {
+            columnarTrace = null;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>If a {@link #setColumnarCacheFile(Path) columnar cache file} is set and it's up-to-date,
+     * lines are read from it, as described in {@link #readFile(Function)}.
+     * Otherwise, the cache file is created when the iteration reaches the end of the text trace,
+     * if the {@link #getMaxLinesToRead() number of lines to read} is not limited.
+     * Since the {@link ColumnarTraceWriter} spills parsed lines to disk as they are read,
+     * creating the cache doesn't keep the whole trace in memory.</p>
+     * @return {@inheritDoc}
+     */
+    @Override
+    protected Iterator<String[]> newParsedLineIterator() {
+        if(columnarCacheFile == null) {
+            return super.newParsedLineIterator();
+        }
+
+        if(ColumnarTrace.isUpToDate(columnarCacheFile, getFilePath(), getParseConfiguration())) {
+            return newColumnarLineIterator(ColumnarTrace.open(columnarCacheFile));
+        }
+
+        final var iterator = super.newParsedLineIterator();
+        final var writer = newColumnarTraceWriter();
+        return new Iterator<>() {
+            private boolean written;
+
+            @Override
+            public boolean hasNext() {
+                final boolean hasNext = iterator.hasNext();
+                if(!hasNext && !written) {
+                    if(getMaxLinesToRead() == Integer.MAX_VALUE) {
+                        writer.write(columnarCacheFile);
+                    } else {
+                        writer.close();
+                    }
+
+                    written = true;
+                }
+
+                return hasNext;
+            }
+
+            @Override
+            public String[] next() {
+                final String[] parsedLineArray = iterator.next();
+                writer.addRow(parsedLineArray);
+                return parsedLineArray;
+            }
+        };
+    }
+
+    /**
+     * Creates an iterator over the rows of a columnar trace.
+     * While the iteration is not finished, the field getters read values
+     * from the row last returned.
+     * @param trace the columnar trace to iterate
+     * @return the iterator
+     */
+    private Iterator<String[]> newColumnarLineIterator(final ColumnarTrace trace) {
+        final var emptyLines = new String[trace.getColumns() + 1][];
+        columnarTrace = trace;
+        columnarRow = -1;
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                if(columnarRow + 1 < trace.getRows()) {
+                    return true;
+                }
+
+                columnarTrace = null;
+                return false;
+            }
+
+            @Override
+            public String[] next() {
+                if(!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                final int fields = trace.getFieldCount(++columnarRow);
+                if(emptyLines[fields] == null) {
+                    emptyLines[fields] = new String[fields];
+                }
+
+                return emptyLines[fields];
+            }
+        };
+    }
+
+    /**
+     * Gets the path of the {@link ColumnarTrace} file used as a cache for the parsed trace,
+     * or null if no cache is used.
+     * @return the columnar cache file path
+     * @see #setColumnarCacheFile(Path)
+     */
+    public Path getColumnarCacheFile() {
+        return columnarCacheFile;
+    }
+
+    /**
+     * Sets the path of a {@link ColumnarTrace} file to be used as a cache for the parsed trace.
+     * If the file exists, is not older than the trace file and was created with the same
+     * {@link #getParseConfiguration() parse configuration}, lines are read from it
+     * instead of the text trace. Otherwise, the file is created the first time
+     * the whole trace is read.
+     *
+     * @param columnarCacheFile the columnar cache file path, or null to disable the cache
+     * @return this reader
+     * @throws UncheckedIOException when the cache file exists but is not a valid columnar trace file,
+     *                              which is only detected when the trace is read
+     */
+    public TraceReaderBase setColumnarCacheFile(final Path columnarCacheFile) {
+        this.columnarCacheFile = columnarCacheFile;
+        return this;
+    }
+
     /**
      * Gets an array containing the field values from the last parsed trace line.
      * @return
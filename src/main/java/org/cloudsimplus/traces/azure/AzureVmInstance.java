@@ -0,0 +1,60 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.traces.azure;
+
+import org.cloudbus.cloudsim.vms.Vm;
+
+/**
+ * A data class storing the attributes of a VM instance read from a line of an Azure VM trace file
+ * by the {@link AzureVmTraceReader}, which are used to create a {@link Vm}.
+ * Times are converted from days, as used in the trace, to seconds.
+ *
+ * @param vmId the id of the VM instance inside the trace
+ * @param vmTypeId the id of the VM type, that defines the resources required by the VM
+ * @param startTime the time the VM instance was started (in seconds),
+ *                  which may be negative for instances started before the trace begins
+ * @param endTime the time the VM instance was finished (in seconds)
+ *                or {@link Double#NaN} if the instance didn't finish until the trace ends
+ *
+ * @since CloudSim Plus 7.3.0
+ */
+public record AzureVmInstance(long vmId, int vmTypeId, double startTime, double endTime) {
+    /**
+     * Checks if the VM instance finished inside the trace.
+     * @return true if the {@link #endTime()} is available, false otherwise
+     */
+    public boolean hasEndTime() {
+        return !Double.isNaN(endTime);
+    }
+
+    /**
+     * Gets the time the VM instance remained running, up to a given time.
+     * @param maxTime the maximum time to consider if the instance didn't finish before it (in seconds)
+     * @return the instance duration (in seconds)
+     */
+    public double duration(final double maxTime) {
+        final double finishTime = hasEndTime() ? Math.min(endTime, maxTime) : maxTime;
+        return finishTime - startTime;
+    }
+}
@@ -0,0 +1,837 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.traces.azure;
+
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.core.CloudSimTag;
+import org.cloudbus.cloudsim.core.Simulation;
+import org.cloudbus.cloudsim.core.events.CloudSimEvent;
+import org.cloudbus.cloudsim.util.TraceReaderAbstract;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudsimplus.traces.ColumnarTrace;
+import org.cloudsimplus.traces.ColumnarTraceWriter;
+import org.cloudsimplus.traces.ParsingException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Reads VM instances from an Azure VM trace file of the
+ * <a href="https://github.com/Azure/AzurePublicDataset">Azure Public Dataset</a>,
+ * streaming them to a {@link DatacenterBroker} in start time order as the simulation clock advances.
+ * Each line of the file contains the following comma-separated fields:
+ * <pre>vmId,vmTypeId,startTime,endTime</pre>
+ * where times are given in days (possibly with a fractional part) and
+ * the endTime is empty or "none" for instances that didn't finish until the trace ends.
+ * Lines whose first field is not a number (such as a header) are ignored.
+ *
+ * <p>The file is memory-mapped and fields are parsed in place, without creating a String for each line.
+ * The first time the file is processed, it's scanned just once to build a compact index
+ * containing the position and start time of each instance.
+ * Then, instances are parsed on demand, while they are streamed.
+ * That avoids loading the entire trace into memory or creating all VMs before the simulation starts.</p>
+ *
+ * <p>Calling {@link #submitVms(DatacenterBroker, Function)} submits just the instances that start
+ * inside a {@link #getLookAheadTime() look-ahead time window}, with a submission delay
+ * relative to the current simulation time.
+ * Next instances are submitted as the clock advances.
+ * To iterate over instances without submitting them, use {@link #forEach(Consumer)}.</p>
+ *
+ * <p>A {@link #setColumnarCacheFile(Path) columnar cache file} can be set to store the parsed instances,
+ * already sorted by start time, in a compact binary {@link ColumnarTrace}.
+ * Later runs map such a file and get instances from it, without indexing, parsing or sorting the text trace.</p>
+ *
+ * <p>Mapped buffers are released when all instances are submitted to a broker or the reader is {@link #close() closed}.
+ * If the reader is used again, the file is mapped once more.</p>
+ *
+ * <p>Only single-character {@link #setFieldDelimiterRegex(String) field delimiters} are supported.
+ * Check other details at {@link TraceReaderAbstract}.</p>
+ *
+ * @since CloudSim Plus 7.3.0
+ */
+public class AzureVmTraceReader extends TraceReaderAbstract implements AutoCloseable {
+    /** The number of seconds in a day, used to convert trace times into seconds. */
+    public static final double SECONDS_PER_DAY = 86400;
+
+    /**
+     * The default {@link #getLookAheadTime() look-ahead time} (in seconds).
+     */
+    public static final double DEF_LOOK_AHEAD_TIME = 3600;
+
+    private static final int VM_ID_FIELD = 0;
+    private static final int VM_TYPE_ID_FIELD = 1;
+    private static final int START_TIME_FIELD = 2;
+    private static final int END_TIME_FIELD = 3;
+
+    /** The column of the {@link ColumnarTrace} cache storing the number of the line of each instance. */
+    private static final int LINE_NUMBER_FIELD = 4;
+
+    /**
+     * The maximum size of each memory-mapped segment of the file,
+     * which is limited by the int indexes of a {@link MappedByteBuffer}.
+     */
+    private static final int MAX_SEGMENT_SIZE = 1 << 30;
+
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /** The maximum long value which can be exactly represented as a double. */
+    private static final long MAX_EXACT_DOUBLE_MANTISSA = 1L << 53;
+
+    private final Path path;
+
+    /** @see #getLookAheadTime() */
+    private double lookAheadTime;
+
+    /** The memory-mapped segments of the file, each one ending at a line end. */
+    private MappedByteBuffer[] segments;
+
+    /**
+     * The position of each instance inside the file, where the segment index is stored
+     * at the 32 most significant bits and the offset inside the segment at the other bits.
+     */
+    private long[] linePositions;
+
+    /** The start time of each instance (in seconds), in the order they appear in the file. */
+    private double[] startTimes;
+
+    /** The number of the line of each instance (starting from 0), in the order they appear in the file. */
+    private int[] lineNumbers;
+
+    /** @see #getLastLineNumber() */
+    private int lastLineNumber;
+
+    /**
+     * The indexes of instances sorted by start time,
+     * or null if instances are already sorted inside the file.
+     */
+    private int[] sortedIndexes;
+
+    /** @see #getColumnarCacheFile() */
+    private Path columnarCacheFile;
+
+    /**
+     * The columnar trace storing instances in start time order,
+     * or null if instances are read from the text trace.
+     */
+    private ColumnarTrace columnarTrace;
+
+    /** The number of instances indexed from the file. */
+    private int instances;
+
+    /** The position (in start time order) of the next instance to submit to the broker. */
+    private int nextInstance;
+
+    /**
+     * Instantiates a reader for a given Azure VM trace file.
+     * The file is just mapped into memory when it's processed.
+     *
+     * @param filePath the path of the trace file (compressed files are not supported)
+     * @throws IllegalArgumentException when the trace file name is null or empty
+     */
+    public AzureVmTraceReader(final String filePath) {
+        super(toPath(filePath));
+        this.path = Path.of(filePath);
+        this.lookAheadTime = DEF_LOOK_AHEAD_TIME;
+        this.lastLineNumber = -1;
+        setFieldDelimiterRegex(",");
+    }
+
+    private static Path toPath(final String filePath) {
+        if (filePath == null || filePath.isEmpty()) {
+            throw new IllegalArgumentException("Invalid trace file name.");
+        }
+
+        return Path.of(filePath);
+    }
+
+    /**
+     * Gets the number of VM instances inside the trace file,
+     * limited to the {@link #getMaxLinesToRead() max number of lines to read}.
+     * @return the number of VM instances
+     * @throws UncheckedIOException when the file cannot be read
+     * @throws ParsingException when the file has an invalid format
+     */
+    public int size() {
+        index();
+        return instances;
+    }
+
+    /**
+     * Performs an action for each VM instance inside the trace file, in start time order.
+     * Instances with the same start time are provided in the order they appear in the file.
+     *
+     * @param action the action to perform
+     * @throws UncheckedIOException when the file cannot be read
+     * @throws ParsingException when the file has an invalid format
+     */
+    public void forEach(final Consumer<AzureVmInstance> action) {
+        requireNonNull(action);
+        index();
+        for (int i = 0; i < instances; i++) {
+            action.accept(instance(i));
+        }
+    }
+
+    /**
+     * Creates and submits VMs for the instances inside the trace file to a given broker,
+     * in start time order. Just the VMs starting inside the {@link #getLookAheadTime() look-ahead time window}
+     * are submitted when this method is called, while the other ones are submitted as the simulation clock advances.
+     * The submission delay of each VM is set to make it start at the instance start time
+     * (or immediately, for instances started before the current time).
+     *
+     * @param broker the broker to submit VMs to
+     * @param vmCreationFunction a {@link Function} that creates a {@link Vm} from an {@link AzureVmInstance},
+     *                           which may return {@link Vm#NULL} to ignore the instance
+     * @see #submitVms(DatacenterBroker, Function, BiFunction)
+     */
+    public void submitVms(final DatacenterBroker broker, final Function<AzureVmInstance, Vm> vmCreationFunction) {
+        submitVms(broker, vmCreationFunction, (instance, vm) -> Cloudlet.NULL);
+    }
+
+    /**
+     * Creates and submits VMs for the instances inside the trace file to a given broker,
+     * together with a Cloudlet for each VM.
+     *
+     * @param broker the broker to submit VMs and Cloudlets to
+     * @param vmCreationFunction a {@link Function} that creates a {@link Vm} from an {@link AzureVmInstance},
+     *                           which may return {@link Vm#NULL} to ignore the instance
+     * @param cloudletCreationFunction a {@link BiFunction} that creates a {@link Cloudlet}
+     *                                 to run inside the VM created for an {@link AzureVmInstance},
+     *                                 which may return {@link Cloudlet#NULL} to create no Cloudlet
+     * @see #submitVms(DatacenterBroker, Function)
+     */
+    public void submitVms(
+        final DatacenterBroker broker,
+        final Function<AzureVmInstance, Vm> vmCreationFunction,
+        final BiFunction<AzureVmInstance, Vm, Cloudlet> cloudletCreationFunction)
+    {
+        requireNonNull(broker);
+        requireNonNull(vmCreationFunction);
+        requireNonNull(cloudletCreationFunction);
+        index();
+        nextInstance = 0;
+
+        submitNextVms(broker, vmCreationFunction, cloudletCreationFunction);
+    }
+
+    /**
+     * Submits VMs for the instances starting inside the look-ahead time window
+     * and schedules the submission of the next ones.
+     * At least one VM is submitted (if there are remaining instances),
+     * so that the broker always has a VM waiting to be created and doesn't become idle
+     * before the next VMs are submitted.
+     */
+    private void submitNextVms(
+        final DatacenterBroker broker,
+        final Function<AzureVmInstance, Vm> vmCreationFunction,
+        final BiFunction<AzureVmInstance, Vm, Cloudlet> cloudletCreationFunction)
+    {
+        final double time = broker.getSimulation().clock();
+        final var vmList = new ArrayList<Vm>();
+        final var cloudletList = new ArrayList<Cloudlet>();
+        while (nextInstance < instances && (vmList.isEmpty() || startTime(nextInstance) <= time + lookAheadTime)) {
+            final var instance = instance(nextInstance++);
+            final Vm vm = vmCreationFunction.apply(instance);
+            if (vm == Vm.NULL) {
+                continue;
+            }
+
+            vm.setSubmissionDelay(Math.max(instance.startTime() - time, 0));
+            vmList.add(vm);
+            final Cloudlet cloudlet = cloudletCreationFunction.apply(instance, vm);
+            if (cloudlet != Cloudlet.NULL) {
+                cloudletList.add(cloudlet.setVm(vm));
+            }
+        }
+
+        broker.submitVmList(vmList);
+        broker.submitCloudletList(cloudletList);
+        if (nextInstance < instances) {
+            scheduleNextVmsSubmission(broker, vmCreationFunction, cloudletCreationFunction, time);
+        } else {
+            close();
+        }
+    }
+
+    /**
+     * Schedules an event to submit the next VMs when the start time of the next instance
+     * enters the look-ahead time window, or when all submitted VMs have already started.
+     * The event carries a {@link Runnable} that is executed by the broker when the event is processed.
+     * That way, the next VMs are submitted exactly at that time,
+     * instead of just when some other event happens to advance the clock.
+     *
+     * @param time the current simulation time
+     */
+    private void scheduleNextVmsSubmission(
+        final DatacenterBroker broker,
+        final Function<AzureVmInstance, Vm> vmCreationFunction,
+        final BiFunction<AzureVmInstance, Vm, Cloudlet> cloudletCreationFunction,
+        final double time)
+    {
+        final double submissionTime = Math.min(startTime(nextInstance) - lookAheadTime, startTime(nextInstance - 1));
+        final Runnable nextVmsSubmission = () -> submitNextVms(broker, vmCreationFunction, cloudletCreationFunction);
+        final var evt = new CloudSimEvent(
+            Math.max(submissionTime - time, 0), broker, CloudSimTag.CLOUDLET_UPDATE_ATTRIBUTES, nextVmsSubmission);
+
+        final Simulation simulation = broker.getSimulation();
+        if (simulation.isRunning()) {
+            broker.schedule(evt);
+        } else {
+            simulation.addOnSimulationStartListener(info -> broker.schedule(evt));
+        }
+    }
+
+    /**
+     * Gets the time window (in seconds) ahead of the current simulation time
+     * for which VMs are submitted to the broker.
+     * Larger values mean fewer and larger submissions, but more VMs waiting to be created.
+     * @return the look-ahead time (in seconds)
+     */
+    public double getLookAheadTime() {
+        return lookAheadTime;
+    }
+
+    /**
+     * Sets the time window (in seconds) ahead of the current simulation time
+     * for which VMs are submitted to the broker.
+     * @param lookAheadTime the look-ahead time to set (in seconds)
+     * @return this reader
+     */
+    public AzureVmTraceReader setLookAheadTime(final double lookAheadTime) {
+        if (lookAheadTime < 0) {
+            throw new IllegalArgumentException("Look-ahead time cannot be negative.");
+        }
+
+        this.lookAheadTime = lookAheadTime;
+        return this;
+    }
+
+    /**
+     * Gets the path of the {@link ColumnarTrace} file used as a cache for the parsed instances,
+     * or null if no cache is used.
+     * @return the columnar cache file path
+     * @see #setColumnarCacheFile(Path)
+     */
+    public Path getColumnarCacheFile() {
+        return columnarCacheFile;
+    }
+
+    /**
+     * Sets the path of a {@link ColumnarTrace} file to be used as a cache for the parsed instances.
+     * If the file exists, is not older than the trace file and was created with the same
+     * {@link #getParseConfiguration() parse configuration}, instances are read from it.
+     * Otherwise, the file is created the first time the trace is processed.
+     * The cache is ignored if the {@link #getMaxLinesToRead() number of lines to read} is limited.
+     *
+     * @param columnarCacheFile the columnar cache file path, or null to disable the cache
+     * @return this reader
+     */
+    public AzureVmTraceReader setColumnarCacheFile(final Path columnarCacheFile) {
+        this.columnarCacheFile = columnarCacheFile;
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     * It's the last line read while indexing the text trace, which may be a comment or an empty line.
+     * When instances are read from the {@link #getColumnarCacheFile() columnar cache file},
+     * it's the line of the last instance inside the text trace.
+     * It's -1 if the trace wasn't processed yet or has no lines.
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public int getLastLineNumber() {
+        return lastLineNumber;
+    }
+
+    /**
+     * Releases the memory-mapped trace or {@link #getColumnarCacheFile() columnar cache file}
+     * and the index of instances, so that they can be garbage collected.
+     * The mapped memory is just freed when buffers are garbage collected.
+     * VMs still to be submitted to a broker won't be submitted anymore,
+     * but the reader can be used again (mapping the file once more).
+     */
+    @Override
+    public void close() {
+        segments = null;
+        columnarTrace = null;
+        linePositions = null;
+        startTimes = null;
+        lineNumbers = null;
+        sortedIndexes = null;
+        nextInstance = instances;
+    }
+
+    /**
+     * Gets the start time of an instance.
+     * @param position the position of the instance in start time order
+     * @return the start time (in seconds)
+     */
+    private double startTime(final int position) {
+        if (columnarTrace != null) {
+            return columnarTrace.getDouble(position, START_TIME_FIELD);
+        }
+
+        return startTimes[instanceIndex(position)];
+    }
+
+    private int instanceIndex(final int position) {
+        return sortedIndexes == null ? position : sortedIndexes[position];
+    }
+
+    /**
+     * Parses an instance from the mapped file.
+     * @param position the position of the instance in start time order
+     * @return the parsed instance
+     */
+    private AzureVmInstance instance(final int position) {
+        if (columnarTrace != null) {
+            return new AzureVmInstance(
+                columnarTrace.getLong(position, VM_ID_FIELD),
+                (int) columnarTrace.getLong(position, VM_TYPE_ID_FIELD),
+                columnarTrace.getDouble(position, START_TIME_FIELD),
+                columnarTrace.getDouble(position, END_TIME_FIELD));
+        }
+
+        final int index = instanceIndex(position);
+        final var buffer = segments[(int) (linePositions[index] >>> 32)];
+        final int lineStart = (int) linePositions[index];
+        final int lineEnd = lineEnd(buffer, lineStart);
+        final byte delimiter = delimiter();
+
+        final int vmTypeIdStart = nextFieldStart(buffer, lineStart, lineEnd, delimiter);
+        final int startTimeStart = nextFieldStart(buffer, vmTypeIdStart, lineEnd, delimiter);
+        final int endTimeStart = nextFieldStart(buffer, startTimeStart, lineEnd, delimiter);
+        final int endTimeEnd = fieldEnd(buffer, endTimeStart, lineEnd, delimiter);
+        return new AzureVmInstance(
+            parseLong(buffer, lineStart, fieldEnd(buffer, lineStart, lineEnd, delimiter)),
+            (int) parseLong(buffer, vmTypeIdStart, fieldEnd(buffer, vmTypeIdStart, lineEnd, delimiter)),
+            startTimes[index],
+            isBlankOrNone(buffer, endTimeStart, endTimeEnd) ?
+                Double.NaN :
+                parseDouble(buffer, endTimeStart, endTimeEnd) * SECONDS_PER_DAY);
+    }
+
+    /**
+     * Builds the index of instances, if not done yet,
+     * either from the {@link #getColumnarCacheFile() columnar cache file} or from the text trace.
+     * The cache file is just used when the {@link #getMaxLinesToRead() number of lines to read}
+     * is not limited, since it contains all instances sorted by start time.
+     */
+    private void index() {
+        if (segments != null || columnarTrace != null) {
+            return;
+        }
+
+        if (columnarCacheFile == null || getMaxLinesToRead() != Integer.MAX_VALUE) {
+            indexTextFile();
+            return;
+        }
+
+        if (ColumnarTrace.isUpToDate(columnarCacheFile, getFilePath(), getParseConfiguration())) {
+            final var trace = ColumnarTrace.open(columnarCacheFile);
+            // Caches written without line numbers are rebuilt
+            if (trace.getColumns() > LINE_NUMBER_FIELD) {
+                columnarTrace = trace;
+                instances = columnarTrace.getRows();
+                lastLineNumber = -1;
+                for (int row = 0; row < instances; row++) {
+                    lastLineNumber = Math.max(lastLineNumber, (int) columnarTrace.getLong(row, LINE_NUMBER_FIELD));
+                }
+
+                return;
+            }
+        }
+
+        indexTextFile();
+        writeColumnarCacheFile();
+    }
+
+    /**
+     * Writes all instances, in start time order, to the {@link #getColumnarCacheFile() columnar cache file}.
+     */
+    private void writeColumnarCacheFile() {
+        final var writer = new ColumnarTraceWriter(getParseConfiguration(), columnarCacheFile.toAbsolutePath().getParent());
+        for (int position = 0; position < instances; position++) {
+            final var instance = instance(position);
+            writer.setLong(VM_ID_FIELD, instance.vmId());
+            writer.setLong(VM_TYPE_ID_FIELD, instance.vmTypeId());
+            writer.setDouble(START_TIME_FIELD, instance.startTime());
+            writer.setDouble(END_TIME_FIELD, instance.endTime());
+            writer.setLong(LINE_NUMBER_FIELD, lineNumbers[instanceIndex(position)]);
+            writer.endRow();
+        }
+
+        writer.write(columnarCacheFile);
+    }
+
+    /**
+     * Maps the text trace file into memory and builds the index of instances.
+     */
+    private void indexTextFile() {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            segments = mapSegments(channel);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        final byte delimiter = delimiter();
+        final byte[][] comments = commentBytes();
+        linePositions = new long[1024];
+        startTimes = new double[linePositions.length];
+        lineNumbers = new int[linePositions.length];
+        instances = 0;
+        lastLineNumber = -1;
+        for (int segment = 0; segment < segments.length && instances < getMaxLinesToRead(); segment++) {
+            indexSegment(segment, delimiter, comments);
+        }
+
+        sortedIndexes = sortIndexesByStartTime();
+    }
+
+    private void indexSegment(final int segment, final byte delimiter, final byte[][] comments) {
+        final var buffer = segments[segment];
+        final int limit = buffer.limit();
+        int lineStart = 0;
+        while (lineStart < limit && instances < getMaxLinesToRead()) {
+            final int lineEnd = lineEnd(buffer, lineStart);
+            lastLineNumber++;
+            if (isInstanceLine(buffer, lineStart, lineEnd, comments)) {
+                addInstance(segment, buffer, lineStart, lineEnd, delimiter);
+            }
+
+            lineStart = lineEnd + 1;
+        }
+    }
+
+    private void addInstance(final int segment, final MappedByteBuffer buffer, final int lineStart, final int lineEnd, final byte delimiter) {
+        if (instances == linePositions.length) {
+            linePositions = Arrays.copyOf(linePositions, instances * 2);
+            startTimes = Arrays.copyOf(startTimes, instances * 2);
+            lineNumbers = Arrays.copyOf(lineNumbers, instances * 2);
+        }
+
+        try {
+            int fieldStart = lineStart;
+            for (int field = VM_ID_FIELD; field < START_TIME_FIELD; field++) {
+                fieldStart = nextFieldStart(buffer, fieldStart, lineEnd, delimiter);
+            }
+
+            startTimes[instances] = parseDouble(buffer, fieldStart, fieldEnd(buffer, fieldStart, lineEnd, delimiter)) * SECONDS_PER_DAY;
+        } catch (final RuntimeException e) {
+            throw new ParsingException("Error when processing the trace file. Current trace line: " + lastLineNumber, e);
+        }
+
+        lineNumbers[instances] = lastLineNumber;
+        linePositions[instances++] = (long) segment << 32 | lineStart;
+    }
+
+    /**
+     * Checks if a line contains a VM instance,
+     * i.e. it's not empty, a comment or a header.
+     */
+    private static boolean isInstanceLine(final MappedByteBuffer buffer, final int lineStart, final int lineEnd, final byte[][] comments) {
+        if (lineStart == lineEnd) {
+            return false;
+        }
+
+        for (final byte[] comment : comments) {
+            if (startsWith(buffer, lineStart, lineEnd, comment)) {
+                return false;
+            }
+        }
+
+        final byte first = buffer.get(lineStart);
+        return isDigit(first) || first == '-' || first == '+';
+    }
+
+    private static boolean startsWith(final MappedByteBuffer buffer, final int lineStart, final int lineEnd, final byte[] prefix) {
+        if (prefix.length == 0 || lineEnd - lineStart < prefix.length) {
+            return false;
+        }
+
+        for (int i = 0; i < prefix.length; i++) {
+            if (buffer.get(lineStart + i) != prefix[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Maps the file into segments of at most {@link #MAX_SEGMENT_SIZE} bytes,
+     * where each segment (but the last one) ends just after a line break.
+     */
+    private static MappedByteBuffer[] mapSegments(final FileChannel channel) throws IOException {
+        final long size = channel.size();
+        final List<MappedByteBuffer> segmentList = new ArrayList<>();
+        long position = 0;
+        while (position < size) {
+            final long segmentSize = Math.min(size - position, MAX_SEGMENT_SIZE);
+            final var segment = channel.map(FileChannel.MapMode.READ_ONLY, position, segmentSize);
+            int limit = (int) segmentSize;
+            if (position + segmentSize < size) {
+                while (limit > 0 && segment.get(limit - 1) != '\n') {
+                    limit--;
+                }
+
+                if (limit == 0) {
+                    throw new IOException("The trace file has a line longer than " + MAX_SEGMENT_SIZE + " bytes");
+                }
+
+                segment.limit(limit);
+            }
+
+            segmentList.add(segment);
+            position += limit;
+        }
+
+        return segmentList.toArray(new MappedByteBuffer[0]);
+    }
+
+    /**
+     * Sorts the indexes of instances by start time, using a stable merge sort
+     * over primitive arrays.
+     * @return the sorted indexes or null if instances are already sorted inside the file
+     */
+    private int[] sortIndexesByStartTime() {
+        boolean sorted = true;
+        for (int i = 1; i < instances && sorted; i++) {
+            sorted = startTimes[i - 1] <= startTimes[i];
+        }
+
+        if (sorted) {
+            return null;
+        }
+
+        int[] indexes = new int[instances];
+        Arrays.setAll(indexes, i -> i);
+        int[] buffer = new int[instances];
+        for (int width = 1; width < instances; width *= 2) {
+            for (int low = 0; low < instances; low += 2 * width) {
+                final int mid = Math.min(low + width, instances);
+                final int high = Math.min(low + 2 * width, instances);
+                merge(indexes, buffer, low, mid, high);
+            }
+
+            final int[] swap = indexes;
+            indexes = buffer;
+            buffer = swap;
+        }
+
+        return indexes;
+    }
+
+    private void merge(final int[] source, final int[] target, final int low, final int mid, final int high) {
+        int left = low, right = mid;
+        for (int i = low; i < high; i++) {
+            if (right >= high || left < mid && startTimes[source[left]] <= startTimes[source[right]]) {
+                target[i] = source[left++];
+            } else {
+                target[i] = source[right++];
+            }
+        }
+    }
+
+    private byte delimiter() {
+        final String regex = getFieldDelimiterRegex();
+        if ("\\t".equals(regex)) {
+            return '\t';
+        }
+
+        if (regex.length() != 1) {
+            throw new IllegalStateException("Just single-character field delimiters are supported, but " + regex + " was given.");
+        }
+
+        return (byte) regex.charAt(0);
+    }
+
+    private byte[][] commentBytes() {
+        return Arrays.stream(getCommentString())
+                     .map(comment -> comment.getBytes(StandardCharsets.US_ASCII))
+                     .toArray(byte[][]::new);
+    }
+
+    /**
+     * Gets the position of the line break ending a line, or the buffer limit if it's the last line.
+     */
+    private static int lineEnd(final MappedByteBuffer buffer, final int lineStart) {
+        final int limit = buffer.limit();
+        int i = lineStart;
+        while (i < limit && buffer.get(i) != '\n') {
+            i++;
+        }
+
+        return i;
+    }
+
+    /**
+     * Gets the end position of a field, ignoring any carriage return before the line break.
+     */
+    private static int fieldEnd(final MappedByteBuffer buffer, final int fieldStart, final int lineEnd, final byte delimiter) {
+        int i = fieldStart;
+        while (i < lineEnd && buffer.get(i) != delimiter) {
+            i++;
+        }
+
+        return i > fieldStart && buffer.get(i - 1) == '\r' ? i - 1 : i;
+    }
+
+    /**
+     * Gets the start position of the next field, which is the line end if there is no next field.
+     */
+    private static int nextFieldStart(final MappedByteBuffer buffer, final int fieldStart, final int lineEnd, final byte delimiter) {
+        int i = fieldStart;
+        while (i < lineEnd && buffer.get(i) != delimiter) {
+            i++;
+        }
+
+        return Math.min(i + 1, lineEnd);
+    }
+
+    private static boolean isBlankOrNone(final MappedByteBuffer buffer, int start, int end) {
+        while (start < end && buffer.get(start) == ' ') {
+            start++;
+        }
+
+        while (end > start && buffer.get(end - 1) == ' ') {
+            end--;
+        }
+
+        return start == end ||
+               end - start == 4 && buffer.get(start) == 'n' && buffer.get(start + 1) == 'o' &&
+               buffer.get(start + 2) == 'n' && buffer.get(start + 3) == 'e';
+    }
+
+    private static boolean isDigit(final byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    /**
+     * Parses a long number in place.
+     * @throws NumberFormatException when the field is not a valid long
+     */
+    private static long parseLong(final MappedByteBuffer buffer, int start, int end) {
+        while (start < end && buffer.get(start) == ' ') {
+            start++;
+        }
+
+        while (end > start && buffer.get(end - 1) == ' ') {
+            end--;
+        }
+
+        final boolean negative = start < end && buffer.get(start) == '-';
+        int i = negative || start < end && buffer.get(start) == '+' ? start + 1 : start;
+        if (i == end || end - i > 18) {
+            return Long.parseLong(toString(buffer, start, end));
+        }
+
+        long value = 0;
+        for (; i < end; i++) {
+            final byte b = buffer.get(i);
+            if (!isDigit(b)) {
+                return Long.parseLong(toString(buffer, start, end));
+            }
+
+            value = value * 10 + (b - '0');
+        }
+
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parses a double number in place.
+     * Numbers whose decimal digits or exponent cannot be exactly represented as double
+     * are parsed by {@link Double#parseDouble(String)}, ensuring the result is correctly rounded.
+     * @throws NumberFormatException when the field is not a valid double
+     */
+    private static double parseDouble(final MappedByteBuffer buffer, int start, int end) {
+        while (start < end && buffer.get(start) == ' ') {
+            start++;
+        }
+
+        while (end > start && buffer.get(end - 1) == ' ') {
+            end--;
+        }
+
+        final boolean negative = start < end && buffer.get(start) == '-';
+        int i = negative || start < end && buffer.get(start) == '+' ? start + 1 : start;
+        long mantissa = 0;
+        int exponent = 0;
+        int digits = 0;
+        boolean exact = true;
+        boolean fraction = false;
+        for (; i < end; i++) {
+            final byte b = buffer.get(i);
+            if (b == '.' && !fraction) {
+                fraction = true;
+                continue;
+            }
+
+            if (!isDigit(b)) {
+                break;
+            }
+
+            digits++;
+            if (mantissa < MAX_EXACT_DOUBLE_MANTISSA / 10) {
+                mantissa = mantissa * 10 + (b - '0');
+                exponent -= fraction ? 1 : 0;
+            } else {
+                exact = false;
+            }
+        }
+
+        if (i < end || digits == 0 || !exact || -exponent >= POWERS_OF_TEN.length) {
+            return Double.parseDouble(toString(buffer, start, end));
+        }
+
+        final double value = mantissa / POWERS_OF_TEN[-exponent];
+        return negative ? -value : value;
+    }
+
+    private static String toString(final MappedByteBuffer buffer, final int start, final int end) {
+        final byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+}
@@ -31,6 +31,7 @@ import org.cloudbus.cloudsim.core.events.CloudSimEvent;
 import org.cloudbus.cloudsim.util.ResourceLoader;
 import org.cloudbus.cloudsim.util.TraceReaderAbstract;
 import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelDynamic;
+import org.cloudsimplus.traces.ParsingException;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -59,6 +60,11 @@ import static java.util.Objects.requireNonNull;
  * <p>The documentation for fields and values were obtained from the Google Cluster trace documentation in the link above.
  * It's strongly recommended to read such a documentation before trying to use this class.</p>
  *
+ * <p>By default, the entire trace is read when {@link #process()} is called and
+ * all Cloudlet status change events are sent when the simulation starts.
+ * For large traces, a {@link #setStreaming(boolean) streaming mode} can be enabled
+ * to read the (time-sorted) trace incrementally as the simulation clock advances.</p>
+ *
  * <p>Check important details at {@link TraceReaderAbstract}.</p>
  *
  * @see #process()
@@ -67,6 +73,12 @@ import static java.util.Objects.requireNonNull;
  * @since CloudSim Plus 4.0.0
  */
 public class GoogleTaskEventsTraceReader extends GoogleTraceReaderAbstract<Cloudlet> {
+    /**
+     * The default {@link #getLookAheadTime() look-ahead time} (in seconds) used when
+     * {@link #setStreaming(boolean) streaming} the trace.
+     */
+    public static final double DEF_LOOK_AHEAD_TIME = 3600;
+
     /**
      * List of messages to send to the {@link DatacenterBroker} that owns each created Cloudlet.
      * Such events request a Cloudlet's status change or attributes change.
@@ -90,6 +102,36 @@ public class GoogleTaskEventsTraceReader extends GoogleTraceReaderAbstract<Cloud
 
     private final CloudSim simulation;
 
+    /** @see #setStreaming(boolean) */
+    private boolean streaming;
+
+    /** @see #getLookAheadTime() */
+    private double lookAheadTime;
+
+    /** Reads trace lines on demand when streaming, or null if the streaming was not started. */
+    private Iterator<String[]> lineIterator;
+
+    /** The next line to be processed when streaming, or null if there are no more lines. */
+    private String[] nextLine;
+
+    /** The timestamp (in seconds) of the {@link #nextLine}. */
+    private double nextLineTimestamp;
+
+    /**
+     * Events created while streaming before the simulation starts,
+     * which are sent when it starts.
+     */
+    private final List<CloudSimEvent> pendingEvents;
+
+    /**
+     * Brokers whose {@link DatacenterBroker#isShutdownWhenIdle() shutdown when idle}
+     * was disabled while there are trace lines to stream.
+     */
+    private final Set<DatacenterBroker> keptAliveBrokers;
+
+    /** The number of Cloudlets released after their final event was sent while streaming. */
+    private int releasedCloudlets;
+
     /**
      * Gets a {@link GoogleTaskEventsTraceReader} instance to read a "task events" trace file
      * inside the <b>application's resource directory</b>.
@@ -162,6 +204,9 @@ public class GoogleTaskEventsTraceReader extends GoogleTraceReaderAbstract<Cloud
         this.cloudletCreationFunction = requireNonNull(cloudletCreationFunction);
         this.autoSubmitCloudlets = true;
         this.cloudletEvents = new HashMap<>();
+        this.pendingEvents = new ArrayList<>();
+        this.keptAliveBrokers = new HashSet<>();
+        this.lookAheadTime = DEF_LOOK_AHEAD_TIME;
         this.brokerManager = new BrokerManager(this);
         setMaxCloudletsToCreate(Integer.MAX_VALUE);
     }
@@ -173,9 +218,13 @@ public class GoogleTaskEventsTraceReader extends GoogleTraceReaderAbstract<Cloud
      *
      * <p>It returns the Set of all submitted {@link Cloudlet}s at any timestamp inside the trace file
      * (the timestamp is used to delay the Cloudlet submission).
+     * If {@link #setStreaming(boolean) streaming} is enabled, just the lines inside the first
+     * {@link #getLookAheadTime() look-ahead time window} are read and the returned Set contains only
+     * the Cloudlets created from them. The other lines are read as the simulation clock advances.
      * </p>
      *
-     * @return the Set of all submitted {@link Cloudlet}s for any timestamp inside the trace file.
+     * @return the Set of all submitted {@link Cloudlet}s for any timestamp inside the trace file
+     *         (or inside the first look-ahead time window when streaming).
      * @see BrokerManager#getBrokers()
      */
     @Override
@@ -184,7 +233,131 @@ public class GoogleTaskEventsTraceReader extends GoogleTraceReaderAbstract<Cloud
             LOGGER.info("{}: Auto-submission of Cloudlets from trace file is disabled. Don't forget to submitted them to the broker.", getClass().getSimpleName());
         }
 
-        return super.process();
+        return streaming ? startStreaming() : super.process();
+    }
+
+    /**
+     * Starts reading the trace incrementally, if not started yet,
+     * processing the lines inside the first look-ahead time window.
+     * @return the Cloudlets created so far
+     */
+    private Collection<Cloudlet> startStreaming() {
+        if(lineIterator != null) {
+            return getAvailableObjects();
+        }
+
+        lineIterator = newParsedLineIterator();
+        setLastLineNumber(0);
+        readNextLine();
+        streamNextWindow();
+        if(!simulation.isRunning()) {
+            simulation.addOnSimulationStartListener(info -> sendPendingEvents());
+        }
+
+        return getAvailableObjects();
+    }
+
+    /**
+     * Processes the trace lines inside the look-ahead time window starting at the current simulation time,
+     * then schedules an event to process the next window.
+     */
+    private void streamNextWindow() {
+        streamNextLines(simulation.clock());
+        if(nextLine == null) {
+            keepBrokersAlive(false);
+            return;
+        }
+
+        /* The event is scheduled to the broker for the next line, which executes the Runnable when the event
+         * is processed. That makes the next window to be processed exactly when the clock reaches it and
+         * ensures the simulation doesn't finish before that, even if there is no other event until there.*/
+        final double delay = Math.max(nextLineTimestamp - lookAheadTime - simulation.clock(), 0);
+        final Runnable nextWindowRunnable = this::streamNextWindow;
+        final var broker = brokerManager.getOrCreateBroker(TaskEventField.USERNAME.getValue(this));
+        keepBrokersAlive(true);
+        sendEvent(new CloudSimEvent(delay, broker, CloudSimTag.CLOUDLET_UPDATE_ATTRIBUTES, nextWindowRunnable));
+    }
+
+    /**
+     * Processes the next trace lines whose timestamp is inside the look-ahead time window.
+     * The next line is always processed, since this method is called when the window reaches it.
+     *
+     * @param time the current simulation time
+     */
+    private void streamNextLines(final double time) {
+        try {
+            boolean first = true;
+            while (nextLine != null && (first || nextLineTimestamp <= time + lookAheadTime)) {
+                if(processParsedLine(nextLine)) {
+                    setLastLineNumber(getLastLineNumber() + 1);
+                }
+
+                readNextLine();
+                first = false;
+            }
+        } catch (RuntimeException e) {
+            throw new ParsingException("Error when processing the trace file. Current trace line: " + getLastLineNumber(), e);
+        }
+    }
+
+    /**
+     * Reads the next line to be processed when streaming and gets its timestamp,
+     * or sets the {@link #nextLine} to null if there are no more lines to read.
+     */
+    private void readNextLine() {
+        if(getLastLineNumber() >= getMaxLinesToRead() || !lineIterator.hasNext()) {
+            nextLine = null;
+            return;
+        }
+
+        nextLine = lineIterator.next();
+        setLastParsedLineArray(nextLine);
+        nextLineTimestamp = TaskEventField.TIMESTAMP.getValue(this);
+    }
+
+    /**
+     * Prevents brokers from shutting down when they become idle while there are trace lines to stream,
+     * since they may receive Cloudlets from the next lines.
+     * When all lines are streamed, brokers are allowed to shut down again.
+     * @param remainingLines true if there are trace lines to stream, false otherwise
+     */
+    private void keepBrokersAlive(final boolean remainingLines) {
+        if(remainingLines) {
+            for (final var broker : brokerManager.getBrokers()) {
+                if(broker.isShutdownWhenIdle()) {
+                    broker.setShutdownWhenIdle(false);
+                    keptAliveBrokers.add(broker);
+                }
+            }
+
+            return;
+        }
+
+        for (final var broker : keptAliveBrokers) {
+            broker.setShutdownWhenIdle(true);
+            if(simulation.isRunning()) {
+                broker.requestShutdownWhenIdle();
+            }
+        }
+
+        keptAliveBrokers.clear();
+    }
+
+    /**
+     * Sends an event created while streaming, or keeps it to be sent when the simulation starts.
+     * @param evt the event to send
+     */
+    private void sendEvent(final CloudSimEvent evt) {
+        if(simulation.isRunning()) {
+            evt.getSource().schedule(evt);
+        } else {
+            pendingEvents.add(evt);
+        }
+    }
+
+    private void sendPendingEvents() {
+        sendCloudletEvents(pendingEvents);
+        pendingEvents.clear();
     }
 
     /**
@@ -223,11 +396,33 @@ public class GoogleTaskEventsTraceReader extends GoogleTraceReaderAbstract<Cloud
     /* default */ boolean requestCloudletStatusChange(final CloudSimTag tag) {
         final TaskEvent taskEvent = TaskEvent.of(this);
         final DatacenterBroker broker = brokerManager.getBroker(taskEvent.getUserName());
-        final double delay = taskEvent.getTimestamp();
+        final double delay = getEventDelay(taskEvent.getTimestamp());
 
-        return findObject(taskEvent.getUniqueTaskId())
+        final boolean requested =
+            findObject(taskEvent.getUniqueTaskId())
                 .map(cloudlet -> addCloudletStatusChangeEvents(new CloudSimEvent(delay, broker, tag, cloudlet), taskEvent))
                 .isPresent();
+
+        /* When streaming, a Cloudlet is released after a status change that ends its execution,
+         * bounding memory by the look-ahead window. If the task is resubmitted later,
+         * a new Cloudlet is created from the SUBMIT line. */
+        if(requested && streaming && tag != CloudSimTag.CLOUDLET_READY) {
+            removeAvailableObject(taskEvent.getUniqueTaskId());
+            releasedCloudlets++;
+        }
+
+        return requested;
+    }
+
+    /**
+     * Gets the delay to send an event at a given trace timestamp.
+     * When {@link #setStreaming(boolean) streaming}, the delay is relative to the current simulation time,
+     * otherwise it's the timestamp itself, since events are created before the simulation starts.
+     * @param timestamp the trace timestamp (in seconds)
+     * @return the event delay (in seconds)
+     */
+    /* default */ double getEventDelay(final double timestamp) {
+        return streaming ? Math.max(timestamp - simulation.clock(), 0) : timestamp;
     }
 
     /**
@@ -335,6 +530,11 @@ public class GoogleTaskEventsTraceReader extends GoogleTraceReaderAbstract<Cloud
      * @param evt
      */
     private void addEventToSend(final Cloudlet cloudlet, final CloudSimEvent evt) {
+        if(streaming) {
+            sendEvent(evt);
+            return;
+        }
+
         cloudletEvents
             .compute(cloudlet, (key, list) -> list == null ? new LinkedList<>() : list)
             .add(evt);
@@ -426,7 +626,7 @@ public class GoogleTaskEventsTraceReader extends GoogleTraceReaderAbstract<Cloud
      * @return true to indicate the Cloudlet is allowed to be created, false otherwise.
      */
     protected boolean allowCloudletCreation() {
-        return availableObjectsCount() < getMaxCloudletsToCreate();
+        return availableObjectsCount() + releasedCloudlets < getMaxCloudletsToCreate();
     }
 
     /**
@@ -448,6 +648,70 @@ public class GoogleTaskEventsTraceReader extends GoogleTraceReaderAbstract<Cloud
         return this;
     }
 
+    /**
+     * Checks if the trace is read incrementally as the simulation clock advances
+     * (default is false).
+     * @return true if streaming is enabled, false otherwise
+     * @see #setStreaming(boolean)
+     */
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    /**
+     * Sets if the trace must be read incrementally as the simulation clock advances
+     * (default is false), instead of reading the entire trace when {@link #process()} is called.
+     *
+     * <p>When streaming, lines are read just when their timestamp is inside a
+     * {@link #getLookAheadTime() look-ahead time window}, creating Cloudlets and sending their status change events
+     * just ahead of the simulation clock. Cloudlets are released by the reader after an event that ends
+     * their execution is sent. This way, memory usage is bounded by the look-ahead window,
+     * instead of keeping all Cloudlets and events for the entire trace.
+     * The trace lines must be sorted by timestamp, as in Google Cluster traces.
+     * While there are lines to be read, brokers don't shut down when they become idle.</p>
+     *
+     * <p>Brokers for users that first appear in lines read after the simulation starts
+     * are created on demand. Since such brokers don't have VMs,
+     * consider {@link BrokerManager#setDefaultBroker(DatacenterBroker) setting a default broker}.</p>
+     *
+     * @param streaming true to enable streaming, false otherwise
+     * @return
+     * @throws IllegalStateException when the trace was already processed
+     */
+    public GoogleTaskEventsTraceReader setStreaming(final boolean streaming) {
+        if(lineIterator != null || availableObjectsCount() > 0) {
+            throw new IllegalStateException("The streaming mode cannot be changed after the trace is processed.");
+        }
+
+        this.streaming = streaming;
+        return this;
+    }
+
+    /**
+     * Gets the time (in seconds) ahead of the current simulation time for which
+     * trace lines are read when {@link #setStreaming(boolean) streaming}.
+     * @return the look-ahead time (in seconds)
+     */
+    public double getLookAheadTime() {
+        return lookAheadTime;
+    }
+
+    /**
+     * Sets the time (in seconds) ahead of the current simulation time for which
+     * trace lines are read when {@link #setStreaming(boolean) streaming}.
+     * Larger values read more lines at once, requiring more memory.
+     * @param lookAheadTime the look-ahead time to set (in seconds)
+     * @return
+     */
+    public GoogleTaskEventsTraceReader setLookAheadTime(final double lookAheadTime) {
+        if(lookAheadTime < 0) {
+            throw new IllegalArgumentException("Look-ahead time cannot be negative.");
+        }
+
+        this.lookAheadTime = lookAheadTime;
+        return this;
+    }
+
     /**
      * Gets the manager that creates and provide access to {@link DatacenterBroker}s used by
      * the trace reader.
@@ -28,19 +28,21 @@ import org.cloudbus.cloudsim.cloudlets.Cloudlet;
 import org.cloudbus.cloudsim.core.CloudSimTag;
 import org.cloudbus.cloudsim.core.Simulation;
 import org.cloudbus.cloudsim.core.events.CloudSimEvent;
+import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.util.ResourceLoader;
 import org.cloudbus.cloudsim.util.TimeUtil;
 import org.cloudbus.cloudsim.util.TraceReaderAbstract;
 import org.cloudbus.cloudsim.utilizationmodels.UtilizationModel;
 import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelDynamic;
 import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelFull;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelTimeSeries;
 import org.cloudsimplus.listeners.EventInfo;
+import org.cloudsimplus.traces.ParsingException;
 
 import java.io.InputStream;
 import java.io.UncheckedIOException;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
+import java.util.*;
+import java.util.function.Consumer;
 
 import static java.util.Objects.requireNonNull;
 
@@ -65,13 +67,46 @@ import static java.util.Objects.requireNonNull;
  * @since CloudSim Plus 4.0.0
  */
 public final class GoogleTaskUsageTraceReader extends GoogleTraceReaderAbstract<Cloudlet> {
-    private final List<CloudSimEvent> cloudletUsageChangeEvents;
+    /**
+     * The default {@link #getLookAheadTime() look-ahead time} (in seconds) when {@link #setStreaming(boolean) streaming}.
+     */
+    public static final double DEF_LOOK_AHEAD_TIME = 3600;
 
     /**
      * A {@link GoogleTaskEventsTraceReader} used to create Cloudlets from a task events trace file.
      */
     private final GoogleTaskEventsTraceReader taskEventsReader;
 
+    /** @see #setStreaming(boolean) */
+    private boolean streaming;
+
+    /** @see #getLookAheadTime() */
+    private double lookAheadTime;
+
+    /** Reads trace lines on demand when streaming, or null if the streaming was not started. */
+    private Iterator<String[]> lineIterator;
+
+    /** The next line to be processed when streaming, or null if there are no more lines. */
+    private String[] nextLine;
+
+    /** The start time (in seconds) of the {@link #nextLine}. */
+    private double nextLineStartTime;
+
+    /**
+     * Cloudlets whose resource usage changes inside the trace lines just read
+     * (the look-ahead time window when streaming), where each key is the time of the change.
+     */
+    private final SortedMap<Double, Set<Cloudlet>> usageChanges;
+
+    /**
+     * The usage samples read for each Cloudlet that were not applied yet.
+     * Samples are removed as they are applied and a Cloudlet is removed when it has no more samples to apply.
+     */
+    private final Map<Cloudlet, CloudletUsage> cloudletUsages;
+
+    /** Events created before the simulation starts, which are sent when it starts. */
+    private final List<CloudSimEvent> pendingEvents;
+
     /**
      * The index of each field in the trace file.
      */
@@ -299,7 +334,10 @@ public final class GoogleTaskUsageTraceReader extends GoogleTraceReaderAbstract<
             throw new IllegalArgumentException("The broker list in your GoogleTaskEventsTraceReader is empty");
         }
         this.simulation = brokerList.get(0).getSimulation();
-        cloudletUsageChangeEvents = new ArrayList<>();
+        this.lookAheadTime = DEF_LOOK_AHEAD_TIME;
+        this.usageChanges = new TreeMap<>();
+        this.cloudletUsages = new HashMap<>();
+        this.pendingEvents = new ArrayList<>();
     }
 
     private List<DatacenterBroker> getBrokers() {
@@ -332,11 +370,40 @@ public final class GoogleTaskUsageTraceReader extends GoogleTraceReaderAbstract<
      * from Google Cluster trace files won't change according
      * to the percentage of CPU capacity the Cloudlets are using.</p>
      *
+     * <p>The usage samples of each Cloudlet are stored in a {@link UtilizationModelTimeSeries}
+     * kept by the reader, where consecutive samples with the same usage are coalesced.
+     * A single event is sent for all Cloudlets whose usage changes at the same time.
+     * When it's processed, the current utilization of each Cloudlet's CPU and RAM {@link UtilizationModelDynamic}
+     * is updated, keeping its maximum utilization and update function, and the applied samples are discarded.
+     * A Cloudlet resource whose {@link UtilizationModel} is not a {@link UtilizationModelDynamic}
+     * gets a new one when its usage first changes.</p>
+     *
+     * <p>If {@link #setStreaming(boolean) streaming} is enabled, just the lines inside the first
+     * {@link #getLookAheadTime() look-ahead time window} are read when this method is called.</p>
+     *
      * @return the Set of all {@link Cloudlet}s processed according to a line in the trace file
+     *         (or the ones processed inside the first look-ahead time window when streaming)
      */
     @Override
     public Collection<Cloudlet> process() {
-        return super.process();
+        return streaming ? startStreaming() : super.process();
+    }
+
+    /**
+     * Starts reading the trace incrementally, processing the lines inside the first look-ahead time window.
+     * @return the Set of {@link Cloudlet}s processed according to a line inside the first window
+     */
+    private Collection<Cloudlet> startStreaming() {
+        if(lineIterator != null) {
+            return getAvailableObjects();
+        }
+
+        lineIterator = newParsedLineIterator();
+        setLastLineNumber(0);
+        readNextLine();
+        readNextWindow();
+        addOnSimulationStartListener();
+        return getAvailableObjects();
     }
 
     /** There is not pre-process for this implementation. */
@@ -345,100 +412,284 @@ public final class GoogleTaskUsageTraceReader extends GoogleTraceReaderAbstract<
 
     @Override
     protected void postProcess(){
-        simulation.addOnSimulationStartListener(this::onSimulationStart);
+        scheduleUsageChanges(simulation.clock());
+        addOnSimulationStartListener();
+    }
+
+    private void addOnSimulationStartListener() {
+        if(!simulation.isRunning()) {
+            simulation.addOnSimulationStartListener(this::onSimulationStart);
+        }
     }
 
     /**
-     * Adds an event listener that is notified when the simulation starts,
-     * so that the messages to change Cloudlet resource usage are sent.
+     * Sends the events created before the simulation starts.
      *
      * @param info the simulation start event information
      */
     private void onSimulationStart(final EventInfo info) {
-        cloudletUsageChangeEvents.forEach(evt -> evt.getSource().schedule(evt));
+        pendingEvents.forEach(evt -> evt.getSource().schedule(evt));
+        pendingEvents.clear();
     }
 
-    @Override
-    protected boolean processParsedLineInternal() {
-        final TaskUsage taskUsage = new TaskUsage(this);
-        return taskEventsReader
-                .findObject(taskUsage.getUniqueTaskId())
-                .map(cloudlet -> requestCloudletUsageChange(cloudlet, taskUsage))
-                .isPresent();
+    /**
+     * Processes the trace lines inside the look-ahead time window starting at the current simulation time,
+     * then schedules an event to process the next window.
+     */
+    private void readNextWindow() {
+        final double time = simulation.clock();
+        readNextLines(time);
+        scheduleUsageChanges(time);
+        if(nextLine == null) {
+            return;
+        }
+
+        /* The event is scheduled to a broker, which executes the Runnable when the event is processed.
+         * That makes the next window to be read exactly when the clock reaches it. */
+        final double delay = Math.max(nextLineStartTime - lookAheadTime - time, 0);
+        final Runnable nextWindowRunnable = this::readNextWindow;
+        sendEvent(new CloudSimEvent(delay, getAliveBroker(), CloudSimTag.CLOUDLET_UPDATE_ATTRIBUTES, nextWindowRunnable));
     }
 
     /**
-     * Send a message to the broker to request change in a Cloudlet resource usage.
-     * @return true if the request was created, false otherwise
+     * Processes the next trace lines whose start time is inside the look-ahead time window.
+     * The next line is always processed, since this method is called when the window reaches it.
+     *
+     * @param time the current simulation time
      */
-    private boolean requestCloudletUsageChange(final Cloudlet cloudlet, final TaskUsage taskUsage)
-    {
-        final Runnable resourceUsageUpdateRunnable = () -> {
-            final StringBuilder builder = new StringBuilder();
-            if (cloudlet.getUtilizationOfCpu() != taskUsage.getMeanCpuUsageRate()) {
-                builder.append("CPU Utilization: ")
-                    .append(formatPercentValue(cloudlet.getUtilizationOfCpu())).append(VAL_SEPARATOR)
-                    .append(formatPercentValue(taskUsage.getMeanCpuUsageRate())).append('%').append(COL_SEPARATOR);
-
-                cloudlet.setUtilizationModelCpu(createUtilizationModel(cloudlet.getUtilizationModelCpu(), taskUsage.getMeanCpuUsageRate()));
+    private void readNextLines(final double time) {
+        try {
+            boolean first = true;
+            while (nextLine != null && (first || nextLineStartTime <= time + lookAheadTime)) {
+                if(processParsedLine(nextLine)) {
+                    setLastLineNumber(getLastLineNumber() + 1);
+                }
+
+                readNextLine();
+                first = false;
             }
+        } catch (RuntimeException e) {
+            throw new ParsingException("Error when processing the trace file. Current trace line: " + getLastLineNumber(), e);
+        }
+    }
 
-            if (cloudlet.getUtilizationOfRam() != taskUsage.getCanonicalMemoryUsage()) {
-                builder.append("RAM Utilization: ")
-                    .append(formatPercentValue(cloudlet.getUtilizationOfRam())).append(VAL_SEPARATOR)
-                    .append(formatPercentValue(taskUsage.getCanonicalMemoryUsage()))
-                    .append('%')
-                    .append(COL_SEPARATOR);
-                cloudlet.setUtilizationModelRam(createUtilizationModel(cloudlet.getUtilizationModelRam(), taskUsage.getCanonicalMemoryUsage()));
+    /**
+     * Reads the next line to be processed and gets its start time,
+     * or sets the {@link #nextLine} to null if there are no more lines to read.
+     */
+    private void readNextLine() {
+        if(getLastLineNumber() >= getMaxLinesToRead() || !lineIterator.hasNext()) {
+            nextLine = null;
+            return;
+        }
+
+        nextLine = lineIterator.next();
+        setLastParsedLineArray(nextLine);
+        nextLineStartTime = FieldIndex.START_TIME.getValue(this);
+    }
+
+    /**
+     * Schedules one event for each time inside the lines just read when some Cloudlet resource usage changes,
+     * to apply the new usage and update the processing of the Hosts running such Cloudlets.
+     * @param time the current simulation time
+     */
+    private void scheduleUsageChanges(final double time) {
+        for (final var entry : usageChanges.entrySet()) {
+            final var cloudlets = entry.getValue();
+            final Runnable usageChangeRunnable = () -> applyUsageChanges(cloudlets);
+            final var broker = cloudlets.iterator().next().getBroker();
+            final double delay = Math.max(entry.getKey() - time, 0);
+            sendEvent(new CloudSimEvent(delay, broker, CloudSimTag.CLOUDLET_UPDATE_ATTRIBUTES, usageChangeRunnable));
+        }
+
+        usageChanges.clear();
+    }
+
+    /**
+     * Applies the usage of Cloudlets whose resource usage has just changed
+     * and updates the processing of the Hosts running them,
+     * so that the new usage is used from the current time on.
+     * @param cloudlets the Cloudlets whose resource usage has changed
+     */
+    private void applyUsageChanges(final Set<Cloudlet> cloudlets) {
+        final double time = simulation.clock();
+        final var hosts = new HashSet<Host>();
+        for (final Cloudlet cloudlet : cloudlets) {
+            final var usage = cloudletUsages.get(cloudlet);
+            if(usage != null) {
+                applyUsage(cloudlet.getUtilizationModelCpu(), cloudlet::setUtilizationModelCpu, usage.cpu, time);
+                applyUsage(cloudlet.getUtilizationModelRam(), cloudlet::setUtilizationModelRam, usage.ram, time);
+                if(!usage.cpu.hasSamplesAfter(time) && !usage.ram.hasSamplesAfter(time)) {
+                    cloudletUsages.remove(cloudlet);
+                }
             }
 
-            /* We don't need to check if some resource was changed because
-             * if this Runnable is executed is because something was.
-             * An event to execute such Runnable is just sent in such a condition.*/
             final DatacenterBroker broker = cloudlet.getBroker();
-            broker.LOGGER.trace("{}: {}: {} resource usage changed: {}", simulation.clockStr(), broker.getName(), cloudlet, builder);
-            cloudlet.getVm().getHost().updateProcessing(simulation.clock());
-        };
+            broker.LOGGER.trace(
+                "{}: {}: {} resource usage changed: CPU Utilization: {}%{}RAM Utilization: {}%",
+                simulation.clockStr(), broker.getName(), cloudlet,
+                formatPercentValue(cloudlet.getUtilizationOfCpu()), COL_SEPARATOR,
+                formatPercentValue(cloudlet.getUtilizationOfRam()));
+            hosts.add(cloudlet.getVm().getHost());
+        }
+
+        hosts.forEach(host -> host.updateProcessing(simulation.clock()));
+    }
+
+    /**
+     * Sets the utilization of a Cloudlet resource at the current time, according to its usage samples,
+     * and discards the samples that were applied.
+     * If the {@link UtilizationModel} of the resource is a {@link UtilizationModelDynamic},
+     * its current utilization is updated. Otherwise, it's replaced by a {@link UtilizationModelDynamic}
+     * if the utilization has changed.
+     *
+     * @param model the current {@link UtilizationModel} of the Cloudlet resource
+     * @param modelSetter a {@link Consumer} to replace the {@link UtilizationModel} of the Cloudlet resource
+     * @param samples the usage samples of the Cloudlet resource
+     * @param time the current simulation time
+     */
+    private void applyUsage(
+        final UtilizationModel model, final Consumer<UtilizationModel> modelSetter,
+        final UtilizationModelTimeSeries samples, final double time)
+    {
+        final double utilization = samples.getUtilization(time);
+        samples.removeSamplesBefore(time);
+        if(model instanceof UtilizationModelDynamic umDynamic){
+            umDynamic.updateCurrentUtilization(utilization);
+        } else if(model.getUtilization() != utilization){
+            final var umDynamic = new UtilizationModelDynamic(model.getUnit(), utilization);
+            umDynamic.setSimulation(simulation);
+            modelSetter.accept(umDynamic);
+        }
+    }
+
+    /**
+     * Sends an event if the simulation is running, or keeps it to be sent when the simulation starts.
+     * @param evt the event to send
+     */
+    private void sendEvent(final CloudSimEvent evt) {
+        if(simulation.isRunning()) {
+            evt.getSource().schedule(evt);
+        } else {
+            pendingEvents.add(evt);
+        }
+    }
 
+    /**
+     * Gets a broker that didn't shut down yet, to which the event to read the next window is sent.
+     * Events sent to brokers that are already shut down are ignored.
+     * @return an alive broker or the first one if all of them are shut down
+     */
+    private DatacenterBroker getAliveBroker() {
+        final var brokerList = getBrokers();
+        return brokerList.stream().filter(DatacenterBroker::isAlive).findFirst().orElse(brokerList.get(0));
+    }
 
-        if(hasCloudletResourceUsageChanged(cloudlet, taskUsage)){
+    @Override
+    protected boolean processParsedLineInternal() {
+        final TaskUsage taskUsage = new TaskUsage(this);
+        return taskEventsReader
+                .findObject(taskUsage.getUniqueTaskId())
+                .map(cloudlet -> requestCloudletUsageChange(cloudlet, taskUsage))
+                .orElse(false);
+    }
+
+    /**
+     * Adds the CPU and RAM usage from the task usage to the Cloudlet usage samples
+     * and registers the Cloudlet to have its usage applied at the usage start time
+     * if some usage has changed.
+     * @return true if the Cloudlet resource usage has changed, false otherwise
+     */
+    private boolean requestCloudletUsageChange(final Cloudlet cloudlet, final TaskUsage taskUsage) {
+        final double time = taskUsage.getStartTime();
+        final var usage = cloudletUsages.computeIfAbsent(cloudlet, CloudletUsage::new);
+        final boolean cpuChanged = usage.cpu.addSample(time, taskUsage.getMeanCpuUsageRate());
+        final boolean ramChanged = usage.ram.addSample(time, taskUsage.getCanonicalMemoryUsage());
+        if(cpuChanged || ramChanged){
             addAvailableObject(cloudlet);
-            final CloudSimEvent evt =
-                new CloudSimEvent(
-                    taskUsage.getStartTime(), cloudlet.getBroker(),
-                    CloudSimTag.CLOUDLET_UPDATE_ATTRIBUTES, resourceUsageUpdateRunnable);
-            return cloudletUsageChangeEvents.add(evt);
+            usageChanges.computeIfAbsent(time, t -> new LinkedHashSet<>()).add(cloudlet);
+            return true;
         }
 
         return false;
     }
 
     /**
-     * Creates a {@link UtilizationModel} based on another one.
-     * If the given instance is a {@link UtilizationModelDynamic},
-     * otherwise a UtilizationModelDynamic is created without cloning
-     * another instance (that means it won't have the configurations
-     * defined by another model).
-     * Then, the initial utilization of the created {@link UtilizationModelDynamic}
-     * is set as the given parameter.
+     * Checks if the trace is read incrementally as the simulation clock advances
+     * (default is false).
+     * @return true if streaming is enabled, false otherwise
+     * @see #setStreaming(boolean)
+     */
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    /**
+     * Sets if the trace must be read incrementally as the simulation clock advances
+     * (default is false), instead of reading the entire trace when {@link #process()} is called.
+     *
+     * <p>When streaming, lines are read just when their start time is inside a
+     * {@link #getLookAheadTime() look-ahead time window}, so that just the usage samples
+     * ahead of the simulation clock are kept in memory, instead of the ones for the entire trace.
+     * The trace lines must be sorted by start time, as in Google Cluster traces.</p>
+     *
+     * <p>The Cloudlets must have been created by the {@link GoogleTaskEventsTraceReader}
+     * when their usage lines are read. If it's {@link GoogleTaskEventsTraceReader#setStreaming(boolean) streaming}
+     * the trace, its look-ahead time must be at least the one of this reader.</p>
      *
-     * @param source the utilization model that will be used as based to
-     * @param initialUtilization a percentage value (in scale from 0 to 1)
-     *                           to define the current utilization for the created {@link UtilizationModelDynamic}
-     * @return an {@link UtilizationModelDynamic} instance with the current utilization equals
-     *         to the given parameter
+     * @param streaming true to enable streaming, false otherwise
+     * @return
+     * @throws IllegalStateException when the trace was already processed
      */
-    private UtilizationModel createUtilizationModel(final UtilizationModel source, final double initialUtilization){
-        if(source instanceof UtilizationModelDynamic umDynamic){
-            return new UtilizationModelDynamic(umDynamic, initialUtilization);
+    public GoogleTaskUsageTraceReader setStreaming(final boolean streaming) {
+        if(lineIterator != null || availableObjectsCount() > 0) {
+            throw new IllegalStateException("The streaming mode cannot be changed after the trace is processed.");
         }
 
-        return new UtilizationModelDynamic(initialUtilization);
+        this.streaming = streaming;
+        return this;
     }
 
-    private boolean hasCloudletResourceUsageChanged(final Cloudlet cloudlet, final TaskUsage taskUsage){
-        return cloudlet.getUtilizationOfCpu() != taskUsage.getMeanCpuUsageRate() ||
-               cloudlet.getUtilizationOfRam() != taskUsage.getCanonicalMemoryUsage();
+    /**
+     * Gets the time (in seconds) ahead of the current simulation time for which
+     * trace lines are read when {@link #setStreaming(boolean) streaming}.
+     * @return the look-ahead time (in seconds)
+     */
+    public double getLookAheadTime() {
+        return lookAheadTime;
     }
 
+    /**
+     * Sets the time (in seconds) ahead of the current simulation time for which
+     * trace lines are read when {@link #setStreaming(boolean) streaming} (default is {@link #DEF_LOOK_AHEAD_TIME}).
+     * Larger values read more lines at once, requiring more memory,
+     * but send fewer events to read the trace.
+     * @param lookAheadTime the look-ahead time to set (in seconds)
+     * @return
+     */
+    public GoogleTaskUsageTraceReader setLookAheadTime(final double lookAheadTime) {
+        if(lookAheadTime < 0) {
+            throw new IllegalArgumentException("Look-ahead time cannot be negative.");
+        }
+
+        this.lookAheadTime = lookAheadTime;
+        return this;
+    }
+
+    /**
+     * The CPU and RAM usage samples of a Cloudlet that were not applied yet.
+     */
+    private static final class CloudletUsage {
+        private final UtilizationModelTimeSeries cpu;
+        private final UtilizationModelTimeSeries ram;
+
+        /**
+         * Creates the usage samples of a Cloudlet, whose initial utilization is the current one.
+         * @param cloudlet the Cloudlet to create the usage samples for
+         */
+        private CloudletUsage(final Cloudlet cloudlet) {
+            this.cpu = new UtilizationModelTimeSeries(cloudlet.getUtilizationModelCpu().getUnit(), cloudlet.getUtilizationOfCpu());
+            this.ram = new UtilizationModelTimeSeries(cloudlet.getUtilizationModelRam().getUnit(), cloudlet.getUtilizationOfRam());
+        }
+    }
 }
@@ -140,6 +140,16 @@ abstract class GoogleTraceReaderAbstract<T extends Identifiable> extends TraceRe
         return availableObjectsMap.put(object.getId(), Objects.requireNonNull(object)) == null;
     }
 
+    /**
+     * Removes an object T from the list of available objects,
+     * so that it can be garbage collected when it's not used anymore.
+     * @param id the id of the object to remove
+     * @return true if the object was removed, false if it was not found
+     */
+    /* default */ final boolean removeAvailableObject(final long id){
+        return availableObjectsMap.remove(id) != null;
+    }
+
     /**
      * Gets the number of objects available (created) so far.
      * @return
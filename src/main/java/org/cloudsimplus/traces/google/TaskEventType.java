@@ -50,7 +50,7 @@ public enum TaskEventType {
             // Since Cloudlet id must be unique, it will be the concatenation of the job and task id
             cloudlet.setId(event.getUniqueTaskId());
             cloudlet.setJobId(event.getJobId());
-            final double delay = TaskEventField.TIMESTAMP.getValue(reader);
+            final double delay = reader.getEventDelay(TaskEventField.TIMESTAMP.getValue(reader));
             cloudlet.setSubmissionDelay(delay);
 
             /* Set status to FROZEN to avoid the cloudlet to start running after being submitted.
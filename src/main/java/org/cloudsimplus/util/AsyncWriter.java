@@ -0,0 +1,246 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * A base class to write items (such as simulation results or metric samples)
+ * in a background thread, so that the simulation thread never waits for I/O,
+ * unless the writer falls behind and the bounded queue of pending items becomes full.
+ * That back-pressure keeps memory usage bounded.
+ * The background thread is just started when the first item is submitted.
+ *
+ * <p>If the background writer fails, the error is thrown as an {@link UncheckedIOException}
+ * at the next item submission or when the writer is {@link #close() closed}.
+ * After an error, pending items are discarded to keep the simulation thread from blocking.</p>
+ *
+ * @param <T> the type of items to write
+ * @since CloudSim Plus 7.3.0
+ */
+public abstract class AsyncWriter<T> implements AutoCloseable {
+    /**
+     * A marker added to the queue to indicate the writer thread must finish.
+     */
+    private static final Object END = new Object();
+
+    private final BlockingQueue<Object> queue;
+    private final Thread writerThread;
+    private volatile UncheckedIOException error;
+    private boolean started;
+    private boolean closed;
+
+    /**
+     * Creates a writer with a given queue capacity.
+     * @param queueCapacity the maximum number of items waiting to be written
+     */
+    protected AsyncWriter(final int queueCapacity) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity + 1);
+        this.writerThread = new Thread(this::writeQueuedItems, getClass().getSimpleName());
+        this.writerThread.setDaemon(true);
+    }
+
+    /**
+     * Submits an item to be written in the background thread,
+     * waiting if the queue of pending items is full.
+     * Items submitted after the writer is closed are ignored.
+     *
+     * @param item the item to write
+     * @throws UncheckedIOException when a previous item could not be written
+     */
+    protected final void submit(final T item) {
+        throwErrorIfAny();
+        if(closed) {
+            return;
+        }
+
+        if(!started) {
+            writerThread.start();
+            started = true;
+        }
+
+        put(item);
+    }
+
+    private void put(final Object item) {
+        try {
+            queue.put(item);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to enqueue an item to be written", e);
+        }
+    }
+
+    /**
+     * Writes the items in the queue until the {@link #END} marker is found.
+     * Items are drained in batches and the output is flushed after each batch.
+     */
+    @SuppressWarnings("unchecked")
+    private void writeQueuedItems() {
+        try {
+            openOutput();
+        } catch (final IOException e) {
+            error = new UncheckedIOException(e);
+        }
+
+        final List<Object> batch = new ArrayList<>();
+        while (true) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            for (final Object item : batch) {
+                if (item == END) {
+                    return;
+                }
+
+                write((T) item);
+            }
+
+            batch.clear();
+            if(error == null) {
+                try {
+                    flush();
+                } catch (final IOException e) {
+                    error = new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+
+    private void write(final T item) {
+        if(error == null) {
+            try {
+                writeItem(item);
+            } catch (final IOException e) {
+                error = new UncheckedIOException(e);
+            }
+        }
+
+        itemProcessed(item);
+    }
+
+    /**
+     * Writes the pending items and releases resources used by the writer.
+     * @throws UncheckedIOException when some data could not be written
+     */
+    @Override
+    public final void close() {
+        if(closed) {
+            return;
+        }
+
+        if(error == null) {
+            beforeClose();
+        }
+
+        closed = true;
+        if(started) {
+            put(END);
+            try {
+                writerThread.join();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for pending items to be written", e);
+            }
+        }
+
+        try {
+            closeOutput();
+        } catch (final IOException e) {
+            if(error == null) {
+                error = new UncheckedIOException(e);
+            }
+        }
+
+        throwErrorIfAny();
+    }
+
+    /**
+     * Throws the error raised by the background thread, if any.
+     * @throws UncheckedIOException when some item could not be written
+     */
+    protected final void throwErrorIfAny() {
+        if(error != null) {
+            throw error;
+        }
+    }
+
+    /**
+     * Checks if the writer was closed.
+     * @return
+     */
+    protected final boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Called from the simulation thread when the writer is being closed,
+     * so that partially built items can still be {@link #submit(Object) submitted}.
+     * It does nothing by default.
+     */
+    protected void beforeClose() {/**/}
+
+    /**
+     * Prepares the output (such as writing a header). It's called from the background thread,
+     * before any item is written. It does nothing by default.
+     * @throws IOException when the output cannot be prepared
+     */
+    protected void openOutput() throws IOException {/**/}
+
+    /**
+     * Called from the background thread after an item is written or discarded due to a previous error,
+     * so that the item can be reused. It does nothing by default.
+     * @param item the processed item
+     */
+    protected void itemProcessed(final T item) {/**/}
+
+    /**
+     * Writes an item. It's called from the background thread.
+     * @param item the item to write
+     * @throws IOException when the item cannot be written
+     */
+    protected abstract void writeItem(T item) throws IOException;
+
+    /**
+     * Flushes written data after a batch of items. It's called from the background thread.
+     * @throws IOException when data cannot be flushed
+     */
+    protected abstract void flush() throws IOException;
+
+    /**
+     * Closes the output after all pending items were written.
+     * @throws IOException when the output cannot be closed
+     */
+    protected abstract void closeOutput() throws IOException;
+}
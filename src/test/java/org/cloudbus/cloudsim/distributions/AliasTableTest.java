@@ -0,0 +1,49 @@
+package org.cloudbus.cloudsim.distributions;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AliasTableTest {
+    @Test
+    public void testProbabilitiesAreProportionalToWeights() {
+        final double[] weights = {1, 0, 3, 6, 0.5, 9.5};
+        final var instance = new AliasTable(weights);
+        assertEquals(20, instance.getTotalWeight(), 1e-12);
+        for (int i = 0; i < weights.length; i++) {
+            assertEquals(weights[i] / 20, instance.getProbability(i), 1e-12, "index " + i);
+        }
+    }
+
+    @Test
+    public void testSelectFollowsWeights() {
+        final double[] weights = {1, 0, 2, 5};
+        final var instance = new AliasTable(weights);
+        final var random = new UniformDistr(0, 1, 7);
+        final int samples = 80_000;
+        final int[] counts = new int[weights.length];
+        for (int i = 0; i < samples; i++) {
+            counts[instance.select(random)]++;
+        }
+
+        assertEquals(0, counts[1]);
+        assertEquals(0.125, counts[0] / (double) samples, 0.01);
+        assertEquals(0.25, counts[2] / (double) samples, 0.01);
+        assertEquals(0.625, counts[3] / (double) samples, 0.01);
+    }
+
+    @Test
+    public void testSelectLimits() {
+        final var instance = new AliasTable(new double[]{0, 1});
+        assertEquals(1, instance.select(0));
+        assertEquals(1, instance.select(Math.nextDown(1.0)));
+    }
+
+    @Test
+    public void testInvalidWeights() {
+        assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[0]));
+        assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[]{0, 0}));
+        assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[]{1, -1}));
+        assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[]{1, Double.NaN}));
+    }
+}
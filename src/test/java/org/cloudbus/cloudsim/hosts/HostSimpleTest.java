@@ -26,6 +26,7 @@ import org.cloudbus.cloudsim.schedulers.vm.VmScheduler;
 import org.cloudbus.cloudsim.schedulers.vm.VmSchedulerSpaceShared;
 import org.cloudbus.cloudsim.schedulers.vm.VmSchedulerTimeShared;
 import org.cloudbus.cloudsim.util.Conversion;
+import org.cloudbus.cloudsim.vms.HostResourceStats;
 import org.cloudbus.cloudsim.vms.Vm;
 import org.cloudbus.cloudsim.vms.VmSimple;
 import org.cloudbus.cloudsim.vms.VmTestUtil;
@@ -178,6 +179,29 @@ public class HostSimpleTest {
         assertTrue(host.getVmList().containsAll(vms));
     }
 
+    @Test
+    public void testGetSomeWorkingPesAfterPesFailAndAreRepaired() {
+        final HostSimple host = createHostSimple(0, 6);
+        final List<Pe> failedPes = host.getWorkingPeList(2);
+        assertEquals(2, failedPes.size());
+
+        host.setPeStatus(failedPes, Pe.Status.FAILED);
+        final List<Pe> workingPes = host.getWorkingPeList(10);
+        assertEquals(4, workingPes.size());
+        assertTrue(workingPes.stream().allMatch(Pe::isWorking));
+        assertTrue(host.getWorkingPeList().containsAll(workingPes));
+        assertEquals(3, host.getWorkingPeList(3).size());
+
+        host.setPeStatus(failedPes, Pe.Status.FREE);
+        assertEquals(6, host.getWorkingPeList(6).size());
+        assertTrue(host.getWorkingPeList(6).containsAll(host.getPeList()));
+
+        host.setFailed(true);
+        assertTrue(host.getWorkingPeList(6).isEmpty());
+        host.setFailed(false);
+        assertEquals(6, host.getWorkingPeList(6).size());
+    }
+
     @Test
     public void testReallocateMigratingInVmsWhenOneVmAlreadyAllocatedToTheHost() {
         final int numberOfVms = 4;
@@ -626,6 +650,41 @@ public class HostSimpleTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    public void testGetBwPercentUtilizationOfDpuPool() {
+        final List<Pe> peList = createPes(PES, MIPS);
+        final List<ResourceProvisioner> dpus = List.of(new ResourceProvisionerSimple(), new ResourceProvisionerSimple());
+        final Host host = new HostSimple(RAM, BW, STORAGE, peList).setBwProvisioner(dpus);
+        assertEquals(0, host.getBwPercentUtilization());
+
+        assertTrue(host.getBwProvisioner(1).allocateResourceForVm(VmTestUtil.createVm(0, 1), BW/2));
+        //Half of the capacity of one DPU is a quarter of the DPU pool capacity
+        assertEquals(0.25, host.getBwPercentUtilization());
+        assertSame(HostResourceStats.NULL, host.getBwUtilizationStats());
+    }
+
+    @Test
+    public void testMergeBwQuantileSketchesCountsSharedDpusOnce() {
+        final List<ResourceProvisioner> rackDpus = List.of(new ResourceProvisionerSimple(), new ResourceProvisionerSimple());
+        final List<Host> hosts = List.of(
+            new HostSimple(RAM, BW, STORAGE, createPes(PES, MIPS)).setBwProvisioner(rackDpus),
+            new HostSimple(RAM, BW, STORAGE, createPes(PES, MIPS)).setBwProvisioner(rackDpus),
+            new HostSimple(RAM, BW, STORAGE, createPes(PES, MIPS)));
+
+        for (int i = 0; i < hosts.size(); i++) {
+            final Host host = hosts.get(i);
+            host.enableUtilizationStats();
+            final var sketch = host.getBwUtilizationStats().enableQuantileSketch().getQuantileSketch();
+            //Hosts sharing the DPUs collect the same samples for the pool
+            sketch.add(i < 2 ? 0.8 : 0.2);
+        }
+
+        final var merged = HostResourceStats.mergeBwQuantileSketches(hosts);
+        assertEquals(2, merged.count());
+        assertEquals(0.2, merged.getMin());
+        assertEquals(0.8, merged.getMax());
+    }
+
     /**
      * Creates a mock VM to test the utilization of some resource
      * @param vmResource a new instance of a resource to be attached to the VM and to be tested
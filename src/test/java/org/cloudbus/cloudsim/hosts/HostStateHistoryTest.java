@@ -0,0 +1,47 @@
+package org.cloudbus.cloudsim.hosts;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HostStateHistoryTest {
+    @Test
+    public void testAddEntryReplacesEntryAtSameTime() {
+        final var history = new HostStateHistory();
+        history.addEntry(1, 100, 200, true);
+        history.addEntry(1, 150, 200, true);
+
+        assertEquals(1, history.size());
+        assertEquals(new HostStateHistoryEntry(1, 150, 200, true), history.get(0));
+        assertThrows(UnsupportedOperationException.class, () -> history.add(history.get(0)));
+    }
+
+    @Test
+    public void testSamplingIntervalKeepsFirstEntryOfEachInterval() {
+        final var history = new HostStateHistory().setSamplingInterval(10);
+        for (int time = 0; time < 100; time++) {
+            history.addEntry(time, time, time, true);
+        }
+
+        assertEquals(10, history.size());
+        for (int i = 0; i < history.size(); i++) {
+            assertEquals(i * 10, history.getTime(i));
+        }
+    }
+
+    @Test
+    public void testRetentionTimeDiscardsOldEntries() {
+        final var history = new HostStateHistory().setRetentionTime(50);
+        for (int time = 0; time < 1000; time++) {
+            history.addEntry(time, time * 2, time * 3, time % 2 == 0);
+        }
+
+        assertEquals(51, history.size());
+        assertEquals(new HostStateHistoryEntry(949, 1898, 2847, false), history.get(0));
+        assertEquals(999, history.getTime(history.size() - 1));
+
+        history.setRetentionTime(10);
+        assertEquals(11, history.size());
+        assertEquals(989, history.get(0).time());
+    }
+}
@@ -3,6 +3,7 @@ package org.cloudbus.cloudsim.mocks;
 import org.cloudbus.cloudsim.brokers.DatacenterBroker;
 import org.cloudbus.cloudsim.core.CloudSim;
 import org.cloudbus.cloudsim.core.Simulation;
+import org.cloudsimplus.sinks.FinishedEntitySink;
 import org.mockito.Mockito;
 
 import java.util.function.Consumer;
@@ -42,6 +43,7 @@ public final class MocksHelper {
     public static DatacenterBroker createMockBroker(long brokerId, int expectedCallsToGetId) {
         final DatacenterBroker broker = Mockito.mock(DatacenterBroker.class);
         Mockito.when(broker.getId()).thenReturn(brokerId);
+        mockFinishedEntitiesRetention(broker);
         return broker;
     }
 
@@ -59,7 +61,18 @@ public final class MocksHelper {
         final DatacenterBroker broker = Mockito.mock(DatacenterBroker.class);
         Mockito.when(broker.getSimulation()).thenReturn(cloudsim);
         Mockito.when(broker.getId()).thenReturn(0L);
+        mockFinishedEntitiesRetention(broker);
         consumer.accept(broker);
         return broker;
     }
+
+    /**
+     * Makes a broker mock retain finished entities and use a {@link FinishedEntitySink#NULL} sink,
+     * which are the defaults for real brokers.
+     * @param broker the broker mock
+     */
+    private static void mockFinishedEntitiesRetention(final DatacenterBroker broker) {
+        Mockito.when(broker.isRetainFinishedEntities()).thenReturn(true);
+        Mockito.when(broker.getFinishedEntitySink()).thenReturn(FinishedEntitySink.NULL);
+    }
 }
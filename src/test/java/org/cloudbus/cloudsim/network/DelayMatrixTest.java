@@ -0,0 +1,43 @@
+package org.cloudbus.cloudsim.network;
+
+import org.cloudbus.cloudsim.network.PackedMatrix.Precision;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DelayMatrixTest {
+    private static final int NODES = 40;
+
+    @Test
+    public void testGetDelayIsSameAsFloydWarshall() {
+        for (final boolean directed : new boolean[]{false, true}) {
+            final var graph = DijkstraShortestPathsTest.newRandomGraph(NODES, 70, 7);
+            final double[][] expected = DijkstraShortestPathsTest.floydWarshall(graph, directed);
+            for (final Precision precision : Precision.values()) {
+                final var instance = new DelayMatrix(graph, directed, precision, precision == Precision.FLOAT);
+                for (int src = 0; src < NODES; src++) {
+                    for (int dest = 0; dest < NODES; dest++) {
+                        assertEquals(expected[src][dest], instance.getDelay(src, dest), 1e-5);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testUndirectedFloatMatrixTakesAQuarterOfTheMemory() {
+        final var graph = DijkstraShortestPathsTest.newRandomGraph(NODES, 70, 8);
+        final long fullMatrixBytes = (long) NODES * NODES * Double.BYTES;
+        assertEquals(NODES * (NODES + 1) / 2 * Float.BYTES, new DelayMatrix(graph, false, Precision.FLOAT, false).getBytes());
+        assertTrue(new DelayMatrix(graph, false, Precision.FLOAT, false).getBytes() < fullMatrixBytes / 3.9);
+        assertEquals(fullMatrixBytes, new DelayMatrix(graph, true).getBytes());
+    }
+
+    @Test
+    public void testGetDelayForInvalidNodes() {
+        final var instance = new DelayMatrix(DijkstraShortestPathsTest.newRandomGraph(3, 2, 9), false);
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> instance.getDelay(3, 0));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> instance.getDelay(0, -1));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> new DelayMatrix().getDelay(0, 0));
+    }
+}
@@ -0,0 +1,129 @@
+package org.cloudbus.cloudsim.network;
+
+import org.cloudbus.cloudsim.network.topologies.TopologicalGraph;
+import org.cloudbus.cloudsim.network.topologies.TopologicalLink;
+import org.cloudbus.cloudsim.network.topologies.TopologicalNode;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the time to compute the delay between all pairs of nodes using the {@link FloydWarshall} algorithm
+ * and to build a {@link DijkstraShortestPaths} for random sparse topologies of increasing sizes,
+ * then getting the delay between random pairs of nodes and adding links.
+ * Since the delay matrix had to be recomputed when a link was added to a
+ * {@link org.cloudbus.cloudsim.network.topologies.BriteNetworkTopology}, that's the time added for each link.
+ *
+ * <p>It's tagged as a {@link #BENCHMARK} and excluded from the default test run.
+ * It may be executed by {@code mvn test -Pintegration-tests -Dtest=DijkstraShortestPathsBenchmark}.
+ * The matrix approach is skipped for topologies bigger than {@link #MAX_MATRIX_NODES}.</p>
+ */
+@Tag(DijkstraShortestPathsBenchmark.BENCHMARK)
+class DijkstraShortestPathsBenchmark {
+    static final String BENCHMARK = "benchmark";
+
+    private static final int[] NODES = {250, 500, 1000, 10_000, 100_000};
+    private static final int MAX_MATRIX_NODES = 1000;
+    private static final int LINKS_PER_NODE = 3;
+    private static final int LOOKUPS = 10_000;
+    private static final int ADDED_LINKS = 10;
+
+    @Test
+    void compareMatrixAndDijkstra() {
+        System.out.printf("%8s %14s %14s %14s %14s%n", "nodes", "matrix (ms)", "+link (ms)", "dijkstra (ms)", "+link (ms)");
+        for (final int nodes : NODES) {
+            final var graph = newRandomGraph(nodes);
+            if (nodes <= MAX_MATRIX_NODES) {
+                assertSameDelays(graph);
+            }
+
+            final String matrixTime = nodes > MAX_MATRIX_NODES ? "-" : "%.1f".formatted(runMatrix(graph));
+            final String matrixLinkTime = nodes > MAX_MATRIX_NODES ? "-" : "%.1f".formatted(runMatrix(graph));
+            final double[] dijkstraTimes = runDijkstra(graph);
+            System.out.printf(
+                "%8d %14s %14s %14.1f %14.3f%n",
+                nodes, matrixTime, matrixLinkTime, dijkstraTimes[0], dijkstraTimes[1] / ADDED_LINKS);
+        }
+    }
+
+    /**
+     * Creates a random graph where every node has {@link #LINKS_PER_NODE} links on average.
+     */
+    private static TopologicalGraph newRandomGraph(final int nodes) {
+        final var random = new Random(nodes);
+        final var graph = new TopologicalGraph();
+        for (int i = 0; i < nodes; i++) {
+            graph.addNode(new TopologicalNode(i));
+        }
+
+        for (int i = 0; i < nodes * LINKS_PER_NODE; i++) {
+            graph.addLink(new TopologicalLink(random.nextInt(nodes), random.nextInt(nodes), 1 + random.nextInt(100) / 10.0, 100));
+        }
+
+        return graph;
+    }
+
+    /**
+     * Computes the delay matrix and gets delays between random nodes.
+     * @return the elapsed time (in milliseconds)
+     */
+    private static double runMatrix(final TopologicalGraph graph) {
+        final long start = System.nanoTime();
+        final double[][] matrix = DijkstraShortestPathsTest.floydWarshall(graph, false);
+        final var random = new Random(0);
+        double sum = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            sum += matrix[random.nextInt(graph.getNumberOfNodes())][random.nextInt(graph.getNumberOfNodes())];
+        }
+
+        return elapsedMillis(start, sum);
+    }
+
+    /**
+     * Builds the shortest paths engine and gets delays between random nodes
+     * (where just a few nodes are sources of messages, as usual in simulations), then adds links.
+     * @return the elapsed time (in milliseconds) to get the delays and the total time to add links
+     */
+    private static double[] runDijkstra(final TopologicalGraph graph) {
+        final int nodes = graph.getNumberOfNodes();
+        long start = System.nanoTime();
+        final var instance = new DijkstraShortestPaths(graph, false);
+        final var random = new Random(0);
+        double sum = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            sum += instance.getDelay(random.nextInt(100), random.nextInt(nodes));
+        }
+
+        final double lookupTime = elapsedMillis(start, sum);
+        start = System.nanoTime();
+        for (int i = 0; i < ADDED_LINKS; i++) {
+            final var link = new TopologicalLink(random.nextInt(nodes), random.nextInt(nodes), 1 + random.nextInt(10), 100);
+            instance.addLink(link.getSrcNodeID(), link.getDestNodeID(), link.getLinkDelay());
+        }
+
+        return new double[]{lookupTime, elapsedMillis(start, instance.getDelay(0, nodes - 1))};
+    }
+
+    /**
+     * Checks both approaches give the same delays from a few sources,
+     * so that the timings compare equivalent results.
+     */
+    private static void assertSameDelays(final TopologicalGraph graph) {
+        final double[][] matrix = DijkstraShortestPathsTest.floydWarshall(graph, false);
+        final var instance = new DijkstraShortestPaths(graph, false);
+        for (int src = 0; src < 10; src++) {
+            for (int dest = 0; dest < graph.getNumberOfNodes(); dest++) {
+                assertEquals(matrix[src][dest], instance.getDelay(src, dest), 1e-9);
+            }
+        }
+    }
+
+    private static double elapsedMillis(final long start, final double result) {
+        final double millis = (System.nanoTime() - start) / 1_000_000.0;
+        /* Uses the result, so that the computation isn't removed by the JIT. */
+        return Double.isNaN(result) ? -millis : millis;
+    }
+}
@@ -0,0 +1,209 @@
+package org.cloudbus.cloudsim.network;
+
+import org.cloudbus.cloudsim.network.topologies.TopologicalGraph;
+import org.cloudbus.cloudsim.network.topologies.TopologicalLink;
+import org.cloudbus.cloudsim.network.topologies.TopologicalNode;
+import org.cloudbus.cloudsim.util.Util;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DijkstraShortestPathsTest {
+    private static final int NODES = 60;
+
+    /**
+     * Creates a random graph with distinct links with positive delays,
+     * so that the {@link FloydWarshall} algorithm computes the same delays.
+     */
+    static TopologicalGraph newRandomGraph(final int nodes, final int links, final long seed) {
+        final var random = new Random(seed);
+        final var graph = new TopologicalGraph();
+        for (int i = 0; i < nodes; i++) {
+            graph.addNode(new TopologicalNode(i));
+        }
+
+        final var linked = new boolean[nodes][nodes];
+        for (int i = 0; i < links; i++) {
+            final int src = random.nextInt(nodes);
+            final int dest = random.nextInt(nodes);
+            if (src != dest && !linked[src][dest]) {
+                linked[src][dest] = linked[dest][src] = true;
+                graph.addLink(new TopologicalLink(src, dest, 1 + random.nextInt(100) / 10.0, 100));
+            }
+        }
+
+        return graph;
+    }
+
+    /**
+     * Computes the delay between all pairs of nodes using the {@link FloydWarshall} algorithm.
+     */
+    static double[][] floydWarshall(final TopologicalGraph graph, final boolean directed) {
+        final int nodes = graph.getNumberOfNodes();
+        final double[][] matrix = Util.newSquareMatrix(nodes, Double.MAX_VALUE);
+        for (final TopologicalLink link : graph.getLinksList()) {
+            final int src = link.getSrcNodeID();
+            final int dest = link.getDestNodeID();
+            /* Parallel links may exist, and the shortest one is the one that counts. */
+            matrix[src][dest] = Math.min(matrix[src][dest], link.getLinkDelay());
+            if (!directed) {
+                matrix[dest][src] = Math.min(matrix[dest][src], link.getLinkDelay());
+            }
+        }
+
+        return new FloydWarshall(nodes).computeShortestPaths(matrix);
+    }
+
+    private static void assertSameDelays(final double[][] expected, final DijkstraShortestPaths instance, final int nodes) {
+        for (int src = 0; src < nodes; src++) {
+            for (int dest = 0; dest < nodes; dest++) {
+                assertEquals(expected[src][dest], instance.getDelay(src, dest), 1e-9, "Delay from %d to %d".formatted(src, dest));
+            }
+        }
+    }
+
+    @Test
+    public void testGetDelayIsSameAsFloydWarshall() {
+        for (final boolean directed : new boolean[]{false, true}) {
+            final var graph = newRandomGraph(NODES, 120, 1);
+            final var instance = new DijkstraShortestPaths(graph, directed);
+            assertEquals(NODES, instance.getNumberOfNodes());
+            assertSameDelays(floydWarshall(graph, directed), instance, NODES);
+        }
+    }
+
+    @Test
+    public void testGetDelayForDisconnectedAndInvalidNodes() {
+        final var instance = new DijkstraShortestPaths(false);
+        instance.addLink(0, 1, 2);
+        instance.addLink(3, 3, 1);
+        assertAll(
+            () -> assertEquals(0, instance.getDelay(2, 2)),
+            () -> assertEquals(2, instance.getDelay(1, 0)),
+            () -> assertEquals(DijkstraShortestPaths.DELAY_NOT_SET, instance.getDelay(0, 3)),
+            () -> assertThrows(IndexOutOfBoundsException.class, () -> instance.getDelay(0, 4)),
+            () -> assertThrows(IndexOutOfBoundsException.class, () -> instance.getDelay(-1, 0))
+        );
+    }
+
+    @Test
+    public void testAddLinkRepairsCachedDelays() {
+        final var graph = newRandomGraph(NODES, 80, 2);
+        final var instance = new DijkstraShortestPaths(graph, false);
+        /* The delay from node 0 to itself doesn't need to compute and cache its delays. */
+        for (int src = 0; src < NODES; src++) {
+            instance.getDelay(src, 0);
+        }
+
+        final var random = new Random(3);
+        for (int i = 0; i < 30; i++) {
+            final int src = random.nextInt(NODES);
+            final int dest = random.nextInt(NODES);
+            if (src == dest || hasLink(graph, src, dest)) {
+                continue;
+            }
+
+            final double delay = 0.5 + random.nextInt(20) / 10.0;
+            graph.addLink(new TopologicalLink(src, dest, delay, 100));
+            instance.addLink(src, dest, delay);
+        }
+
+        assertEquals(NODES - 1, instance.getCachedSources());
+        assertSameDelays(floydWarshall(graph, false), instance, NODES);
+    }
+
+    @Test
+    public void testAddLinkCreatesNodes() {
+        final var instance = new DijkstraShortestPaths(false);
+        instance.addLink(0, 1, 1);
+        assertEquals(1, instance.getDelay(0, 1));
+        instance.addLink(1, 5, 2);
+        assertEquals(6, instance.getNumberOfNodes());
+        assertEquals(3, instance.getDelay(0, 5));
+        assertEquals(3, instance.getDelay(5, 0));
+    }
+
+    @Test
+    public void testRemoveLinksEvictsJustAffectedSources() {
+        final var instance = new DijkstraShortestPaths(false);
+        instance.addLink(0, 1, 1);
+        instance.addLink(1, 2, 1);
+        instance.addLink(0, 2, 5);
+        instance.addLink(3, 4, 1);
+        assertEquals(2, instance.getDelay(0, 2));
+        assertEquals(1, instance.getDelay(3, 4));
+        assertEquals(2, instance.getCachedSources());
+
+        assertTrue(instance.removeLinks(2, 1));
+        assertFalse(instance.removeLinks(1, 2));
+        assertEquals(1, instance.getCachedSources());
+        assertEquals(5, instance.getDelay(0, 2));
+        assertEquals(5, instance.getDelay(2, 0));
+        assertEquals(6, instance.getDelay(1, 2));
+    }
+
+    @Test
+    public void testRemoveLinksIsSameAsFloydWarshall() {
+        final var graph = newRandomGraph(NODES, 150, 4);
+        final var instance = new DijkstraShortestPaths(graph, false);
+        final var random = new Random(5);
+        for (int i = 0; i < 40; i++) {
+            instance.getDelay(random.nextInt(NODES), random.nextInt(NODES));
+            final var link = graph.getLinksList().get(random.nextInt(graph.getNumberOfLinks()));
+            graph.removeLinks(link.getSrcNodeID(), link.getDestNodeID());
+            assertTrue(instance.removeLinks(link.getSrcNodeID(), link.getDestNodeID()));
+        }
+
+        assertSameDelays(floydWarshall(graph, false), instance, NODES);
+    }
+
+    @Test
+    public void testMaxCachedSources() {
+        final var instance = new DijkstraShortestPaths(newRandomGraph(NODES, 100, 6), true);
+        instance.setMaxCachedSources(3);
+        for (int src = 0; src < 10; src++) {
+            instance.getDelay(src, 0);
+        }
+
+        assertEquals(3, instance.getCachedSources());
+        instance.setMaxCachedSources(1);
+        assertEquals(1, instance.getCachedSources());
+        assertThrows(IllegalArgumentException.class, () -> instance.setMaxCachedSources(0));
+        instance.clearCache();
+        assertEquals(0, instance.getCachedSources());
+    }
+
+    /**
+     * Checks a topology that is too large for an all-pairs delay matrix (which would take 80 GB),
+     * where delays are just computed for the few nodes that are sources of messages.
+     */
+    @Test
+    public void testLargeTopologyComputesJustRequestedSources() {
+        final int nodes = 100_000;
+        final var instance = new DijkstraShortestPaths(false);
+        for (int i = 1; i < nodes; i++) {
+            instance.addLink(i - 1, i, 1);
+        }
+
+        final var random = new Random(7);
+        for (int i = 0; i < 1000; i++) {
+            final int dest = random.nextInt(nodes);
+            final int src = i % 10;
+            assertEquals(Math.abs(dest - src), instance.getDelay(src, dest));
+        }
+
+        assertEquals(10, instance.getCachedSources());
+        instance.addLink(0, nodes - 1, 1);
+        assertEquals(1, instance.getDelay(0, nodes - 1));
+        assertEquals(2, instance.getDelay(1, nodes - 1));
+        assertEquals(nodes / 2, instance.getDelay(nodes / 2, 0));
+    }
+
+    private static boolean hasLink(final TopologicalGraph graph, final int src, final int dest) {
+        return graph.getLinksList().stream().anyMatch(link ->
+            link.getSrcNodeID() == src && link.getDestNodeID() == dest ||
+            link.getSrcNodeID() == dest && link.getDestNodeID() == src);
+    }
+}
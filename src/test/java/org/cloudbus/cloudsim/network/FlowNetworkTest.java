@@ -0,0 +1,143 @@
+package org.cloudbus.cloudsim.network;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.CloudSimEntity;
+import org.cloudbus.cloudsim.core.CloudSimTag;
+import org.cloudbus.cloudsim.core.events.SimEvent;
+import org.cloudbus.cloudsim.datacenters.network.NetworkDatacenter;
+import org.cloudbus.cloudsim.hosts.network.NetworkHost;
+import org.cloudbus.cloudsim.network.switches.EdgeSwitch;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.util.BytesConversion;
+import org.cloudbus.cloudsim.vms.network.NetworkVm;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FlowNetworkTest {
+    /** The size of a packet which takes 1 second to be transferred alone through a Host link. */
+    private static final long PACKET_BYTES = 100_000_000;
+
+    /** The bandwidth of links between Hosts and the Edge Switch (in Megabits/s). */
+    private static final double HOST_LINK_BW = BytesConversion.bytesToMegaBits(PACKET_BYTES);
+
+    /**
+     * Three Hosts connected to the same Edge Switch, where the first two send packets
+     * to a VM in the last one, at given times.
+     */
+    private static final class Scenario {
+        private final CloudSim simulation = new CloudSim();
+        private final List<NetworkHost> hosts = IntStream.range(0, 3)
+            .mapToObj(i -> new NetworkHost(1000, 100_000, 100_000, List.of(new PeSimple(1000))))
+            .toList();
+        private final NetworkDatacenter dc = new NetworkDatacenter(simulation, hosts);
+        private final EdgeSwitch edgeSwitch = new EdgeSwitch(simulation, dc);
+        private final FlowNetwork network = new FlowNetwork(simulation, dc);
+        private final NetworkVm destVm = new NetworkVm(0, 1000, 1);
+
+        private Scenario() {
+            edgeSwitch.setDownlinkBandwidth(HOST_LINK_BW);
+            hosts.forEach(edgeSwitch::connectHost);
+            dc.addSwitch(edgeSwitch);
+            destVm.setHost(hosts.get(2));
+        }
+
+        /**
+         * Sends a packet from a Host at a given time.
+         * @return the packet, which has its receive time set when delivered
+         */
+        private HostPacket send(final int srcHost, final double time, final double sizeFraction) {
+            final var packet = new HostPacket(hosts.get(srcHost), new VmPacket(null, destVm, (long) (PACKET_BYTES * sizeFraction), null, null));
+            new CloudSimEntity(simulation) {
+                @Override protected void startInternal() { schedule(time, CloudSimTag.NETWORK_EVENT_UP); }
+                @Override public void processEvent(final SimEvent evt) {
+                    if (evt.getTag() == CloudSimTag.NETWORK_EVENT_UP) {
+                        network.addFlow(packet);
+                    }
+                }
+            };
+
+            return packet;
+        }
+
+        private double latency() {
+            return edgeSwitch.getSwitchingDelay();
+        }
+    }
+
+    @Test
+    public void testFlowsStartingTogetherShareLinkAndFinishTogether() {
+        final var scenario = new Scenario();
+        final var packet1 = scenario.send(0, 0, 1);
+        final var packet2 = scenario.send(1, 0, 1);
+        scenario.simulation.start();
+
+        /* Both flows are added at once, so the rates are computed once when they start and once when they finish. */
+        assertEquals(2 + scenario.latency(), packet1.getReceiveTime(), 1e-6);
+        assertEquals(2 + scenario.latency(), packet2.getReceiveTime(), 1e-6);
+        assertEquals(2, scenario.network.getFinishedFlows());
+        assertEquals(2, scenario.network.getRateComputations());
+        assertEquals(0, scenario.network.getActiveFlows());
+    }
+
+    @Test
+    public void testFlowFinishingFirstGivesItsShareToOthers() {
+        final var scenario = new Scenario();
+        final var small = scenario.send(0, 0, 0.5);
+        final var large = scenario.send(1, 0, 1);
+        scenario.simulation.start();
+
+        /* Both flows transfer half a packet in 1 second. Then the large one gets the entire link for the other half. */
+        assertEquals(1 + scenario.latency(), small.getReceiveTime(), 1e-6);
+        assertEquals(1.5 + scenario.latency(), large.getReceiveTime(), 1e-6);
+        assertEquals(3, scenario.network.getRateComputations());
+    }
+
+    @Test
+    public void testStaleFinishEventIsIgnoredWhenAFlowStartsLater() {
+        final var scenario = new Scenario();
+        final var first = scenario.send(0, 0, 1);
+        final var second = scenario.send(1, 0.5, 1);
+        scenario.simulation.start();
+
+        /* The finish of the first flow, scheduled to 1 second, is delayed when the second one starts.
+         * The stale event must neither finish it nor compute rates again. */
+        assertEquals(1.5 + scenario.latency(), first.getReceiveTime(), 1e-6);
+        assertEquals(2 + scenario.latency(), second.getReceiveTime(), 1e-6);
+        assertEquals(2, scenario.network.getFinishedFlows());
+        assertEquals(4, scenario.network.getRateComputations());
+    }
+
+    @Test
+    public void testHostWithoutEdgeSwitchCannotSendFlows() {
+        final var scenario = new Scenario();
+        final var host = new NetworkHost(1000, 100_000, 100_000, List.of(new PeSimple(1000)));
+        final var packet = new HostPacket(host, new VmPacket(null, scenario.destVm, PACKET_BYTES, null, null));
+        assertThrows(IllegalStateException.class, () -> scenario.network.addFlow(packet));
+    }
+    @Test
+    public void testMaxMinFairRatesSharesBottleneckEqually() {
+        final double[] rates = FlowNetwork.maxMinFairRates(new int[][]{{0, 2}, {1, 2}}, new double[]{800, 800, 800}, 3);
+        assertArrayEquals(new double[]{400, 400}, rates);
+    }
+
+    @Test
+    public void testMaxMinFairRatesGivesUnusedShareToOtherFlows() {
+        /* Flow 0 is limited to 100 by link 0, so flow 1 gets the remaining capacity of link 2. */
+        final double[] rates = FlowNetwork.maxMinFairRates(
+            new int[][]{{0, 2}, {1, 2}, {1}}, new double[]{100, 1000, 800}, 3);
+        assertAll(
+            () -> assertEquals(100, rates[0]),
+            () -> assertEquals(500, rates[1]),
+            () -> assertEquals(500, rates[2])
+        );
+    }
+
+    @Test
+    public void testMaxMinFairRatesWithoutFlows() {
+        assertEquals(0, FlowNetwork.maxMinFairRates(new int[0][], new double[]{100}, 1).length);
+    }
+}
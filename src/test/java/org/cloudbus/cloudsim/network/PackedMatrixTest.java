@@ -0,0 +1,95 @@
+package org.cloudbus.cloudsim.network;
+
+import org.cloudbus.cloudsim.network.PackedMatrix.Precision;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PackedMatrixTest {
+    @Test
+    public void testSymmetricMatrixStoresLowerTriangle() {
+        for (final Precision precision : Precision.values()) {
+            for (final boolean offHeap : new boolean[]{false, true}) {
+                final var instance = new PackedMatrix(100, true, precision, offHeap);
+                assertEquals(100L * 101 / 2 * precision.getBytes(), instance.getBytes());
+                instance.set(3, 70, 1.5);
+                instance.set(99, 0, 2.5);
+                instance.set(42, 42, 3.5);
+                assertAll(
+                    () -> assertEquals(1.5, instance.get(70, 3)),
+                    () -> assertEquals(1.5, instance.get(3, 70)),
+                    () -> assertEquals(2.5, instance.get(0, 99)),
+                    () -> assertEquals(3.5, instance.get(42, 42)),
+                    () -> assertEquals(0, instance.get(70, 4))
+                );
+            }
+        }
+    }
+
+    @Test
+    public void testFullMatrix() {
+        final var instance = new PackedMatrix(10, false);
+        instance.set(2, 7, 1);
+        assertEquals(1, instance.get(2, 7));
+        assertEquals(0, instance.get(7, 2));
+        assertEquals(800, instance.getBytes());
+        assertThrows(IndexOutOfBoundsException.class, () -> instance.get(10, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> instance.set(0, -1, 1));
+    }
+
+    @Test
+    public void testFloatPrecisionKeepsMaxValue() {
+        final var instance = new PackedMatrix(3, true, Precision.FLOAT, false);
+        instance.fill(Double.MAX_VALUE);
+        instance.set(1, 0, 0.1);
+        assertEquals(Double.MAX_VALUE, instance.get(2, 1));
+        assertEquals(0.1, instance.get(0, 1), 1e-7);
+    }
+
+    @Test
+    public void testCopyOf() {
+        final var instance = new PackedMatrix(3, true, Precision.FLOAT, true);
+        instance.set(2, 1, 4);
+        final var bigger = instance.copyOf(5);
+        assertAll(
+            () -> assertEquals(5, bigger.size()),
+            () -> assertEquals(Precision.FLOAT, bigger.getPrecision()),
+            () -> assertTrue(bigger.isOffHeap()),
+            () -> assertEquals(4, bigger.get(1, 2)),
+            () -> assertEquals(0, bigger.get(4, 2)),
+            () -> assertEquals(2, instance.copyOf(2).toArray(2).length),
+            () -> assertEquals(4, bigger.toArray(5)[1][2])
+        );
+    }
+
+    @Test
+    public void testNegativeSize() {
+        assertThrows(IllegalArgumentException.class, () -> new PackedMatrix(-1, true));
+    }
+
+    @Test
+    public void testValuesSpanningSeveralChunks() {
+        for (final boolean symmetric : new boolean[]{false, true}) {
+            for (final Precision precision : Precision.values()) {
+                /* Chunks of 16 values, so that a 20x20 matrix is split into many of them */
+                final var instance = new PackedMatrix(20, symmetric, precision, precision == Precision.FLOAT, 4);
+                for (int row = 0; row < 20; row++) {
+                    for (int col = 0; col < 20; col++) {
+                        instance.set(row, col, symmetric ? Math.max(row, col) * 20 + Math.min(row, col) : row * 20 + col);
+                    }
+                }
+
+                final var copy = instance.copyOf(25);
+                for (int row = 0; row < 20; row++) {
+                    for (int col = 0; col < 20; col++) {
+                        final double expected = symmetric ? Math.max(row, col) * 20 + Math.min(row, col) : row * 20 + col;
+                        assertEquals(expected, instance.get(row, col));
+                        assertEquals(expected, copy.get(row, col));
+                    }
+                }
+
+                assertEquals((symmetric ? 210L : 400L) * precision.getBytes(), instance.getBytes());
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package org.cloudbus.cloudsim.network.topologies;
+
+import org.cloudbus.cloudsim.core.SimEntity;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+public class BriteNetworkTopologyTest {
+    @Test
+    public void testAddAndRemoveLink() {
+        final var instance = new BriteNetworkTopology();
+        final var a = mock(SimEntity.class);
+        final var b = mock(SimEntity.class);
+        final var c = mock(SimEntity.class);
+        instance.addLink(a, b, 100, 1);
+        instance.addLink(b, c, 200, 2);
+        instance.addLink(a, c, 300, 10);
+
+        assertAll(
+            () -> assertTrue(instance.isNetworkEnabled()),
+            () -> assertEquals(3, instance.getDelay(a, c)),
+            () -> assertEquals(3, instance.getDelay(c, a)),
+            () -> assertEquals(0, instance.getDelay(a, mock(SimEntity.class))),
+            () -> assertEquals(200, instance.getBwMatrix()[2][1]),
+            () -> assertEquals(300, instance.getBw(c, a))
+        );
+
+        instance.removeLink(c, b);
+        assertEquals(10, instance.getDelay(a, c));
+        assertEquals(0, instance.getBwMatrix()[1][2]);
+        assertEquals(0, instance.getBw(b, c));
+        assertEquals(3, instance.getBwMatrix().length);
+        assertEquals(2, instance.getTopologicalGraph().getNumberOfLinks());
+    }
+}
@@ -0,0 +1,59 @@
+package org.cloudbus.cloudsim.power;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.power.models.PowerModelHostSimple;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PowerMeterTest {
+    private static final double MAX_POWER = 100;
+    private static final double STATIC_POWER = 50;
+
+    @Test
+    void energyIsIntegratedWhenPowerChanges() {
+        final Host host = Mockito.mock(Host.class);
+        Mockito.when(host.getTotalMipsCapacity()).thenReturn(1000.0);
+        Mockito.when(host.isActive()).thenReturn(true);
+        final var powerModel = new PowerModelHostSimple(MAX_POWER, STATIC_POWER);
+        powerModel.setStartupDelay(5).setStartupPower(10);
+        powerModel.setHost(host);
+        Mockito.when(host.getPowerModel()).thenReturn(powerModel);
+
+        powerModel.updateEnergyConsumption(0);
+        Mockito.when(host.getCpuMipsUtilization()).thenReturn(500.0);
+        powerModel.updateEnergyConsumption(10);
+        assertEquals(STATIC_POWER * 10, powerModel.getEnergyConsumption());
+
+        Mockito.when(host.isActive()).thenReturn(false);
+        powerModel.updateEnergyConsumption(20);
+        powerModel.updateEnergyConsumption(40);
+        assertEquals(STATIC_POWER * 10 + 75 * 10, powerModel.getEnergyConsumption());
+
+        powerModel.addStartupTotals();
+        assertEquals(STATIC_POWER * 10 + 75 * 10 + 10 * 5, powerModel.getEnergyConsumption());
+        assertEquals(powerModel.getEnergyConsumption(), PowerMeter.getEnergyConsumption(List.of(host)));
+    }
+
+    @Test
+    void measurementsAreBounded() {
+        final var meter = new PowerMeter(new CloudSim(), List.of());
+        final List<PowerMeasurement> measurements = meter.getPowerMeasurements();
+        for (int i = 0; i < 40; i++) {
+            measurements.add(new PowerMeasurement(i + 1, 0));
+        }
+
+        meter.setMaxMeasurements(10);
+        assertEquals(10, measurements.size());
+        assertEquals(31, measurements.get(0).getStaticPower());
+
+        measurements.add(new PowerMeasurement(41, 0));
+        assertEquals(10, measurements.size());
+        assertEquals(32, measurements.get(0).getStaticPower());
+        assertEquals(41, measurements.get(9).getStaticPower());
+    }
+}
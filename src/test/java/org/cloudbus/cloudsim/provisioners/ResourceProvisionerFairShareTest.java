@@ -0,0 +1,112 @@
+package org.cloudbus.cloudsim.provisioners;
+
+import org.cloudbus.cloudsim.resources.Bandwidth;
+import org.cloudbus.cloudsim.vms.VmSimple;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.cloudbus.cloudsim.vms.VmTestUtil.createVm;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResourceProvisionerFairShareTest {
+    private static final long CAPACITY = 1000;
+
+    private ResourceProvisionerFairShare provisioner;
+
+    @BeforeEach
+    public void setUp() {
+        provisioner = new ResourceProvisionerFairShare(2);
+        provisioner.setResources(new Bandwidth(CAPACITY), vm -> ((VmSimple)vm).getBw());
+    }
+
+    @Test
+    public void testMaxMinFairSharesProgressiveFilling() {
+        assertAll(
+            () -> assertArrayEquals(new long[]{100, 450, 450}, ResourceProvisionerFairShare.maxMinFairShares(new long[]{100, 600, 900}, 1000)),
+            () -> assertArrayEquals(new long[]{100, 200, 300}, ResourceProvisionerFairShare.maxMinFairShares(new long[]{100, 200, 300}, 1000)),
+            () -> assertArrayEquals(new long[]{4, 3, 3}, ResourceProvisionerFairShare.maxMinFairShares(new long[]{5, 5, 3}, 10)),
+            () -> assertArrayEquals(new long[]{0, 0}, ResourceProvisionerFairShare.maxMinFairShares(new long[]{10, 20}, 0)),
+            () -> assertArrayEquals(new long[]{}, ResourceProvisionerFairShare.maxMinFairShares(new long[]{}, 10))
+        );
+    }
+
+    @Test
+    public void testOversubscribedAdmission() {
+        final VmSimple vm0 = createVm(0, CAPACITY);
+        final VmSimple vm1 = createVm(1, CAPACITY);
+        final VmSimple vm2 = createVm(2, CAPACITY);
+
+        assertTrue(provisioner.allocateResourceForVm(vm0, CAPACITY));
+        assertTrue(provisioner.allocateResourceForVm(vm1, CAPACITY));
+        assertFalse(provisioner.isSuitableForVm(vm2, 1));
+        assertFalse(provisioner.allocateResourceForVm(vm2, 1));
+        assertTrue(provisioner.isSuitableForVm(vm1, CAPACITY / 2));
+        assertEquals(CAPACITY * 2, provisioner.getTotalReservation());
+        assertThrows(IllegalArgumentException.class, () -> provisioner.setOversubscription(0.5));
+    }
+
+    @Test
+    public void testDemandsAreThrottledToFairShares() {
+        final VmSimple vm0 = createVm(0, CAPACITY);
+        final VmSimple vm1 = createVm(1, CAPACITY);
+        provisioner.allocateResourceForVm(vm0, CAPACITY);
+        provisioner.allocateResourceForVm(vm1, CAPACITY);
+
+        assertEquals(CAPACITY / 2, provisioner.getAllocatedResourceForVm(vm0));
+        assertTrue(provisioner.isThrottled(vm0));
+        assertEquals(CAPACITY, provisioner.getTotalAllocatedResource());
+
+        assertTrue(provisioner.updateDemand(vm0, 200));
+        assertEquals(200, provisioner.getAllocatedResourceForVm(vm0));
+        assertEquals(800, provisioner.getAllocatedResourceForVm(vm1));
+        assertEquals(800, vm1.getBw().getAllocatedResource());
+        assertFalse(provisioner.isThrottled(vm0));
+        assertTrue(provisioner.isThrottled(vm1));
+
+        assertTrue(provisioner.updateDemand(vm1, 300));
+        assertEquals(500, provisioner.getTotalAllocatedResource());
+        assertEquals(CAPACITY - 500, provisioner.getAvailableResource());
+    }
+
+    @Test
+    public void testSharesAreJustComputedWhenDemandChanges() {
+        final VmSimple vm0 = createVm(0, CAPACITY);
+        provisioner.allocateResourceForVm(vm0, CAPACITY);
+        provisioner.updateDemand(vm0, 100);
+        provisioner.getTotalAllocatedResource();
+        final long computations = provisioner.getComputations();
+
+        assertFalse(provisioner.updateDemand(vm0, 100));
+        assertFalse(provisioner.updateDemand(vm0, 100));
+        provisioner.getTotalAllocatedResource();
+        assertEquals(computations, provisioner.getComputations());
+
+        assertTrue(provisioner.updateDemand(vm0, 150));
+        assertEquals(150, provisioner.getAllocatedResourceForVm(vm0));
+        assertEquals(computations + 1, provisioner.getComputations());
+    }
+
+    @Test
+    public void testDemandIsLimitedByReservation() {
+        final VmSimple vm0 = createVm(0, CAPACITY);
+        provisioner.allocateResourceForVm(vm0, 300);
+        assertTrue(provisioner.updateDemand(vm0, 100));
+        assertFalse(provisioner.updateDemand(createVm(1, CAPACITY), 100));
+        provisioner.updateDemand(vm0, CAPACITY);
+        assertEquals(300, provisioner.getDemand(vm0));
+    }
+
+    @Test
+    public void testDeallocateResourceForVmReleasesShare() {
+        final VmSimple vm0 = createVm(0, CAPACITY);
+        final VmSimple vm1 = createVm(1, CAPACITY);
+        provisioner.allocateResourceForVm(vm0, CAPACITY);
+        provisioner.allocateResourceForVm(vm1, CAPACITY);
+
+        assertEquals(CAPACITY / 2, provisioner.deallocateResourceForVm(vm0));
+        assertEquals(0, vm0.getBw().getAllocatedResource());
+        assertEquals(CAPACITY, provisioner.getAllocatedResourceForVm(vm1));
+        assertEquals(CAPACITY, provisioner.getTotalReservation());
+        assertEquals(0, provisioner.getAvailableResource());
+    }
+}
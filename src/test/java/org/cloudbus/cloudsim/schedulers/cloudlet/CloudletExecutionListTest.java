@@ -0,0 +1,233 @@
+package org.cloudbus.cloudsim.schedulers.cloudlet;
+
+import org.cloudbus.cloudsim.cloudlets.CloudletExecution;
+import org.cloudbus.cloudsim.cloudlets.CloudletTestUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CloudletExecutionListTest {
+    private static CloudletExecution newCloudletExecution(final int id) {
+        return new CloudletExecution(CloudletTestUtil.createCloudlet(id, 1000, 1));
+    }
+
+    private static List<Long> ids(final List<CloudletExecution> list) {
+        return list.stream().map(CloudletExecution::getCloudletId).toList();
+    }
+
+    @Test
+    public void testKeepsInsertionOrderAfterRemovals() {
+        final var list = new CloudletExecutionList();
+        for (int id = 5; id >= 0; id--) {
+            list.add(newCloudletExecution(id));
+        }
+
+        assertTrue(list.remove(newCloudletExecution(3)));
+        assertEquals(4L, list.remove(1).getCloudletId());
+        assertEquals(List.of(5L, 2L, 1L, 0L), ids(list));
+        assertEquals(2L, list.get(1).getCloudletId());
+    }
+
+    @Test
+    public void testFindAndRemoveById() {
+        final var list = new CloudletExecutionList();
+        final var cle = newCloudletExecution(10);
+        list.add(newCloudletExecution(9));
+        list.add(cle);
+
+        assertSame(cle, list.findById(10).orElseThrow());
+        assertTrue(list.findById(11).isEmpty());
+        assertSame(cle, list.removeById(10));
+        assertSame(CloudletExecution.NULL, list.removeById(10));
+        assertFalse(list.contains(cle));
+        assertEquals(1, list.size());
+    }
+
+    @Test
+    public void testAddExistingIdReplacesKeepingPosition() {
+        final var list = new CloudletExecutionList();
+        list.add(newCloudletExecution(1));
+        list.add(newCloudletExecution(2));
+        final var replacement = newCloudletExecution(1);
+        list.add(replacement);
+
+        assertEquals(List.of(1L, 2L), ids(list));
+        assertSame(replacement, list.get(0));
+    }
+
+    @Test
+    public void testSortAndRemoveIf() {
+        final var list = new CloudletExecutionList();
+        list.add(newCloudletExecution(3));
+        list.add(newCloudletExecution(1));
+        list.add(newCloudletExecution(2));
+
+        list.sort(Comparator.comparingLong(CloudletExecution::getCloudletId));
+        assertEquals(List.of(1L, 2L, 3L), ids(list));
+
+        assertTrue(list.removeIf(cle -> cle.getCloudletId() == 2));
+        assertEquals(List.of(1L, 3L), ids(list));
+        assertEquals(3L, list.get(1).getCloudletId());
+    }
+
+    @Test
+    public void testSortedListRepositionsReAddedCloudlets() {
+        final var list = new CloudletExecutionList(Comparator.comparingDouble(CloudletExecution::getVirtualRuntime)
+                                                             .thenComparingLong(CloudletExecution::getCloudletId));
+        for (int id = 0; id < 4; id++) {
+            final var cle = newCloudletExecution(id);
+            cle.setVirtualRuntime(10 - id);
+            list.add(cle);
+        }
+
+        assertEquals(List.of(3L, 2L, 1L, 0L), ids(list));
+        assertEquals(3L, list.first().orElseThrow().getCloudletId());
+
+        final var cle = list.removeById(3);
+        cle.setVirtualRuntime(20);
+        list.add(cle);
+        assertEquals(List.of(2L, 1L, 0L, 3L), ids(list));
+        assertEquals(3L, list.get(3).getCloudletId());
+    }
+
+    @Test
+    public void testRemoveByIndexInLoopKeepsSnapshotConsistent() {
+        final var list = new CloudletExecutionList();
+        for (int id = 0; id < 10; id++) {
+            list.add(newCloudletExecution(id));
+        }
+
+        assertEquals(0L, list.get(0).getCloudletId());
+        for (int i = list.size() - 1; i >= 0; i--) {
+            if(list.get(i).getCloudletId() % 2 == 0) {
+                list.remove(i);
+            }
+        }
+
+        list.add(newCloudletExecution(10));
+        assertEquals(List.of(1L, 3L, 5L, 7L, 9L, 10L), ids(list));
+        assertEquals(10L, list.get(5).getCloudletId());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(6));
+    }
+
+    @Test
+    public void testAddAtIndexAndSet() {
+        final var list = new CloudletExecutionList();
+        list.add(newCloudletExecution(1));
+        list.add(newCloudletExecution(2));
+        list.add(newCloudletExecution(3));
+
+        list.add(0, newCloudletExecution(0));
+        assertEquals(List.of(0L, 1L, 2L, 3L), ids(list));
+
+        list.add(1, newCloudletExecution(3));
+        assertEquals(List.of(0L, 3L, 1L, 2L), ids(list));
+
+        final var replacement = newCloudletExecution(1);
+        assertEquals(1L, list.set(2, replacement).getCloudletId());
+        assertSame(replacement, list.findById(1).orElseThrow());
+
+        assertEquals(0L, list.set(0, newCloudletExecution(4)).getCloudletId());
+        assertEquals(List.of(4L, 3L, 1L, 2L), ids(list));
+        assertTrue(list.findById(0).isEmpty());
+    }
+
+    @Test
+    public void testSortedListDoesNotSupportIndexedInsertion() {
+        final var list = new CloudletExecutionList(Comparator.comparingLong(CloudletExecution::getCloudletId));
+        list.add(newCloudletExecution(1));
+        assertThrows(UnsupportedOperationException.class, () -> list.add(0, newCloudletExecution(0)));
+        assertThrows(UnsupportedOperationException.class, () -> list.set(0, newCloudletExecution(0)));
+    }
+
+    private static CloudletExecution newCloudletExecution(final int id, final int pes) {
+        return new CloudletExecution(CloudletTestUtil.createCloudlet(id, 1000, pes));
+    }
+
+    @Test
+    public void testFindFirstByPesKeepsListOrder() {
+        final var list = new CloudletExecutionList().indexByPes();
+        list.add(newCloudletExecution(0, 4));
+        list.add(newCloudletExecution(1, 2));
+        list.add(newCloudletExecution(2, 1));
+        list.add(newCloudletExecution(3, 2));
+
+        assertEquals(1L, list.findFirst(3, cle -> true).orElseThrow().getCloudletId());
+        assertEquals(2L, list.findFirst(3, cle -> cle.getCloudletId() != 1).orElseThrow().getCloudletId());
+        assertTrue(list.findFirst(0, cle -> true).isEmpty());
+
+        list.add(newCloudletExecution(1, 2));
+        assertEquals(1L, list.findFirst(2, cle -> true).orElseThrow().getCloudletId());
+
+        list.sort(Comparator.comparingLong(CloudletExecution::getCloudletId).reversed());
+        assertEquals(3L, list.findFirst(2, cle -> true).orElseThrow().getCloudletId());
+
+        list.removeById(3);
+        list.removeIf(cle -> cle.getCloudletId() == 2);
+        assertEquals(1L, list.findFirst(4, cle -> cle.getNumberOfPes() < 4).orElseThrow().getCloudletId());
+        assertEquals(0L, list.findFirst(4, cle -> cle.getNumberOfPes() == 4).orElseThrow().getCloudletId());
+    }
+
+    @Test
+    public void testFindFirstByPesInSortedList() {
+        final var list = new CloudletExecutionList(Comparator.comparingLong(CloudletExecution::getCloudletId).reversed())
+                             .indexByPes();
+        for (int id = 0; id < 6; id++) {
+            list.add(newCloudletExecution(id, id % 3 + 1));
+        }
+
+        assertEquals(4L, list.findFirst(2, cle -> true).orElseThrow().getCloudletId());
+        assertEquals(3L, list.findFirst(2, cle -> cle.getCloudletId() < 4).orElseThrow().getCloudletId());
+        assertEquals(list.stream().filter(cle -> cle.getNumberOfPes() <= 1).findFirst(), list.findFirst(1, cle -> true));
+    }
+
+    @Test
+    public void testRemoveAfterPesChangeDropsCloudletFromPesIndex() {
+        final var list = new CloudletExecutionList().indexByPes();
+        final var cle = newCloudletExecution(0, 2);
+        list.add(cle);
+        list.add(newCloudletExecution(1, 2));
+
+        cle.getCloudlet().setNumberOfPes(4);
+        assertTrue(list.remove(cle));
+        assertEquals(1, list.size());
+        assertEquals(1L, list.findFirst(4, c -> true).orElseThrow().getCloudletId());
+
+        list.removeById(1);
+        assertTrue(list.findFirst(4, c -> true).isEmpty());
+    }
+
+    @Test
+    public void testUpdateNumberOfPesMovesCloudletKeepingListOrder() {
+        final var list = new CloudletExecutionList().indexByPes();
+        final var cle = newCloudletExecution(0, 4);
+        list.add(cle);
+        list.add(newCloudletExecution(1, 1));
+
+        cle.getCloudlet().setNumberOfPes(1);
+        list.updateNumberOfPes(0);
+        assertEquals(0L, list.findFirst(1, c -> true).orElseThrow().getCloudletId());
+
+        cle.getCloudlet().setNumberOfPes(8);
+        list.updateNumberOfPes(0);
+        assertEquals(1L, list.findFirst(4, c -> true).orElseThrow().getCloudletId());
+        assertEquals(0L, list.findFirst(8, c -> true).orElseThrow().getCloudletId());
+    }
+
+    @Test
+    public void testRemoveIfEvaluatesPredicateOncePerCloudlet() {
+        final var list = new CloudletExecutionList(Comparator.comparingLong(CloudletExecution::getCloudletId));
+        for (int id = 0; id < 5; id++) {
+            list.add(newCloudletExecution(id));
+        }
+
+        final var evaluations = new int[1];
+        assertTrue(list.removeIf(cle -> evaluations[0]++ >= 0 && cle.getCloudletId() % 2 == 0));
+        assertEquals(5, evaluations[0]);
+        assertEquals(List.of(1L, 3L), ids(list));
+        assertFalse(list.contains(newCloudletExecution(0)));
+    }
+}
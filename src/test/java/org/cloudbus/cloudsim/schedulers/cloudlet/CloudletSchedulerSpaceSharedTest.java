@@ -175,6 +175,30 @@ public class CloudletSchedulerSpaceSharedTest {
         assertEquals(expResult, result);
     }
 
+    @Test
+    public void testWaitingCloudletIsFoundAfterItsPesChange() {
+        final var vm = new VmSimple(CloudletSchedulerSpaceSharedTestUtil.SCHEDULER_MIPS, 4, new CloudletSchedulerSpaceShared());
+        final var instance = (CloudletSchedulerSpaceShared) vm.getCloudletScheduler();
+        instance.setCurrentMipsShare(new MipsShare(vm.getProcessor()));
+
+        final var running = CloudletTestUtil.createCloudlet(0, 2);
+        final var waiting = CloudletTestUtil.createCloudlet(1, 4);
+        running.setVm(vm);
+        waiting.setVm(vm);
+        instance.cloudletSubmit(running, 0);
+        instance.cloudletSubmit(waiting, 0);
+        assertEquals(1, instance.getCloudletWaitingList().size());
+        assertTrue(instance.findSuitableWaitingCloudlet(2).isEmpty());
+
+        waiting.setNumberOfPes(2);
+        assertEquals(waiting, instance.findSuitableWaitingCloudlet(2).orElseThrow().getCloudlet());
+
+        waiting.setNumberOfPes(3);
+        instance.cloudletCancel(waiting);
+        assertTrue(instance.getCloudletWaitingList().isEmpty());
+        assertTrue(instance.findSuitableWaitingCloudlet(4).isEmpty());
+    }
+
     @Test
     public void testIsThereEnoughFreePesForCloudletEmptyExecList() {
         final var cloudlet = new CloudletExecution(Cloudlet.NULL);
@@ -0,0 +1,82 @@
+package org.cloudbus.cloudsim.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SlidingWindowOrderStatisticsTest {
+    @Test
+    public void testStatisticsMatchMathUtil() {
+        final var window = new SlidingWindowOrderStatistics(MathUtilTest.DATA3.length);
+        Arrays.stream(MathUtilTest.DATA3).forEach(window::add);
+        assertEquals(MathUtilTest.MAD, window.mad());
+
+        final var window1 = new SlidingWindowOrderStatistics(MathUtilTest.DATA1.length);
+        Arrays.stream(MathUtilTest.DATA1).forEach(window1::add);
+        assertEquals(MathUtilTest.IQR1, window1.iqr());
+
+        final var window2 = new SlidingWindowOrderStatistics(MathUtilTest.DATA2.length);
+        Arrays.stream(MathUtilTest.DATA2).forEach(window2::add);
+        assertEquals(MathUtilTest.IQR2, window2.iqr());
+    }
+
+    @Test
+    public void testSlidingWindowMatchesSortingTheLastValues() {
+        final int windowSize = 30;
+        final var window = new SlidingWindowOrderStatistics(windowSize);
+        final var random = new Random(7);
+        final double[] values = new double[1000];
+        for (int i = 0; i < values.length; i++) {
+            // Rounded values to have many duplicates
+            values[i] = Math.round(random.nextDouble() * 20) / 20.0;
+            window.add(values[i]);
+
+            final double[] last = Arrays.copyOfRange(values, Math.max(0, i + 1 - windowSize), i + 1);
+            assertEquals(last.length, window.size());
+            assertEquals(MathUtil.median(last), window.median(), 1e-12, "median at " + i);
+            assertEquals(MathUtil.mad(last), window.mad(), 1e-12, "MAD at " + i);
+            if (last.length > 1) {
+                assertEquals(MathUtil.iqr(last.clone()), window.iqr(), 1e-12, "IQR at " + i);
+            }
+
+            Arrays.sort(last);
+            for (int k = 0; k < last.length; k++) {
+                assertEquals(last[k], window.select(k));
+            }
+        }
+
+        assertTrue(window.isFull());
+    }
+
+    @Test
+    public void testReplaceLast() {
+        final var window = new SlidingWindowOrderStatistics(3);
+        window.add(1);
+        window.add(5);
+        window.replaceLast(2);
+        window.add(3);
+        window.add(4);
+        assertAll(
+            () -> assertEquals(3, window.size()),
+            () -> assertEquals(2, window.select(0)),
+            () -> assertEquals(4, window.select(2)),
+            () -> assertEquals(3, window.median()),
+            () -> assertEquals(1, window.countLower(3))
+        );
+    }
+
+    @Test
+    public void testEmptyWindow() {
+        final var window = new SlidingWindowOrderStatistics(5);
+        assertTrue(Double.isNaN(window.median()));
+        assertEquals(0, window.mad());
+        assertEquals(0, window.iqr());
+        assertThrows(IndexOutOfBoundsException.class, () -> window.select(0));
+        assertThrows(IllegalStateException.class, () -> window.replaceLast(1));
+        assertThrows(IllegalArgumentException.class, () -> window.add(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> new SlidingWindowOrderStatistics(0));
+    }
+}
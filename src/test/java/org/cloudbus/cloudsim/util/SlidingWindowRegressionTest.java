@@ -0,0 +1,56 @@
+package org.cloudbus.cloudsim.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SlidingWindowRegressionTest {
+    @Test
+    public void testSlidingWindowMatchesRegressionOfTheLastValues() {
+        final int windowSize = 10;
+        final var window = new SlidingWindowRegression(windowSize);
+        final var random = new Random(3);
+        final double[] values = new double[500];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i * 0.01 + random.nextDouble();
+            window.add(values[i]);
+            if (i == 0) {
+                continue;
+            }
+
+            final double[] y = Arrays.copyOfRange(values, Math.max(0, i + 1 - windowSize), i + 1);
+            final double[] x = IntStream.range(0, y.length).asDoubleStream().toArray();
+            final var expected = Regression.newLinearRegression(x, y);
+            assertEquals(expected.getSlope(), window.getSlope(), 1e-9, "slope at " + i);
+            assertEquals(expected.getIntercept(), window.getIntercept(), 1e-9, "intercept at " + i);
+            assertEquals(expected.predict(y.length), window.predict(y.length), 1e-9, "prediction at " + i);
+        }
+    }
+
+    @Test
+    public void testLinearValuesArePredictedExactly() {
+        final var window = new SlidingWindowRegression(5);
+        for (int i = 0; i < 8; i++) {
+            window.add(2 * i + 1);
+        }
+
+        window.replaceLast(15);
+        assertEquals(5, window.size());
+        assertEquals(2, window.getSlope(), 1e-12);
+        assertEquals(7, window.getIntercept(), 1e-12);
+        assertEquals(17, window.predict(window.size()), 1e-12);
+    }
+
+    @Test
+    public void testFewValues() {
+        final var window = new SlidingWindowRegression(5);
+        assertTrue(Double.isNaN(window.getSlope()));
+        window.add(1);
+        assertTrue(Double.isNaN(window.predict(1)));
+        assertThrows(IllegalArgumentException.class, () -> new SlidingWindowRegression(0));
+    }
+}
@@ -1,14 +1,25 @@
 package org.cloudbus.cloudsim.util;
 
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
 import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.datacenters.DatacenterSimple;
+import org.cloudbus.cloudsim.hosts.HostSimple;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.vms.VmSimple;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
 import java.util.List;
+import java.util.stream.IntStream;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class SwfWorkloadFileReaderTest {
     private static final Logger LOGGER = LoggerFactory.getLogger(SwfWorkloadFileReaderTest.class.getSimpleName());
@@ -50,4 +61,74 @@ public class SwfWorkloadFileReaderTest {
 
         return true;
     }
+
+    @TempDir
+    Path dir;
+
+    /**
+     * Creates a SWF file where job i is submitted at i*100 seconds by user i%3+1,
+     * runs for 10 seconds and requires i%4+1 PEs.
+     */
+    private String createSwfFile(final int jobs) throws IOException {
+        final var file = dir.resolve("workload.swf");
+        final var lines = new StringBuilder("; Sample SWF header\n");
+        IntStream.range(0, jobs).forEach(i ->
+            lines.append("%d %d 0 10 %d -1 -1 %d -1 -1 1 %d 1 -1 -1 -1 -1 -1%n".formatted(i + 1, i * 100, i % 4 + 1, i % 4 + 1, i % 3 + 1)));
+        Files.writeString(file, lines);
+        return file.toString();
+    }
+
+    private static List<String> describe(final List<Cloudlet> cloudlets) {
+        return cloudlets.stream().map(cl -> "%d: %.0f, %d PEs".formatted(cl.getId(), cl.getSubmissionDelay(), cl.getNumberOfPes())).toList();
+    }
+
+    @Test
+    public void streamCreatesSameFilteredCloudletsAsGenerateWorkload() throws IOException {
+        final String file = createSwfFile(20);
+        final var expected = describe(new SwfWorkloadFileReader(file, 1)
+                                          .setSubmitTimeRange(200, 1500).setUserFilter(user -> user != 2).setMaxPes(3)
+                                          .generateWorkload());
+
+        final var reader = new SwfWorkloadFileReader(file, 1)
+                               .setSubmitTimeRange(200, 1500).setUserFilter(user -> user != 2).setMaxPes(3);
+        try (var stream = reader.stream()) {
+            final var streamed = describe(stream.toList());
+            assertEquals(List.of(
+                "3: 200, 3 PEs", "6: 500, 2 PEs", "7: 600, 3 PEs", "9: 800, 1 PEs",
+                "10: 900, 2 PEs", "13: 1200, 1 PEs", "15: 1400, 3 PEs"), streamed);
+            assertEquals(expected, streamed);
+        }
+
+        assertThrows(IllegalStateException.class, reader::generateWorkload);
+    }
+
+    @Test
+    public void generateWorkloadTwiceReturnsSameListEvenIfEmpty() throws IOException {
+        final var reader = new SwfWorkloadFileReader(createSwfFile(5), 1).setSubmitTimeRange(10_000, 20_000);
+        final var cloudlets = reader.generateWorkload();
+        assertTrue(cloudlets.isEmpty());
+        assertSame(cloudlets, reader.generateWorkload());
+    }
+
+    @Test
+    public void submitCloudletsReadsBatchesAsClockAdvances() throws IOException {
+        final int jobs = 7;
+        final var reader = new SwfWorkloadFileReader(createSwfFile(jobs), 1000);
+        final var simulation = new CloudSim();
+        final var host = new HostSimple(100000, 100000, 100000, List.of(new PeSimple(1000), new PeSimple(1000), new PeSimple(1000), new PeSimple(1000)));
+        new DatacenterSimple(simulation, List.of(host));
+        final var broker = new DatacenterBrokerSimple(simulation);
+        broker.submitVm(new VmSimple(1000, 4).setRam(1000).setBw(1000).setSize(1000));
+        reader.submitCloudlets(broker, 2);
+        assertEquals(2, broker.getCloudletSubmittedList().size());
+
+        simulation.start();
+        final var finished = broker.getCloudletFinishedList().stream()
+                                   .sorted(Comparator.comparingLong(Cloudlet::getId))
+                                   .toList();
+        assertEquals(jobs, finished.size());
+        for (final Cloudlet cloudlet : finished) {
+            assertEquals((cloudlet.getId() - 1) * 100.0, cloudlet.getExecStartTime(), 1, () -> "Start time of " + cloudlet);
+        }
+    }
 }
@@ -0,0 +1,92 @@
+package org.cloudbus.cloudsim.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TraceReaderAbstractTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testTokenizerMatchesRegexSplit() {
+        final var lines = List.of("", "  ", "a", " a  b\tc ", "a,,b,", ",a", "1 2\u000B3\f4", "x|y|", "a;b");
+        for (final var regex : List.of("\\s+", ",", "\\|", ";", "\\t", " ", "[,;]")) {
+            final var tokenizer = new TraceLineTokenizer(regex);
+            for (final var line : lines) {
+                assertArrayEquals(line.trim().split(regex, -1), tokenizer.split(line), () -> regex + " / " + line);
+            }
+        }
+    }
+
+    @Test
+    public void testParallelReadMatchesSequentialRead() throws IOException {
+        final var content = randomTrace(300_000);
+        final var file = dir.resolve("trace.txt");
+        Files.writeString(file, content);
+        final var gzFile = dir.resolve("trace.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gzFile))) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+
+        final var expected = new TestReader(file, 1, Integer.MAX_VALUE).readAll();
+        assertTrue(expected.size() > 200_000);
+        assertEquals(expected, new TestReader(file, 4, Integer.MAX_VALUE).readAll());
+        assertEquals(expected, new TestReader(gzFile, 3, Integer.MAX_VALUE).readAll());
+        assertEquals(expected.subList(0, 1000), new TestReader(file, 4, 1000).readAll());
+    }
+
+    @Test
+    public void testParallelReadOfLinesWithoutFinalNewLine() {
+        final var reader = new TestReader("a b\r\n\r\nc\rd", 2);
+        assertEquals(List.of("[a, b]", "[]", "[c]", "[d]"), reader.readAll());
+    }
+
+    private static String randomTrace(final int lines) {
+        final var random = new Random(1);
+        final var builder = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            if (random.nextInt(20) == 0) {
+                builder.append("# comment ").append(i);
+            } else {
+                builder.append(i).append(' ').append(random.nextInt(1000)).append("\t ").append(random.nextDouble());
+            }
+
+            builder.append(random.nextBoolean() ? "\n" : "\r\n");
+        }
+
+        return builder.toString();
+    }
+
+    private static class TestReader extends TraceReaderAbstract {
+        TestReader(final Path file, final int parallelism, final int maxLinesToRead) throws IOException {
+            super(file.toString());
+            setParallelism(parallelism);
+            setMaxLinesToRead(maxLinesToRead);
+        }
+
+        TestReader(final String content, final int parallelism) {
+            super("trace.txt", new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+            setParallelism(parallelism);
+        }
+
+        List<String> readAll() {
+            final var lines = new ArrayList<String>();
+            readFile(parsedLine -> lines.add(parsedLine.length == 1 && parsedLine[0].isEmpty() ? "[]" : Arrays.toString(parsedLine)));
+            return lines;
+        }
+    }
+}
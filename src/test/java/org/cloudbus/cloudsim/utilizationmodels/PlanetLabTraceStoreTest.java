@@ -0,0 +1,123 @@
+package org.cloudbus.cloudsim.utilizationmodels;
+
+import org.cloudbus.cloudsim.utilizationmodels.PlanetLabTrace.Precision;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PlanetLabTraceStoreTest {
+    private static final int SAMPLES = 10;
+
+    @TempDir
+    Path dir;
+
+    @AfterEach
+    public void tearDown() {
+        PlanetLabTraceStore.getInstance().setPrecision(Precision.DOUBLE).setMappedFilesDir(null).clear();
+    }
+
+    private String createTraceFile(final String name) throws IOException {
+        final var file = dir.resolve(name);
+        final String lines = IntStream.range(0, SAMPLES).mapToObj(i -> String.valueOf(i * 11 % 101)).collect(Collectors.joining("\n"));
+        Files.writeString(file, "#" + SAMPLES + "\n" + lines + "\n");
+        return file.toString();
+    }
+
+    private static void assertSamples(final PlanetLabTrace trace, final double delta) {
+        assertEquals(SAMPLES, trace.size());
+        for (int i = 0; i < SAMPLES; i++) {
+            assertEquals(i * 11 % 101 / 100.0, trace.get(i), delta);
+        }
+    }
+
+    @Test
+    public void testModelsReadingSameFileShareTrace() throws IOException {
+        final String path = createTraceFile("trace.txt");
+        final var store = PlanetLabTraceStore.getInstance();
+        final var trace = store.getTrace(path, -1);
+        assertSame(trace, store.getTrace(path, -1));
+        assertSamples(trace, 0);
+
+        final var model1 = new UtilizationModelPlanetLab(path, 300);
+        final var model2 = UtilizationModelPlanetLab.getInstance(path);
+        assertSame(trace, model1.getUtilizationTrace());
+        assertSame(trace, model2.getUtilizationTrace());
+        assertEquals(SAMPLES, model1.getDataSamples());
+        assertEquals(0.22, model2.getUtilization(600));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    public void testClearedTracesAreParsedAgainButKeptByModels() throws IOException {
+        final String path = createTraceFile("trace.txt");
+        final var store = PlanetLabTraceStore.getInstance();
+        final var model = new UtilizationModelPlanetLab(path, 300);
+        store.clear();
+        assertEquals(0, store.size());
+
+        final var trace = store.getTrace(path, -1);
+        assertNotSame(trace, model.getUtilizationTrace());
+        assertSamples(model.getUtilizationTrace(), 0);
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    public void testModelWithMapperDoesNotChangeSharedTrace() throws IOException {
+        final String path = createTraceFile("trace.txt");
+        final var model = new UtilizationModelPlanetLab(path, value -> value * 2);
+        assertEquals(0.44, model.getUtilization(600));
+        final var trace = PlanetLabTraceStore.getInstance().getTrace(path, -1);
+        assertSamples(trace, 0);
+        assertNotSame(trace, model.getUtilizationTrace());
+    }
+
+    @Test
+    public void testCompactPrecisions() throws IOException {
+        final String path = createTraceFile("trace.txt");
+        final var store = PlanetLabTraceStore.getInstance();
+
+        final var fixedPoint = store.setPrecision(Precision.FIXED_POINT).getTrace(path, -1);
+        assertEquals(Precision.FIXED_POINT, fixedPoint.getPrecision());
+        assertSamples(fixedPoint, 0);
+
+        final var floats = store.setPrecision(Precision.FLOAT).getTrace(path, -1);
+        assertEquals(Precision.FLOAT, floats.getPrecision());
+        assertSamples(floats, 1e-7);
+    }
+
+    @Test
+    public void testFixedPointFallsBackToFloatForValuesOutOfRange() throws IOException {
+        final var file = dir.resolve("large.txt");
+        Files.writeString(file, "100\n700\n");
+        final var trace = PlanetLabTraceStore.getInstance().setPrecision(Precision.FIXED_POINT).getTrace(file.toString(), 2);
+        assertEquals(Precision.FLOAT, trace.getPrecision());
+        assertEquals(7, trace.get(1));
+    }
+
+    @Test
+    public void testMappedFilesAreCreatedAndReused() throws IOException {
+        final String path = createTraceFile("trace.txt");
+        final var mappedDir = dir.resolve("mapped");
+        final var store = PlanetLabTraceStore.getInstance().setPrecision(Precision.FIXED_POINT).setMappedFilesDir(mappedDir);
+        assertSamples(store.getTrace(path, -1), 0);
+
+        final Path mappedFile;
+        try (var files = Files.list(mappedDir)) {
+            mappedFile = files.filter(file -> file.toString().endsWith(".bin")).findFirst().orElseThrow();
+        }
+        assertEquals(SAMPLES * Short.BYTES, Files.size(mappedFile));
+        final var lastModified = Files.getLastModifiedTime(mappedFile);
+
+        store.clear();
+        assertSamples(store.getTrace(path, -1), 0);
+        assertEquals(lastModified, Files.getLastModifiedTime(mappedFile));
+    }
+}
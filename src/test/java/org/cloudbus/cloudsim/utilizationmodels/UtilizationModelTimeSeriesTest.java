@@ -0,0 +1,74 @@
+package org.cloudbus.cloudsim.utilizationmodels;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UtilizationModelTimeSeriesTest {
+    @Test
+    public void testGetUtilizationIsStepFunctionOfSamples() {
+        final var instance = new UtilizationModelTimeSeries(0.5);
+        assertTrue(instance.addSample(10, 0.2));
+        assertTrue(instance.addSample(20, 0.8));
+        assertTrue(instance.addSample(30, 0.1));
+
+        assertAll(
+            () -> assertEquals(0.5, instance.getUtilization(0)),
+            () -> assertEquals(0.5, instance.getUtilization(9.9)),
+            () -> assertEquals(0.2, instance.getUtilization(10)),
+            () -> assertEquals(0.2, instance.getUtilization(19.9)),
+            () -> assertEquals(0.8, instance.getUtilization(20)),
+            () -> assertEquals(0.1, instance.getUtilization(1000)),
+            () -> assertEquals(0.2, instance.getUtilization(15))
+        );
+    }
+
+    @Test
+    public void testAddSampleCoalescesEqualUtilizations() {
+        final var instance = new UtilizationModelTimeSeries(0.5);
+        assertFalse(instance.addSample(5, 0.5));
+        assertTrue(instance.addSample(10, 0.2));
+        assertFalse(instance.addSample(20, 0.2));
+        assertTrue(instance.addSample(20, 0.3));
+        for (int time = 30; time < 100; time++) {
+            instance.addSample(time, time % 2 == 0 ? 0.4 : 0.6);
+        }
+
+        assertEquals(72, instance.getSamplesCount());
+        assertEquals(0.3, instance.getUtilization(29));
+        assertEquals(0.6, instance.getLastUtilization());
+    }
+
+    @Test
+    public void testAddSampleReplacesSampleAtSameTime() {
+        final var instance = new UtilizationModelTimeSeries(0);
+        instance.addSample(10, 0.2);
+        assertTrue(instance.addSample(10, 0.7));
+        assertEquals(1, instance.getSamplesCount());
+        assertEquals(0.7, instance.getUtilization(10));
+    }
+
+    @Test
+    public void testRemoveSamplesBeforeKeepsUtilizationFromThatTimeOn() {
+        final var instance = new UtilizationModelTimeSeries(0);
+        for (int time = 1; time <= 100; time++) {
+            instance.addSample(time, time % 2 == 0 ? 0.4 : 0.6);
+        }
+
+        assertEquals(0, instance.removeSamplesBefore(0.5));
+        assertEquals(89, instance.removeSamplesBefore(90.5));
+        assertEquals(11, instance.getSamplesCount());
+        assertEquals(0.4, instance.getUtilization(90.5));
+        assertEquals(0.6, instance.getUtilization(99));
+        assertTrue(instance.hasSamplesAfter(99));
+        assertFalse(instance.hasSamplesAfter(100));
+    }
+
+    @Test
+    public void testAddSampleOutOfOrder() {
+        final var instance = new UtilizationModelTimeSeries(0);
+        instance.addSample(10, 0.2);
+        assertThrows(IllegalArgumentException.class, () -> instance.addSample(5, 0.3));
+        assertThrows(IllegalArgumentException.class, () -> instance.addSample(15, -1));
+    }
+}
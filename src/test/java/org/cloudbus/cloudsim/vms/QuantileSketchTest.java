@@ -0,0 +1,83 @@
+package org.cloudbus.cloudsim.vms;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QuantileSketchTest {
+    private static final double TOLERANCE = 1.0 / QuantileSketch.DEF_BINS;
+
+    @Test
+    public void testGetQuantileOfUniformValues() {
+        final var instance = new QuantileSketch();
+        for (int i = 0; i <= 1000; i++) {
+            instance.add(i / 1000.0);
+        }
+
+        assertAll(
+            () -> assertEquals(1001, instance.count()),
+            () -> assertEquals(0, instance.getQuantile(0)),
+            () -> assertEquals(0.5, instance.getQuantile(0.5), TOLERANCE),
+            () -> assertEquals(0.95, instance.getQuantile(0.95), TOLERANCE),
+            () -> assertEquals(0.99, instance.getQuantile(0.99), TOLERANCE),
+            () -> assertEquals(1, instance.getQuantile(1))
+        );
+    }
+
+    @Test
+    public void testGetQuantileKeepsValuesAboveCapacity() {
+        final var instance = new QuantileSketch(10);
+        instance.add(0.2);
+        instance.add(1.5);
+
+        assertEquals(0.2, instance.getMin());
+        assertEquals(1.5, instance.getMax());
+        assertEquals(1.5, instance.getQuantile(1));
+    }
+
+    @Test
+    public void testGetQuantileIsInsideBinBounds() {
+        final var instance = new QuantileSketch(10);
+        instance.add(0.31);
+        instance.add(0.32);
+        instance.add(0.33);
+
+        for (double quantile = 0; quantile <= 1; quantile += 0.05) {
+            final double value = instance.getQuantile(quantile);
+            assertTrue(value >= 0.31 && value <= 0.33, "Quantile " + quantile + " out of bounds: " + value);
+        }
+    }
+
+    @Test
+    public void testGetQuantileWhenEmpty() {
+        assertTrue(Double.isNaN(new QuantileSketch().getQuantile(0.5)));
+        assertThrows(IllegalArgumentException.class, () -> new QuantileSketch().getQuantile(1.1));
+    }
+
+    @Test
+    public void testMerge() {
+        final var lower = new QuantileSketch();
+        final var upper = new QuantileSketch();
+        for (int i = 0; i < 500; i++) {
+            lower.add(i / 1000.0);
+            upper.add((i + 500) / 1000.0);
+        }
+
+        final var merged = new QuantileSketch().merge(lower).merge(upper).merge(QuantileSketch.NULL);
+        assertEquals(1000, merged.count());
+        assertEquals(0, merged.getMin());
+        assertEquals(0.999, merged.getMax());
+        assertEquals(0.9, merged.getQuantile(0.9), TOLERANCE);
+
+        final var otherBins = new QuantileSketch(10);
+        otherBins.add(0.5);
+        assertThrows(IllegalArgumentException.class, () -> merged.merge(otherBins));
+    }
+
+    @Test
+    public void testNullIgnoresValues() {
+        QuantileSketch.NULL.add(0.5);
+        assertEquals(0, QuantileSketch.NULL.count());
+        assertSame(QuantileSketch.NULL, VmResourceStats.NULL.enableQuantileSketch().getQuantileSketch());
+    }
+}
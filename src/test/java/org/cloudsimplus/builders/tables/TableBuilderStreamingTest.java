@@ -0,0 +1,118 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.builders.tables;
+
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostSimple;
+import org.cloudbus.cloudsim.hosts.HostStateHistoryEntry;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TableBuilderStreamingTest {
+    private record Sample(int id, double time, String name) { }
+
+    private static final List<Sample> SAMPLES = List.of(
+        new Sample(1, 10.25, "first"), new Sample(22, 1234.5, "second"), new Sample(333, 0, "a longer name"));
+
+    private static final class SampleTableBuilder extends TableBuilderAbstract<Sample> {
+        SampleTableBuilder(final List<Sample> list, final Table table) {
+            super(list, table);
+        }
+
+        @Override
+        protected void createTableColumns() {
+            addColumnDataFunction(getTable().addColumn("Sample", "ID"), Sample::id);
+            addColumnDataFunction(getTable().addColumn("Time", "Seconds").setFormat("%.1f"), Sample::time);
+            addColumnDataFunction(getTable().addColumn("Name"), Sample::name);
+        }
+    }
+
+    @Test
+    void streamedTablesAreEqualToPrintedOnes() {
+        final List<Supplier<AbstractTable>> tables =
+            List.of(TextTable::new, MarkdownTable::new, CsvTable::new, HtmlTable::new);
+        for (final var tableSupplier : tables) {
+            final var printed = new ByteArrayOutputStream();
+            final var printedTable = tableSupplier.get();
+            printedTable.setPrintStream(new PrintStream(printed, true, StandardCharsets.UTF_8));
+            new SampleTableBuilder(SAMPLES, printedTable).build();
+
+            final var streamed = new StringWriter();
+            final var builder = new SampleTableBuilder(List.of(), tableSupplier.get());
+            builder.startStreaming(streamed);
+            SAMPLES.forEach(builder::addRow);
+            builder.finishStreaming();
+
+            assertEquals(printed.toString(StandardCharsets.UTF_8), streamed.toString(), printedTable.getClass().getSimpleName());
+        }
+    }
+
+    @Test
+    void hostHistoryIsStreamed() {
+        final Host host = new HostSimple(List.of(new PeSimple(1000), new PeSimple(1000)));
+        final var streamed = new StringWriter();
+        final var builder = new HostHistoryTableBuilder(host, new CsvTable());
+        builder.startStreaming(streamed);
+        builder.addRow(new HostStateHistoryEntry(10, 1000, 1500, true));
+        builder.finishStreaming();
+
+        final var lines = streamed.toString().lines().toList();
+        assertEquals("   10;     1500;     1000; 67%;true;     2000; 50.0%", lines.get(lines.size() - 1));
+    }
+
+    @Test
+    void tablesWithoutStreamingSupportPrintRowsWhenStreamingFinishes() {
+        final List<Object> row = new ArrayList<>();
+        final Table table = Mockito.mock(Table.class);
+        Mockito.when(table.newRow()).thenReturn(row);
+        Mockito.doCallRealMethod().when(table).startStreaming(Mockito.any());
+        Mockito.doCallRealMethod().when(table).streamRow(Mockito.any());
+        Mockito.doCallRealMethod().when(table).finishStreaming();
+
+        table.startStreaming(new StringWriter());
+        table.streamRow(List.of(1, "a"));
+        Mockito.verify(table, Mockito.never()).print();
+        table.finishStreaming();
+
+        assertEquals(List.of(1, "a"), row);
+        Mockito.verify(table).print();
+    }
+
+    @Test
+    void addRowWithoutStreamingFails() {
+        final var builder = new SampleTableBuilder(List.of(), new TextTable());
+        assertThrows(IllegalStateException.class, () -> builder.addRow(SAMPLES.get(0)));
+    }
+}
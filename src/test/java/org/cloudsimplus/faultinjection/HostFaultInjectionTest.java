@@ -0,0 +1,122 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.faultinjection;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.datacenters.DatacenterSimple;
+import org.cloudbus.cloudsim.distributions.UniformDistr;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostSimple;
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HostFaultInjectionTest {
+    private static final int HOSTS = 8;
+    private static final int HOST_PES = 4;
+
+    private final CloudSim simulation = new CloudSim();
+    private final List<Host> hostList = createHosts();
+    private final HostFaultInjection fault = new HostFaultInjection(new DatacenterSimple(simulation, hostList), new UniformDistr(3));
+
+    private static List<Host> createHosts() {
+        final var hosts = new ArrayList<Host>(HOSTS);
+        for (int i = 0; i < HOSTS; i++) {
+            final List<Pe> peList = IntStream.range(0, HOST_PES).mapToObj(pe -> (Pe) new PeSimple(1000)).toList();
+            hosts.add(new HostSimple(1000, 1000, 1000, new ArrayList<>(peList)));
+        }
+
+        return hosts;
+    }
+
+    @Test
+    void hostsFailAccordingToTheirRatesAndAreRepaired() {
+        fault.setHostFailureRates(host -> host.getId() == 2 ? 1 : 0)
+             .setHostMeanTimeToRepairInHours(0.1)
+             .setMaxTimeToFailInHours(200);
+        simulation.start();
+
+        assertTrue(fault.isFailureProcessesEnabled());
+        assertEquals(200, fault.getHostFaultsNumber(), 50);
+        assertTrue(fault.getHostRepairsNumber() >= fault.getHostFaultsNumber() - 1);
+        hostList.stream()
+                .filter(host -> host.getId() != 2)
+                .forEach(host -> assertEquals(0, host.getFailedPesNumber(), host.toString()));
+    }
+
+    @Test
+    void hostsInTheSameGroupFailTogether() {
+        fault.setHostFailureRates(host -> 0)
+             .setHostGroupFailures(host -> host.getId() / 4, 0.1)
+             .setMaxTimeToFailInHours(100);
+        simulation.start();
+
+        //Failed Hosts are not repaired when no MTTR is set, so each one fails just once
+        assertEquals(HOSTS, fault.getHostFaultsNumber());
+        assertEquals(0, fault.getHostRepairsNumber());
+        hostList.forEach(host -> assertEquals(0, host.getWorkingPesNumber(), host.toString()));
+    }
+
+    @Test
+    void hostsInTheSameGroupAreRepairedTogether() {
+        fault.setHostFailureRates(host -> 0)
+             .setHostGroupFailures(host -> host.getId() / 4, 0.1)
+             .setHostMeanTimeToRepairInHours(1)
+             .setMaxTimeToFailInHours(500);
+
+        //After every event, all Hosts in a group must be either down or working
+        simulation.addOnEventProcessingListener(evt -> {
+            for (int group = 0; group < HOSTS / 4; group++) {
+                final var groupHosts = hostList.subList(group * 4, group * 4 + 4);
+                final int workingPes = groupHosts.get(0).getWorkingPesNumber();
+                groupHosts.forEach(host -> assertEquals(workingPes, host.getWorkingPesNumber(), host.toString()));
+            }
+        });
+        simulation.start();
+
+        assertTrue(fault.getHostRepairsNumber() > 0);
+        assertEquals(0, fault.getHostFaultsNumber() % 4);
+        assertEquals(0, fault.getHostRepairsNumber() % 4);
+        assertTrue(fault.getHostRepairsNumber() >= fault.getHostFaultsNumber() - 4);
+    }
+
+    @Test
+    void noFailureWhenAllRatesAreZero() {
+        fault.setHostFailureRates(host -> 0).setMaxTimeToFailInHours(100);
+        simulation.start();
+        assertEquals(0, fault.getHostFaultsNumber());
+    }
+
+    @Test
+    void invalidRates() {
+        assertThrows(IllegalArgumentException.class, () -> fault.setHostGroupFailures(host -> 0, -1));
+        assertThrows(IllegalArgumentException.class, () -> fault.setHostMeanTimeToRepairInHours(-1));
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.heuristics;
+
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.cloudlets.CloudletTestUtil;
+import org.cloudbus.cloudsim.distributions.UniformDistr;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmTestUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CloudletToVmMappingSimulatedAnnealingTest {
+    private static final int VMS = 20;
+    private static final int CLOUDLETS = 60;
+
+    private static List<Vm> createVms() {
+        final var vms = new ArrayList<Vm>(VMS);
+        for (int i = 0; i < VMS; i++) {
+            vms.add(VmTestUtil.createVm(i, 1000, 2 + i % 2 * 4));
+        }
+
+        return vms;
+    }
+
+    /**
+     * Creates Cloudlets requiring as many PEs as all VMs have,
+     * so that there is a mapping with zero cost.
+     */
+    private static List<Cloudlet> createCloudlets() {
+        final var cloudlets = new ArrayList<Cloudlet>(CLOUDLETS);
+        for (int i = 0; i < CLOUDLETS; i++) {
+            cloudlets.add(CloudletTestUtil.createCloudlet(i, 10000, i % 3 == 0 ? 2 : 1));
+        }
+
+        return cloudlets;
+    }
+
+    private static CloudletToVmMappingSimulatedAnnealing createHeuristic(final int chains) {
+        final var heuristic = new CloudletToVmMappingSimulatedAnnealing(5, new UniformDistr(0, 1, 11));
+        heuristic.setColdTemperature(0.001);
+        heuristic.setCoolingRate(0.01);
+        heuristic.setSearchesByIteration(100);
+        heuristic.setChainsNumber(chains);
+        heuristic.setVmList(createVms());
+        heuristic.setCloudletList(createCloudlets());
+        return heuristic;
+    }
+
+    @Test
+    void stateCostIsUpdatedByMoves() {
+        final long[] cloudletPes = {1, 2, 3, 1, 4, 2};
+        final long[] vmPes = {2, 4, 8};
+        final var state = new CloudletToVmMappingState(cloudletPes, vmPes, new int[]{0, 0, 1, 1, 1, 0});
+        final var random = new UniformDistr(0, 1, 3);
+        for (int i = 0; i < 1000; i++) {
+            final int cloudlet = (int) (random.sample() * cloudletPes.length);
+            final double expectedCost;
+            if (random.sample() < 0.5) {
+                final int vm = (int) (random.sample() * vmPes.length);
+                expectedCost = state.getCost() + state.reassignDelta(cloudlet, vm);
+                state.reassign(cloudlet, vm);
+            } else {
+                final int other = (int) (random.sample() * cloudletPes.length);
+                expectedCost = state.getCost() + state.swapDelta(cloudlet, other);
+                state.swap(cloudlet, other);
+            }
+
+            final int[] cloudletVm = new int[cloudletPes.length];
+            for (int c = 0; c < cloudletVm.length; c++) {
+                cloudletVm[c] = state.getVm(c);
+            }
+
+            assertEquals(expectedCost, state.getCost());
+            assertEquals(new CloudletToVmMappingState(cloudletPes, vmPes, cloudletVm).getCost(), state.getCost());
+        }
+    }
+
+    @Test
+    void solveMapsAllCloudlets() {
+        final var heuristic = createHeuristic(1);
+        final double initialCost = heuristic.getInitialSolution().getCost();
+        final var solution = heuristic.solve();
+
+        assertSame(solution, heuristic.getBestSolutionSoFar());
+        assertEquals(CLOUDLETS, solution.getResult().size());
+        assertTrue(solution.getCost() < initialCost);
+        assertEquals(solution.getCost(), solution.getCost(true));
+    }
+
+    @Test
+    void parallelChainsAreDeterministic() {
+        final var solution1 = createHeuristic(4).solve();
+        final var solution2 = createHeuristic(4).solve();
+
+        assertEquals(0, solution1.getCost());
+        assertEquals(placementByCloudletAndVmIds(solution1), placementByCloudletAndVmIds(solution2));
+    }
+
+    private static List<String> placementByCloudletAndVmIds(final CloudletToVmMappingSolution solution) {
+        return solution.getResult().entrySet().stream()
+                       .map(entry -> entry.getKey().getId() + "->" + entry.getValue().getId())
+                       .sorted()
+                       .toList();
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.heuristics;
+
+import org.cloudbus.cloudsim.distributions.ContinuousDistribution;
+import org.cloudbus.cloudsim.distributions.UniformDistr;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulatedAnnealingAbstractTest {
+    private static final int VALUES = 100;
+    private static final int TARGET = 37;
+
+    /**
+     * A state with an integer value in [0, {@link #VALUES}[,
+     * whose cost is the distance to {@link #TARGET} and which is moved by 1 unit at a time.
+     */
+    private static final class IntState implements AnnealingState<IntState> {
+        private int value;
+        private int next;
+
+        private IntState(final int value) {
+            this.value = value;
+        }
+
+        @Override
+        public double delta(final ContinuousDistribution random) {
+            next = value + (random.sample() < 0.5 ? -1 : 1);
+            return next < 0 || next >= VALUES ? Double.NaN : cost(next) - cost(value);
+        }
+
+        private static double cost(final int value) {
+            return Math.abs(value - TARGET);
+        }
+
+        @Override
+        public void apply() {
+            value = next;
+        }
+
+        @Override
+        public void copyFrom(final IntState source) {
+            value = source.value;
+        }
+
+        @Override
+        public IntState copy() {
+            return new IntState(value);
+        }
+
+        @Override
+        public double getCost() {
+            return cost(value);
+        }
+    }
+
+    /**
+     * A heuristic whose chains search an {@link IntState}, where the first chain starts from 0
+     * and the other ones from a random value.
+     */
+    private static final class IntHeuristic extends SimulatedAnnealingAbstract<CloudletToVmMappingSolution> {
+        private final Set<Integer> chains = new ConcurrentSkipListSet<>();
+
+        private IntHeuristic(final int searchesByIteration) {
+            super(new UniformDistr(0, 1, 13), CloudletToVmMappingSolution.class);
+            setCurrentTemperature(10);
+            setColdTemperature(0.01);
+            setCoolingRate(0.05);
+            setSearchesByIteration(searchesByIteration);
+        }
+
+        private IntState annealInt() {
+            return anneal((chain, random) -> {
+                chains.add(chain);
+                return new IntState(chain == 0 ? 0 : getRandomValue(random, VALUES));
+            });
+        }
+
+        @Override
+        public CloudletToVmMappingSolution getInitialSolution() {
+            return new CloudletToVmMappingSolution(this);
+        }
+
+        @Override
+        public CloudletToVmMappingSolution createNeighbor(final CloudletToVmMappingSolution source) {
+            return source;
+        }
+    }
+
+    @Test
+    void annealFindsTheLowestCost() {
+        final var state = new IntHeuristic(20).annealInt();
+        assertEquals(TARGET, state.value);
+    }
+
+    @Test
+    void annealCoolsTheSystem() {
+        final var heuristic = new IntHeuristic(20);
+        heuristic.annealInt();
+        assertTrue(heuristic.getCurrentTemperature() <= heuristic.getColdTemperature());
+        assertTrue(heuristic.getCurrentTemperature() > heuristic.getColdTemperature() * (1 - heuristic.getCoolingRate()));
+        assertTrue(heuristic.isToStopSearch());
+
+        /* The system is already cold, so the search doesn't continue */
+        assertEquals(0, heuristic.annealInt().value);
+    }
+
+    @Test
+    void parallelChainsAreDeterministic() {
+        final var heuristic1 = new IntHeuristic(1);
+        final var heuristic2 = new IntHeuristic(1);
+        heuristic1.setChainsNumber(4);
+        heuristic2.setChainsNumber(4);
+
+        assertEquals(heuristic1.annealInt().value, heuristic2.annealInt().value);
+        assertEquals(Set.of(0, 1, 2, 3), heuristic1.chains);
+    }
+
+    @Test
+    void invalidChainsNumber() {
+        assertThrows(IllegalArgumentException.class, () -> new IntHeuristic(1).setChainsNumber(0));
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.heuristics;
+
+import org.cloudbus.cloudsim.distributions.UniformDistr;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostSimple;
+import org.cloudbus.cloudsim.provisioners.ResourceProvisioner;
+import org.cloudbus.cloudsim.provisioners.ResourceProvisionerSimple;
+import org.cloudbus.cloudsim.resources.Bandwidth;
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.resources.Ram;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimple;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.cloudsimplus.heuristics.VmToHostMappingState.UNPLACED;
+import static org.junit.jupiter.api.Assertions.*;
+
+class VmToHostMappingSimulatedAnnealingTest {
+    private static final int RACKS = 3;
+    private static final int HOSTS_BY_RACK = 4;
+    private static final int DPUS_BY_RACK = 2;
+    private static final int HOST_PES = 8;
+    private static final long RAM_BY_PE = 1000;
+    private static final long DPU_BW = 4000;
+    private static final long VM_BW = 1000;
+    private static final long HOST_STORAGE = 100000;
+    private static final int[] VM_PES = {5, 3, 4, 2, 6, 2, 4, 6};
+    private static final int VMS = 16;
+
+    /**
+     * Creates racks whose Hosts share a pool of DPUs,
+     * so that each rack can hold at most 8 VMs, due to the DPUs bandwidth.
+     */
+    private static List<Host> createHosts() {
+        final var hosts = new ArrayList<Host>(RACKS * HOSTS_BY_RACK);
+        for (int rack = 0; rack < RACKS; rack++) {
+            final var dpus = new ArrayList<ResourceProvisioner>(DPUS_BY_RACK);
+            for (int i = 0; i < DPUS_BY_RACK; i++) {
+                final var dpu = new ResourceProvisionerSimple();
+                dpu.setResources(new Bandwidth(DPU_BW), vm -> ((VmSimple) vm).getBw());
+                dpus.add(dpu);
+            }
+
+            final var rackHosts = new ArrayList<Host>(HOSTS_BY_RACK);
+            for (int i = 0; i < HOSTS_BY_RACK; i++) {
+                final var peList = new ArrayList<Pe>(HOST_PES);
+                for (int j = 0; j < HOST_PES; j++) {
+                    peList.add(new PeSimple(1000));
+                }
+
+                final var ram = new ResourceProvisionerSimple();
+                ram.setResources(new Ram(HOST_PES * RAM_BY_PE), vm -> ((VmSimple) vm).getRam());
+                final var host = new HostSimple(ram, dpus, HOST_STORAGE, peList);
+                host.setId(rack * HOSTS_BY_RACK + i);
+                host.setRelatedHost(rackHosts);
+                rackHosts.add(host);
+            }
+
+            hosts.addAll(rackHosts);
+        }
+
+        return hosts;
+    }
+
+    private static List<Vm> createVms() {
+        final var vms = new ArrayList<Vm>(VMS);
+        for (int i = 0; i < VMS; i++) {
+            final int pes = VM_PES[i % VM_PES.length];
+            vms.add(new VmSimple(i, 1000, pes).setRam(pes * RAM_BY_PE).setBw(VM_BW));
+        }
+
+        return vms;
+    }
+
+    private static VmToHostMappingSimulatedAnnealing createHeuristic(final int chains) {
+        final var heuristic = new VmToHostMappingSimulatedAnnealing(1, new UniformDistr(0, 1, 7));
+        heuristic.setColdTemperature(0.001);
+        heuristic.setCoolingRate(0.01);
+        heuristic.setSearchesByIteration(100);
+        heuristic.setChainsNumber(chains)
+                 .setHostList(createHosts())
+                 .setVmList(createVms());
+        return heuristic;
+    }
+
+    @Test
+    void stateCostIsUpdatedByMoves() {
+        final int[][] hostDpus = {{0, 1}, {0, 1}, {2}};
+        final var snapshot = new VmToHostMappingState.Snapshot(
+            new long[]{8, 8, 4}, new long[]{16, 16, 8}, new long[]{20, 20, 10}, new double[]{1000, 1000, 1000},
+            new long[]{2, 0, 0}, new long[]{4, 0, 0}, new long[]{5, 0, 0}, new int[]{1, 0, 0},
+            hostDpus, new int[]{0, 0, 1}, new long[]{5, 5, 3}, new long[]{1, 0, 0},
+            new long[]{1, 2, 3, 4, 2, 1}, new double[]{1000, 1000, 1000, 1000, 1000, 1000},
+            new long[]{2, 4, 6, 8, 4, 2}, new long[]{2, 3, 4, 5, 3, 2}, new long[]{1, 2, 1, 2, 1, 1});
+        final var state = new VmToHostMappingState(snapshot);
+        final var random = new UniformDistr(0, 1, 5);
+        for (int i = 0; i < 2000; i++) {
+            final int vm = (int) (random.sample() * snapshot.vmsNumber());
+            final double expectedCost;
+            if (random.sample() < 0.5) {
+                final int other = (int) (random.sample() * snapshot.vmsNumber());
+                if (!state.canSwap(vm, other)) {
+                    continue;
+                }
+
+                expectedCost = state.getCost() + state.swapDelta(vm, other);
+                state.swap(vm, other);
+            } else {
+                final int host = (int) (random.sample() * (snapshot.hostsNumber() + 1)) - 1;
+                final int dpu = host == UNPLACED ? UNPLACED : hostDpus[host][(int) (random.sample() * hostDpus[host].length)];
+                if (!state.canMove(vm, host, dpu)) {
+                    continue;
+                }
+
+                expectedCost = state.getCost() + state.moveDelta(vm, host);
+                state.move(vm, host, dpu);
+            }
+
+            final var recomputed = new VmToHostMappingState(state);
+            recomputed.recomputeCost();
+            assertEquals(expectedCost, state.getCost(), 1e-9);
+            assertEquals(recomputed.getCost(), state.getCost(), 1e-9);
+        }
+    }
+
+    @Test
+    void solvePlacesAllVmsWithinCapacity() {
+        final var heuristic = createHeuristic(1);
+        final var initialSolution = heuristic.getInitialSolution();
+        final var solution = heuristic.solve();
+
+        assertSame(solution, heuristic.getBestSolutionSoFar());
+        assertTrue(solution.getUnplacedVms().isEmpty());
+        assertEquals(VMS, solution.getResult().size());
+        assertTrue(solution.getCost() <= initialSolution.getCost());
+        /* VMs require 64 PEs, which fill exactly 8 Hosts, while first-fit needs 9 */
+        assertEquals(9, initialSolution.getActiveHostsNumber());
+        assertEquals(8, solution.getActiveHostsNumber());
+        assertTrue(solution.getActiveRacksNumber() >= 2);
+
+        final Map<Host, Long> usedPes = new HashMap<>();
+        final Map<ResourceProvisioner, Long> usedBw = new HashMap<>();
+        solution.getResult().forEach((vm, host) -> {
+            usedPes.merge(host, vm.getNumberOfPes(), Long::sum);
+            usedBw.merge(host.getBwProvisioner(solution.getNicId(vm)), vm.getBw().getCapacity(), Long::sum);
+        });
+        usedPes.values().forEach(pes -> assertTrue(pes <= HOST_PES));
+        usedBw.values().forEach(bw -> assertTrue(bw <= DPU_BW));
+        assertEquals(solution.getActiveHostsNumber(), usedPes.size());
+    }
+
+    /**
+     * Creates a snapshot of 3 Hosts with 4 PEs, where Host 0 (rack 0) and Host 1 (rack 1)
+     * share DPU 0, while Host 2 (rack 1) uses DPU 1.
+     */
+    private static VmToHostMappingState.Snapshot createSharedDpuSnapshot(final long[] hostBasePes, final int[] hostBaseVms) {
+        return new VmToHostMappingState.Snapshot(
+            new long[]{4, 4, 4}, new long[]{8, 8, 8}, new long[]{10, 10, 10}, new double[]{1000, 1000, 1000},
+            hostBasePes, new long[3], new long[3], hostBaseVms,
+            new int[][]{{0}, {0}, {1}}, new int[]{0, 1, 1}, new long[]{3, 2}, new long[2],
+            new long[]{2, 1, 1, 1}, new double[]{1000, 1000, 1000, 1000},
+            new long[]{2, 2, 2, 2}, new long[]{1, 1, 1, 1}, new long[]{2, 1, 1, 1});
+    }
+
+    @Test
+    void swapsAcrossRacksSharingADpu() {
+        final var state = new VmToHostMappingState(createSharedDpuSnapshot(new long[3], new int[3]));
+        state.move(0, 0, 0);
+        state.move(1, 1, 0);
+        state.move(2, 2, 1);
+
+        /* DPU 0 is full, even if Host 0 has free PEs */
+        assertFalse(state.canMove(3, 0, 0));
+
+        /* VMs in different racks using the same DPU don't change its bandwidth when swapped */
+        assertTrue(state.canSwap(0, 1));
+        state.swap(0, 1);
+        assertEquals(1, state.getHost(0));
+        assertEquals(0, state.getHost(1));
+        assertEquals(0, state.getDpu(0));
+        assertFalse(state.canMove(3, 1, 0));
+
+        /* Swapping VMs with different bandwidths between DPUs moves the bandwidth difference */
+        assertTrue(state.canSwap(0, 2));
+        state.swap(0, 2);
+        assertEquals(2, state.getHost(0));
+        assertEquals(1, state.getDpu(0));
+        assertEquals(0, state.getDpu(2));
+        assertTrue(state.canMove(3, 0, 0));
+        assertFalse(state.canMove(3, 2, 1));
+
+        final var recomputed = new VmToHostMappingState(state);
+        recomputed.recomputeCost();
+        assertEquals(recomputed.getCost(), state.getCost(), 1e-9);
+    }
+
+    @Test
+    void hostsWithExistingVmsAreActiveAndHaveLessFreePes() {
+        final var state = new VmToHostMappingState(createSharedDpuSnapshot(new long[]{3, 0, 0}, new int[]{1, 0, 0}));
+        assertTrue(state.isHostActive(0));
+        assertFalse(state.isHostActive(1));
+        assertTrue(state.getCost() > state.getUnplacedVmsNumber() * state.getUnplacedVmCost());
+
+        /* VM 0 requires 2 PEs, but Host 0 has just 1 free PE */
+        assertFalse(state.canMove(0, 0, 0));
+        assertTrue(state.canMove(1, 0, 0));
+        assertTrue(state.canMove(0, 1, 0));
+
+        /* Moving the VM out of Host 0 doesn't make it inactive, since it has an existing VM */
+        state.move(1, 0, 0);
+        state.move(1, 2, 1);
+        assertTrue(state.isHostActive(0));
+    }
+
+    @Test
+    void existingVmsAreConsideredWhenSolving() {
+        final var heuristic = createHeuristic(1);
+        final Host host = heuristic.getHostList().get(0);
+        final var existingVm = new VmSimple(VMS, 1000, HOST_PES - 1).setRam(RAM_BY_PE).setBw(VM_BW);
+        assertTrue(host.createTemporaryVm(existingVm).fully());
+
+        final var solution = heuristic.solve();
+        final long placedPes = solution.getResult().entrySet().stream()
+                                       .filter(entry -> entry.getValue() == host)
+                                       .mapToLong(entry -> entry.getKey().getNumberOfPes())
+                                       .sum();
+        assertTrue(placedPes <= 1);
+        assertTrue(solution.getUnplacedVms().isEmpty());
+    }
+
+    @Test
+    void vmsNotSuitableForAnyHostAreNotPlaced() {
+        final var vms = new ArrayList<>(createVms());
+        final Vm fasterPesVm = new VmSimple(VMS, 2000, 1).setRam(RAM_BY_PE).setBw(VM_BW);
+        final Vm largerStorageVm = new VmSimple(VMS + 1, 1000, 1).setRam(RAM_BY_PE).setBw(VM_BW).setSize(HOST_STORAGE + 1);
+        vms.add(fasterPesVm);
+        vms.add(largerStorageVm);
+
+        final var heuristic = createHeuristic(1).setVmList(vms);
+        final var solution = heuristic.solve();
+        assertEquals(List.of(fasterPesVm, largerStorageVm), solution.getUnplacedVms());
+        assertEquals(VMS, solution.getResult().size());
+    }
+
+    @Test
+    void neighborIsCreatedFromTheSourcePlacement() {
+        final var heuristic = createHeuristic(1);
+        final var solution = heuristic.solve();
+        for (int i = 0; i < 100; i++) {
+            final var neighbor = heuristic.createNeighbor(solution);
+            final long changedVms = solution.getResult().entrySet().stream()
+                                            .filter(entry -> neighbor.getResult().get(entry.getKey()) != entry.getValue())
+                                            .count();
+            assertTrue(changedVms <= 2);
+            assertEquals(VMS, neighbor.getResult().size());
+        }
+    }
+}
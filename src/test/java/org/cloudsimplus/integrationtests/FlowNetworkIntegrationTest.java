@@ -0,0 +1,145 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.integrationtests;
+
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.cloudlets.network.CloudletExecutionTask;
+import org.cloudbus.cloudsim.cloudlets.network.CloudletReceiveTask;
+import org.cloudbus.cloudsim.cloudlets.network.CloudletSendTask;
+import org.cloudbus.cloudsim.cloudlets.network.NetworkCloudlet;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.datacenters.network.NetworkDatacenter;
+import org.cloudbus.cloudsim.hosts.network.NetworkHost;
+import org.cloudbus.cloudsim.network.FlowNetwork;
+import org.cloudbus.cloudsim.network.switches.AggregateSwitch;
+import org.cloudbus.cloudsim.network.switches.EdgeSwitch;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.vms.network.NetworkVm;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that {@link NetworkCloudlet}s exchanging packets finish when packets
+ * are sent either through the switches or as flows in a {@link FlowNetwork},
+ * and that flows share the bandwidth of the link they are competing for.
+ */
+public final class FlowNetworkIntegrationTest {
+    private static final long PACKET_BYTES = 100_000_000;
+
+    /** The bandwidth of links between Hosts and Edge Switches (in Megabits/s). */
+    private static final double HOST_LINK_BW = 800;
+
+    private static final double EXECUTION_TIME = 1;
+
+    /**
+     * Two Hosts send a packet each to VMs in a third Host, connected to another Edge Switch.
+     * @return the receiver Cloudlets
+     */
+    private static List<NetworkCloudlet> runSimulation(final boolean flowLevel) {
+        final var simulation = new CloudSim();
+        final var hosts = IntStream.range(0, 4)
+            .mapToObj(i -> new NetworkHost(16_000, 100_000, 100_000, List.of(new PeSimple(1000), new PeSimple(1000))))
+            .toList();
+        final var dc = new NetworkDatacenter(simulation, hosts);
+        final var aggregateSwitch = new AggregateSwitch(simulation, dc);
+        dc.addSwitch(aggregateSwitch);
+        for (int i = 0; i < 2; i++) {
+            final var edgeSwitch = new EdgeSwitch(simulation, dc);
+            edgeSwitch.setDownlinkBandwidth(HOST_LINK_BW);
+            edgeSwitch.getUplinkSwitches().add(aggregateSwitch);
+            aggregateSwitch.getDownlinkSwitches().add(edgeSwitch);
+            edgeSwitch.connectHost(hosts.get(2 * i));
+            edgeSwitch.connectHost(hosts.get(2 * i + 1));
+            dc.addSwitch(edgeSwitch);
+        }
+
+        if (flowLevel) {
+            dc.setFlowNetwork(new FlowNetwork(simulation, dc));
+        }
+
+        final var broker = new DatacenterBrokerSimple(simulation);
+        final var vms = IntStream.range(0, 4).mapToObj(i -> new NetworkVm(i, 1000, 2)).toList();
+        vms.forEach(vm -> vm.setRam(1000).setBw(100).setSize(1000));
+        broker.submitVmList(vms);
+
+        final var receivers = new ArrayList<NetworkCloudlet>();
+        final var cloudlets = new ArrayList<NetworkCloudlet>();
+        for (int sender = 0; sender < 2; sender++) {
+            final var senderCloudlet = newCloudlet(broker, vms.get(sender));
+            final var receiverCloudlet = newCloudlet(broker, vms.get(2));
+            final var sendTask = new CloudletSendTask(1);
+            senderCloudlet.addTask(new CloudletExecutionTask(0, (long) (EXECUTION_TIME * 1000)));
+            senderCloudlet.addTask(sendTask);
+            sendTask.addPacket(receiverCloudlet, PACKET_BYTES);
+
+            final var receiveTask = new CloudletReceiveTask(0, vms.get(sender));
+            receiveTask.setExpectedPacketsToReceive(1);
+            receiverCloudlet.addTask(receiveTask);
+            receiverCloudlet.addTask(new CloudletExecutionTask(1, 100));
+            cloudlets.add(senderCloudlet);
+            cloudlets.add(receiverCloudlet);
+            receivers.add(receiverCloudlet);
+        }
+
+        broker.submitCloudletList(cloudlets);
+        simulation.start();
+        return receivers;
+    }
+
+    private static NetworkCloudlet newCloudlet(final DatacenterBroker broker, final NetworkVm vm) {
+        final var cloudlet = new NetworkCloudlet(1, 1);
+        cloudlet.setMemory(100);
+        cloudlet.setBroker(broker);
+        cloudlet.setVm(vm);
+        return cloudlet;
+    }
+
+    @Test
+    public void testPacketAndFlowLevelNetworksFinishCloudlets() {
+        for (final boolean flowLevel : new boolean[]{false, true}) {
+            final var receivers = runSimulation(flowLevel);
+            receivers.forEach(cloudlet -> assertTrue(cloudlet.isFinished(), "flowLevel: " + flowLevel));
+        }
+    }
+
+    @Test
+    public void testFlowsShareDestinationHostLink() {
+        final var receivers = runSimulation(true);
+        /* Both 800 Megabits packets share the 800 Megabits/s link to the receiver Host, taking 2 seconds. */
+        final double expectedTransferTime = 2 * PACKET_BYTES * 8 / 1_000_000.0 / HOST_LINK_BW;
+        for (final var cloudlet : receivers) {
+            final var receiveTask = (CloudletReceiveTask) cloudlet.getTasks().get(0);
+            final double sendTime = receiveTask.getPacketsReceived().get(0).getSendTime();
+            final double transferTime = receiveTask.getFinishTime() - sendTime;
+            assertTrue(sendTime >= EXECUTION_TIME, "Send time: " + sendTime);
+            assertEquals(expectedTransferTime, transferTime, 0.15, "Transfer time");
+        }
+    }
+}
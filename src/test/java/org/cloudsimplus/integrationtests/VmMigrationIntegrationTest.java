@@ -0,0 +1,164 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.integrationtests;
+
+import org.cloudbus.cloudsim.allocationpolicies.migration.VmAllocationPolicyMigrationAbstract;
+import org.cloudbus.cloudsim.allocationpolicies.migration.VmAllocationPolicyMigrationBestFitStaticThreshold;
+import org.cloudbus.cloudsim.allocationpolicies.migration.VmAllocationPolicyMigrationDynamicUpperThresholdFirstFit;
+import org.cloudbus.cloudsim.allocationpolicies.migration.VmAllocationPolicyMigrationInterQuartileRange;
+import org.cloudbus.cloudsim.allocationpolicies.migration.VmAllocationPolicyMigrationLinearRegression;
+import org.cloudbus.cloudsim.allocationpolicies.migration.VmAllocationPolicyMigrationMedianAbsoluteDeviation;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.cloudlets.CloudletSimple;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.datacenters.DatacenterSimple;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostSimple;
+import org.cloudbus.cloudsim.power.models.PowerModelHostSimple;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.schedulers.vm.VmSchedulerTimeShared;
+import org.cloudbus.cloudsim.selectionpolicies.VmSelectionPolicyMinimumUtilization;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelDynamic;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelFull;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimple;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that VMs are migrated from overloaded Hosts, using static and dynamic thresholds,
+ * and that computing a new VM placement keeps the allocation of VMs consistent after temporary VM moves are undone.
+ */
+public final class VmMigrationIntegrationTest {
+    private static final int HOSTS = 4;
+    private static final int HOST_PES = 4;
+    private static final int VMS = 4;
+    private static final int VM_PES = 1;
+
+    @Test
+    public void testVmsAreMigratedFromOverloadedHost() {
+        runSimulation(new VmAllocationPolicyMigrationBestFitStaticThreshold(new VmSelectionPolicyMinimumUtilization(), 0.7));
+    }
+
+    @Test
+    public void testVmsAreMigratedUsingDynamicThresholds() {
+        final var selectionPolicy = new VmSelectionPolicyMinimumUtilization();
+        final var fallback = new VmAllocationPolicyMigrationBestFitStaticThreshold(selectionPolicy, 0.9);
+        final List<VmAllocationPolicyMigrationDynamicUpperThresholdFirstFit> policies = List.of(
+            new VmAllocationPolicyMigrationMedianAbsoluteDeviation(selectionPolicy, 2.5, fallback),
+            new VmAllocationPolicyMigrationInterQuartileRange(selectionPolicy, 1.5, fallback),
+            new VmAllocationPolicyMigrationLinearRegression(selectionPolicy, 1.2, fallback));
+
+        for (final var policy : policies) {
+            runSimulation(policy);
+            assertNotEquals(Double.MAX_VALUE, policy.getOverUtilizationThreshold(policy.getHostList().get(0)), policy.getClass().getSimpleName());
+        }
+    }
+
+    @Test
+    public void testParallelHostSearchGivesSameMigrations() {
+        final var selectionPolicy = new VmSelectionPolicyMinimumUtilization();
+        final var sequentialPolicy = new VmAllocationPolicyMigrationMedianAbsoluteDeviation(
+            selectionPolicy, 2.5, new VmAllocationPolicyMigrationBestFitStaticThreshold(selectionPolicy, 0.9));
+        final var parallelPolicy = new VmAllocationPolicyMigrationMedianAbsoluteDeviation(
+            selectionPolicy, 2.5, new VmAllocationPolicyMigrationBestFitStaticThreshold(selectionPolicy, 0.9));
+        sequentialPolicy.setHostCountForParallelSearch(Integer.MAX_VALUE);
+        parallelPolicy.setHostCountForParallelSearch(1);
+
+        assertEquals(runSimulation(sequentialPolicy), runSimulation(parallelPolicy));
+    }
+
+    /**
+     * Runs a simulation where all VMs are initially placed into the first Host,
+     * which becomes overloaded as the CPU usage increases.
+     * @return the finished VM migrations, including the time, VM and target Host
+     */
+    private static List<String> runSimulation(final VmAllocationPolicyMigrationAbstract policy) {
+        final var simulation = new CloudSim();
+        final List<Host> hosts = IntStream.range(0, HOSTS).mapToObj(i -> createHost()).toList();
+        final var dc = new DatacenterSimple(simulation, hosts, policy);
+        dc.setSchedulingInterval(1);
+
+        final var broker = new DatacenterBrokerSimple(simulation);
+        final List<Vm> vms = IntStream.range(0, VMS).mapToObj(i -> (Vm) new VmSimple(1000, VM_PES).setRam(512).setBw(100).setSize(1000)).toList();
+        final var migrations = new ArrayList<String>();
+        vms.forEach(vm -> vm.addOnMigrationFinishListener(
+            info -> migrations.add("%.2f: %s to %s".formatted(info.getTime(), info.getVm(), info.getHost()))));
+
+        // After VMs are created, the default Function to find a Host for a VM is used
+        policy.setFindHostForVmFunction((p, vm) -> Optional.of(hosts.get(0)));
+        broker.addOnVmsCreatedListener(info -> policy.setFindHostForVmFunction(null));
+        final List<Cloudlet> cloudlets = IntStream.range(0, VMS).mapToObj(i -> createCloudlet()).toList();
+        broker.submitVmList(vms);
+        broker.submitCloudletList(cloudlets);
+
+        final var inconsistencies = new ArrayList<String>();
+        simulation.addOnClockTickListener(info -> checkAllocation(hosts, vms, inconsistencies));
+        simulation.start();
+
+        final String policyName = policy.getClass().getSimpleName();
+        assertTrue(inconsistencies.isEmpty(), () -> policyName + ": " + inconsistencies);
+        assertFalse(migrations.isEmpty(), policyName + ": VMs should be migrated from the overloaded Host");
+        assertTrue(cloudlets.stream().allMatch(Cloudlet::isFinished), policyName);
+        return migrations;
+    }
+
+    /**
+     * Checks that every created VM not in migration is placed into its Host only.
+     */
+    private static void checkAllocation(final List<Host> hosts, final List<Vm> vms, final List<String> inconsistencies) {
+        for (final Vm vm : vms) {
+            if (!vm.isCreated() || vm.isInMigration()) {
+                continue;
+            }
+
+            final long placements = hosts.stream().filter(host -> host.getVmList().contains(vm)).count();
+            if (placements != 1 || !vm.getHost().getVmList().contains(vm)) {
+                inconsistencies.add("%s placed into %d Hosts at %.2f".formatted(vm, placements, vm.getSimulation().clock()));
+            }
+        }
+    }
+
+    private static Host createHost() {
+        final var peList = IntStream.range(0, HOST_PES).mapToObj(i -> new PeSimple(1000)).toList();
+        final var host = new HostSimple(8192, 10_000, 100_000, new ArrayList<>(peList));
+        host.setVmScheduler(new VmSchedulerTimeShared()).setPowerModel(new PowerModelHostSimple(100, 50));
+        return host;
+    }
+
+    private static Cloudlet createCloudlet() {
+        final var cpuModel = new UtilizationModelDynamic(0.1).setUtilizationUpdateFunction(um -> Math.min(1, um.getUtilization() + 0.1));
+        return new CloudletSimple(20_000, VM_PES)
+            .setUtilizationModelCpu(cpuModel)
+            .setUtilizationModelRam(new UtilizationModelDynamic(0.1))
+            .setUtilizationModelBw(new UtilizationModelFull());
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.metrics;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.CloudSimEntity;
+import org.cloudbus.cloudsim.core.CloudSimTag;
+import org.cloudbus.cloudsim.core.events.SimEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsExporterTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void samplesWrittenInManyBlocksAreReadBack() {
+        final var file = dir.resolve("metrics.bin");
+        final int[] counter = {0};
+        try (var exporter = new MetricsExporterBinary(file, 3, 2)) {
+            exporter.addSeries("counter", () -> counter[0]++)
+                    .addSeries("half", () -> counter[0] / 2.0);
+            for (int time = 0; time < 10; time++) {
+                exporter.sample(time);
+            }
+
+            assertThrows(IllegalStateException.class, () -> exporter.addSeries("late", () -> 0));
+        }
+
+        final var columns = MetricsExporterBinary.read(file);
+        assertEquals(List.of("time", "counter", "half"), List.copyOf(columns.keySet()));
+        assertArrayEquals(new double[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9}, columns.get("time"));
+        assertArrayEquals(new double[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9}, columns.get("counter"));
+        assertEquals(5, columns.get("half")[9]);
+    }
+
+    @Test
+    void attachedExporterSamplesAtEveryInterval() {
+        final var file = dir.resolve("attached.bin");
+        final var simulation = new CloudSim();
+        //An entity with a single event at time 10, which is when the simulation finishes
+        new CloudSimEntity(simulation) {
+            @Override protected void startInternal() { schedule(10, CloudSimTag.FAILURE); }
+            @Override public void processEvent(final SimEvent evt) {/**/}
+        };
+
+        try (var exporter = new MetricsExporterBinary(file, 4, 2)) {
+            exporter.addSeries("clock", simulation::clock).attach(simulation, 2);
+            simulation.start();
+        }
+
+        final var columns = MetricsExporterBinary.read(file);
+        assertArrayEquals(new double[]{0, 2, 4, 6, 8, 10}, columns.get("time"));
+        assertArrayEquals(columns.get("time"), columns.get("clock"));
+    }
+
+    @Test
+    void truncatedBlockIsNotRead() throws Exception {
+        final var file = dir.resolve("truncated.bin");
+        try (var exporter = new MetricsExporterBinary(file, 2, 2)) {
+            exporter.addSeries("a", () -> 1);
+            for (int time = 0; time < 4; time++) {
+                exporter.sample(time);
+            }
+        }
+
+        assertEquals(4, MetricsExporterBinary.read(file).get("time").length);
+        final byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - Double.BYTES));
+        assertThrows(UncheckedIOException.class, () -> MetricsExporterBinary.read(file));
+    }
+
+    @Test
+    void csvHasHeaderAndOneLinePerSample() throws Exception {
+        final var file = dir.resolve("metrics.csv");
+        try (var exporter = new MetricsExporterCsv(file, 2, 2)) {
+            exporter.addSeries("a", () -> 0.5).addSeries("b", () -> 2);
+            exporter.sample(1);
+            exporter.sample(2.5);
+            exporter.sample(4);
+        }
+
+        assertEquals(List.of("time,a,b", "1.0,0.5,2.0", "2.5,0.5,2.0", "4.0,0.5,2.0"), Files.readAllLines(file));
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.sinks;
+
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.cloudlets.CloudletSimple;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.datacenters.DatacenterSimple;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostSimple;
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimple;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the same simulation with a broker retaining finished entities or not,
+ * checking finished Cloudlets and destroyed VMs are dropped from the broker, scheduler and Host lists
+ * just in the latter case, while the sink receives all of them in both cases.
+ */
+class FinishedEntitiesRetentionTest {
+    private static final int HOSTS = 2;
+    private static final int VMS = 4;
+    private static final int CLOUDLETS = 200;
+
+    /**
+     * The maximum number of finished Cloudlets that may be waiting to be purged from the broker lists,
+     * which are purged after a number of Cloudlets finish.
+     */
+    private static final int MAX_CLOUDLETS_TO_PURGE = 64;
+
+    private final List<CloudletSummary> finishedCloudlets = new ArrayList<>();
+    private final List<VmSummary> destroyedVms = new ArrayList<>();
+    private List<Host> hostList;
+    private List<Vm> vmList;
+
+    @Test
+    void finishedEntitiesAreDroppedWhenNotRetained() {
+        final var broker = runSimulation(false);
+
+        assertEquals(CLOUDLETS, finishedCloudlets.size());
+        assertEquals(VMS, destroyedVms.size());
+        assertTrue(broker.getCloudletFinishedList().isEmpty());
+        assertTrue(broker.getCloudletSubmittedList().size() < MAX_CLOUDLETS_TO_PURGE);
+        assertTrue(broker.getCloudletCreatedList().size() < MAX_CLOUDLETS_TO_PURGE);
+        assertEquals(VMS, broker.getVmsNumber());
+        assertTrue(broker.getVmExecList().isEmpty());
+        vmList.forEach(vm -> assertTrue(vm.getCloudletScheduler().getCloudletFinishedList().isEmpty()));
+        hostList.forEach(host -> assertTrue(host.getVmCreatedList().isEmpty()));
+    }
+
+    @Test
+    void finishedEntitiesAreKeptWhenRetained() {
+        final var broker = runSimulation(true);
+
+        assertEquals(CLOUDLETS, finishedCloudlets.size());
+        assertEquals(VMS, destroyedVms.size());
+        assertEquals(CLOUDLETS, broker.getCloudletFinishedList().size());
+        assertEquals(CLOUDLETS, broker.getCloudletSubmittedList().size());
+        assertEquals(VMS, broker.getVmsNumber());
+        assertEquals(VMS, broker.getVmCreatedList().size());
+        assertEquals(CLOUDLETS, vmList.stream().mapToInt(vm -> vm.getCloudletScheduler().getCloudletFinishedList().size()).sum());
+        assertEquals(VMS, hostList.stream().mapToInt(host -> host.getVmCreatedList().size()).sum());
+    }
+
+    private DatacenterBroker runSimulation(final boolean retainFinishedEntities) {
+        final var simulation = new CloudSim();
+        hostList = IntStream.range(0, HOSTS).mapToObj(i -> createHost()).toList();
+        new DatacenterSimple(simulation, hostList);
+
+        final var broker = new DatacenterBrokerSimple(simulation);
+        broker.setRetainFinishedEntities(retainFinishedEntities)
+              .setFinishedEntitySink(FinishedEntitySink.of(finishedCloudlets::add, destroyedVms::add));
+
+        vmList = IntStream.range(0, VMS).mapToObj(i -> (Vm) new VmSimple(1000, 2)).toList();
+        // Cloudlets have different lengths, so that they finish at different times
+        final List<Cloudlet> cloudletList =
+            IntStream.range(0, CLOUDLETS).mapToObj(i -> (Cloudlet) new CloudletSimple(1000 + i * 100L, 1)).toList();
+        broker.submitVmList(vmList);
+        broker.submitCloudletList(cloudletList);
+        simulation.start();
+        return broker;
+    }
+
+    private static Host createHost() {
+        final var peList = new ArrayList<Pe>();
+        for (int i = 0; i < 8; i++) {
+            peList.add(new PeSimple(1000));
+        }
+
+        return new HostSimple(16384, 100000, 1000000, peList);
+    }
+}
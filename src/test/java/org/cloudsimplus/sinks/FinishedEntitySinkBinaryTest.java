@@ -0,0 +1,94 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.sinks;
+
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FinishedEntitySinkBinaryTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void writtenSummariesAreReadBack() throws Exception {
+        final var cloudletsFile = dir.resolve("cloudlets.bin");
+        final var vmsFile = dir.resolve("vms.bin");
+        final var cloudlets = new ArrayList<CloudletSummary>();
+        for (int id = 0; id < 1000; id++) {
+            cloudlets.add(new CloudletSummary(id, 1, id % 10, 2, Cloudlet.Status.SUCCESS, 1000, 1, 0, 1, 11, 10, 1));
+        }
+        final var vm = new VmSummary(3, 1, 2, 4, 1000, 512, 1000, 10000, 0, 20, Double.NaN);
+
+        try (var sink = new FinishedEntitySinkBinary(cloudletsFile, vmsFile)) {
+            cloudlets.forEach(sink::cloudletFinished);
+            sink.vmDestroyed(vm);
+        }
+
+        final var readCloudlets = new ArrayList<CloudletSummary>();
+        FinishedEntitySinkBinary.readCloudlets(cloudletsFile, readCloudlets::add);
+        final var readVms = new ArrayList<VmSummary>();
+        FinishedEntitySinkBinary.readVms(vmsFile, readVms::add);
+
+        assertEquals(cloudlets, readCloudlets);
+        assertEquals(List.of(vm), readVms);
+    }
+
+    @Test
+    void filesWithoutRecordsAreRead() {
+        final var cloudletsFile = dir.resolve("cloudlets.bin");
+        final var vmsFile = dir.resolve("vms.bin");
+        new FinishedEntitySinkBinary(cloudletsFile, vmsFile).close();
+
+        final var read = new ArrayList<>();
+        FinishedEntitySinkBinary.readCloudlets(cloudletsFile, read::add);
+        FinishedEntitySinkBinary.readVms(vmsFile, read::add);
+        assertTrue(read.isEmpty());
+    }
+
+    @Test
+    void truncatedRecordIsNotRead() throws Exception {
+        final var cloudletsFile = dir.resolve("cloudlets.bin");
+        final var vmsFile = dir.resolve("vms.bin");
+        try (var sink = new FinishedEntitySinkBinary(cloudletsFile, vmsFile)) {
+            sink.vmDestroyed(new VmSummary(1, 1, 2, 4, 1000, 512, 1000, 10000, 0, 20, 0.5));
+            sink.vmDestroyed(new VmSummary(2, 1, 2, 4, 1000, 512, 1000, 10000, 0, 30, 0.5));
+        }
+
+        final byte[] bytes = Files.readAllBytes(vmsFile);
+        Files.write(vmsFile, Arrays.copyOf(bytes, bytes.length - Double.BYTES));
+        final var readVms = new ArrayList<VmSummary>();
+        assertThrows(UncheckedIOException.class, () -> FinishedEntitySinkBinary.readVms(vmsFile, readVms::add));
+        assertEquals(1, readVms.size());
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.traces;
+
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.util.SwfWorkloadFileReader;
+import org.cloudsimplus.traces.ColumnarTrace.ColumnType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarTraceTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void inferColumnTypesAndEmptyValues() {
+        final var writer = new ColumnarTraceWriter();
+        writer.addRow(new String[]{"1", "2", "a", ""});
+        writer.addRow(new String[]{"-3", "2.5", "b", "4"});
+        writer.addRow(new String[]{"5", "", "7"});
+        final var file = dir.resolve("trace.cspc");
+        writer.write(file);
+
+        final var trace = ColumnarTrace.open(file);
+        assertEquals(3, trace.getRows());
+        assertEquals(4, trace.getColumns());
+        assertEquals(List.of(ColumnType.LONG, ColumnType.DOUBLE, ColumnType.STRING, ColumnType.LONG),
+                     List.of(trace.getColumnType(0), trace.getColumnType(1), trace.getColumnType(2), trace.getColumnType(3)));
+
+        assertEquals(-3, trace.getLong(1, 0));
+        assertEquals(2, trace.getLong(0, 1));
+        assertEquals(2.5, trace.getDouble(1, 1));
+        assertThrows(NumberFormatException.class, () -> trace.getLong(1, 1));
+        assertEquals("b", trace.getString(1, 2));
+        assertEquals("7", trace.getString(2, 2));
+        assertTrue(trace.isEmpty(0, 3));
+        assertTrue(trace.isEmpty(2, 1));
+        assertTrue(trace.isEmpty(2, 3));
+        assertFalse(trace.isEmpty(1, 3));
+        assertEquals("", trace.getString(2, 1));
+        assertThrows(NumberFormatException.class, () -> trace.getDouble(2, 1));
+        assertEquals(3, trace.getFieldCount(2));
+    }
+
+    @Test
+    void promoteNumericColumnToString() {
+        final var writer = new ColumnarTraceWriter();
+        writer.addRow(new String[]{"1"});
+        writer.addRow(new String[]{""});
+        writer.addRow(new String[]{"x"});
+        final var file = dir.resolve("trace.cspc");
+        writer.write(file);
+
+        final var trace = ColumnarTrace.open(file);
+        assertEquals(ColumnType.STRING, trace.getColumnType(0));
+        assertEquals(List.of("1", "", "x"), List.of(trace.getString(0, 0), trace.getString(1, 0), trace.getString(2, 0)));
+        assertEquals(1, trace.getLong(0, 0));
+        assertTrue(trace.isEmpty(1, 0));
+    }
+
+    @Test
+    void keepOriginalTextOfNumbers() {
+        final var writer = new ColumnarTraceWriter();
+        writer.addRow(new String[]{"007", "1"});
+        writer.addRow(new String[]{"8", "0.50"});
+        writer.addRow(new String[]{"9", "1.0"});
+        final var file = dir.resolve("trace.cspc");
+        writer.write(file);
+
+        final var trace = ColumnarTrace.open(file);
+        assertEquals(ColumnType.LONG, trace.getColumnType(0));
+        assertEquals(ColumnType.DOUBLE, trace.getColumnType(1));
+        assertEquals(List.of("007", "8"), List.of(trace.getString(0, 0), trace.getString(1, 0)));
+        assertEquals(7, trace.getLong(0, 0));
+        assertEquals(List.of("1", "0.50", "1.0"), List.of(trace.getString(0, 1), trace.getString(1, 1), trace.getString(2, 1)));
+        assertEquals(1, trace.getLong(0, 1));
+        assertEquals(0.5, trace.getDouble(1, 1));
+        assertThrows(NumberFormatException.class, () -> trace.getLong(2, 1));
+    }
+
+    @Test
+    void readColumnsMappedInSeveralChunks() {
+        final var writer = new ColumnarTraceWriter("", dir);
+        for (int row = 0; row < 100; row++) {
+            writer.addRow(new String[]{Integer.toString(row), row % 3 == 0 ? "" : row + ".5", "s" + row % 7, row % 5 == 0 ? "0" + row : ""});
+        }
+        final var file = dir.resolve("trace.cspc");
+        writer.write(file);
+
+        /* Chunks of 16 bytes, so that each column is split into many of them */
+        final var trace = ColumnarTrace.open(file, 4);
+        final var fullyMapped = ColumnarTrace.open(file);
+        for (int row = 0; row < 100; row++) {
+            assertEquals(row, trace.getLong(row, 0));
+            assertEquals(row % 3 == 0, trace.isEmpty(row, 1));
+            assertEquals(row % 3 == 0 ? "" : row + ".5", trace.getString(row, 1));
+            assertEquals("s" + row % 7, trace.getString(row, 2));
+            assertEquals(row % 5 == 0 ? "0" + row : "", trace.getString(row, 3));
+            assertEquals(4, trace.getFieldCount(row));
+            for (int col = 0; col < trace.getColumns(); col++) {
+                assertEquals(fullyMapped.getString(row, col), trace.getString(row, col));
+            }
+        }
+    }
+
+    @Test
+    void spillFilesAreDeletedOnceWrittenOrClosed() throws IOException {
+        final var file = dir.resolve("trace.cspc");
+        final var writer = new ColumnarTraceWriter("", dir);
+        writer.addRow(new String[]{"1", "a"});
+        writer.setLong(2, 3);
+        writer.endRow();
+        writer.write(file);
+        try (var files = Files.list(dir)) {
+            assertEquals(List.of(file), files.toList());
+        }
+
+        final var trace = ColumnarTrace.open(file);
+        assertEquals(List.of(2, 3), List.of(trace.getFieldCount(0), trace.getFieldCount(1)));
+        assertTrue(trace.isEmpty(0, 2));
+        assertTrue(trace.isEmpty(1, 0));
+        assertEquals(3, trace.getLong(1, 2));
+
+        try (var discarded = new ColumnarTraceWriter("", dir)) {
+            discarded.addRow(new String[]{"1"});
+        }
+        try (var files = Files.list(dir)) {
+            assertEquals(List.of(file), files.toList());
+        }
+    }
+
+    @Test
+    void rejectInvalidFile() throws IOException {
+        final var file = Files.writeString(dir.resolve("trace.cspc"), "not a columnar trace");
+        assertThrows(UncheckedIOException.class, () -> ColumnarTrace.open(file));
+    }
+
+    @Test
+    void readerGetsTypedFieldsFromCache() throws IOException {
+        final var reader = new TestReader(Files.writeString(dir.resolve("trace.txt"), "7 x 1.5\n8 y 2\n9 z\n"));
+        final var cacheFile = dir.resolve("trace.cspc");
+        reader.setColumnarCacheFile(cacheFile);
+        final var expected = reader.readAll();
+        assertEquals(List.of("7;x;1.5", "8;y;2.0", "9;z;-1.0"), expected);
+        assertTrue(Files.exists(cacheFile));
+
+        final var cachedReader = new TestReader(dir.resolve("trace.txt"));
+        cachedReader.setColumnarCacheFile(cacheFile);
+        assertEquals(expected, cachedReader.readAll());
+        assertEquals(3, cachedReader.getLastLineNumber());
+    }
+
+    @Test
+    void staleCacheIsRewritten() throws IOException {
+        final var traceFile = Files.writeString(dir.resolve("trace.txt"), "1 a\n");
+        final var cacheFile = dir.resolve("trace.cspc");
+        final var reader = new TestReader(traceFile);
+        reader.setColumnarCacheFile(cacheFile);
+        reader.readAll();
+
+        Files.writeString(traceFile, "2 b\n3 c\n");
+        Files.setLastModifiedTime(traceFile, FileTime.fromMillis(Files.getLastModifiedTime(cacheFile).toMillis() + 1000));
+        assertFalse(ColumnarTrace.isUpToDate(cacheFile, traceFile.toString()));
+
+        final var newReader = new TestReader(traceFile);
+        newReader.setColumnarCacheFile(cacheFile);
+        assertEquals(List.of("2;b;-1.0", "3;c;-1.0"), newReader.readAll());
+        assertEquals(2, ColumnarTrace.open(cacheFile).getRows());
+    }
+
+    @Test
+    void cacheCreatedWithOtherConfigurationIsRewritten() throws IOException {
+        final var traceFile = Files.writeString(dir.resolve("trace.txt"), "1,a\n2 b\n");
+        final var cacheFile = dir.resolve("trace.cspc");
+        final var reader = new TestReader(traceFile);
+        reader.setColumnarCacheFile(cacheFile);
+        assertEquals(List.of("2;b;-1.0"), readAllSkippingInvalid(reader));
+        assertTrue(ColumnarTrace.isUpToDate(cacheFile, traceFile.toString(), reader.getParseConfiguration()));
+
+        final var csvReader = new TestReader(traceFile);
+        csvReader.setFieldDelimiterRegex(",");
+        csvReader.setColumnarCacheFile(cacheFile);
+        assertFalse(ColumnarTrace.isUpToDate(cacheFile, traceFile.toString(), csvReader.getParseConfiguration()));
+        assertEquals(List.of("1;a;-1.0"), readAllSkippingInvalid(csvReader));
+        assertEquals(csvReader.getParseConfiguration(), ColumnarTrace.open(cacheFile).getConfiguration());
+    }
+
+    private static List<String> readAllSkippingInvalid(final TestReader reader) {
+        final var lines = new ArrayList<String>();
+        reader.readFile(parsedLineArray -> {
+            reader.setLastParsedLineArray(parsedLineArray);
+            final int id = reader.getFieldIntValue(Field.ID, -1);
+            return parsedLineArray.length > 1 && id >= 0 && lines.add(id + ";" + reader.getFieldValue(Field.NAME) + ";-1.0");
+        });
+        return lines;
+    }
+
+    @Test
+    void swfReaderCreatesSameCloudletsFromCache() throws IOException {
+        final var traceFile = dir.resolve("trace.swf");
+        Files.writeString(traceFile, """
+            ; a comment
+            1 0 10 100 2 -1 -1 4 -1 -1 1 1 1 -1 -1 -1 -1 -1
+            2 5 10 0 1 -1 -1 -1 -1 -1 1 1 1 -1 -1 -1 -1 -1
+            3 7 10 50 8 -1 -1 2 -1 -1 1 1 1 -1 -1 -1 -1 -1
+            """);
+        final var cacheFile = dir.resolve("trace.cspc");
+
+        final var expected = cloudletAttributes(traceFile, cacheFile);
+        assertTrue(Files.exists(cacheFile));
+        assertEquals(List.of("1;100;4;0.0", "2;1;1;5.0", "3;50;8;7.0"), expected);
+        assertEquals(expected, cloudletAttributes(traceFile, cacheFile));
+    }
+
+    private static List<String> cloudletAttributes(final Path traceFile, final Path cacheFile) throws IOException {
+        final var reader = new SwfWorkloadFileReader(traceFile.toString(), 1);
+        reader.setColumnarCacheFile(cacheFile);
+        return reader.generateWorkload().stream().map(ColumnarTraceTest::attributes).toList();
+    }
+
+    private static String attributes(final Cloudlet cloudlet) {
+        return cloudlet.getId() + ";" + cloudlet.getLength() + ";" + cloudlet.getNumberOfPes() + ";" + cloudlet.getSubmissionDelay();
+    }
+
+    private enum Field { ID, NAME, VALUE }
+
+    /**
+     * A reader for lines with an integer, a String and an optional double field.
+     */
+    private static class TestReader extends TraceReaderBase {
+        TestReader(final Path file) throws IOException {
+            super(file.toString(), Files.newInputStream(file));
+        }
+
+        @Override
+        protected String getParseConfiguration() {
+            return super.getParseConfiguration();
+        }
+
+        List<String> readAll() {
+            final var lines = new ArrayList<String>();
+            readFile(parsedLineArray -> {
+                setLastParsedLineArray(parsedLineArray);
+                return lines.add(
+                    getFieldIntValue(Field.ID) + ";" +
+                    getFieldValue(Field.NAME) + ";" +
+                    (parsedLineArray.length > 2 ? getFieldDoubleValue(Field.VALUE, -1) : -1.0));
+            });
+            return lines;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.traces.azure;
+
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.datacenters.DatacenterSimple;
+import org.cloudbus.cloudsim.hosts.HostSimple;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimple;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AzureVmTraceReaderTest {
+    private static final double DAY = AzureVmTraceReader.SECONDS_PER_DAY;
+
+    @TempDir
+    Path dir;
+
+    private AzureVmTraceReader newReader(final String content) throws IOException {
+        final var file = dir.resolve("vms.csv");
+        Files.writeString(file, content);
+        return new AzureVmTraceReader(file.toString());
+    }
+
+    @Test
+    void readsInstancesInStartTimeOrder() throws IOException {
+        final var reader = newReader("""
+            vmId,vmTypeId,startTime,endTime
+            # a comment
+            2,7,0.5,0.75\r
+            1,3,-0.25,none
+            3,1,0.5,
+            4,2,1.5e-1,1
+            """);
+
+        final var instances = new ArrayList<AzureVmInstance>();
+        reader.forEach(instances::add);
+
+        assertEquals(4, reader.size());
+        assertEquals(List.of(1L, 4L, 2L, 3L), instances.stream().map(AzureVmInstance::vmId).toList());
+        assertEquals(new AzureVmInstance(1, 3, -0.25 * DAY, Double.NaN), instances.get(0));
+        assertEquals(new AzureVmInstance(4, 2, 0.15 * DAY, DAY), instances.get(1));
+        assertEquals(new AzureVmInstance(2, 7, 0.5 * DAY, 0.75 * DAY), instances.get(2));
+        assertFalse(instances.get(3).hasEndTime());
+        assertEquals(5, reader.getLastLineNumber());
+    }
+
+    @Test
+    void closeReleasesTheIndexAndAllowsReuse() throws IOException {
+        final var reader = newReader("1,3,0.5,none\n2,7,0.25,1\n");
+        assertEquals(-1, reader.getLastLineNumber());
+        assertEquals(2, reader.size());
+        reader.close();
+
+        final var instances = new ArrayList<AzureVmInstance>();
+        reader.forEach(instances::add);
+        assertEquals(List.of(2L, 1L), instances.stream().map(AzureVmInstance::vmId).toList());
+        assertEquals(1, reader.getLastLineNumber());
+    }
+
+    @Test
+    void readsInstancesFromColumnarCache() throws IOException {
+        final var content = "2,7,0.5,0.75\n1,3,-0.25,none\n";
+        final var cacheFile = dir.resolve("vms.cspc");
+        final var expected = new ArrayList<AzureVmInstance>();
+        newReader(content).setColumnarCacheFile(cacheFile).forEach(expected::add);
+        assertTrue(Files.exists(cacheFile));
+
+        final var reader = new AzureVmTraceReader(dir.resolve("missing.csv").toString()).setColumnarCacheFile(cacheFile);
+        final var instances = new ArrayList<AzureVmInstance>();
+        reader.forEach(instances::add);
+        assertEquals(expected, instances);
+        assertEquals(2, reader.size());
+        assertEquals(1, reader.getLastLineNumber());
+    }
+
+    @Test
+    void submitsVmsAsTheClockAdvances() throws IOException {
+        final int instances = 20;
+        final var content = new StringBuilder();
+        IntStream.range(0, instances).forEach(i -> content.append(i).append(",0,").append(i / 24.0).append(",none\n"));
+        final var reader = newReader(content.toString()).setLookAheadTime(3 * 3600);
+
+        final var simulation = new CloudSim();
+        final var peList = IntStream.range(0, instances).mapToObj(i -> new PeSimple(1000)).toList();
+        final var hostList = List.of(new HostSimple(100_000, 100_000, 100_000, new ArrayList<>(peList)));
+        new DatacenterSimple(simulation, hostList);
+        final var broker = new DatacenterBrokerSimple(simulation);
+        broker.setVmDestructionDelay(-1);
+        final var createdVms = new ArrayList<Vm>();
+        reader.submitVms(broker, instance -> {
+            final var vm = new VmSimple(instance.vmId(), 1, 1).setRam(1).setBw(1).setSize(1);
+            vm.addOnHostAllocationListener(info -> createdVms.add(info.getVm()));
+            return vm;
+        });
+
+        assertTrue(broker.getVmWaitingList().size() < instances);
+        simulation.terminateAt(instances * 3600);
+        simulation.start();
+
+        assertEquals(instances, createdVms.size());
+        for (int i = 0; i < instances; i++) {
+            final var vm = createdVms.get(i);
+            assertEquals(i, vm.getId());
+            assertEquals(i * 3600.0, vm.getStartTime(), 0.5);
+        }
+    }
+}
@@ -23,7 +23,25 @@
  */
 package org.cloudsimplus.traces.google;
 
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.cloudlets.CloudletSimple;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.datacenters.DatacenterSimple;
+import org.cloudbus.cloudsim.hosts.HostSimple;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelDynamic;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelFull;
+import org.cloudbus.cloudsim.vms.VmSimple;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -91,4 +109,53 @@ public class GoogleTaskEventsTraceReaderTest {
             () -> assertEquals(12, TaskEventField.DIFFERENT_MACHINE_CONSTRAINT.ordinal())
         );
     }
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testStreamingCreatesSameCloudletsAsReadingTheEntireTrace() throws IOException {
+        final var file = dir.resolve("task_events.csv");
+        final var lines = new StringBuilder();
+        // Each task is submitted, scheduled and finished 50 seconds later, in timestamp order
+        for (int task = 0; task < 4; task++) {
+            final long submitTime = task * 1000_000_000L;
+            lines.append(taskEvent(submitTime, task, TaskEventType.SUBMIT))
+                 .append(taskEvent(submitTime + 10_000_000L, task, TaskEventType.SCHEDULE))
+                 .append(taskEvent(submitTime + 60_000_000L, task, TaskEventType.FINISH));
+        }
+        Files.writeString(file, lines);
+
+        final var expected = runSimulation(file, false);
+        assertEquals(4, expected.size());
+        assertEquals("13: 3010.0 -> 3060.0", expected.get(3));
+        assertEquals(expected, runSimulation(file, true));
+    }
+
+    private static String taskEvent(final long timestamp, final int task, final TaskEventType type) {
+        return "%d,,1,%d,,%d,user,0,0,0.5,0.1,0.0,0%n".formatted(timestamp, task, type.ordinal());
+    }
+
+    private static List<String> runSimulation(final Path file, final boolean streaming) throws IOException {
+        final var simulation = new CloudSim();
+        final var host = new HostSimple(10000, 100000, 100000, List.of(new PeSimple(1000), new PeSimple(1000)));
+        new DatacenterSimple(simulation, List.of(host));
+        final var broker = new DatacenterBrokerSimple(simulation);
+        broker.submitVm(new VmSimple(1000, 2).setRam(1000).setBw(1000).setSize(1000));
+
+        final var reader = new GoogleTaskEventsTraceReader(simulation, file.toString(), event ->
+            new CloudletSimple(1_000_000_000, 1)
+                .setUtilizationModelCpu(new UtilizationModelFull())
+                .setUtilizationModelRam(new UtilizationModelDynamic(event.getResourceRequestForRam())));
+        reader.getBrokerManager().setDefaultBroker(broker);
+        reader.setStreaming(streaming).setLookAheadTime(50);
+        final int createdBeforeStart = reader.process().size();
+        assertEquals(streaming ? 1 : 4, createdBeforeStart);
+
+        simulation.start();
+        return broker.getCloudletFinishedList().stream()
+                     .sorted(Comparator.comparingLong(Cloudlet::getId))
+                     .map(cl -> "%d: %.1f -> %.1f".formatted(cl.getId(), cl.getExecStartTime(), cl.getFinishTime()))
+                     .toList();
+    }
 }
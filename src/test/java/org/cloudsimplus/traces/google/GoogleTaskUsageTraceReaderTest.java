@@ -23,11 +23,29 @@
  */
 package org.cloudsimplus.traces.google;
 
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.cloudlets.CloudletSimple;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.datacenters.DatacenterSimple;
+import org.cloudbus.cloudsim.hosts.HostSimple;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModel;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelDynamic;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelFull;
+import org.cloudbus.cloudsim.vms.VmSimple;
 import org.cloudsimplus.traces.google.GoogleTaskUsageTraceReader.FieldIndex;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
-import static org.junit.jupiter.api.Assertions.assertAll;
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * @author Manoel Campos da Silva Filho
@@ -60,4 +78,90 @@ public class GoogleTaskUsageTraceReaderTest {
             () -> assertEquals(14, FieldIndex.MAXIMUM_DISK_IO_TIME.ordinal())
         );
     }
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testProcessReturnsAllChangedCloudletsAndUpdatesTheirModels() throws IOException {
+        final var scenario = new Scenario();
+        assertEquals(2, scenario.usageReader.process().size());
+        scenario.assertUsageApplied();
+    }
+
+    @Test
+    public void testStreamingAppliesUsageAsClockAdvances() throws IOException {
+        final var scenario = new Scenario();
+        scenario.usageReader.setStreaming(true).setLookAheadTime(50);
+        assertEquals(2, scenario.usageReader.process().size());
+        assertThrows(IllegalStateException.class, () -> scenario.usageReader.setStreaming(false));
+        scenario.assertUsageApplied();
+    }
+
+    /**
+     * Two Cloudlets running from time 10 to 500, whose CPU usage changes at times 20 and 200,
+     * and RAM usage changes at time 20 just for the second one.
+     */
+    private final class Scenario {
+        private final CloudSim simulation = new CloudSim();
+        private final DatacenterBrokerSimple broker = new DatacenterBrokerSimple(simulation);
+        private final List<Cloudlet> cloudlets;
+        private final List<UtilizationModel> ramModels;
+        private final GoogleTaskUsageTraceReader usageReader;
+
+        private Scenario() throws IOException {
+            final var taskEventsFile = dir.resolve("task_events.csv");
+            final var taskEvents = new StringBuilder();
+            for (int task = 0; task < 2; task++) {
+                taskEvents.append(taskEvent(0, task, TaskEventType.SUBMIT))
+                          .append(taskEvent(10_000_000L, task, TaskEventType.SCHEDULE))
+                          .append(taskEvent(500_000_000L, task, TaskEventType.FINISH));
+            }
+            Files.writeString(taskEventsFile, taskEvents);
+
+            final var taskUsageFile = dir.resolve("task_usage.csv");
+            Files.writeString(taskUsageFile,
+                taskUsage(20, 0, 0.5, 0.1) + taskUsage(20, 1, 0.5, 0.2) +
+                taskUsage(100, 0, 0.5, 0.1) + taskUsage(200, 0, 0.25, 0.1));
+
+            final var host = new HostSimple(10000, 100000, 100000, List.of(new PeSimple(1000), new PeSimple(1000)));
+            new DatacenterSimple(simulation, List.of(host));
+            broker.submitVm(new VmSimple(1000, 2).setRam(1000).setBw(1000).setSize(1000));
+
+            final var taskEventsReader = new GoogleTaskEventsTraceReader(simulation, taskEventsFile.toString(), event ->
+                new CloudletSimple(1_000_000_000, 1)
+                    .setUtilizationModelCpu(new UtilizationModelFull())
+                    .setUtilizationModelRam(new UtilizationModelDynamic(event.getResourceRequestForRam(), 0.8)));
+            taskEventsReader.getBrokerManager().setDefaultBroker(broker);
+            cloudlets = taskEventsReader.process().stream().sorted(Comparator.comparingLong(Cloudlet::getId)).toList();
+            ramModels = cloudlets.stream().map(Cloudlet::getUtilizationModelRam).toList();
+            usageReader = GoogleTaskUsageTraceReader.getInstance(taskEventsReader, taskUsageFile.toString());
+        }
+
+        private void assertUsageApplied() {
+            final var cpuUtilizations = new TreeMap<Double, Double>();
+            simulation.addOnClockTickListener(info -> cpuUtilizations.put(info.getTime(), cloudlets.get(0).getUtilizationOfCpu()));
+            simulation.start();
+
+            assertAll(
+                () -> assertEquals(2, broker.getCloudletFinishedList().size()),
+                () -> assertEquals(1, cpuUtilizations.floorEntry(15.0).getValue()),
+                () -> assertEquals(0.5, cpuUtilizations.floorEntry(150.0).getValue()),
+                () -> assertEquals(0.25, cpuUtilizations.get(200.0)),
+                () -> assertInstanceOf(UtilizationModelDynamic.class, cloudlets.get(0).getUtilizationModelCpu()),
+                () -> assertSame(ramModels.get(1), cloudlets.get(1).getUtilizationModelRam()),
+                () -> assertEquals(0.8, ((UtilizationModelDynamic) ramModels.get(1)).getMaxResourceUtilization()),
+                () -> assertEquals(0.2, cloudlets.get(1).getUtilizationOfRam())
+            );
+        }
+    }
+
+    private static String taskEvent(final long timestamp, final int task, final TaskEventType type) {
+        return "%d,,1,%d,,%d,user,0,0,0.5,0.1,0.0,0%n".formatted(timestamp, task, type.ordinal());
+    }
+
+    private static String taskUsage(final long startSeconds, final int task, final double cpu, final double ram) {
+        final long start = startSeconds * 1_000_000L;
+        return "%d,%d,1,%d,,%s,%s,0,0,0,0,0,0,0,0%n".formatted(start, start + 300_000_000L, task, cpu, ram);
+    }
 }